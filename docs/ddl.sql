@@ -23,6 +23,11 @@ DROP TABLE IF EXISTS device_auth_token CASCADE;
 DROP TABLE IF EXISTS vehicle_policy_assignment CASCADE;
 DROP TABLE IF EXISTS vehicle_driver_map CASCADE;
 DROP TABLE IF EXISTS vehicle_event_log CASCADE;
+DROP TABLE IF EXISTS trip_summary CASCADE;
+DROP TABLE IF EXISTS geofence_transition_log CASCADE;
+DROP TABLE IF EXISTS driving_log_hourly CASCADE;
+DROP TABLE IF EXISTS driving_log_daily CASCADE;
+DROP TABLE IF EXISTS vehicle_last_state CASCADE;
 DROP TABLE IF EXISTS role_permission_map CASCADE;
 DROP TABLE IF EXISTS employee_role_map CASCADE;
 DROP TABLE IF EXISTS employee_info CASCADE;
@@ -364,6 +369,7 @@ CREATE TABLE IF NOT EXISTS vehicle_policy_assignment (
                                                          mdn VARCHAR(20) PRIMARY KEY,                             -- 차량 번호 (PK이자 vehicle_info의 FK, 1:1 매핑 강제)
     policy_id BIGINT NOT NULL,                               -- 할당된 지오펜스 정책 ID
     assigned_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),      -- 정책 할당 일시
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),       -- 레코드 최종 수정 일시 (정책 변경 감지용)
     FOREIGN KEY (mdn) REFERENCES vehicle_info (mdn) ON DELETE CASCADE,
     FOREIGN KEY (policy_id) REFERENCES geofence_policy (policy_id) ON DELETE RESTRICT
     );
@@ -372,6 +378,12 @@ COMMENT ON TABLE vehicle_policy_assignment IS '각 차량이 어떤 지오펜스
 COMMENT ON COLUMN vehicle_policy_assignment.mdn IS '차량 번호 (PK이자 vehicle_info의 FK, 1:1 매핑 강제)';
 COMMENT ON COLUMN vehicle_policy_assignment.policy_id IS '할당된 지오펜스 정책 ID';
 COMMENT ON COLUMN vehicle_policy_assignment.assigned_at IS '정책 할당 일시';
+COMMENT ON COLUMN vehicle_policy_assignment.updated_at IS '레코드 최종 수정 일시 (서버 지오펜스 엔진이 정책 변경을 감지하는 데 사용)';
+
+CREATE TRIGGER update_vehicle_policy_assignment_updated_at
+    BEFORE UPDATE ON vehicle_policy_assignment
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
 
 
 -- 1-2. 차량 운전자 매핑 테이블 (vehicle_driver_map)
@@ -474,6 +486,7 @@ CREATE TYPE gps_condition_enum AS ENUM ('A', 'V', '0', 'P'); -- A:정상, V:비
 CREATE TABLE IF NOT EXISTS vehicle_event_log (
      event_timestamp_utc TIMESTAMP WITH TIME ZONE NOT NULL,   -- 이벤트 발생 UTC 시간 (TimescaleDB 시계열 키)
      mdn VARCHAR(20) NOT NULL,                                -- 단말 식별자 (device.mdn 참조)
+    vehicle_id BIGINT,                                       -- 차량 ID (수신 시 device.vehicle_id로 보강, 미연결이면 NULL)
     event_type vehicle_event_type_enum NOT NULL,             -- 이벤트 타입 (ENUM 사용)
     event_second INTEGER,                                    -- 발생시간 중 '초' (0-59)
     gps_status gps_condition_enum,                           -- GPS 상태 (ENUM 사용)
@@ -496,6 +509,7 @@ CREATE TABLE IF NOT EXISTS vehicle_event_log (
 COMMENT ON TABLE vehicle_event_log IS '차량의 주기 정보, 시동 ON/OFF, 지오펜스 등 모든 이벤트를 시계열 데이터로 저장하는 테이블';
 COMMENT ON COLUMN vehicle_event_log.event_timestamp_utc IS '이벤트 발생 UTC 시간 (TimescaleDB 하이퍼테이블의 시계열 키)';
 COMMENT ON COLUMN vehicle_event_log.mdn IS '단말 식별자 (device.mdn 참조)';
+COMMENT ON COLUMN vehicle_event_log.vehicle_id IS '차량 ID (수신 시 device.vehicle_id로 보강, 미연결 단말이면 NULL)';
 COMMENT ON COLUMN vehicle_event_log.event_type IS '이벤트 타입 (예: ''PERIODIC_REPORT'', ''IGNITION_ON'', ''IGNITION_OFF'', ''GEOFENCE'')';
 COMMENT ON COLUMN vehicle_event_log.event_second IS '이벤트 발생 시간 중 ''초'' (0-59)';
 COMMENT ON COLUMN vehicle_event_log.gps_status IS 'GPS 상태 (A:정상, V:비정상, 0:미장착, P:시동 ON/OFF 시 GPS 비정상)';
@@ -550,6 +564,125 @@ SELECT create_hypertable('driving_log', 'record_time', chunk_time_interval => IN
 CREATE INDEX IF NOT EXISTS idx_driving_log_mdn_time ON driving_log (mdn, record_time DESC);
 
 
+-- 2-2. 운행 요약 테이블 (trip_summary)
+-- 시동 ON ~ 시동 OFF 한 번의 운행을 애플리케이션(TripAggregator)이 시동 OFF 시점에 한 건씩 기록합니다.
+CREATE TABLE IF NOT EXISTS trip_summary (
+    mdn VARCHAR(20) NOT NULL,                        -- 단말 식별자
+    start_time TIMESTAMP WITH TIME ZONE NOT NULL,    -- 운행 시작 (시동 ON 시각)
+    end_time TIMESTAMP WITH TIME ZONE NOT NULL,      -- 운행 종료 (시동 OFF 시각)
+    vehicle_id BIGINT,                               -- 차량 ID
+    duration_seconds BIGINT NOT NULL,                -- 운행 시간 (초)
+    start_distance BIGINT,                           -- 시동 ON 시 누적 주행 거리 (미터)
+    end_distance BIGINT,                             -- 시동 OFF 시 누적 주행 거리 (미터)
+    distance BIGINT,                                 -- 운행 거리 (미터)
+    max_speed INTEGER,                               -- 최고 속도 (km/h, 주기정보 기준)
+    avg_speed DOUBLE PRECISION,                      -- 평균 속도 (km/h, 주기정보 기준)
+    speed_samples INTEGER NOT NULL DEFAULT 0,        -- 속도 계산에 사용한 주기정보 건수
+    start_latitude DOUBLE PRECISION,                 -- 시동 ON 위도
+    start_longitude DOUBLE PRECISION,                -- 시동 ON 경도
+    end_latitude DOUBLE PRECISION,                   -- 시동 OFF 위도
+    end_longitude DOUBLE PRECISION,                  -- 시동 OFF 경도
+    PRIMARY KEY (mdn, start_time)
+);
+
+COMMENT ON TABLE trip_summary IS '시동 ON ~ 시동 OFF 운행 요약 (대시보드 조회용)';
+COMMENT ON COLUMN trip_summary.distance IS '운행 거리 (미터, 시동 OFF 누적 거리 - 시동 ON 누적 거리)';
+COMMENT ON COLUMN trip_summary.avg_speed IS '운행 중 주기정보 속도의 평균 (km/h)';
+
+CREATE INDEX IF NOT EXISTS idx_trip_summary_vehicle_time ON trip_summary (vehicle_id, start_time DESC);
+
+
+-- 2-2-1. 서버 지오펜스 진입/이탈 기록 테이블 (geofence_transition_log)
+-- 서버 지오펜스 엔진(GeofenceEngine)이 위치로 판정한 진입/이탈을, 위치를 저장한 트랜잭션이 커밋된 뒤 한 건씩 기록합니다.
+-- 재전달로 같은 판정이 다시 나와도 PK 충돌은 건너뜁니다.
+CREATE TABLE IF NOT EXISTS geofence_transition_log (
+    mdn VARCHAR(20) NOT NULL,                        -- 단말 식별자
+    event_timestamp_utc TIMESTAMP WITH TIME ZONE NOT NULL, -- 판정에 사용한 위치의 시각
+    geofence_item_id BIGINT NOT NULL,                -- 지오펜스 아이템 ID
+    transition VARCHAR(10) NOT NULL,                 -- ENTER / EXIT
+    vehicle_id BIGINT,                               -- 차량 ID (주기정보로 판정한 경우 NULL)
+    geofence_name VARCHAR(100),                      -- 판정 시점의 지오펜스 명칭
+    latitude DOUBLE PRECISION NOT NULL,              -- 위도
+    longitude DOUBLE PRECISION NOT NULL,             -- 경도
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    PRIMARY KEY (mdn, event_timestamp_utc, geofence_item_id)
+);
+
+COMMENT ON TABLE geofence_transition_log IS '서버 지오펜스 엔진이 판정한 진입/이탈 기록';
+
+
+-- 2-3. 주행기록 롤업 테이블 (driving_log_hourly, driving_log_daily)
+-- 단말별 1시간/1일(UTC) 구간으로 주기정보를 모아 둡니다. 리포트 조회는 원본 driving_log 대신 이 테이블을 읽습니다.
+-- 평균은 합계/건수로 나눠 저장하므로, 애플리케이션(DrivingLogRollupUpdater)이 주기정보 청크를 저장할 때 같은 트랜잭션에서 증분을 더합니다.
+CREATE TABLE IF NOT EXISTS driving_log_hourly (
+    mdn VARCHAR(20) NOT NULL,                        -- 단말 식별자
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,  -- 구간 시작 (정시)
+    sample_count BIGINT NOT NULL,                    -- 주기정보 건수
+    speed_sum BIGINT,                                -- 속도 합계
+    speed_samples BIGINT NOT NULL,                   -- 속도가 있는 주기정보 건수
+    max_speed INTEGER,                               -- 최고 속도 (km/h)
+    min_total_distance BIGINT,                       -- 구간 내 최소 누적 거리
+    max_total_distance BIGINT,                       -- 구간 내 최대 누적 거리
+    battery_volt_sum BIGINT,                         -- 배터리 전압 합계
+    battery_volt_samples BIGINT NOT NULL,            -- 배터리 전압이 있는 주기정보 건수
+    min_battery_volt INTEGER,                        -- 최저 배터리 전압 (실제값X10)
+    max_battery_volt INTEGER,                        -- 최고 배터리 전압 (실제값X10)
+    PRIMARY KEY (mdn, bucket_start)
+);
+
+CREATE TABLE IF NOT EXISTS driving_log_daily (LIKE driving_log_hourly INCLUDING ALL);
+
+COMMENT ON TABLE driving_log_hourly IS '단말별 1시간 단위 주행기록 롤업';
+COMMENT ON TABLE driving_log_daily IS '단말별 1일(UTC) 단위 주행기록 롤업';
+
+-- (선택) 위 두 테이블 대신 TimescaleDB 연속 집계로 만들 수 있습니다. 컬럼 이름이 같으므로 조회 코드는 그대로 동작하고,
+-- techdom.driving.rollup=AUTO 이면 애플리케이션이 연속 집계를 감지해 직접 갱신하지 않습니다.
+-- CREATE MATERIALIZED VIEW driving_log_hourly WITH (timescaledb.continuous) AS
+-- SELECT mdn,
+--        time_bucket(INTERVAL '1 hour', record_time) AS bucket_start,
+--        COUNT(*) AS sample_count,
+--        SUM(speed) AS speed_sum,
+--        COUNT(speed) AS speed_samples,
+--        MAX(speed) AS max_speed,
+--        MIN(total_distance) AS min_total_distance,
+--        MAX(total_distance) AS max_total_distance,
+--        SUM(battery_volt) AS battery_volt_sum,
+--        COUNT(battery_volt) AS battery_volt_samples,
+--        MIN(battery_volt) AS min_battery_volt,
+--        MAX(battery_volt) AS max_battery_volt
+-- FROM driving_log
+-- GROUP BY mdn, time_bucket(INTERVAL '1 hour', record_time)
+-- WITH NO DATA;
+-- (driving_log_daily 는 INTERVAL '1 day' 로 동일하게 생성)
+--
+-- SELECT add_continuous_aggregate_policy('driving_log_hourly',
+--        start_offset => INTERVAL '3 days', end_offset => INTERVAL '1 hour', schedule_interval => INTERVAL '15 minutes');
+-- SELECT add_continuous_aggregate_policy('driving_log_daily',
+--        start_offset => INTERVAL '7 days', end_offset => INTERVAL '1 hour', schedule_interval => INTERVAL '1 hour');
+
+
+-- 2-4. 단말 마지막 상태 테이블 (vehicle_last_state)
+-- 단말별 마지막으로 알려진 위치/상태 한 건. 애플리케이션(VehicleLastStateStore)이 메모리 상태를 모아서 주기적으로 덮어씁니다.
+-- 전체 차량 위치를 하이퍼테이블에서 DISTINCT ON (mdn) 으로 찾지 않기 위한 테이블입니다.
+CREATE TABLE IF NOT EXISTS vehicle_last_state (
+    mdn VARCHAR(20) PRIMARY KEY,                     -- 단말 식별자
+    vehicle_id BIGINT,                               -- 차량 ID
+    state_time TIMESTAMP WITH TIME ZONE NOT NULL,    -- 이 상태를 만든 이벤트/주기정보의 발생 시각
+    source VARCHAR(20) NOT NULL,                     -- 이벤트 타입 또는 DRIVING
+    latitude DOUBLE PRECISION,                       -- 위도
+    longitude DOUBLE PRECISION,                      -- 경도
+    angle INTEGER,                                   -- 방향
+    speed INTEGER,                                   -- 속도 (km/h)
+    total_distance BIGINT,                           -- 누적 주행 거리
+    ignition_on BOOLEAN,                             -- 마지막 시동 ON/OFF 기준 시동 상태
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL     -- 테이블에 기록한 시각 (다른 인스턴스의 변경분 조회용)
+);
+
+COMMENT ON TABLE vehicle_last_state IS '단말별 마지막 위치/상태 (관제 지도 조회용, write-behind)';
+
+CREATE INDEX IF NOT EXISTS idx_vehicle_last_state_updated_at ON vehicle_last_state (updated_at);
+
+
 -- 3. 원본 요청 로그 테이블 (raw_request_log)
 -- 단말로부터 수신된 원본 HTTP 요청 전문을 저장합니다.
 CREATE TABLE IF NOT EXISTS raw_request_log (
@@ -557,12 +690,14 @@ CREATE TABLE IF NOT EXISTS raw_request_log (
                                                mdn VARCHAR(20) REFERENCES device(mdn) ON DELETE SET NULL, -- 단말 번호 (NULL 허용, 단말 정보 없어도 로그 기록)
     service_method VARCHAR(50),                      -- 요청된 서비스 메서드 이름 (예: 'getToken', 'getSetInfo', 'sendRmInfo')
     received_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(), -- 수신 시각
-    raw_body JSONB NOT NULL,                         -- 원본 요청 JSON
+    raw_body JSONB,                                  -- 원본 요청 JSON (압축 저장 시 NULL)
+    raw_body_gz BYTEA,                               -- 본문이 압축 기준 이상이면 gzip으로 압축한 원본 바이트
     processed BOOLEAN DEFAULT FALSE,                 -- 처리 여부
     process_result TEXT,                             -- 처리 결과 메시지
     headers JSONB,                                   -- HTTP 헤더 정보
     source_ip INET,                                  -- 요청 보낸 IP
-    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() -- 레코드 생성 일시 (received_at과 동일하게 사용)
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(), -- 레코드 생성 일시 (received_at과 동일하게 사용)
+    CHECK (raw_body IS NOT NULL OR raw_body_gz IS NOT NULL)
     );
 
 COMMENT ON TABLE raw_request_log IS '단말로부터 수신된 원본 HTTP 요청 전문을 저장하는 테이블';
@@ -571,12 +706,15 @@ COMMENT ON COLUMN raw_request_log.mdn IS '단말 번호 (device.mdn 참조, 단
 COMMENT ON COLUMN raw_request_log.service_method IS '요청된 서비스 메서드 이름';
 COMMENT ON COLUMN raw_request_log.received_at IS '수신 시각';
 COMMENT ON COLUMN raw_request_log.raw_body IS '원본 요청 JSON';
+COMMENT ON COLUMN raw_request_log.raw_body_gz IS 'gzip으로 압축한 원본 요청 (큰 본문, RawRequestArchiver)';
 COMMENT ON COLUMN raw_request_log.processed IS '처리 여부';
 COMMENT ON COLUMN raw_request_log.process_result IS '처리 결과 메시지';
 COMMENT ON COLUMN raw_request_log.headers IS 'HTTP 헤더 정보';
 COMMENT ON COLUMN raw_request_log.source_ip IS '요청 보낸 IP';
 COMMENT ON COLUMN raw_request_log.created_at IS '레코드 생성 일시';
 
+CREATE INDEX IF NOT EXISTS idx_raw_request_log_mdn_received_at ON raw_request_log (mdn, received_at DESC);
+
 
 -- 4. 단말 설정 요청 로그 테이블 (device_config_request_log)
 -- 단말이 서버로부터 제어 및 지오펜싱 설정 정보를 요청한 이력을 저장합니다.
@@ -0,0 +1,130 @@
+package kjstyle.techdom.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics;
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.entitys.DrivingLogId;
+import kjstyle.techdom.domain.repository.DrivingLogCustomRepositoryImpl;
+import kjstyle.techdom.enums.GpsCondition;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * DrivingLogCustomRepositoryImpl.bulkInsert 를 임베디드 H2(PostgreSQL 모드)에 대해 측정합니다.
+ * 절대값보다는 배치 크기별 처리량과 행당 할당량을 변경 전/후로 비교하는 용도입니다.
+ * <p>
+ * -Djmh.pg.url (gradle: -PjmhPgUrl=jdbc:postgresql://...) 을 주면 PostgreSQL에 대해 측정하므로 BATCH와 COPY 적재를 비교할 수 있습니다.
+ * H2에서 COPY는 BATCH로 되돌아가므로 그 차이(커넥션 확인 비용)만 보입니다.
+ * <p>
+ * PostgreSQL에서는 실행마다 새 스키마(jmh_bench_*)를 만들고 currentSchema로 그 스키마만 보이게 한 뒤 측정하고, 끝나면 스키마째 지웁니다.
+ * 운영 DB를 가리켜도 기존 driving_log는 건드리지 않습니다. TimescaleDB가 설치되어 있으면 운영과 같게 하이퍼테이블로 만듭니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DrivingLogBulkInsertBenchmark {
+
+    @Param({"60", "500", "1440"})
+    private int batchSize;
+
+    @Param({"BATCH", "COPY"})
+    private DrivingLogCustomRepositoryImpl.Loader loader;
+
+    private JdbcTemplate jdbcTemplate;
+    private String scratchSchema; // PostgreSQL에서 측정할 때만 사용
+    private DrivingLogCustomRepositoryImpl repository;
+    private LocalDateTime baseTime;
+    private long invocation;
+
+    @Setup(Level.Trial)
+    public void setupDatabase() {
+        String pgUrl = System.getProperty("jmh.pg.url");
+        DriverManagerDataSource dataSource;
+        if (pgUrl != null) {
+            scratchSchema = "jmh_bench_" + Long.toHexString(System.nanoTime());
+            String url = pgUrl + (pgUrl.contains("?") ? "&" : "?") + "currentSchema=" + scratchSchema;
+            dataSource = new DriverManagerDataSource(url, System.getProperty("jmh.pg.user", "postgres"), System.getProperty("jmh.pg.password", ""));
+        } else {
+            dataSource = new DriverManagerDataSource("jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        }
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        if (scratchSchema != null) {
+            jdbcTemplate.execute("CREATE SCHEMA " + scratchSchema);
+        } else {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS driving_log");
+        }
+        jdbcTemplate.execute("""
+                CREATE TABLE driving_log (
+                    record_time TIMESTAMP NOT NULL,
+                    mdn VARCHAR(20) NOT NULL,
+                    gps_condition VARCHAR(1) NOT NULL,
+                    latitude NUMERIC(9,6),
+                    longitude NUMERIC(9,6),
+                    angle INTEGER,
+                    speed INTEGER,
+                    total_distance BIGINT,
+                    battery_volt INTEGER,
+                    PRIMARY KEY (record_time, mdn)
+                )
+                """);
+        if (scratchSchema != null) {
+            createHypertableIfAvailable();
+        }
+        repository = new DrivingLogCustomRepositoryImpl(jdbcTemplate, new PipelineMetrics(new SimpleMeterRegistry()));
+        repository.setLoader(loader);
+        baseTime = LocalDateTime.of(2025, 1, 1, 0, 0);
+    }
+
+    // search_path가 임시 스키마뿐이라 확장 함수는 설치된 스키마 이름을 붙여 부른다
+    private void createHypertableIfAvailable() {
+        List<String> extensionSchema = jdbcTemplate.queryForList("""
+                SELECT n.nspname FROM pg_extension e JOIN pg_namespace n ON n.oid = e.extnamespace
+                WHERE e.extname = 'timescaledb'
+                """, String.class);
+        if (!extensionSchema.isEmpty()) {
+            jdbcTemplate.queryForList("SELECT " + extensionSchema.get(0) + ".create_hypertable(?::regclass, 'record_time')",
+                    scratchSchema + ".driving_log");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void dropScratchSchema() {
+        if (scratchSchema != null) {
+            jdbcTemplate.execute("DROP SCHEMA " + scratchSchema + " CASCADE");
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE TABLE driving_log");
+    }
+
+    @Benchmark
+    public void bulkInsert() {
+        // 호출마다 다른 분(minute)을 사용해 PK가 겹치지 않게 한다
+        LocalDateTime minute = baseTime.plusMinutes(invocation++);
+        List<DrivingLog> logs = IntStream.range(0, batchSize)
+                .mapToObj(i -> DrivingLog.builder()
+                        .id(new DrivingLogId(minute.plusNanos(i * 1000L), "01012345678"))
+                        .gpsCondition(GpsCondition.NORMAL)
+                        .latitude(new BigDecimal("37.566500"))
+                        .longitude(new BigDecimal("126.978000"))
+                        .angle(90)
+                        .speed(40)
+                        .totalDistance(123456L + i)
+                        .batteryVolt(128)
+                        .build())
+                .toList();
+        repository.bulkInsert(logs);
+    }
+}
@@ -0,0 +1,71 @@
+package kjstyle.techdom.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import kjstyle.techdom.domain.codec.VehicleEventLogDeserializer;
+import kjstyle.techdom.domain.codec.VehicleEventLogSerializer;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.enums.GpsCondition;
+import kjstyle.techdom.enums.VehicleEventType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka 값 직렬화기(바이너리/JSON)의 직렬화, 역직렬화 비용과 메시지 크기를 비교합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KafkaCodecBenchmark {
+
+    private static final String TOPIC = "vehicle.event.log";
+
+    @Param({"BINARY", "JSON"})
+    private VehicleEventLogSerializer.Format format;
+
+    private VehicleEventLogSerializer serializer;
+    private VehicleEventLogDeserializer deserializer;
+    private VehicleEventLog eventLog;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        serializer = new VehicleEventLogSerializer(format, objectMapper);
+        deserializer = new VehicleEventLogDeserializer(objectMapper);
+
+        OffsetDateTime now = OffsetDateTime.of(2025, 6, 1, 12, 30, 15, 0, ZoneOffset.UTC);
+        eventLog = VehicleEventLog.builder()
+                .eventTimestampUtc(now)
+                .mdn("01012345678")
+                .eventType(VehicleEventType.IGNITION_ON)
+                .gpsStatus(GpsCondition.NORMAL)
+                .latitude(37.5665)
+                .longitude(126.978)
+                .angle(90)
+                .speed(40)
+                .currentAccumulatedDistance(123456L)
+                .batteryVolt(128)
+                .onTime(now)
+                .build();
+        encoded = serializer.serialize(TOPIC, eventLog);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, eventLog);
+    }
+
+    @Benchmark
+    public VehicleEventLog deserialize() {
+        return deserializer.deserialize(TOPIC, encoded);
+    }
+}
@@ -0,0 +1,111 @@
+package kjstyle.techdom.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.enums.GpsCondition;
+import kjstyle.techdom.enums.VehicleEventType;
+import kjstyle.techdom.web.dto.DeviceEventDecoder;
+import kjstyle.techdom.web.dto.GeofenceEventRequest;
+import kjstyle.techdom.web.dto.IgnitionEventRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단말 요청 DTO(모든 값이 String) -> VehicleEventLog 변환 비용을 측정합니다.
+ * 요청 1건마다 호출되는 핫패스이므로 -prof gc 의 gc.alloc.rate.norm(요청당 할당 바이트)을 함께 봅니다.
+ * ignitionFromBytes* 는 본문 바이트부터 VehicleEventLog까지 전체 경로를 DTO 방식(Jackson 바인딩 + Bean Validation + 변환)과
+ * {@link DeviceEventDecoder} 방식으로 비교합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RequestParsingBenchmark {
+
+    private IgnitionEventRequest ignitionRequest;
+    private GeofenceEventRequest geofenceRequest;
+    private byte[] ignitionBody;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Param({"A", "P"})
+    private String gcd;
+
+    @Setup
+    public void setup() {
+        ignitionRequest = new IgnitionEventRequest();
+        ignitionRequest.setMdn("01012345678");
+        ignitionRequest.setTid("A001");
+        ignitionRequest.setMid("6");
+        ignitionRequest.setPv("5");
+        ignitionRequest.setDid("1");
+        ignitionRequest.setOnTime("20250601123015");
+        ignitionRequest.setOffTime("");
+        ignitionRequest.setGcd(gcd);
+        ignitionRequest.setLat("37.566500");
+        ignitionRequest.setLon("126.978000");
+        ignitionRequest.setAng("90");
+        ignitionRequest.setSpd("40");
+        ignitionRequest.setSum("123456");
+        ignitionRequest.setBatteryVolt("128");
+
+        geofenceRequest = new GeofenceEventRequest();
+        geofenceRequest.setMdn("01012345678");
+        geofenceRequest.setTid("A001");
+        geofenceRequest.setMid("6");
+        geofenceRequest.setPv("5");
+        geofenceRequest.setDid("1");
+        geofenceRequest.setEventTime("20250601123015");
+        geofenceRequest.setGcd(gcd);
+        geofenceRequest.setLat("37.566500");
+        geofenceRequest.setLon("126.978000");
+        geofenceRequest.setAng("90");
+        geofenceRequest.setSpd("40");
+        geofenceRequest.setSum("123456");
+        geofenceRequest.setBatteryVolt("128");
+        geofenceRequest.setGeofenceGroupId("123456");
+        geofenceRequest.setGeofencePointId("geo123");
+        geofenceRequest.setEventValue("IN");
+
+        try {
+            ignitionBody = objectMapper.writeValueAsBytes(ignitionRequest);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public VehicleEventLog ignitionToVehicleEventLog() {
+        return ignitionRequest.toVehicleEventLog();
+    }
+
+    @Benchmark
+    public VehicleEventLog geofenceToVehicleEventLog() {
+        return geofenceRequest.toVehicleEventLog(VehicleEventType.GEOFENCE_IN);
+    }
+
+    @Benchmark
+    public VehicleEventLog ignitionFromBytesWithDto() throws IOException {
+        IgnitionEventRequest request = objectMapper.readValue(ignitionBody, IgnitionEventRequest.class);
+        if (!validator.validate(request).isEmpty()) {
+            throw new IllegalStateException();
+        }
+        return request.toVehicleEventLog();
+    }
+
+    @Benchmark
+    public VehicleEventLog ignitionFromBytesWithDecoder() throws IOException {
+        return DeviceEventDecoder.decodeIgnition(objectMapper.getFactory().createParser(ignitionBody)).toVehicleEventLog();
+    }
+
+    @Benchmark
+    public GpsCondition gpsConditionFromCode() {
+        return GpsCondition.fromCode(gcd);
+    }
+}
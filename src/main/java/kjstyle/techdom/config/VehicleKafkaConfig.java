@@ -1,20 +1,34 @@
 package kjstyle.techdom.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import kjstyle.techdom.domain.cache.IgnitionOffStateCache;
+import kjstyle.techdom.domain.codec.VehicleEventLogDeserializer;
+import kjstyle.techdom.domain.codec.VehicleEventLogSerializer;
 import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.BackOff;
+import org.springframework.util.backoff.FixedBackOff;
 
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
-
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -26,6 +40,45 @@ public class VehicleKafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers; // ✅ 동적으로 할당된 포트 반영
 
+    @Value("${techdom.kafka.value-format:BINARY}")
+    private VehicleEventLogSerializer.Format valueFormat; // 프로듀서 값 형식 (컨슈머는 두 형식 모두 읽음)
+
+    @Value("${techdom.kafka.producer.max-block-ms:2000}")
+    private long maxBlockMs; // 메타데이터 조회/버퍼 부족 시 send()가 호출 스레드를 붙잡는 최대 시간
+
+    @Value("${techdom.kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords; // 배치 리스너가 한 번에 받는 최대 레코드 수
+
+    @Value("${techdom.kafka.topic.partitions:12}")
+    private int topicPartitions; // 토픽 파티션 수 (컨슈머 동시성의 상한)
+
+    @Value("${techdom.kafka.topic.replicas:1}")
+    private short topicReplicas;
+
+    @Value("${techdom.kafka.consumer.concurrency:3}")
+    private int consumerConcurrency; // 리스너 컨테이너 수. 파티션이 나눠 배정되므로 단말별 순서는 유지됨
+
+    @Value("${techdom.kafka.consumer.retry-interval-ms:1000}")
+    private long retryIntervalMs; // 실패한 레코드를 다시 처리하기 전 대기 시간
+
+    @Value("${techdom.kafka.consumer.retry-attempts:2}")
+    private long retryAttempts; // 데이터 오류로 실패한 레코드를 건너뛰기 전까지 다시 처리하는 횟수
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads; // 직접 만든 컨테이너 팩토리에는 Boot 자동 설정이 적용되지 않으므로 직접 반영
+
+    /**
+     * 이벤트 토픽. 키가 MDN이므로 같은 단말의 이벤트는 한 파티션에 순서대로 쌓입니다.
+     * 파티션 수를 늘리면 키-파티션 매핑이 바뀌어 전환 시점에 순서가 섞일 수 있으므로 처음에 넉넉하게 잡습니다.
+     */
+    @Bean
+    public NewTopic vehicleEventTopic() {
+        return TopicBuilder.name(VEHICLE_EVENT_TOPIC)
+                .partitions(topicPartitions)
+                .replicas(topicReplicas)
+                .build();
+    }
+
     @Bean
     public ProducerFactory<String, VehicleEventLog> producerFactory(ObjectMapper objectMapper) {
         Map<String, Object> configProps = new HashMap<>();
@@ -33,8 +86,10 @@ public class VehicleKafkaConfig {
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers); //
 
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), new JsonSerializer<>(objectMapper));
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, VehicleEventLogSerializer.class);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(),
+                new VehicleEventLogSerializer(valueFormat, objectMapper));
     }
 
     @Bean
@@ -43,25 +98,73 @@ public class VehicleKafkaConfig {
     }
 
     @Bean
-    public ConsumerFactory<String, VehicleEventLog> consumerFactory(ObjectMapper objectMapper) {
-        JsonDeserializer<VehicleEventLog> deserializer = new JsonDeserializer<>(VehicleEventLog.class, objectMapper, false);
-        deserializer.addTrustedPackages("*");
+    public ConsumerFactory<String, VehicleEventLog> consumerFactory(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        // 바이너리/JSON 두 형식을 모두 읽는다 (롤링 배포 중 혼재 대비)
+        VehicleEventLogDeserializer deserializer = new VehicleEventLogDeserializer(objectMapper);
 
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "vehicle-event-consumer");
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
 
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), deserializer);
+        DefaultKafkaConsumerFactory<String, VehicleEventLog> factory =
+                new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), deserializer);
+        // 컨슈머 클라이언트 지표 등록 (파티션별 lag: kafka.consumer.fetch.manager.records.lag)
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, VehicleEventLog> kafkaListenerContainerFactory(
-            ConsumerFactory<String, VehicleEventLog> cf
+            ConsumerFactory<String, VehicleEventLog> cf,
+            IgnitionOffStateCache ignitionOffStateCache
     ) {
         ConcurrentKafkaListenerContainerFactory<String, VehicleEventLog> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(cf);
+        factory.setBatchListener(true); // poll 단위로 묶어서 받아 한 번의 multi-row insert로 저장
+        factory.setConcurrency(consumerConcurrency);
+        if (virtualThreads) {
+            // poll 루프와 리스너 호출을 가상 스레드에서 실행 (컨테이너 하나당 가상 스레드 하나)
+            SimpleAsyncTaskExecutor listenerExecutor = new SimpleAsyncTaskExecutor("vehicle-event-listener-");
+            listenerExecutor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(listenerExecutor);
+        }
+        factory.setCommonErrorHandler(eventErrorHandler());
+        factory.getContainerProperties().setConsumerRebalanceListener(new ConsumerAwareRebalanceListener() {
+            @Override
+            public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                // 파티션을 넘겨받는 동안 다른 컨슈머가 같은 단말의 시동 OFF를 처리했을 수 있으므로 캐시를 비우고 DB에서 다시 적재
+                if (!partitions.isEmpty()) {
+                    ignitionOffStateCache.invalidateAll();
+                }
+            }
+        });
         return factory;
     }
+
+    /**
+     * 리스너가 던진 BatchListenerFailedException의 위치 앞까지 오프셋을 커밋하고, 실패한 레코드부터 다시 받습니다.
+     * DB 연결 실패처럼 일시적인 오류는 레코드를 버리지 않도록 복구될 때까지 계속 재시도하고,
+     * 그 밖의 오류(데이터 오류 등)는 retry-attempts번 재시도한 뒤 로그를 남기고 건너뜁니다.
+     */
+    private DefaultErrorHandler eventErrorHandler() {
+        BackOff limited = new FixedBackOff(retryIntervalMs, retryAttempts);
+        BackOff unlimited = new FixedBackOff(retryIntervalMs, FixedBackOff.UNLIMITED_ATTEMPTS);
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(limited);
+        errorHandler.setBackOffFunction((record, exception) -> isTransient(exception) ? unlimited : limited);
+        return errorHandler;
+    }
+
+    private static boolean isTransient(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,31 @@
+package kjstyle.techdom.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kjstyle.techdom.web.DeviceEventMessageConverter;
+import kjstyle.techdom.web.RequestReceivedAtInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestReceivedAtInterceptor())
+                .addPathPatterns("/api/v1/vehicle/**");
+    }
+
+    // Jackson 컨버터보다 먼저 보도록 맨 앞에 둔다 (DeviceEvent 타입만 처리)
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new DeviceEventMessageConverter(objectMapper.getFactory()));
+    }
+}
@@ -0,0 +1,25 @@
+package kjstyle.techdom.domain.archive;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청 스레드에서 잡아 둔 원본 요청입니다. 본문은 받은 바이트 그대로이며 다시 직렬화하지 않습니다.
+ * 요청이 끝나면 서블릿 요청 객체는 재사용되므로 헤더는 복사해 둡니다.
+ *
+ * @param serviceMethod 요청을 처리한 컨트롤러 메서드 이름 (raw_request_log.service_method)
+ */
+public record RawRequest(
+        String serviceMethod,
+        byte[] body,
+        Map<String, List<String>> headers,
+        String sourceIp,
+        OffsetDateTime receivedAt
+) {
+
+    public String bodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
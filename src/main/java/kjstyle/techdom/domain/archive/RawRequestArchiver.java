@@ -0,0 +1,242 @@
+package kjstyle.techdom.domain.archive;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import kjstyle.techdom.domain.entitys.RawRequestLog;
+import kjstyle.techdom.domain.repository.RawRequestLogCustomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 단말 원본 요청을 raw_request_log에 남기는 감사(audit) 기록기입니다.
+ * <p>
+ * 요청 스레드는 {@link #archive}로 큐에 넣기만 하고 바로 돌아갑니다. (큐가 가득 차면 기다리지 않고 버리고 지표만 올림)
+ * 기록 스레드 하나가 batch-size 건이 모이거나 flush-interval-ms 가 지나면 한 번의 배치 INSERT로 저장하며,
+ * 헤더 JSON 변환과 큰 본문 gzip 압축도 이 스레드에서 합니다.
+ * 배치가 실패하면 한 건씩 다시 저장해 문제가 된 행만 버립니다.
+ * 원본 본문은 JSONB(raw_body)에 넣으므로, JSON이 아닌 본문(깨진 전문, 빈 본문 등)은 크기와 관계없이 raw_body_gz에 압축해 남깁니다.
+ */
+@Slf4j
+@Component
+public class RawRequestArchiver implements DisposableBean {
+
+    // 원본에 남기지 않는 헤더
+    private static final Set<String> EXCLUDED_HEADERS = Set.of("authorization", "cookie", "proxy-authorization");
+
+    private final RawRequestLogCustomRepository rawRequestLogCustomRepository;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long compressThreshold;
+
+    private final BlockingQueue<Entry> queue;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    public RawRequestArchiver(
+            RawRequestLogCustomRepository rawRequestLogCustomRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${techdom.archive.enabled:true}") boolean enabled,
+            @Value("${techdom.archive.queue-capacity:100000}") int queueCapacity,
+            @Value("${techdom.archive.batch-size:500}") int batchSize,
+            @Value("${techdom.archive.flush-interval-ms:200}") long flushIntervalMillis,
+            @Value("${techdom.archive.compress-threshold:4KB}") DataSize compressThreshold
+    ) {
+        this.rawRequestLogCustomRepository = rawRequestLogCustomRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.compressThreshold = compressThreshold.toBytes();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.writtenCounter = meterRegistry.counter("techdom.archive.records", "result", "written");
+        this.droppedCounter = meterRegistry.counter("techdom.archive.records", "result", "dropped");
+        this.failedCounter = meterRegistry.counter("techdom.archive.records", "result", "failed");
+        Gauge.builder("techdom.archive.queue", queue, BlockingQueue::size)
+                .description("raw_request_log 기록을 기다리는 원본 요청 건수")
+                .register(meterRegistry);
+
+        this.writer = Thread.ofPlatform().name("raw-request-archiver").daemon().unstarted(this::run);
+        if (enabled) {
+            this.writer.start();
+        }
+    }
+
+    /**
+     * 원본 요청을 기록 큐에 넣습니다. 요청 스레드를 붙잡지 않습니다.
+     *
+     * @param mdn 인증된 단말 번호 (인증 전에 거절된 요청은 null)
+     */
+    public void archive(RawRequest rawRequest, String mdn, boolean processed, String processResult) {
+        if (!enabled || rawRequest == null) {
+            return;
+        }
+        if (!queue.offer(new Entry(rawRequest, mdn, processed, processResult))) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // 첫 건이 들어온 뒤 batchSize 건이 모이거나 flushIntervalMillis 가 지날 때까지 모은다
+    private void collect(List<Entry> batch) throws InterruptedException {
+        Entry first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < batchSize && running) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<RawRequestLog> rows = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            rows.add(toRow(entry, now));
+        }
+        try {
+            rawRequestLogCustomRepository.insertAll(rows);
+            writtenCounter.increment(rows.size());
+        } catch (DataAccessException e) {
+            log.warn("원본 요청 배치 저장 실패, 한 건씩 다시 저장 ({}건) : {}", rows.size(), e.getMessage());
+            for (RawRequestLog row : rows) {
+                try {
+                    rawRequestLogCustomRepository.insertAll(List.of(row));
+                    writtenCounter.increment();
+                } catch (DataAccessException rowError) {
+                    failedCounter.increment();
+                    log.error("원본 요청 저장 실패 MDN={}, method={} : {}", row.getMdn(), row.getServiceMethod(), rowError.getMessage());
+                }
+            }
+        }
+    }
+
+    private RawRequestLog toRow(Entry entry, OffsetDateTime now) {
+        RawRequest rawRequest = entry.rawRequest();
+        byte[] body = rawRequest.body();
+        boolean compress = (compressThreshold > 0 && body.length >= compressThreshold) || !isJson(body);
+        return RawRequestLog.builder()
+                .mdn(entry.mdn())
+                .serviceMethod(rawRequest.serviceMethod())
+                .receivedAt(rawRequest.receivedAt())
+                .rawBody(compress ? null : rawRequest.bodyAsString())
+                .rawBodyGz(compress ? gzip(body) : null)
+                .processed(entry.processed())
+                .processResult(entry.processResult())
+                .headers(headersJson(rawRequest.headers()))
+                .sourceIp(rawRequest.sourceIp())
+                .createdAt(now)
+                .build();
+    }
+
+    private String headersJson(Map<String, List<String>> headers) {
+        if (headers == null || headers.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> filtered = new LinkedHashMap<>();
+        headers.forEach((name, values) -> {
+            if (!EXCLUDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                filtered.put(name, values.size() == 1 ? values.get(0) : values);
+            }
+        });
+        try {
+            return objectMapper.writeValueAsString(filtered);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    // JSONB 컬럼이 받을 수 있는 본문인지 토큰만 끝까지 읽어 확인 (값 객체는 만들지 않음)
+    private boolean isJson(byte[] body) {
+        if (body.length == 0) {
+            return false;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() == null) {
+                return false;
+            }
+            parser.skipChildren();
+            return parser.nextToken() == null; // 값 뒤에 다른 내용이 붙어 있으면 JSON이 아님
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(body.length / 4, 64));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // 메모리 스트림이라 발생하지 않음
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (writer.isAlive()) {
+            writer.join(TimeUnit.SECONDS.toMillis(5)); // 남은 큐를 비우고 종료
+        }
+    }
+
+    record Entry(RawRequest rawRequest, String mdn, boolean processed, String processResult) {
+    }
+}
@@ -0,0 +1,47 @@
+package kjstyle.techdom.domain.cache;
+
+import kjstyle.techdom.domain.entitys.Device;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 수신 시 단말 확인과 이벤트 보강(vehicleId)에 필요한 단말 정보만 담은 캐시 값입니다.
+ *
+ * @param mdn            단말 식별자
+ * @param vehicleId      연결된 차량 ID (미연결이면 null)
+ * @param terminalId     터미널 ID (tid)
+ * @param manufacturerId 제조사 ID (mid)
+ * @param packetVersion  패킷 버전 (pv)
+ * @param updatedAt      device 레코드 최종 수정 일시
+ */
+public record DeviceInfo(
+        String mdn,
+        Long vehicleId,
+        String terminalId,
+        String manufacturerId,
+        String packetVersion,
+        OffsetDateTime updatedAt
+) {
+    /**
+     * 등록되지 않은 단말을 캐시에 남기기 위한 값. (Caffeine은 null을 저장하지 않으므로 대신 사용)
+     */
+    static final DeviceInfo NONE = new DeviceInfo(null, null, null, null, null, null);
+
+    static DeviceInfo from(Device device) {
+        return new DeviceInfo(
+                device.getMdn(),
+                device.getVehicleId(),
+                device.getTerminalId(),
+                device.getManufacturerId(),
+                device.getPacketVersion(),
+                device.getUpdatedAt()
+        );
+    }
+
+    /**
+     * 요청 헤더의 tid/mid/pv가 등록된 단말 정보와 같은지 확인합니다.
+     */
+    public boolean matches(String tid, String mid, String pv) {
+        return terminalId.equals(tid) && manufacturerId.equals(mid) && packetVersion.equals(pv);
+    }
+}
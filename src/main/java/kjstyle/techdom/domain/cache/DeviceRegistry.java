@@ -0,0 +1,120 @@
+package kjstyle.techdom.domain.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import kjstyle.techdom.domain.entitys.Device;
+import kjstyle.techdom.domain.exceptions.DeviceAuthenticationException;
+import kjstyle.techdom.domain.repository.DeviceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * device 테이블 앞단의 단말 정보 캐시입니다.
+ * 수신 API가 요청마다 device 테이블을 조회하지 않고 MDN으로 단말을 확인하고 vehicleId를 붙일 수 있도록 합니다.
+ *
+ * - 캐시에 없는 MDN은 최초 1회만 DB에서 읽어 채우고, 등록되지 않은 MDN도 {@link DeviceInfo#NONE}으로 남겨 반복 조회를 막습니다.
+ * - refresh-after-write가 지난 항목은 조회 시 기존 값을 그대로 돌려주고 백그라운드에서 다시 읽습니다. (refresh-ahead)
+ * - device.updated_at이 바뀐 단말은 주기적으로 조회해서 캐시에 올라와 있는 항목만 즉시 교체합니다.
+ *   워터마크는 DB의 max(updated_at)에서 시작해 조회된 행의 updated_at으로만 올라가므로, 서버와 DB의 시계가 달라도 변경분을 놓치지 않습니다.
+ */
+@Slf4j
+@Component
+public class DeviceRegistry {
+
+    private static final OffsetDateTime BEGINNING = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final DeviceRepository deviceRepository;
+    private final LoadingCache<String, DeviceInfo> cache;
+    private final Duration pollOverlap;
+
+    // 마지막으로 반영한 device.updated_at. 커밋이 늦은 트랜잭션을 놓치지 않도록 pollOverlap 만큼 겹쳐서 조회한다
+    // (첫 폴링 때 DB의 max(updated_at)으로 정한다)
+    private volatile OffsetDateTime updatedAtWatermark;
+
+    public DeviceRegistry(
+            DeviceRepository deviceRepository,
+            @Value("${techdom.cache.device.maximum-size:200000}") long maximumSize,
+            @Value("${techdom.cache.device.refresh-after-write:5m}") Duration refreshAfterWrite,
+            @Value("${techdom.cache.device.expire-after-write:30m}") Duration expireAfterWrite,
+            @Value("${techdom.cache.device.poll-interval-ms:10000}") long pollIntervalMillis
+    ) {
+        this.deviceRepository = deviceRepository;
+        this.pollOverlap = Duration.ofMillis(pollIntervalMillis);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfterWrite)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(this::load);
+    }
+
+    /**
+     * 등록된 단말 정보를 조회합니다.
+     *
+     * @param mdn 단말 식별자
+     * @return 단말 정보. 등록되지 않은 단말이면 빈 값
+     */
+    public Optional<DeviceInfo> find(String mdn) {
+        DeviceInfo info = cache.get(mdn);
+        return info == DeviceInfo.NONE ? Optional.empty() : Optional.of(info);
+    }
+
+    /**
+     * 등록된 단말인지, 요청 헤더(tid/mid/pv)가 등록 정보와 같은지 확인합니다.
+     *
+     * @return 단말 정보
+     * @throws DeviceAuthenticationException 등록되지 않았거나 등록 정보와 다른 단말인 경우
+     */
+    public DeviceInfo authenticate(String mdn, String tid, String mid, String pv) {
+        DeviceInfo info = find(mdn)
+                .orElseThrow(() -> new DeviceAuthenticationException(mdn, "등록되지 않은 단말입니다."));
+        if (!info.matches(tid, mid, pv)) {
+            throw new DeviceAuthenticationException(mdn, "단말 정보가 등록된 정보와 일치하지 않습니다.");
+        }
+        return info;
+    }
+
+    /**
+     * updated_at이 바뀐 단말 중 캐시에 올라와 있는 항목을 교체합니다.
+     * 새로 등록된 단말도 updated_at이 채워지므로, 미등록으로 남아 있던 항목이 바로 풀립니다.
+     */
+    @Scheduled(fixedDelayString = "${techdom.cache.device.poll-interval-ms:10000}")
+    public void refreshUpdatedDevices() {
+        OffsetDateTime watermark = this.updatedAtWatermark;
+        if (watermark == null) {
+            watermark = deviceRepository.findMaxUpdatedAt().orElse(BEGINNING);
+        }
+        List<Device> updatedDevices = deviceRepository.findByUpdatedAtAfter(
+                watermark == BEGINNING ? watermark : watermark.minus(pollOverlap));
+
+        for (Device device : updatedDevices) {
+            cache.asMap().computeIfPresent(device.getMdn(), (mdn, cached) -> DeviceInfo.from(device));
+            if (device.getUpdatedAt() != null && device.getUpdatedAt().isAfter(watermark)) {
+                watermark = device.getUpdatedAt();
+            }
+        }
+        this.updatedAtWatermark = watermark;
+
+        if (!updatedDevices.isEmpty()) {
+            log.debug("변경된 단말 {}건 캐시 반영 ({})", updatedDevices.size(), cache.stats());
+        }
+    }
+
+    public void invalidate(String mdn) {
+        cache.invalidate(mdn);
+    }
+
+    private DeviceInfo load(String mdn) {
+        return deviceRepository.findByMdn(mdn)
+                .map(DeviceInfo::from)
+                .orElse(DeviceInfo.NONE);
+    }
+}
@@ -0,0 +1,40 @@
+package kjstyle.techdom.domain.cache;
+
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 단말(MDN)별 직전 시동 OFF 시점의 상태입니다.
+ * 시동 ON 시 GPS가 비정상('P')이면 이 위경도로 보정합니다.
+ *
+ * @param latitude                   직전 시동 OFF 위도
+ * @param longitude                  직전 시동 OFF 경도
+ * @param currentAccumulatedDistance 직전 시동 OFF 시점의 누적 주행 거리
+ * @param eventTimestampUtc          직전 시동 OFF 이벤트 발생 시각 (UTC)
+ */
+public record IgnitionOffState(
+        Double latitude,
+        Double longitude,
+        Long currentAccumulatedDistance,
+        OffsetDateTime eventTimestampUtc
+) {
+    /**
+     * 시동 OFF 이력이 없는 단말을 나타내는 값. DB를 매번 다시 조회하지 않도록 캐시에 그대로 저장합니다.
+     */
+    public static final IgnitionOffState NONE = new IgnitionOffState(null, null, null, null);
+
+    public static IgnitionOffState from(VehicleEventLog offEvent) {
+        return new IgnitionOffState(
+                offEvent.getLatitude(),
+                offEvent.getLongitude(),
+                offEvent.getCurrentAccumulatedDistance(),
+                offEvent.getEventTimestampUtc()
+        );
+    }
+
+    public boolean isNewerThan(IgnitionOffState other) {
+        return other.eventTimestampUtc == null
+                || (this.eventTimestampUtc != null && !this.eventTimestampUtc.isBefore(other.eventTimestampUtc));
+    }
+}
@@ -0,0 +1,132 @@
+package kjstyle.techdom.domain.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.repository.VehicleEventLogRepository;
+import kjstyle.techdom.enums.VehicleEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 단말(MDN)별 직전 시동 OFF 상태를 메모리에 보관하는 캐시입니다.
+ * 시동 ON(GPS 'P') 처리 때마다 vehicle_event_log 하이퍼테이블을 조회하지 않도록,
+ * 시동 OFF 핸들러가 저장 직후 갱신하고 캐시에 없는 단말은 최초 1회만 DB에서 읽어 채웁니다.
+ *
+ * - 최대 건수를 넘으면 오래 사용되지 않은 단말부터 제거됩니다. (제거된 단말은 다음 조회 시 다시 DB에서 적재)
+ * - Kafka 파티션이 재할당되면 그동안 다른 컨슈머가 같은 단말을 처리했을 수 있으므로 {@link #invalidateAll()}로 비웁니다.
+ * - 트랜잭션 안의 갱신은 그 트랜잭션에 묶인 대기 상태에만 쌓았다가 커밋된 뒤에 캐시에 반영합니다.
+ *   같은 트랜잭션의 시동 ON은 대기 상태를 먼저 보고, 롤백되면 대기 상태는 버려져 저장되지 않은 OFF가 캐시에 남지 않습니다.
+ */
+@Slf4j
+@Component
+public class IgnitionOffStateCache {
+
+    private final VehicleEventLogRepository vehicleEventLogRepository;
+    private final LoadingCache<String, IgnitionOffState> cache;
+
+    public IgnitionOffStateCache(
+            VehicleEventLogRepository vehicleEventLogRepository,
+            @Value("${techdom.cache.ignition-off.maximum-size:200000}") long maximumSize
+    ) {
+        this.vehicleEventLogRepository = vehicleEventLogRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(this::load);
+    }
+
+    /**
+     * 직전 시동 OFF 상태를 조회합니다. 캐시에 없으면 DB에서 한 번 읽어 채웁니다.
+     *
+     * @param mdn 단말 식별자
+     * @return 직전 시동 OFF 상태. 시동 OFF 이력이 없으면 빈 값
+     */
+    public Optional<IgnitionOffState> get(String mdn) {
+        Map<String, IgnitionOffState> pending = pendingStates();
+        IgnitionOffState pendingState = pending == null ? null : pending.get(mdn);
+        IgnitionOffState state;
+        if (pendingState == null) {
+            state = cache.get(mdn);
+        } else {
+            // 같은 트랜잭션에서 OFF를 저장한 단말은 DB에서 적재하지 않는다 (커밋 전 행이 캐시에 남지 않도록)
+            IgnitionOffState cached = cache.getIfPresent(mdn);
+            state = cached == null ? pendingState : newer(cached, pendingState);
+        }
+        return state == IgnitionOffState.NONE ? Optional.empty() : Optional.of(state);
+    }
+
+    /**
+     * 시동 OFF 이벤트로 캐시를 갱신합니다. 순서가 뒤바뀌어 들어온 과거 이벤트로는 덮어쓰지 않습니다.
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 반영하고, 트랜잭션 밖이면 바로 반영합니다.
+     *
+     * @param offEvent 저장된 시동 OFF 이벤트
+     */
+    public void update(VehicleEventLog offEvent) {
+        IgnitionOffState newState = IgnitionOffState.from(offEvent);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(offEvent.getMdn(), newState);
+            return;
+        }
+        Map<String, IgnitionOffState> pending = pendingStates();
+        if (pending == null) {
+            pending = new HashMap<>();
+            bindPendingStates(pending);
+        }
+        pending.merge(offEvent.getMdn(), newState, IgnitionOffStateCache::newer);
+    }
+
+    public void invalidateAll() {
+        log.info("직전 시동 OFF 캐시 전체 무효화 (적재 건수={}, {})", cache.estimatedSize(), cache.stats());
+        cache.invalidateAll();
+    }
+
+    long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, IgnitionOffState> pendingStates() {
+        return (Map<String, IgnitionOffState>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private void bindPendingStates(Map<String, IgnitionOffState> pending) {
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.forEach(IgnitionOffStateCache.this::apply);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(IgnitionOffStateCache.this);
+            }
+        });
+    }
+
+    private void apply(String mdn, IgnitionOffState newState) {
+        cache.asMap().merge(mdn, newState, IgnitionOffStateCache::newer);
+    }
+
+    private static IgnitionOffState newer(IgnitionOffState oldState, IgnitionOffState candidate) {
+        return candidate.isNewerThan(oldState) ? candidate : oldState;
+    }
+
+    private IgnitionOffState load(String mdn) {
+        return vehicleEventLogRepository.findTopByMdnAndEventTypeOrderByEventTimestampUtcDesc(mdn, VehicleEventType.IGNITION_OFF)
+                .map(IgnitionOffState::from)
+                .orElse(IgnitionOffState.NONE);
+    }
+}
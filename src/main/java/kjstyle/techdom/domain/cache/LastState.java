@@ -0,0 +1,128 @@
+package kjstyle.techdom.domain.cache;
+
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.entitys.VehicleLastState;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 단말(MDN)별 마지막으로 알려진 위치/상태입니다.
+ *
+ * @param stateTime  이 상태를 만든 이벤트/주기정보의 발생 시각
+ * @param source     이벤트 타입 이름 또는 {@link #DRIVING}
+ * @param ignitionOn 마지막 시동 ON/OFF 기준 시동 상태. 시동 이벤트가 아니면 직전 값을 이어받음
+ * @param updatedAt  이 인스턴스가 상태를 메모리에 반영한 시각 (since 증분 조회 기준, 다른 인스턴스의 상태도 합친 시각)
+ */
+public record LastState(
+        String mdn,
+        Long vehicleId,
+        OffsetDateTime stateTime,
+        String source,
+        Double latitude,
+        Double longitude,
+        Integer angle,
+        Integer speed,
+        Long totalDistance,
+        Boolean ignitionOn,
+        OffsetDateTime updatedAt
+) {
+    public static final String DRIVING = "DRIVING";
+
+    public static LastState from(VehicleEventLog eventLog) {
+        Boolean ignitionOn = switch (eventLog.getEventType()) {
+            case IGNITION_ON -> true;
+            case IGNITION_OFF -> false;
+            default -> null;
+        };
+        return new LastState(
+                eventLog.getMdn(),
+                eventLog.getVehicleId(),
+                eventLog.getEventTimestampUtc(),
+                eventLog.getEventType().name(),
+                eventLog.getLatitude(),
+                eventLog.getLongitude(),
+                eventLog.getAngle(),
+                eventLog.getSpeed(),
+                eventLog.getCurrentAccumulatedDistance(),
+                ignitionOn,
+                null
+        );
+    }
+
+    // 주기정보 record_time은 UTC 기준 LocalDateTime
+    public static LastState from(DrivingLog drivingLog) {
+        return new LastState(
+                drivingLog.getId().getMdn(),
+                null,
+                drivingLog.getId().getRecordTime().atOffset(ZoneOffset.UTC),
+                DRIVING,
+                toDouble(drivingLog.getLatitude()),
+                toDouble(drivingLog.getLongitude()),
+                drivingLog.getAngle(),
+                drivingLog.getSpeed(),
+                drivingLog.getTotalDistance(),
+                null,
+                null
+        );
+    }
+
+    public static LastState from(VehicleLastState row) {
+        return new LastState(row.getMdn(), row.getVehicleId(), row.getStateTime(), row.getSource(),
+                row.getLatitude(), row.getLongitude(), row.getAngle(), row.getSpeed(), row.getTotalDistance(),
+                row.getIgnitionOn(), row.getUpdatedAt());
+    }
+
+    public LastState withUpdatedAt(OffsetDateTime updatedAt) {
+        return new LastState(mdn, vehicleId, stateTime, source, latitude, longitude, angle, speed, totalDistance,
+                ignitionOn, updatedAt);
+    }
+
+    public VehicleLastState toRow(OffsetDateTime updatedAt) {
+        return VehicleLastState.builder()
+                .mdn(mdn)
+                .vehicleId(vehicleId)
+                .stateTime(stateTime)
+                .source(source)
+                .latitude(latitude)
+                .longitude(longitude)
+                .angle(angle)
+                .speed(speed)
+                .totalDistance(totalDistance)
+                .ignitionOn(ignitionOn)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    /**
+     * 같은 단말의 기존 상태와 합칩니다. 더 오래된 값이면 기존 상태를 그대로 두고,
+     * 새 값에 없는 항목(차량 ID, 누적 거리, 시동 상태)은 기존 값을 이어받습니다.
+     */
+    public LastState mergeInto(LastState current) {
+        if (current == null) {
+            return this;
+        }
+        if (stateTime.isBefore(current.stateTime)) {
+            return current;
+        }
+        return new LastState(
+                mdn,
+                vehicleId != null ? vehicleId : current.vehicleId,
+                stateTime,
+                source,
+                latitude,
+                longitude,
+                angle,
+                speed,
+                totalDistance != null ? totalDistance : current.totalDistance,
+                ignitionOn != null ? ignitionOn : current.ignitionOn,
+                updatedAt
+        );
+    }
+
+    private static Double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : null;
+    }
+}
@@ -0,0 +1,173 @@
+package kjstyle.techdom.domain.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.entitys.VehicleLastState;
+import kjstyle.techdom.domain.repository.VehicleLastStateCustomRepository;
+import kjstyle.techdom.domain.repository.VehicleLastStateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 단말별 마지막 위치/상태를 메모리에 두고 vehicle_last_state 테이블에 모아서 기록합니다(write-behind).
+ * 전체 차량 위치 조회는 하이퍼테이블이나 이 테이블을 읽지 않고 메모리 맵을 그대로 돌려줍니다.
+ *
+ * - 이벤트/주기정보를 처리할 때마다 {@link LastState#mergeInto}로 갱신하고, 바뀐 단말만 기록 대기 목록에 남깁니다.
+ * - techdom.last-state.flush-interval-ms 마다 대기 목록을 한 번의 배치 upsert로 기록합니다. (같은 단말의 여러 갱신은 마지막 값 하나로 합쳐짐)
+ * - 같은 주기로 다른 인스턴스가 기록한 변경분(updated_at)을 읽어 합칩니다. 첫 실행 때는 테이블 전체를 읽어 채웁니다.
+ * - 트랜잭션이 롤백되어도 같은 배치가 재전달되어 같은 값으로 다시 갱신되므로 별도 보상 처리는 하지 않습니다.
+ */
+@Slf4j
+@Component
+public class VehicleLastStateStore implements DisposableBean {
+
+    private static final OffsetDateTime BEGINNING = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final VehicleLastStateRepository vehicleLastStateRepository;
+    private final VehicleLastStateCustomRepository vehicleLastStateCustomRepository;
+    private final Duration pollOverlap;
+
+    private final ConcurrentHashMap<String, LastState> states = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LastState> pending = new ConcurrentHashMap<>(); // 아직 테이블에 기록하지 않은 상태
+
+    // 마지막으로 반영한 updated_at. 커밋이 늦은 기록을 놓치지 않도록 pollOverlap 만큼 겹쳐서 조회한다
+    private volatile OffsetDateTime updatedAtWatermark = BEGINNING;
+
+    public VehicleLastStateStore(
+            VehicleLastStateRepository vehicleLastStateRepository,
+            VehicleLastStateCustomRepository vehicleLastStateCustomRepository,
+            MeterRegistry meterRegistry,
+            @Value("${techdom.last-state.flush-interval-ms:1000}") long flushIntervalMillis
+    ) {
+        this.vehicleLastStateRepository = vehicleLastStateRepository;
+        this.vehicleLastStateCustomRepository = vehicleLastStateCustomRepository;
+        this.pollOverlap = Duration.ofMillis(Math.max(flushIntervalMillis, 1000) * 5);
+
+        Gauge.builder("techdom.last-state.size", states, Map::size).register(meterRegistry);
+        Gauge.builder("techdom.last-state.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    public void onEvents(List<VehicleEventLog> eventLogs) {
+        for (VehicleEventLog eventLog : eventLogs) {
+            update(LastState.from(eventLog));
+        }
+    }
+
+    public void onDrivingLogs(List<DrivingLog> drivingLogs) {
+        for (DrivingLog drivingLog : drivingLogs) {
+            update(LastState.from(drivingLog));
+        }
+    }
+
+    private void update(LastState received) {
+        LastState candidate = received.withUpdatedAt(OffsetDateTime.now(ZoneOffset.UTC));
+        LastState merged = states.merge(candidate.mdn(), candidate, (current, next) -> next.mergeInto(current));
+        if (merged.stateTime().equals(candidate.stateTime())) {
+            pending.put(merged.mdn(), merged);
+        }
+    }
+
+    public LastState get(String mdn) {
+        return states.get(mdn);
+    }
+
+    /**
+     * 전체 단말의 마지막 상태. since가 있으면 그 이후에 서버에 반영된(updated_at 기준) 단말만 돌려줍니다.
+     * 재접속한 단말이 보낸 과거 시각의 기록으로 바뀐 상태도 빠지지 않도록 state_time이 아니라 반영 시각으로 거릅니다.
+     */
+    public List<LastState> findAll(OffsetDateTime since) {
+        List<LastState> result = new ArrayList<>(since == null ? states.size() : 256);
+        for (LastState state : states.values()) {
+            if (since == null || state.updatedAt().isAfter(since)) {
+                result.add(state);
+            }
+        }
+        return result;
+    }
+
+    public List<LastState> findAll(Collection<String> mdns) {
+        List<LastState> result = new ArrayList<>(mdns.size());
+        for (String mdn : mdns) {
+            LastState state = states.get(mdn);
+            if (state != null) {
+                result.add(state);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 대기 중인 상태를 기록하고, 다른 인스턴스가 기록한 변경분을 메모리에 합칩니다.
+     */
+    @Scheduled(fixedDelayString = "${techdom.last-state.flush-interval-ms:1000}")
+    public void sync() {
+        flush();
+        pull();
+    }
+
+    void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<LastState> drained = new ArrayList<>(pending.size());
+        for (String mdn : pending.keySet()) {
+            LastState state = pending.remove(mdn);
+            if (state != null) {
+                drained.add(state);
+            }
+        }
+
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        try {
+            vehicleLastStateCustomRepository.upsertAll(drained.stream().map(state -> state.toRow(now)).toList());
+        } catch (RuntimeException e) {
+            // 그사이 더 최근 상태가 들어온 단말은 그 값을 기록하면 되므로 비어 있는 단말만 되돌린다
+            drained.forEach(state -> pending.putIfAbsent(state.mdn(), state));
+            log.warn("단말 마지막 상태 {}건 기록 실패, 다음 주기에 다시 기록 : {}", drained.size(), e.getMessage());
+        }
+    }
+
+    private void pull() {
+        OffsetDateTime watermark = this.updatedAtWatermark;
+        List<VehicleLastState> rows = vehicleLastStateRepository.findByUpdatedAtAfter(
+                watermark == BEGINNING ? watermark : watermark.minus(pollOverlap));
+
+        OffsetDateTime appliedAt = OffsetDateTime.now(ZoneOffset.UTC);
+        for (VehicleLastState row : rows) {
+            // 반영 시각은 다른 인스턴스의 기록 시각(updated_at)이 아니라 이 인스턴스가 합친 시각으로 찍는다.
+            // (기록 시각은 클라이언트가 이미 받은 since보다 앞설 수 있어 증분 조회에서 빠진다)
+            LastState stored = LastState.from(row).withUpdatedAt(appliedAt);
+            // 이미 메모리에 있는 상태(이 인스턴스가 기록한 행 포함)는 다시 합치지 않아 반영 시각이 바뀌지 않게 한다
+            states.merge(stored.mdn(), stored,
+                    (current, next) -> next.stateTime().isAfter(current.stateTime()) ? next.mergeInto(current) : current);
+            if (row.getUpdatedAt().isAfter(watermark)) {
+                watermark = row.getUpdatedAt();
+            }
+        }
+        this.updatedAtWatermark = watermark;
+
+        if (!rows.isEmpty()) {
+            log.debug("단말 마지막 상태 {}건 반영 (메모리 {}건)", rows.size(), states.size());
+        }
+    }
+
+    // 종료 시 남은 상태를 기록
+    @Override
+    public void destroy() {
+        flush();
+    }
+}
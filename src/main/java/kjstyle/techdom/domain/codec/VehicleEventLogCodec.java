@@ -0,0 +1,218 @@
+package kjstyle.techdom.domain.codec;
+
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.enums.GpsCondition;
+import kjstyle.techdom.enums.VehicleEventType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * VehicleEventLog를 Kafka 메시지 값으로 주고받기 위한 바이너리 코덱입니다.
+ * JSON 대비 필드명/ISO 날짜 문자열이 빠지고, 리플렉션 없이 고정 위치에서 읽고 씁니다.
+ *
+ * <pre>
+ * offset  size  필드
+ * 0       1     MAGIC (0xE7, JSON의 '{'와 구분)
+ * 1       1     스키마 버전
+ * 2       2     null 여부 비트마스크 (PRESENT_* 비트가 1이면 값 있음)
+ * 4       8     eventTimestampUtc (epoch millis, UTC)
+ * 12      1     eventType (ordinal)
+ * 13      1     gpsStatus (ordinal)
+ * 14      4     eventSecond
+ * 18      4     latitude  (x 1,000,000 정수, DB 컬럼 NUMERIC(9,6)과 같은 정밀도)
+ * 22      4     longitude (x 1,000,000 정수)
+ * 26      4     angle
+ * 30      4     speed
+ * 34      8     currentAccumulatedDistance
+ * 42      4     batteryVolt
+ * 46      8     onTime (epoch millis, UTC)
+ * 54      8     ignitionOffTime (epoch millis, UTC)
+ * 62      8     vehicleId (버전 2부터)
+ * 70      ~     mdn, geofenceGroupId, geofencePointId, eventValue, rawJsonData
+ *               (각각 4바이트 길이 + UTF-8 바이트, null이면 길이 -1)
+ * </pre>
+ *
+ * enum은 ordinal로 저장하므로 {@link VehicleEventType}, {@link GpsCondition}의 상수 순서를 바꾸거나
+ * 필드 구성을 바꿀 때는 반드시 {@link #VERSION}을 올리고 이전 버전 디코딩을 유지해야 합니다.
+ * (버전 1은 vehicleId 없이 offset 62부터 문자열이 이어지는 형식으로, 롤링 배포 중 남아 있는 메시지를 위해 계속 읽습니다.)
+ */
+public final class VehicleEventLogCodec {
+
+    public static final byte MAGIC = (byte) 0xE7;
+    public static final byte VERSION = 2;
+    private static final byte VERSION_1 = 1;
+
+    private static final int FIXED_SIZE = 70;
+    private static final double COORDINATE_SCALE = 1_000_000d;
+
+    private static final int PRESENT_GPS_STATUS = 1;
+    private static final int PRESENT_EVENT_SECOND = 1 << 1;
+    private static final int PRESENT_LATITUDE = 1 << 2;
+    private static final int PRESENT_LONGITUDE = 1 << 3;
+    private static final int PRESENT_ANGLE = 1 << 4;
+    private static final int PRESENT_SPEED = 1 << 5;
+    private static final int PRESENT_DISTANCE = 1 << 6;
+    private static final int PRESENT_BATTERY_VOLT = 1 << 7;
+    private static final int PRESENT_ON_TIME = 1 << 8;
+    private static final int PRESENT_IGNITION_OFF_TIME = 1 << 9;
+    private static final int PRESENT_VEHICLE_ID = 1 << 10;
+
+    private static final VehicleEventType[] EVENT_TYPES = VehicleEventType.values();
+    private static final GpsCondition[] GPS_CONDITIONS = GpsCondition.values();
+
+    private VehicleEventLogCodec() {
+    }
+
+    /**
+     * 바이트 배열이 이 코덱으로 인코딩된 값인지 확인합니다. (JSON 등 다른 형식과 구분용)
+     */
+    public static boolean isBinary(byte[] data) {
+        return data.length > 0 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(VehicleEventLog eventLog) {
+        byte[] mdn = utf8(eventLog.getMdn());
+        byte[] geofenceGroupId = utf8(eventLog.getGeofenceGroupId());
+        byte[] geofencePointId = utf8(eventLog.getGeofencePointId());
+        byte[] eventValue = utf8(eventLog.getEventValue());
+        byte[] rawJsonData = utf8(eventLog.getRawJsonData());
+
+        int size = FIXED_SIZE + sizeOf(mdn) + sizeOf(geofenceGroupId) + sizeOf(geofencePointId)
+                + sizeOf(eventValue) + sizeOf(rawJsonData);
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+
+        buffer.put(MAGIC);
+        buffer.put(VERSION);
+        buffer.putShort((short) presenceOf(eventLog));
+        buffer.putLong(eventLog.getEventTimestampUtc().toInstant().toEpochMilli());
+        buffer.put((byte) eventLog.getEventType().ordinal());
+        buffer.put(eventLog.getGpsStatus() != null ? (byte) eventLog.getGpsStatus().ordinal() : 0);
+        buffer.putInt(orZero(eventLog.getEventSecond()));
+        buffer.putInt(scale(eventLog.getLatitude()));
+        buffer.putInt(scale(eventLog.getLongitude()));
+        buffer.putInt(orZero(eventLog.getAngle()));
+        buffer.putInt(orZero(eventLog.getSpeed()));
+        buffer.putLong(eventLog.getCurrentAccumulatedDistance() != null ? eventLog.getCurrentAccumulatedDistance() : 0L);
+        buffer.putInt(orZero(eventLog.getBatteryVolt()));
+        buffer.putLong(eventLog.getOnTime() != null ? eventLog.getOnTime().toInstant().toEpochMilli() : 0L);
+        buffer.putLong(eventLog.getIgnitionOffTime() != null ? eventLog.getIgnitionOffTime().toInstant().toEpochMilli() : 0L);
+        buffer.putLong(eventLog.getVehicleId() != null ? eventLog.getVehicleId() : 0L);
+
+        putBytes(buffer, mdn);
+        putBytes(buffer, geofenceGroupId);
+        putBytes(buffer, geofencePointId);
+        putBytes(buffer, eventValue);
+        putBytes(buffer, rawJsonData);
+        return buffer.array();
+    }
+
+    public static VehicleEventLog decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (buffer.get() != MAGIC) {
+            throw new IllegalArgumentException("VehicleEventLog 바이너리 형식이 아닙니다.");
+        }
+        byte version = buffer.get();
+        if (version != VERSION && version != VERSION_1) {
+            throw new IllegalArgumentException("지원하지 않는 VehicleEventLog 스키마 버전입니다: " + version);
+        }
+
+        int presence = buffer.getShort() & 0xFFFF;
+        OffsetDateTime eventTimestampUtc = toUtc(buffer.getLong());
+        VehicleEventType eventType = EVENT_TYPES[buffer.get()];
+        byte gpsStatus = buffer.get();
+        int eventSecond = buffer.getInt();
+        int latitude = buffer.getInt();
+        int longitude = buffer.getInt();
+        int angle = buffer.getInt();
+        int speed = buffer.getInt();
+        long distance = buffer.getLong();
+        int batteryVolt = buffer.getInt();
+        long onTime = buffer.getLong();
+        long ignitionOffTime = buffer.getLong();
+        long vehicleId = version >= VERSION ? buffer.getLong() : 0L;
+
+        return VehicleEventLog.builder()
+                .eventTimestampUtc(eventTimestampUtc)
+                .eventType(eventType)
+                .vehicleId(has(presence, PRESENT_VEHICLE_ID) ? vehicleId : null)
+                .gpsStatus(has(presence, PRESENT_GPS_STATUS) ? GPS_CONDITIONS[gpsStatus] : null)
+                .eventSecond(has(presence, PRESENT_EVENT_SECOND) ? eventSecond : null)
+                .latitude(has(presence, PRESENT_LATITUDE) ? latitude / COORDINATE_SCALE : null)
+                .longitude(has(presence, PRESENT_LONGITUDE) ? longitude / COORDINATE_SCALE : null)
+                .angle(has(presence, PRESENT_ANGLE) ? angle : null)
+                .speed(has(presence, PRESENT_SPEED) ? speed : null)
+                .currentAccumulatedDistance(has(presence, PRESENT_DISTANCE) ? distance : null)
+                .batteryVolt(has(presence, PRESENT_BATTERY_VOLT) ? batteryVolt : null)
+                .onTime(has(presence, PRESENT_ON_TIME) ? toUtc(onTime) : null)
+                .ignitionOffTime(has(presence, PRESENT_IGNITION_OFF_TIME) ? toUtc(ignitionOffTime) : null)
+                .mdn(getString(buffer))
+                .geofenceGroupId(getString(buffer))
+                .geofencePointId(getString(buffer))
+                .eventValue(getString(buffer))
+                .rawJsonData(getString(buffer))
+                .build();
+    }
+
+    private static int presenceOf(VehicleEventLog eventLog) {
+        int presence = 0;
+        if (eventLog.getGpsStatus() != null) presence |= PRESENT_GPS_STATUS;
+        if (eventLog.getEventSecond() != null) presence |= PRESENT_EVENT_SECOND;
+        if (eventLog.getLatitude() != null) presence |= PRESENT_LATITUDE;
+        if (eventLog.getLongitude() != null) presence |= PRESENT_LONGITUDE;
+        if (eventLog.getAngle() != null) presence |= PRESENT_ANGLE;
+        if (eventLog.getSpeed() != null) presence |= PRESENT_SPEED;
+        if (eventLog.getCurrentAccumulatedDistance() != null) presence |= PRESENT_DISTANCE;
+        if (eventLog.getBatteryVolt() != null) presence |= PRESENT_BATTERY_VOLT;
+        if (eventLog.getOnTime() != null) presence |= PRESENT_ON_TIME;
+        if (eventLog.getIgnitionOffTime() != null) presence |= PRESENT_IGNITION_OFF_TIME;
+        if (eventLog.getVehicleId() != null) presence |= PRESENT_VEHICLE_ID;
+        return presence;
+    }
+
+    private static boolean has(int presence, int bit) {
+        return (presence & bit) != 0;
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static int scale(Double coordinate) {
+        return coordinate != null ? (int) Math.round(coordinate * COORDINATE_SCALE) : 0;
+    }
+
+    private static OffsetDateTime toUtc(long epochMilli) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneOffset.UTC);
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int sizeOf(byte[] bytes) {
+        return Integer.BYTES + (bytes != null ? bytes.length : 0);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,37 @@
+package kjstyle.techdom.domain.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+
+/**
+ * VehicleEventLog Kafka 값 역직렬화기입니다.
+ * 첫 바이트로 형식을 판별하여 바이너리({@link VehicleEventLogCodec})와 기존 JSON 메시지를 모두 읽습니다.
+ * 롤링 배포 중이거나 토픽에 JSON 메시지가 남아 있어도 컨슈머가 멈추지 않게 하기 위함입니다.
+ */
+public class VehicleEventLogDeserializer implements Deserializer<VehicleEventLog> {
+
+    private final ObjectMapper objectMapper;
+
+    public VehicleEventLogDeserializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public VehicleEventLog deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        try {
+            if (VehicleEventLogCodec.isBinary(data)) {
+                return VehicleEventLogCodec.decode(data);
+            }
+            return objectMapper.readValue(data, VehicleEventLog.class);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("VehicleEventLog 역직렬화 실패 (topic=" + topic + ")", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package kjstyle.techdom.domain.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * VehicleEventLog Kafka 값 직렬화기입니다.
+ * 기본은 {@link VehicleEventLogCodec} 바이너리 형식이며, 롤링 배포 중 구버전 컨슈머가 남아 있는 동안에는
+ * JSON 형식으로 보내도록 설정할 수 있습니다. (techdom.kafka.value-format)
+ */
+public class VehicleEventLogSerializer implements Serializer<VehicleEventLog> {
+
+    public enum Format {
+        BINARY,
+        JSON
+    }
+
+    private final Format format;
+    private final ObjectMapper objectMapper;
+
+    public VehicleEventLogSerializer(Format format, ObjectMapper objectMapper) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] serialize(String topic, VehicleEventLog data) {
+        if (data == null) {
+            return null;
+        }
+        if (format == Format.BINARY) {
+            return VehicleEventLogCodec.encode(data);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("VehicleEventLog JSON 직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package kjstyle.techdom.domain.diagnostic;
+
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * 수신 → 퍼블리싱 → 컨슈밍 → 저장 핫패스의 진단 로그를 필요한 이벤트에만 남깁니다.
+ * 평소에는 이벤트마다 로그를 남기지 않고, 아래 두 경우에만 "techdom.diagnostic" 로거로 한 줄씩 기록합니다.
+ * <ul>
+ *     <li>추적 대상으로 등록된 MDN의 이벤트 (설정값 또는 /actuator/eventtrace 로 실행 중 등록)</li>
+ *     <li>sample-rate가 N(>0)일 때 N건 중 1건. (MDN + 이벤트 시각의 해시로 고르므로 같은 이벤트는 모든 단계에서 함께 기록됨)</li>
+ * </ul>
+ * 처리 실패({@link #traceFailure})는 추적/샘플링 여부와 관계없이 항상 ERROR로 기록합니다.
+ * rawJsonData 등 큰 필드는 남기지 않고, 이벤트를 식별하고 흐름을 따라가는 데 필요한 필드만 key=value 형식으로 남깁니다.
+ */
+@Component
+public class EventDiagnostics {
+
+    private static final Logger DIAGNOSTIC_LOG = LoggerFactory.getLogger("techdom.diagnostic");
+
+    private final Logger diagnosticLog;
+    private final ToLongBiFunction<String, Object> sampleHash; // 이 값을 sample-rate로 나눈 나머지가 0이면 기록
+    private final Set<String> tracedMdns = ConcurrentHashMap.newKeySet();
+    private volatile int sampleRate;
+
+    @Autowired
+    public EventDiagnostics(
+            @Value("${techdom.diagnostic.sample-rate:0}") int sampleRate,
+            @Value("${techdom.diagnostic.trace-mdns:}") List<String> traceMdns
+    ) {
+        this(sampleRate, traceMdns, DIAGNOSTIC_LOG, EventDiagnostics::hash);
+    }
+
+    EventDiagnostics(int sampleRate, List<String> traceMdns, Logger diagnosticLog, ToLongBiFunction<String, Object> sampleHash) {
+        this.diagnosticLog = diagnosticLog;
+        this.sampleHash = sampleHash;
+        this.sampleRate = Math.max(sampleRate, 0);
+        traceMdns.stream()
+                .map(String::trim)
+                .filter(mdn -> !mdn.isEmpty())
+                .forEach(this.tracedMdns::add);
+    }
+
+    /**
+     * 이벤트 한 건의 처리 단계를 기록합니다. 추적/샘플링 대상이 아니면 아무 것도 하지 않습니다.
+     *
+     * @param stage 처리 단계 (예: "publish", "consume")
+     */
+    public void trace(String stage, VehicleEventLog eventLog) {
+        if (isTraced(eventLog.getMdn(), eventLog.getEventTimestampUtc())) {
+            diagnosticLog.info("stage={} mdn={} type={} ts={} gcd={} lat={} lon={} spd={} sum={}",
+                    stage, eventLog.getMdn(), eventLog.getEventType(), eventLog.getEventTimestampUtc(),
+                    eventLog.getGpsStatus(), eventLog.getLatitude(), eventLog.getLongitude(),
+                    eventLog.getSpeed(), eventLog.getCurrentAccumulatedDistance());
+        }
+    }
+
+    /**
+     * 이벤트 한 건의 처리 실패를 기록합니다. 추적/샘플링 대상이 아니어도 항상 남깁니다.
+     *
+     * @param stage 실패한 처리 단계 (예: "acked")
+     */
+    public void traceFailure(String stage, VehicleEventLog eventLog, Throwable cause) {
+        diagnosticLog.error("stage={} result=failed mdn={} type={} ts={} error={}",
+                stage, eventLog.getMdn(), eventLog.getEventType(), eventLog.getEventTimestampUtc(), cause.toString());
+    }
+
+    public void traceAll(String stage, List<VehicleEventLog> eventLogs) {
+        if (!isActive()) {
+            return;
+        }
+        for (VehicleEventLog eventLog : eventLogs) {
+            trace(stage, eventLog);
+        }
+    }
+
+    /**
+     * 주행기록(주기정보) 요청 한 건을 기록합니다. 주기정보 항목은 건수만 남깁니다.
+     */
+    public void traceDriving(String mdn, String recordTime, int cycleCount) {
+        if (isTraced(mdn, recordTime)) {
+            diagnosticLog.info("stage=driving mdn={} recordTime={} cycles={}", mdn, recordTime, cycleCount);
+        }
+    }
+
+    public void addTracedMdn(String mdn) {
+        tracedMdns.add(mdn);
+    }
+
+    public void removeTracedMdn(String mdn) {
+        tracedMdns.remove(mdn);
+    }
+
+    public Set<String> getTracedMdns() {
+        return Set.copyOf(tracedMdns);
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * @param sampleRate N건 중 1건을 기록. 0이면 샘플링하지 않음
+     */
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(sampleRate, 0);
+    }
+
+    private boolean isActive() {
+        return (sampleRate > 0 || !tracedMdns.isEmpty()) && diagnosticLog.isInfoEnabled();
+    }
+
+    private boolean isTraced(String mdn, Object sampleKey) {
+        if (!isActive()) {
+            return false;
+        }
+        if (mdn != null && tracedMdns.contains(mdn)) {
+            return true;
+        }
+        int rate = this.sampleRate;
+        return rate > 0 && Math.floorMod(sampleHash.applyAsLong(mdn, sampleKey), rate) == 0;
+    }
+
+    private static long hash(String mdn, Object sampleKey) {
+        return 31 * Objects.hashCode(mdn) + Objects.hashCode(sampleKey);
+    }
+}
@@ -0,0 +1,54 @@
+package kjstyle.techdom.domain.diagnostic;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 운영 중 재시작 없이 진단 로그 대상을 바꾸기 위한 actuator 엔드포인트입니다.
+ * <pre>
+ * GET    /actuator/eventtrace                              현재 샘플링 비율과 추적 MDN 목록
+ * POST   /actuator/eventtrace/{mdn}                        MDN 추적 시작
+ * DELETE /actuator/eventtrace/{mdn}                        MDN 추적 종료
+ * POST   /actuator/eventtrace  {"sampleRate": 1000}        1000건 중 1건 샘플링 (0이면 끔)
+ * </pre>
+ */
+@Component
+@Endpoint(id = "eventtrace")
+@RequiredArgsConstructor
+public class EventTraceEndpoint {
+
+    private final EventDiagnostics eventDiagnostics;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of(
+                "sampleRate", eventDiagnostics.getSampleRate(),
+                "tracedMdns", eventDiagnostics.getTracedMdns()
+        );
+    }
+
+    @WriteOperation
+    public Map<String, Object> sampleRate(int sampleRate) {
+        eventDiagnostics.setSampleRate(sampleRate);
+        return status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> trace(@Selector String mdn) {
+        eventDiagnostics.addTracedMdn(mdn);
+        return status();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> untrace(@Selector String mdn) {
+        eventDiagnostics.removeTracedMdn(mdn);
+        return status();
+    }
+}
@@ -0,0 +1,28 @@
+package kjstyle.techdom.domain.diagnostic;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 단계별/이벤트 타입별 지연 시간 요약(count, mean, max, p50/p95/p99)과 주행기록 bulkInsert 건수 분포를 한 번에 보여줍니다.
+ * <pre>
+ * GET /actuator/pipeline
+ * </pre>
+ * 파티션별 컨슈머 lag은 /actuator/metrics/kafka.consumer.fetch.manager.records.lag 에서 확인합니다.
+ */
+@Component
+@Endpoint(id = "pipeline")
+@RequiredArgsConstructor
+public class PipelineEndpoint {
+
+    private final PipelineMetrics pipelineMetrics;
+
+    @ReadOperation
+    public Map<String, Object> latency() {
+        return pipelineMetrics.snapshot();
+    }
+}
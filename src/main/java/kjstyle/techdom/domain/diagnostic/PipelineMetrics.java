@@ -0,0 +1,154 @@
+package kjstyle.techdom.domain.diagnostic;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import kjstyle.techdom.enums.VehicleEventType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이벤트 수신(HTTP)부터 DB 커밋까지 단계별 지연 시간을 이벤트 타입별 히스토그램으로 기록합니다.
+ * 지표 이름은 techdom.pipeline.latency{stage, type} 이며 /actuator/metrics 와 /actuator/pipeline 에서 확인합니다.
+ * <p>
+ * 타이머는 생성 시점에 [단계][타입] 배열로 모두 등록해 두므로 기록할 때 태그 조회나 객체 할당이 없습니다.
+ * (백분위는 Micrometer 내부의 HdrHistogram 기반 시간 창 히스토그램으로 계산)
+ */
+@Component
+public class PipelineMetrics {
+
+    /** 요청 수신 시각(System.nanoTime)을 담는 request attribute 이름 */
+    public static final String RECEIVED_AT_NANOS = "techdom.pipeline.receivedAtNanos";
+
+    private static final VehicleEventType[] TYPES = VehicleEventType.values();
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Stage {
+        VALIDATE("validate"),       // HTTP 수신 -> 바인딩/검증/단말 인증/변환 완료
+        PUBLISH("publish"),         // EventSender.send() 호출 시간 (in-flight 대기 포함)
+        BROKER_ACK("broker-ack"),   // send() 호출 -> 브로커 ACK
+        CONSUME("consume"),         // 레코드 타임스탬프(프로듀서 전송 시각) -> 컨슈머 수신
+        HANDLE("handle"),           // 핸들러 handleAll 한 번 (같은 타입 연속 구간)
+        COMMIT("commit"),           // 트랜잭션 커밋
+        END_TO_END("end-to-end");   // 레코드 타임스탬프 -> 커밋 완료
+
+        private final String tag;
+    }
+
+    private final Timer[][] timers;
+    private final DistributionSummary bulkInsertRows;
+
+    public PipelineMetrics(MeterRegistry meterRegistry) {
+        Stage[] stages = Stage.values();
+        this.timers = new Timer[stages.length][TYPES.length];
+        for (Stage stage : stages) {
+            for (VehicleEventType type : TYPES) {
+                timers[stage.ordinal()][type.ordinal()] = Timer.builder("techdom.pipeline.latency")
+                        .description("이벤트 처리 단계별 지연 시간")
+                        .tag("stage", stage.getTag())
+                        .tag("type", type.name())
+                        .publishPercentiles(PERCENTILES)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry);
+            }
+        }
+        this.bulkInsertRows = DistributionSummary.builder("techdom.driving.bulk-insert.rows")
+                .description("주행기록 bulkInsert 1회당 건수")
+                .baseUnit("rows")
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    public void record(Stage stage, VehicleEventType type, long nanos) {
+        timers[stage.ordinal()][type.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSince(Stage stage, VehicleEventType type, long startNanos) {
+        record(stage, type, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 서버 간 벽시계 기준 지연 시간을 기록합니다. 시계 오차로 음수가 되면 0으로 기록합니다.
+     */
+    public void recordMillis(Stage stage, VehicleEventType type, long millis) {
+        timers[stage.ordinal()][type.ordinal()].record(Math.max(millis, 0), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * typeMask에 포함된 타입(1L << ordinal)마다 같은 시간을 기록합니다. 커밋처럼 여러 타입이 함께 처리되는 단계에 사용합니다.
+     */
+    public void recordForTypes(Stage stage, long typeMask, long nanos) {
+        for (VehicleEventType type : TYPES) {
+            if ((typeMask & (1L << type.ordinal())) != 0) {
+                record(stage, type, nanos);
+            }
+        }
+    }
+
+    public static long typeBit(VehicleEventType type) {
+        return 1L << type.ordinal();
+    }
+
+    public void recordBulkInsert(int rows) {
+        bulkInsertRows.record(rows);
+    }
+
+    /**
+     * 기록이 있는 단계/타입의 현재 요약을 돌려줍니다. (단위: ms)
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            Map<String, Object> byType = new LinkedHashMap<>();
+            for (VehicleEventType type : TYPES) {
+                Timer timer = timers[stage.ordinal()][type.ordinal()];
+                if (timer.count() > 0) {
+                    byType.put(type.name(), summarize(timer.takeSnapshot()));
+                }
+            }
+            if (!byType.isEmpty()) {
+                result.put(stage.getTag(), byType);
+            }
+        }
+
+        HistogramSnapshot rows = bulkInsertRows.takeSnapshot();
+        if (rows.count() > 0) {
+            Map<String, Object> bulkInsert = new LinkedHashMap<>();
+            bulkInsert.put("count", rows.count());
+            bulkInsert.put("mean", rows.mean());
+            bulkInsert.put("max", rows.max());
+            for (ValueAtPercentile percentile : rows.percentileValues()) {
+                bulkInsert.put(percentileKey(percentile), percentile.value());
+            }
+            result.put("bulk-insert-rows", bulkInsert);
+        }
+        return result;
+    }
+
+    private static Map<String, Object> summarize(HistogramSnapshot snapshot) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", snapshot.count());
+        summary.put("meanMs", snapshot.mean(TimeUnit.MILLISECONDS));
+        summary.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            summary.put(percentileKey(percentile) + "Ms", percentile.value(TimeUnit.MILLISECONDS));
+        }
+        return summary;
+    }
+
+    private static String percentileKey(ValueAtPercentile percentile) {
+        return "p" + Math.round(percentile.percentile() * 100);
+    }
+}
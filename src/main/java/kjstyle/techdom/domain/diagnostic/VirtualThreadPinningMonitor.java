@@ -0,0 +1,128 @@
+package kjstyle.techdom.domain.diagnostic;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 가상 스레드 모드(spring.threads.virtual.enabled=true)에서 캐리어 스레드 고정(pinning)을 감시합니다.
+ * JDK 21에서는 synchronized 블록 안에서 JDBC/Kafka I/O로 블로킹하면 가상 스레드가 캐리어 스레드를 붙잡고 있게 되므로,
+ * JFR의 jdk.VirtualThreadPinned 이벤트를 스트리밍으로 받아 건수를 지표(techdom.vthread.pinned)로 남기고
+ * 처음 보는 호출 위치는 "techdom.diagnostic" 로거에 스택과 함께 한 번만 기록합니다.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger DIAGNOSTIC_LOG = LoggerFactory.getLogger("techdom.diagnostic");
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_LOGGED_FRAMES = 12;
+
+    private final Duration threshold;
+    private final Counter pinnedCounter;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${techdom.diagnostic.pinning.threshold-ms:20}") long thresholdMs
+    ) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.pinnedCounter = Counter.builder("techdom.vthread.pinned")
+                .description("임계 시간 이상 캐리어 스레드를 고정한 가상 스레드 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        this.stream = recordingStream;
+        DIAGNOSTIC_LOG.info("가상 스레드 고정 감시 시작 (threshold={}ms)", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recordingStream = this.stream;
+        if (recordingStream != null) {
+            recordingStream.close();
+            this.stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        String site = pinnedSite(frames);
+        if (reportedSites.add(site)) {
+            DIAGNOSTIC_LOG.warn("가상 스레드 고정 site={} duration={}ms\n{}",
+                    site, event.getDuration().toMillis(), format(frames));
+        } else if (DIAGNOSTIC_LOG.isDebugEnabled()) {
+            DIAGNOSTIC_LOG.debug("가상 스레드 고정 site={} duration={}ms", site, event.getDuration().toMillis());
+        }
+    }
+
+    // 고정을 일으킨 위치: 애플리케이션 코드가 있으면 가장 안쪽의 애플리케이션 프레임, 없으면 JDK 밖의 첫 프레임
+    private static String pinnedSite(List<RecordedFrame> frames) {
+        String firstLibraryFrame = null;
+        for (RecordedFrame frame : frames) {
+            String typeName = frame.getMethod().getType().getName();
+            if (typeName.startsWith("kjstyle.techdom.")) {
+                return frameName(frame);
+            }
+            if (firstLibraryFrame == null && !typeName.startsWith("java.") && !typeName.startsWith("jdk.")
+                    && !typeName.startsWith("sun.")) {
+                firstLibraryFrame = frameName(frame);
+            }
+        }
+        if (firstLibraryFrame != null) {
+            return firstLibraryFrame;
+        }
+        return frames.isEmpty() ? "unknown" : frameName(frames.get(0));
+    }
+
+    private static String format(List<RecordedFrame> frames) {
+        StringBuilder sb = new StringBuilder();
+        int limit = Math.min(frames.size(), MAX_LOGGED_FRAMES);
+        for (int i = 0; i < limit; i++) {
+            sb.append("\tat ").append(frameName(frames.get(i)))
+                    .append(':').append(frames.get(i).getLineNumber()).append('\n');
+        }
+        if (frames.size() > limit) {
+            sb.append("\t... ").append(frames.size() - limit).append(" more");
+        }
+        return sb.toString();
+    }
+
+    private static String frameName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
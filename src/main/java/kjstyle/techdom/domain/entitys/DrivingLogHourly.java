@@ -0,0 +1,16 @@
+package kjstyle.techdom.domain.entitys;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.NoArgsConstructor;
+
+/**
+ * 단말별 1시간 단위 주행기록 롤업입니다.
+ */
+@Entity
+@Table(name = "driving_log_hourly")
+@IdClass(DrivingLogRollupId.class)
+@NoArgsConstructor
+public class DrivingLogHourly extends DrivingLogRollup {
+}
@@ -0,0 +1,77 @@
+package kjstyle.techdom.domain.entitys;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주행기록(driving_log)을 단말별 시간 구간으로 모은 롤업의 공통 컬럼입니다.
+ * <p>
+ * 평균처럼 그대로 더할 수 없는 값은 합계와 건수로 나눠 두어, 배치마다 기존 구간에 더하기만 하면 되도록 했습니다.
+ * TimescaleDB 연속 집계(continuous aggregate)로 만들 때도 같은 컬럼 이름을 씁니다. (docs/ddl.sql 참고)
+ */
+@MappedSuperclass
+@NoArgsConstructor
+@Getter
+@ToString
+public abstract class DrivingLogRollup {
+
+    @Id
+    @Column(name = "mdn", nullable = false, length = 20)
+    private String mdn;
+
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart; // 구간 시작 시각 (UTC 기준 정시/자정)
+
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount; // 구간의 주기정보 건수
+
+    @Column(name = "speed_sum")
+    private Long speedSum;
+
+    @Column(name = "speed_samples", nullable = false)
+    private Long speedSamples; // 속도가 있는 주기정보 건수
+
+    @Column(name = "max_speed")
+    private Integer maxSpeed;
+
+    @Column(name = "min_total_distance")
+    private Long minTotalDistance;
+
+    @Column(name = "max_total_distance")
+    private Long maxTotalDistance;
+
+    @Column(name = "battery_volt_sum")
+    private Long batteryVoltSum;
+
+    @Column(name = "battery_volt_samples", nullable = false)
+    private Long batteryVoltSamples; // 배터리 전압이 있는 주기정보 건수
+
+    @Column(name = "min_battery_volt")
+    private Integer minBatteryVolt;
+
+    @Column(name = "max_battery_volt")
+    private Integer maxBatteryVolt;
+
+    public Double getAvgSpeed() {
+        return speedSamples != null && speedSamples > 0 && speedSum != null ? (double) speedSum / speedSamples : null;
+    }
+
+    /**
+     * 구간 안의 누적 거리 최대 - 최소. 구간 경계를 넘는 이동분은 어느 구간에도 포함되지 않습니다.
+     */
+    public Long getDistance() {
+        return minTotalDistance != null && maxTotalDistance != null ? maxTotalDistance - minTotalDistance : null;
+    }
+
+    public Double getAvgBatteryVolt() {
+        return batteryVoltSamples != null && batteryVoltSamples > 0 && batteryVoltSum != null
+                ? (double) batteryVoltSum / batteryVoltSamples : null;
+    }
+}
@@ -0,0 +1,17 @@
+package kjstyle.techdom.domain.entitys;
+
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 주행기록 롤업(시간/일 단위)의 복합 기본키입니다. 단말 + 구간 시작 시각으로 구분합니다.
+ */
+@NoArgsConstructor
+@EqualsAndHashCode
+public class DrivingLogRollupId implements Serializable {
+    private String mdn;
+    private LocalDateTime bucketStart;
+}
@@ -0,0 +1,58 @@
+package kjstyle.techdom.domain.entitys;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 단말이 보낸 원본 HTTP 요청 한 건입니다. RawRequestArchiver가 요청 스레드 밖에서 모아서 기록합니다.
+ * 본문이 compress-threshold 이상이면 raw_body 대신 gzip으로 압축한 raw_body_gz에 저장합니다.
+ */
+@Entity
+@Table(name = "raw_request_log")
+@NoArgsConstructor
+@Getter
+@ToString
+@AllArgsConstructor
+@Builder
+public class RawRequestLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "mdn", length = 20)
+    private String mdn; // 인증된 단말만 기록 (device FK). 인증 전 거절된 요청은 null
+
+    @Column(name = "service_method", length = 50)
+    private String serviceMethod;
+
+    @Column(name = "received_at", nullable = false)
+    private OffsetDateTime receivedAt;
+
+    @Column(name = "raw_body", columnDefinition = "JSONB")
+    @ToString.Exclude
+    private String rawBody;
+
+    @Column(name = "raw_body_gz")
+    @ToString.Exclude
+    private byte[] rawBodyGz;
+
+    @Column(name = "processed")
+    private Boolean processed;
+
+    @Column(name = "process_result", columnDefinition = "TEXT")
+    private String processResult;
+
+    @Column(name = "headers", columnDefinition = "JSONB")
+    @ToString.Exclude
+    private String headers;
+
+    @Column(name = "source_ip", length = 45)
+    private String sourceIp; // PostgreSQL 스키마는 INET
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+}
@@ -0,0 +1,68 @@
+package kjstyle.techdom.domain.entitys;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 시동 ON ~ 시동 OFF 한 번의 운행 요약입니다. TripAggregator가 시동 OFF 시점에 한 건씩 기록합니다.
+ * 대시보드는 원본 하이퍼테이블(vehicle_event_log, driving_log)을 훑지 않고 이 테이블을 조회합니다.
+ */
+@Entity
+@Table(name = "trip_summary")
+@IdClass(TripSummaryId.class)
+@NoArgsConstructor
+@Getter
+@ToString
+@AllArgsConstructor
+@Builder
+public class TripSummary {
+
+    @Id
+    @Column(name = "mdn", nullable = false, length = 20)
+    private String mdn;
+
+    @Id
+    @Column(name = "start_time", nullable = false)
+    private OffsetDateTime startTime; // 시동 ON 시각
+
+    @Column(name = "end_time", nullable = false)
+    private OffsetDateTime endTime; // 시동 OFF 시각
+
+    @Column(name = "vehicle_id")
+    private Long vehicleId;
+
+    @Column(name = "duration_seconds", nullable = false)
+    private Long durationSeconds;
+
+    @Column(name = "start_distance")
+    private Long startDistance; // 시동 ON 시 누적 주행 거리 (미터)
+
+    @Column(name = "end_distance")
+    private Long endDistance; // 시동 OFF 시 누적 주행 거리 (미터)
+
+    @Column(name = "distance")
+    private Long distance; // 운행 거리 (미터). 누적 거리가 없거나 줄어든 경우 null
+
+    @Column(name = "max_speed")
+    private Integer maxSpeed; // 운행 중 주기정보의 최고 속도 (km/h)
+
+    @Column(name = "avg_speed")
+    private Double avgSpeed; // 운행 중 주기정보의 평균 속도 (km/h)
+
+    @Column(name = "speed_samples", nullable = false)
+    private Integer speedSamples; // 속도 계산에 사용한 주기정보 건수
+
+    @Column(name = "start_latitude")
+    private Double startLatitude;
+
+    @Column(name = "start_longitude")
+    private Double startLongitude;
+
+    @Column(name = "end_latitude")
+    private Double endLatitude;
+
+    @Column(name = "end_longitude")
+    private Double endLongitude;
+}
@@ -0,0 +1,17 @@
+package kjstyle.techdom.domain.entitys;
+
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+/**
+ * 운행 요약의 복합 기본키입니다. 한 단말의 운행은 시작 시각(시동 ON 시각)으로 구분합니다.
+ */
+@NoArgsConstructor
+@EqualsAndHashCode
+public class TripSummaryId implements Serializable {
+    private String mdn;
+    private OffsetDateTime startTime;
+}
@@ -25,6 +25,9 @@ public class VehicleEventLog {
     @Column(name = "mdn", nullable = false, length = 20)
     private String mdn;
 
+    @Column(name = "vehicle_id")
+    private Long vehicleId; // 수신 시 단말 캐시(DeviceRegistry)에서 붙이는 차량 ID (미연결 단말이면 null)
+
     @jakarta.persistence.Enumerated(jakarta.persistence.EnumType.STRING)
     @Column(name = "event_type", nullable = false)
     private VehicleEventType eventType;
@@ -76,8 +79,13 @@ public class VehicleEventLog {
 
     @Column(name = "raw_json_data", columnDefinition = "JSONB")
     @Setter
+    @ToString.Exclude // 원문 전체가 로그에 찍히지 않도록 제외
     private String rawJsonData;
 
+    public void assignVehicleId(Long vehicleId) {
+        this.vehicleId = vehicleId;
+    }
+
     public void adjustGpsPosition(Double newLat, Double newLon) {
         this.latitude = newLat;
         this.longitude = newLon;
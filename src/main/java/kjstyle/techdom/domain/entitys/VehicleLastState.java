@@ -0,0 +1,54 @@
+package kjstyle.techdom.domain.entitys;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 단말별 마지막으로 알려진 위치/상태 한 건입니다. VehicleLastStateStore가 메모리 상태를 모아서 주기적으로 덮어씁니다(write-behind).
+ * "지금 모든 차량이 어디 있는지" 조회할 때 하이퍼테이블(driving_log, vehicle_event_log)에서 DISTINCT ON (mdn)을 하지 않기 위한 테이블입니다.
+ */
+@Entity
+@Table(name = "vehicle_last_state")
+@NoArgsConstructor
+@Getter
+@ToString
+@AllArgsConstructor
+@Builder
+public class VehicleLastState {
+
+    @Id
+    @Column(name = "mdn", nullable = false, length = 20)
+    private String mdn;
+
+    @Column(name = "vehicle_id")
+    private Long vehicleId;
+
+    @Column(name = "state_time", nullable = false)
+    private OffsetDateTime stateTime; // 이 상태를 만든 이벤트/주기정보의 발생 시각
+
+    @Column(name = "source", nullable = false, length = 20)
+    private String source; // 이벤트 타입 또는 DRIVING
+
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Column(name = "angle")
+    private Integer angle;
+
+    @Column(name = "speed")
+    private Integer speed;
+
+    @Column(name = "total_distance")
+    private Long totalDistance; // 누적 주행 거리
+
+    @Column(name = "ignition_on")
+    private Boolean ignitionOn; // 마지막 시동 ON/OFF 기준 (이력이 없으면 null)
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt; // 테이블에 기록한 시각 (다른 인스턴스의 변경분 조회용)
+}
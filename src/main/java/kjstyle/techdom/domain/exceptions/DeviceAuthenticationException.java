@@ -0,0 +1,18 @@
+package kjstyle.techdom.domain.exceptions;
+
+import lombok.Getter;
+
+/**
+ * 등록되지 않은 단말이거나 요청 헤더(tid/mid/pv)가 등록된 단말 정보와 다를 때 발생하는 예외입니다.
+ * 컨트롤러에서는 Kafka로 보내기 전에 403으로 응답합니다.
+ */
+@Getter
+public class DeviceAuthenticationException extends RuntimeException {
+
+    private final String mdn;
+
+    public DeviceAuthenticationException(String mdn, String message) {
+        super(message);
+        this.mdn = mdn;
+    }
+}
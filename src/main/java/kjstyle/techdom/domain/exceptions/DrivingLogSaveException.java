@@ -0,0 +1,17 @@
+package kjstyle.techdom.domain.exceptions;
+
+import lombok.Getter;
+
+/**
+ * 주행기록 일부 청크를 저장하지 못했을 때 발생하는 예외입니다. 컨트롤러에서는 500으로 응답합니다.
+ */
+@Getter
+public class DrivingLogSaveException extends RuntimeException {
+
+    private final String mdn;
+
+    public DrivingLogSaveException(String mdn, String message) {
+        super(message);
+        this.mdn = mdn;
+    }
+}
@@ -0,0 +1,18 @@
+package kjstyle.techdom.domain.exceptions;
+
+import lombok.Getter;
+
+/**
+ * 브로커 응답 지연으로 전송 대기(in-flight) 중인 이벤트가 한도에 도달했거나 로컬 스풀이 가득 차
+ * 새 이벤트를 받을 수 없을 때 발생하는 예외입니다. 컨트롤러에서는 503으로 응답합니다.
+ */
+@Getter
+public class EventPublishRejectedException extends RuntimeException {
+
+    private final String mdn;
+
+    public EventPublishRejectedException(String mdn, String message) {
+        super(message);
+        this.mdn = mdn;
+    }
+}
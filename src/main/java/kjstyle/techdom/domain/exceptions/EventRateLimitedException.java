@@ -0,0 +1,18 @@
+package kjstyle.techdom.domain.exceptions;
+
+import lombok.Getter;
+
+/**
+ * 한 단말이 허용된 속도(techdom.ingest.rate / burst)보다 많은 이벤트를 보냈을 때 발생하는 예외입니다.
+ * Kafka로 보내지 않고, 컨트롤러에서는 429로 응답합니다.
+ */
+@Getter
+public class EventRateLimitedException extends RuntimeException {
+
+    private final String mdn;
+
+    public EventRateLimitedException(String mdn, String message) {
+        super(message);
+        this.mdn = mdn;
+    }
+}
@@ -0,0 +1,23 @@
+package kjstyle.techdom.domain.exceptions;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Bean Validation(@Valid)을 거치지 않고 직접 검증한 요청 항목에서 오류가 발견되었을 때 발생하는 예외입니다.
+ * 배열 형태의 요청(주기정보 목록 등)을 원소별 Bean 생성 없이 한 번에 검증하기 위해 사용하며,
+ * {@link kjstyle.techdom.web.VehicleControllerExceptionAdvice}에서 400 응답으로 변환됩니다.
+ */
+@Getter
+public class RequestValidationException extends RuntimeException {
+
+    private final String mdn;
+    private final List<String> errors;
+
+    public RequestValidationException(String mdn, List<String> errors) {
+        super("요청 파라미터 유효성 검사에 실패했습니다.");
+        this.mdn = mdn;
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,56 @@
+package kjstyle.techdom.domain.geofence;
+
+import kjstyle.techdom.enums.GeofenceTriggerType;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 중심 좌표와 반경으로 정의된 원형 지오펜스입니다. (geofence_item 한 건)
+ * 위치 판정은 등장방형 근사(경도 차이에 중심 위도의 cos를 곱함)로 삼각함수 없이 곱셈/덧셈만으로 계산합니다.
+ * 수 km 이내의 지오펜스에서는 하버사인 공식과의 오차가 1m 미만입니다.
+ */
+@Getter
+@ToString
+public final class GeofenceCircle {
+
+    static final double METERS_PER_DEGREE = 111_320d;
+
+    private final long itemId;
+    private final String name;
+    private final double latitude;
+    private final double longitude;
+    private final int radiusMeters;
+    private final GeofenceTriggerType triggerType;
+
+    // 판정용 사전 계산 값
+    @ToString.Exclude
+    private final double metersPerLonDegree;
+    @ToString.Exclude
+    private final double radiusSquared;
+
+    public GeofenceCircle(long itemId, String name, double latitude, double longitude, int radiusMeters,
+                          GeofenceTriggerType triggerType) {
+        this.itemId = itemId;
+        this.name = name;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.radiusMeters = radiusMeters;
+        this.triggerType = triggerType;
+        this.metersPerLonDegree = METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+        this.radiusSquared = (double) radiusMeters * radiusMeters;
+    }
+
+    public boolean contains(double lat, double lon) {
+        double dy = (lat - latitude) * METERS_PER_DEGREE;
+        double dx = (lon - longitude) * metersPerLonDegree;
+        return dx * dx + dy * dy <= radiusSquared;
+    }
+
+    double latitudeDelta() {
+        return radiusMeters / METERS_PER_DEGREE;
+    }
+
+    double longitudeDelta() {
+        return radiusMeters / Math.max(metersPerLonDegree, 1d);
+    }
+}
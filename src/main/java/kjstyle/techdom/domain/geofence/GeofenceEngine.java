@@ -0,0 +1,377 @@
+package kjstyle.techdom.domain.geofence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.enums.GeofenceTransition;
+import kjstyle.techdom.enums.GeofenceTriggerType;
+import kjstyle.techdom.enums.VehicleEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * geofence_item / geofence_policy / geofence_policy_item_map / vehicle_policy_assignment를 메모리 공간 인덱스로 올려
+ * 위치가 들어올 때마다 서버에서 지오펜스 진입/이탈을 판정하는 엔진입니다.
+ *
+ * - 단말이 보낸 지오펜스 IN/OUT이 실제 위치와 맞는지 검증하고 ({@link #verify(VehicleEventLog)}),
+ * - 단말 펌웨어가 모르는 지오펜스에 대해서도 {@link GeofenceTransitionEvent}를 발행합니다.
+ *
+ * 테이블 변경은 건수/최종 수정 일시를 주기적으로 비교해서 감지하고, 바뀌었으면 인덱스를 새로 만들어 통째로 교체합니다.
+ * 테이블이 아직 없는 환경(H2 개발 DB 등)에서는 빈 인덱스로 동작합니다.
+ *
+ * 트랜잭션 안에서 호출되면 단말별 안/밖 상태는 커밋된 뒤에 반영하고, 진입/이탈 이벤트도 커밋된 뒤에
+ * {@link GeofenceTransitionRecorder}가 받습니다. 롤백된 배치가 재전달되어도 같은 진입/이탈을 다시 판정할 수 있습니다.
+ *
+ * 단말별 상태에는 마지막으로 반영한 위치 시각을 함께 두고, 그 시각 이전(같은 시각 포함)의 위치는 판정하지 않습니다.
+ * 줄(stripe)마다 커밋하는 컨슈머에서 이미 커밋된 줄이 재전달되거나 늦게 도착한 위치가 들어와도
+ * 지난 위치로 상태를 되돌려 가짜 진입/이탈을 만들지 않기 위함입니다.
+ */
+@Slf4j
+@Component
+public class GeofenceEngine {
+
+    private static final String FENCES_SQL = """
+        SELECT m.policy_id, i.geofence_item_id, i.geofence_name, i.latitude, i.longitude, i.radius_meters, i.event_trigger_type
+        FROM geofence_policy_item_map m
+        JOIN geofence_item i ON i.geofence_item_id = m.geofence_item_id
+        JOIN geofence_policy p ON p.policy_id = m.policy_id
+        WHERE COALESCE(i.is_active, TRUE) AND COALESCE(p.is_active, TRUE)
+    """;
+
+    private static final String ASSIGNMENTS_SQL = "SELECT mdn, policy_id FROM vehicle_policy_assignment";
+
+    private static final List<String> VERSION_SQLS = List.of(
+            "SELECT COUNT(*), MAX(updated_at) FROM geofence_item",
+            "SELECT COUNT(*), MAX(updated_at) FROM geofence_policy",
+            "SELECT COUNT(*), MAX(created_at) FROM geofence_policy_item_map",
+            "SELECT COUNT(*), MAX(updated_at) FROM vehicle_policy_assignment" // 정책만 바꾸는 UPDATE도 감지
+    );
+
+    /**
+     * 단말이 보낸 지오펜스 이벤트의 검증 결과
+     */
+    public enum Verification {
+        /** 단말이 보낸 IN/OUT이 서버 판정과 같음 */
+        CONFIRMED,
+        /** 단말이 보낸 IN/OUT이 서버 판정과 다름 */
+        MISMATCH,
+        /** 단말의 지오펜스 ID가 해당 단말의 정책에 없음 (검증 불가) */
+        UNKNOWN_FENCE
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final double cellDegrees;
+
+    // 단말별로 직전 위치가 속해 있던 지오펜스 ID와 그 위치 시각
+    private final Cache<String, FenceState> stateByMdn;
+
+    private final Counter enterCounter;
+    private final Counter exitCounter;
+    private final Map<Verification, Counter> verificationCounters = new HashMap<>();
+
+    private volatile GeofenceIndex index = GeofenceIndex.EMPTY;
+    private volatile String loadedVersion;
+    private volatile boolean tablesMissingLogged;
+
+    public GeofenceEngine(
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${techdom.geofence.enabled:true}") boolean enabled,
+            @Value("${techdom.geofence.cell-degrees:0.01}") double cellDegrees,
+            @Value("${techdom.geofence.state-maximum-size:200000}") long stateMaximumSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.cellDegrees = cellDegrees;
+        this.stateByMdn = Caffeine.newBuilder()
+                .maximumSize(stateMaximumSize)
+                .build();
+
+        this.enterCounter = meterRegistry.counter("techdom.geofence.transitions", "transition", "enter");
+        this.exitCounter = meterRegistry.counter("techdom.geofence.transitions", "transition", "exit");
+        for (Verification verification : Verification.values()) {
+            verificationCounters.put(verification,
+                    meterRegistry.counter("techdom.geofence.verification", "result", verification.name().toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 지오펜스/정책/할당 테이블이 바뀌었으면 인덱스를 다시 만듭니다.
+     */
+    @Scheduled(fixedDelayString = "${techdom.geofence.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String version = currentVersion();
+            if (!version.equals(loadedVersion)) {
+                reload();
+                loadedVersion = version;
+            }
+            tablesMissingLogged = false;
+        } catch (DataAccessException e) {
+            if (!tablesMissingLogged) {
+                log.warn("지오펜스 테이블을 읽을 수 없어 빈 인덱스로 동작합니다 : {}", e.getMostSpecificCause().getMessage());
+                tablesMissingLogged = true;
+            }
+        }
+    }
+
+    /**
+     * 테이블 전체를 읽어 새 인덱스로 교체합니다.
+     */
+    public void reload() {
+        Map<Long, List<GeofenceCircle>> circlesByPolicy = new HashMap<>();
+        jdbcTemplate.query(FENCES_SQL, rs -> {
+            circlesByPolicy.computeIfAbsent(rs.getLong("policy_id"), policyId -> new ArrayList<>())
+                    .add(new GeofenceCircle(
+                            rs.getLong("geofence_item_id"),
+                            rs.getString("geofence_name"),
+                            rs.getDouble("latitude"),
+                            rs.getDouble("longitude"),
+                            rs.getInt("radius_meters"),
+                            GeofenceTriggerType.valueOf(rs.getString("event_trigger_type"))
+                    ));
+        });
+
+        Map<String, Long> policyByMdn = new HashMap<>();
+        jdbcTemplate.query(ASSIGNMENTS_SQL, rs -> {
+            policyByMdn.put(rs.getString("mdn"), rs.getLong("policy_id"));
+        });
+
+        GeofenceIndex newIndex = GeofenceIndex.build(circlesByPolicy, policyByMdn, cellDegrees);
+        this.index = newIndex;
+        log.info("지오펜스 인덱스 적재 (정책 {}개, 지오펜스 {}개, 할당 단말 {}대)",
+                circlesByPolicy.size(), newIndex.fenceCount(), policyByMdn.size());
+    }
+
+    /**
+     * 수신한 이벤트들의 위치로 지오펜스 진입/이탈을 판정해 발행하고, 단말이 보낸 지오펜스 이벤트는 검증합니다.
+     * 수신 순서대로 호출되어야 합니다. (같은 단말의 이벤트는 같은 파티션에서 순서대로 들어옴)
+     */
+    public void onEvents(List<VehicleEventLog> eventLogs) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, FenceState> pendingState = new HashMap<>();
+        List<GeofenceTransitionEvent> transitions = new ArrayList<>();
+        for (VehicleEventLog eventLog : eventLogs) {
+            if (eventLog.getLatitude() == null || eventLog.getLongitude() == null) {
+                continue;
+            }
+            if (eventLog.getEventType() == VehicleEventType.GEOFENCE_IN || eventLog.getEventType() == VehicleEventType.GEOFENCE_OUT) {
+                Verification verification = verify(eventLog);
+                verificationCounters.get(verification).increment();
+                if (verification == Verification.MISMATCH) {
+                    log.debug("단말 지오펜스 이벤트가 서버 판정과 다름 MDN={}, point={}, type={}",
+                            eventLog.getMdn(), eventLog.getGeofencePointId(), eventLog.getEventType());
+                }
+            }
+            transitions.addAll(evaluate(eventLog.getMdn(), eventLog.getVehicleId(), eventLog.getEventTimestampUtc(),
+                    eventLog.getLatitude(), eventLog.getLongitude(), pendingState));
+        }
+        publish(transitions, pendingState);
+    }
+
+    /**
+     * 주기정보(1초 단위 위치)로 지오펜스 진입/이탈을 판정해 발행합니다.
+     */
+    public void onDrivingLogs(List<DrivingLog> drivingLogs) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, FenceState> pendingState = new HashMap<>();
+        List<GeofenceTransitionEvent> transitions = new ArrayList<>();
+        for (DrivingLog drivingLog : drivingLogs) {
+            if (drivingLog.getLatitude() == null || drivingLog.getLongitude() == null) {
+                continue;
+            }
+            transitions.addAll(evaluate(drivingLog.getId().getMdn(), null, drivingLog.getId().getRecordTime().atOffset(ZoneOffset.UTC),
+                    drivingLog.getLatitude().doubleValue(), drivingLog.getLongitude().doubleValue(), pendingState));
+        }
+        publish(transitions, pendingState);
+    }
+
+    /**
+     * 위치 한 건으로 단말의 지오펜스 상태를 갱신하고, 직전 위치 대비 진입/이탈한 지오펜스를 돌려줍니다.
+     * (지오펜스의 event_trigger_type에 해당하는 방향만 포함)
+     */
+    public List<GeofenceTransitionEvent> evaluate(String mdn, Long vehicleId, OffsetDateTime timestamp, double lat, double lon) {
+        Map<String, FenceState> pendingState = new HashMap<>(2);
+        List<GeofenceTransitionEvent> transitions = evaluate(mdn, vehicleId, timestamp, lat, lon, pendingState);
+        pendingState.values().forEach(this::applyState);
+        return transitions;
+    }
+
+    // 바뀐 상태는 pendingState에만 쌓고, 같은 묶음의 다음 위치는 pendingState를 먼저 본다
+    private List<GeofenceTransitionEvent> evaluate(String mdn, Long vehicleId, OffsetDateTime timestamp, double lat, double lon,
+                                                   Map<String, FenceState> pendingState) {
+        GeofenceIndex current = this.index;
+        Long policyId = current.policyOf(mdn);
+        FenceState previousState = pendingState.get(mdn);
+        if (previousState == null) {
+            previousState = stateByMdn.getIfPresent(mdn);
+        }
+        if (policyId == null && previousState == null) {
+            return List.of(); // 정책이 없고 지오펜스 안에 있던 적도 없는 단말
+        }
+        long epochMillis = timestamp.toInstant().toEpochMilli();
+        if (previousState != null && epochMillis <= previousState.epochMillis()) {
+            return List.of(); // 이미 반영한 위치(재전달)이거나 늦게 도착한 지난 위치
+        }
+        long[] inside = policyId != null ? current.insideFences(policyId, lat, lon) : GeofenceIndex.NO_FENCES;
+        long[] previous = previousState != null ? previousState.inside() : GeofenceIndex.NO_FENCES;
+        pendingState.put(mdn, new FenceState(mdn, inside, epochMillis));
+        if (inside.length == 0 && previous.length == 0) {
+            return List.of();
+        }
+
+        List<GeofenceTransitionEvent> transitions = null;
+        int i = 0;
+        int p = 0;
+        while (i < inside.length || p < previous.length) {
+            GeofenceTransition transition;
+            long itemId;
+            if (p == previous.length || (i < inside.length && inside[i] < previous[p])) {
+                transition = GeofenceTransition.ENTER;
+                itemId = inside[i++];
+            } else if (i == inside.length || previous[p] < inside[i]) {
+                transition = GeofenceTransition.EXIT;
+                itemId = previous[p++];
+            } else {
+                i++;
+                p++;
+                continue;
+            }
+
+            GeofenceCircle circle = current.circle(itemId);
+            if (circle == null || !circle.getTriggerType().firesOn(transition)) {
+                continue; // 재적재로 사라진 지오펜스이거나 해당 방향은 이벤트 대상이 아님
+            }
+            if (transitions == null) {
+                transitions = new ArrayList<>(2);
+            }
+            transitions.add(new GeofenceTransitionEvent(mdn, vehicleId, itemId, circle.getName(), transition, timestamp, lat, lon));
+        }
+        return transitions != null ? transitions : List.of();
+    }
+
+    /**
+     * 단말이 보낸 지오펜스 IN/OUT을 현재 위치 기준으로 검증합니다.
+     * 단말의 geofencePointId가 정책 내 geofence_item_id와 같을 때만 검증할 수 있습니다.
+     */
+    public Verification verify(VehicleEventLog eventLog) {
+        GeofenceIndex current = this.index;
+        Long policyId = current.policyOf(eventLog.getMdn());
+        Long itemId = parseItemId(eventLog.getGeofencePointId());
+        if (policyId == null || itemId == null || current.circle(itemId) == null) {
+            return Verification.UNKNOWN_FENCE;
+        }
+
+        long[] inside = current.insideFences(policyId, eventLog.getLatitude(), eventLog.getLongitude());
+        boolean serverInside = false;
+        for (long id : inside) {
+            if (id == itemId) {
+                serverInside = true;
+                break;
+            }
+        }
+        boolean deviceInside = eventLog.getEventType() == VehicleEventType.GEOFENCE_IN;
+        return serverInside == deviceInside ? Verification.CONFIRMED : Verification.MISMATCH;
+    }
+
+    /**
+     * 진입/이탈 이벤트를 발행하고 단말별 상태를 반영합니다. 트랜잭션 안이면 상태와 카운터는 커밋된 뒤에 반영하며,
+     * 이벤트는 {@link GeofenceTransitionRecorder}가 커밋 뒤에 받으므로 롤백되면 함께 버려집니다.
+     */
+    private void publish(List<GeofenceTransitionEvent> transitions, Map<String, FenceState> pendingState) {
+        for (GeofenceTransitionEvent transition : transitions) {
+            eventPublisher.publishEvent(transition);
+        }
+        if (pendingState.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyState(transitions, pendingState);
+                }
+            });
+        } else {
+            applyState(transitions, pendingState);
+        }
+    }
+
+    private void applyState(List<GeofenceTransitionEvent> transitions, Map<String, FenceState> pendingState) {
+        pendingState.values().forEach(this::applyState);
+        for (GeofenceTransitionEvent transition : transitions) {
+            (transition.transition() == GeofenceTransition.ENTER ? enterCounter : exitCounter).increment();
+        }
+    }
+
+    // 주기정보(HTTP)와 이벤트(Kafka)가 같은 단말을 동시에 반영할 수 있으므로 더 최근 위치의 상태만 남긴다
+    private void applyState(FenceState state) {
+        stateByMdn.asMap().merge(state.mdn(), state,
+                (current, next) -> next.epochMillis() > current.epochMillis() ? next : current);
+    }
+
+    /**
+     * 단말의 지오펜스 상태를 버립니다. (테스트/운영 중 강제 정리용)
+     */
+    public void forget(String mdn) {
+        stateByMdn.invalidate(mdn);
+    }
+
+    private String currentVersion() {
+        StringBuilder version = new StringBuilder();
+        for (String sql : VERSION_SQLS) {
+            version.append(jdbcTemplate.queryForList(sql)).append('|');
+        }
+        return version.toString();
+    }
+
+    private static Long parseItemId(String geofencePointId) {
+        if (geofencePointId == null || geofencePointId.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(geofencePointId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 단말 하나의 지오펜스 상태. inside는 위치가 속한 지오펜스 ID(오름차순), epochMillis는 그 위치의 시각
+     */
+    private record FenceState(String mdn, long[] inside, long epochMillis) {
+    }
+}
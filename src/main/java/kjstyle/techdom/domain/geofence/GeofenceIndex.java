@@ -0,0 +1,118 @@
+package kjstyle.techdom.domain.geofence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 정책별 균등 격자(uniform grid) 공간 인덱스의 불변 스냅샷입니다.
+ * 각 원은 외접 사각형이 걸치는 모든 격자 칸에 등록되므로, 위치 판정 시에는 위치가 속한 한 칸의 원만 검사합니다.
+ * 재적재 시에는 새 스냅샷을 만들어 통째로 교체하므로 조회 쪽에서는 잠금이 필요 없습니다.
+ */
+final class GeofenceIndex {
+
+    static final long[] NO_FENCES = new long[0];
+    private static final GeofenceCircle[] NO_CIRCLES = new GeofenceCircle[0];
+
+    static final GeofenceIndex EMPTY = new GeofenceIndex(0.01d, Map.of(), Map.of(), Map.of());
+
+    private final double cellDegrees;
+    private final Map<String, Long> policyByMdn;
+    private final Map<Long, Map<Long, GeofenceCircle[]>> gridByPolicy;
+    private final Map<Long, GeofenceCircle> circleById;
+
+    private GeofenceIndex(double cellDegrees,
+                          Map<String, Long> policyByMdn,
+                          Map<Long, Map<Long, GeofenceCircle[]>> gridByPolicy,
+                          Map<Long, GeofenceCircle> circleById) {
+        this.cellDegrees = cellDegrees;
+        this.policyByMdn = policyByMdn;
+        this.gridByPolicy = gridByPolicy;
+        this.circleById = circleById;
+    }
+
+    /**
+     * @param circlesByPolicy 정책 ID별 지오펜스 목록
+     * @param policyByMdn     단말별 할당 정책 ID
+     * @param cellDegrees     격자 한 칸의 크기 (도 단위, 0.01도는 약 1.1km)
+     */
+    static GeofenceIndex build(Map<Long, List<GeofenceCircle>> circlesByPolicy, Map<String, Long> policyByMdn,
+                               double cellDegrees) {
+        Map<Long, Map<Long, GeofenceCircle[]>> gridByPolicy = new HashMap<>();
+        Map<Long, GeofenceCircle> circleById = new HashMap<>();
+
+        circlesByPolicy.forEach((policyId, circles) -> {
+            Map<Long, List<GeofenceCircle>> cells = new HashMap<>();
+            for (GeofenceCircle circle : circles) {
+                circleById.put(circle.getItemId(), circle);
+                long minLat = cellOf(circle.getLatitude() - circle.latitudeDelta(), cellDegrees);
+                long maxLat = cellOf(circle.getLatitude() + circle.latitudeDelta(), cellDegrees);
+                long minLon = cellOf(circle.getLongitude() - circle.longitudeDelta(), cellDegrees);
+                long maxLon = cellOf(circle.getLongitude() + circle.longitudeDelta(), cellDegrees);
+                for (long latCell = minLat; latCell <= maxLat; latCell++) {
+                    for (long lonCell = minLon; lonCell <= maxLon; lonCell++) {
+                        cells.computeIfAbsent(cellKey(latCell, lonCell), key -> new ArrayList<>()).add(circle);
+                    }
+                }
+            }
+            Map<Long, GeofenceCircle[]> grid = new HashMap<>(cells.size() * 2);
+            cells.forEach((key, list) -> grid.put(key, list.toArray(NO_CIRCLES)));
+            gridByPolicy.put(policyId, grid);
+        });
+
+        return new GeofenceIndex(cellDegrees, Map.copyOf(policyByMdn), gridByPolicy, circleById);
+    }
+
+    Long policyOf(String mdn) {
+        return policyByMdn.get(mdn);
+    }
+
+    GeofenceCircle circle(long itemId) {
+        return circleById.get(itemId);
+    }
+
+    int fenceCount() {
+        return circleById.size();
+    }
+
+    /**
+     * 위치가 속한 정책 내 지오펜스 ID를 오름차순으로 돌려줍니다.
+     */
+    long[] insideFences(long policyId, double lat, double lon) {
+        Map<Long, GeofenceCircle[]> grid = gridByPolicy.get(policyId);
+        if (grid == null) {
+            return NO_FENCES;
+        }
+        GeofenceCircle[] candidates = grid.get(cellKey(cellOf(lat, cellDegrees), cellOf(lon, cellDegrees)));
+        if (candidates == null) {
+            return NO_FENCES;
+        }
+
+        long[] inside = null;
+        int count = 0;
+        for (GeofenceCircle candidate : candidates) {
+            if (candidate.contains(lat, lon)) {
+                if (inside == null) {
+                    inside = new long[candidates.length];
+                }
+                inside[count++] = candidate.getItemId();
+            }
+        }
+        if (count == 0) {
+            return NO_FENCES;
+        }
+        long[] result = count == inside.length ? inside : Arrays.copyOf(inside, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static long cellOf(double degrees, double cellDegrees) {
+        return (long) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(long latCell, long lonCell) {
+        return (latCell << 32) | (lonCell & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,31 @@
+package kjstyle.techdom.domain.geofence;
+
+import kjstyle.techdom.enums.GeofenceTransition;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 서버 지오펜스 엔진이 위치 변화로 판정한 진입/이탈 이벤트입니다.
+ * 단말 펌웨어가 모르는 지오펜스에 대해서도 발생하며, ApplicationEventPublisher로 발행되어
+ * 위치를 저장한 트랜잭션이 커밋된 뒤 {@link GeofenceTransitionRecorder}가 기록합니다.
+ *
+ * @param mdn                단말 식별자
+ * @param vehicleId          차량 ID (알 수 없으면 null)
+ * @param geofenceItemId     지오펜스 아이템 ID
+ * @param geofenceName       지오펜스 명칭
+ * @param transition         진입/이탈
+ * @param eventTimestampUtc  판정에 사용한 위치의 시각
+ * @param latitude           판정에 사용한 위도
+ * @param longitude          판정에 사용한 경도
+ */
+public record GeofenceTransitionEvent(
+        String mdn,
+        Long vehicleId,
+        long geofenceItemId,
+        String geofenceName,
+        GeofenceTransition transition,
+        OffsetDateTime eventTimestampUtc,
+        double latitude,
+        double longitude
+) {
+}
@@ -0,0 +1,64 @@
+package kjstyle.techdom.domain.geofence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Types;
+
+/**
+ * {@link GeofenceEngine}이 발행한 {@link GeofenceTransitionEvent}를 geofence_transition_log에 기록합니다.
+ * 위치를 저장한 트랜잭션이 커밋된 뒤에만 받으므로, 롤백된 배치의 판정은 기록되지 않습니다.
+ * 트랜잭션 밖에서 발행된 이벤트(커밋이 끝난 주기정보)는 바로 기록합니다.
+ * <p>
+ * 커밋이 끝난 트랜잭션의 커넥션을 쓰지 않도록 트랜잭션 없이(자동 커밋) 한 건씩 저장하고,
+ * 기록 실패는 로그만 남겨 위치 저장 흐름에는 영향을 주지 않습니다.
+ * (테이블이 아직 없는 환경(H2 개발 DB 등)에서는 한 번만 경고)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeofenceTransitionRecorder {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO geofence_transition_log (
+            mdn, event_timestamp_utc, geofence_item_id, transition, vehicle_id, geofence_name, latitude, longitude
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT DO NOTHING
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean failureLogged;
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void record(GeofenceTransitionEvent event) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, ps -> {
+                ps.setString(1, event.mdn());
+                ps.setObject(2, event.eventTimestampUtc());
+                ps.setLong(3, event.geofenceItemId());
+                ps.setString(4, event.transition().name());
+                if (event.vehicleId() != null) ps.setLong(5, event.vehicleId());
+                else ps.setNull(5, Types.BIGINT);
+                ps.setString(6, event.geofenceName());
+                ps.setDouble(7, event.latitude());
+                ps.setDouble(8, event.longitude());
+            });
+            failureLogged = false;
+        } catch (DataAccessException e) {
+            if (!failureLogged) {
+                log.warn("지오펜스 진입/이탈을 기록하지 못했습니다 MDN={}, item={} : {}",
+                        event.mdn(), event.geofenceItemId(), e.getMostSpecificCause().getMessage());
+                failureLogged = true;
+            }
+        }
+    }
+}
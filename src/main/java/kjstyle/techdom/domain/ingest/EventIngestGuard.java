@@ -0,0 +1,162 @@
+package kjstyle.techdom.domain.ingest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.exceptions.EventRateLimitedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link kjstyle.techdom.domain.service.EventSender} 앞에서 단말(MDN)별로 중복 이벤트를 거르고 전송 속도를 제한합니다.
+ * <ul>
+ *     <li>중복: 최근에 보낸 이벤트 시각을 단말별 링(dedup-window 개)에 기억해 두고, 같은 시각의 이벤트가 다시 오면
+ *     보내지 않고 정상 응답합니다. Kafka 키/DB PK가 (mdn, event_timestamp_utc)라 어차피 저장되지 않을 이벤트입니다.</li>
+ *     <li>속도: 단말별 토큰 버킷(초당 rate개 충전, 최대 burst개)을 넘으면 {@link EventRateLimitedException}(429)을 던집니다.
+ *     중복으로 걸러진 이벤트는 토큰을 쓰지 않습니다.</li>
+ * </ul>
+ * 단말 상태는 잠금 없이 CAS로만 갱신하며, 오래 요청이 없는 단말은 캐시에서 빠집니다. (다시 오면 빈 링, 가득 찬 버킷으로 시작)
+ * 링은 전송에 성공한 뒤({@link #markSent})에만 기록하므로 503으로 거절된 이벤트를 단말이 재전송하면 중복으로 보지 않습니다.
+ * 같은 이벤트가 동시에 들어와 둘 다 통과하는 경우는 남지만, 컨슈머 저장이 ON CONFLICT DO NOTHING 이라 결과는 같습니다.
+ */
+@Component
+public class EventIngestGuard {
+
+    private final boolean enabled;
+    private final long emissionIntervalNanos; // 토큰 하나가 충전되는 시간
+    private final long burstToleranceNanos;   // 버킷이 가득 찬 상태에서 한꺼번에 쓸 수 있는 시간 (= (burst - 1) x 충전 시간)
+    private final int dedupWindow;
+
+    private final Cache<String, DeviceGate> gates;
+
+    private final Counter duplicateCounter;
+    private final Counter rateLimitedCounter;
+
+    public EventIngestGuard(
+            MeterRegistry meterRegistry,
+            @Value("${techdom.ingest.enabled:true}") boolean enabled,
+            @Value("${techdom.ingest.rate:10}") double rate,
+            @Value("${techdom.ingest.burst:20}") int burst,
+            @Value("${techdom.ingest.dedup-window:16}") int dedupWindow,
+            @Value("${techdom.ingest.maximum-size:200000}") long maximumSize,
+            @Value("${techdom.ingest.expire:10m}") Duration expire
+    ) {
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("techdom.ingest.rate는 0보다, burst는 1 이상이어야 합니다.");
+        }
+        if (Integer.bitCount(dedupWindow) != 1) {
+            throw new IllegalArgumentException("techdom.ingest.dedup-window는 2의 거듭제곱이어야 합니다: " + dedupWindow);
+        }
+        this.enabled = enabled;
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.dedupWindow = dedupWindow;
+        this.gates = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expire)
+                .build();
+
+        this.duplicateCounter = meterRegistry.counter("techdom.ingest.events", "result", "duplicate");
+        this.rateLimitedCounter = meterRegistry.counter("techdom.ingest.events", "result", "rate-limited");
+    }
+
+    /**
+     * 이벤트를 보내도 되는지 판단합니다.
+     *
+     * @return 보내야 하면 true, 최근에 보낸 중복 이벤트라 보내지 않고 정상 응답하면 false
+     * @throws EventRateLimitedException 단말의 전송 속도 한도를 넘은 경우
+     */
+    public boolean admit(VehicleEventLog eventLog) {
+        if (!enabled) {
+            return true;
+        }
+        DeviceGate gate = gates.get(eventLog.getMdn(), mdn -> new DeviceGate(dedupWindow));
+        if (gate.contains(eventLog.getEventTimestampUtc().toEpochSecond())) {
+            duplicateCounter.increment();
+            return false;
+        }
+        if (!gate.tryAcquire(System.nanoTime(), emissionIntervalNanos, burstToleranceNanos)) {
+            rateLimitedCounter.increment();
+            throw new EventRateLimitedException(eventLog.getMdn(), "단말의 이벤트 전송 속도 한도를 넘었습니다.");
+        }
+        return true;
+    }
+
+    /**
+     * 전송(또는 스풀 기록)에 성공한 이벤트를 중복 판단용 링에 기록합니다.
+     */
+    public void markSent(VehicleEventLog eventLog) {
+        if (!enabled) {
+            return;
+        }
+        DeviceGate gate = gates.getIfPresent(eventLog.getMdn());
+        if (gate != null) {
+            gate.remember(eventLog.getEventTimestampUtc().toEpochSecond());
+        }
+    }
+
+    public void markSent(List<VehicleEventLog> eventLogs) {
+        for (VehicleEventLog eventLog : eventLogs) {
+            markSent(eventLog);
+        }
+    }
+
+    /**
+     * 단말 하나의 토큰 버킷과 최근 이벤트 시각 링.
+     */
+    static final class DeviceGate {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        // 토큰 버킷을 GCRA 형태로 표현: 다음 토큰이 "이론상" 도착하는 시각(nanoTime) 하나만 CAS로 갱신한다
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        private final AtomicLongArray recent;
+        private final AtomicInteger cursor = new AtomicInteger();
+        private final int mask;
+
+        DeviceGate(int window) {
+            this.recent = new AtomicLongArray(window);
+            this.mask = window - 1;
+            for (int i = 0; i < window; i++) {
+                recent.set(i, EMPTY);
+            }
+        }
+
+        boolean tryAcquire(long now, long emissionInterval, long burstTolerance) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long arrival = current == Long.MIN_VALUE ? now : Math.max(current, now);
+                if (arrival - now > burstTolerance) {
+                    return false; // 남은 토큰 없음
+                }
+                if (theoreticalArrival.compareAndSet(current, arrival + emissionInterval)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean contains(long key) {
+            for (int i = 0; i <= mask; i++) {
+                if (recent.get(i) == key) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void remember(long key) {
+            if (!contains(key)) {
+                recent.set(cursor.getAndIncrement() & mask, key);
+            }
+        }
+    }
+}
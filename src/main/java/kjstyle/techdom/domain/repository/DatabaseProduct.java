@@ -0,0 +1,29 @@
+package kjstyle.techdom.domain.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 접속한 DB 종류에 따라 SQL을 고를 때 사용합니다. H2(PostgreSQL 모드)는 ON CONFLICT DO UPDATE를 지원하지 않으므로
+ * upsert는 PostgreSQL이면 ON CONFLICT, 그 외에는 MERGE로 만듭니다.
+ */
+final class DatabaseProduct {
+
+    private DatabaseProduct() {
+    }
+
+    static String name(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) DatabaseProduct::name);
+    }
+
+    static String name(Connection con) throws SQLException {
+        return con.getMetaData().getDatabaseProductName();
+    }
+
+    static boolean isPostgres(String productName) {
+        return "PostgreSQL".equalsIgnoreCase(productName);
+    }
+}
@@ -0,0 +1,20 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.Device;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface DeviceRepository extends JpaRepository<Device, Long> {
+
+    Optional<Device> findByMdn(String mdn);
+
+    List<Device> findByUpdatedAtAfter(OffsetDateTime updatedAt);
+
+    // 변경분 폴링의 시작 워터마크. 애플리케이션 시계가 아니라 DB가 기록한 시각을 기준으로 삼는다
+    @Query("select max(d.updatedAt) from Device d")
+    Optional<OffsetDateTime> findMaxUpdatedAt();
+}
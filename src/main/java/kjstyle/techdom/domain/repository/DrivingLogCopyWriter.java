@@ -0,0 +1,151 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * driving_log 행을 PostgreSQL COPY ... FROM STDIN (FORMAT csv) 로 흘려 넣습니다.
+ * 행마다 INSERT 문을 실행하지 않고 CSV 텍스트를 일정 크기로 끊어 보내므로, 대량 적재 시 왕복/파싱 비용이 크게 줄어듭니다.
+ * NULL은 CSV 기본값(따옴표 없는 빈 칸)으로 표현합니다.
+ */
+final class DrivingLogCopyWriter {
+
+    static final String COPY_SQL = """
+        COPY driving_log (
+            record_time, mdn, gps_condition, latitude, longitude, angle, speed, total_distance, battery_volt
+        ) FROM STDIN (FORMAT csv)
+    """;
+
+    private static final int FLUSH_CHARS = 64 * 1024; // 이 크기마다 서버로 전송
+
+    private DrivingLogCopyWriter() {
+    }
+
+    /**
+     * @return 서버가 적재했다고 응답한 행 수
+     */
+    static long copy(CopyManager copyManager, List<DrivingLog> drivingLogs) throws SQLException {
+        CopyIn copyIn = copyManager.copyIn(COPY_SQL);
+        try {
+            StringBuilder sb = new StringBuilder(Math.min(drivingLogs.size() * 80, FLUSH_CHARS + 256));
+            for (DrivingLog drivingLog : drivingLogs) {
+                appendRow(sb, drivingLog);
+                if (sb.length() >= FLUSH_CHARS) {
+                    write(copyIn, sb);
+                }
+            }
+            write(copyIn, sb);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder sb) throws SQLException {
+        if (sb.isEmpty()) {
+            return;
+        }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        sb.setLength(0);
+    }
+
+    static void appendRow(StringBuilder sb, DrivingLog drivingLog) {
+        var id = drivingLog.getId();
+
+        appendTimestamp(sb, id.getRecordTime());
+        sb.append(',');
+        appendText(sb, id.getMdn());
+        sb.append(',');
+        appendText(sb, drivingLog.getGpsCondition().getCode());
+        sb.append(',');
+        appendDecimal(sb, drivingLog.getLatitude());
+        sb.append(',');
+        appendDecimal(sb, drivingLog.getLongitude());
+        sb.append(',');
+        appendNumber(sb, drivingLog.getAngle());
+        sb.append(',');
+        appendNumber(sb, drivingLog.getSpeed());
+        sb.append(',');
+        appendNumber(sb, drivingLog.getTotalDistance());
+        sb.append(',');
+        appendNumber(sb, drivingLog.getBatteryVolt());
+        sb.append('\n');
+    }
+
+    // yyyy-MM-dd HH:mm:ss[.fffffffff] (DateTimeFormatter 없이 직접 기록)
+    private static void appendTimestamp(StringBuilder sb, LocalDateTime time) {
+        sb.append(time.getYear()).append('-');
+        appendTwoDigits(sb, time.getMonthValue());
+        sb.append('-');
+        appendTwoDigits(sb, time.getDayOfMonth());
+        sb.append(' ');
+        appendTwoDigits(sb, time.getHour());
+        sb.append(':');
+        appendTwoDigits(sb, time.getMinute());
+        sb.append(':');
+        appendTwoDigits(sb, time.getSecond());
+        int nano = time.getNano();
+        if (nano != 0) {
+            sb.append('.');
+            String digits = Integer.toString(nano);
+            for (int i = digits.length(); i < 9; i++) {
+                sb.append('0');
+            }
+            sb.append(digits);
+        }
+    }
+
+    private static void appendTwoDigits(StringBuilder sb, int value) {
+        if (value < 10) {
+            sb.append('0');
+        }
+        sb.append(value);
+    }
+
+    // 구분자/따옴표/줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번 쓴다
+    private static void appendText(StringBuilder sb, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.isEmpty();
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            sb.append(value);
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                sb.append('"');
+            }
+            sb.append(c);
+        }
+        sb.append('"');
+    }
+
+    private static void appendDecimal(StringBuilder sb, BigDecimal value) {
+        if (value != null) {
+            sb.append(value.toPlainString());
+        }
+    }
+
+    private static void appendNumber(StringBuilder sb, Number value) {
+        if (value != null) {
+            sb.append(value);
+        }
+    }
+}
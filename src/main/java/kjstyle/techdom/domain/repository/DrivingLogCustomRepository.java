@@ -5,5 +5,9 @@ import kjstyle.techdom.domain.entitys.DrivingLog;
 import java.util.List;
 
 public interface DrivingLogCustomRepository {
-    void bulkInsert(List<DrivingLog> drivingLogList);
+
+    /**
+     * @return 새로 저장된 주행기록 (이미 저장되어 있던 (record_time, mdn)은 빠짐)
+     */
+    List<DrivingLog> bulkInsert(List<DrivingLog> drivingLogList);
 }
\ No newline at end of file
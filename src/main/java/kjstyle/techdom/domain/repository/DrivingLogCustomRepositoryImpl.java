@@ -1,32 +1,111 @@
 package kjstyle.techdom.domain.repository;
 
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics;
 import kjstyle.techdom.domain.entitys.DrivingLog;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * driving_log 대량 저장 레포지토리입니다. techdom.driving.loader 로 적재 방식을 고릅니다.
+ * <ul>
+ *     <li>BATCH - JDBC 배치 INSERT (기본값, H2/테스트 환경)</li>
+ *     <li>COPY - PostgreSQL COPY ... FROM STDIN. PostgreSQL 커넥션이 아니거나 COPY가 실패하면 BATCH로 저장</li>
+ * </ul>
+ * 단말은 저장 실패(500) 응답을 받으면 같은 주기정보를 통째로 다시 보내므로, 일부 청크가 이미 저장된 상태일 수 있습니다.
+ * 배치 INSERT는 ON CONFLICT DO NOTHING 으로 이미 저장된 (record_time, mdn)을 PK 위반 없이 건너뜁니다.
+ * (H2 PostgreSQL 모드는 충돌 대상 컬럼 지정을 지원하지 않으므로 대상 없이 사용. 이 테이블의 유일 제약은 PK뿐이라 의미는 같음)
+ */
 @Slf4j
 @Repository
 @RequiredArgsConstructor
 public class DrivingLogCustomRepositoryImpl implements DrivingLogCustomRepository {
     private final JdbcTemplate jdbcTemplate;
+    private final PipelineMetrics pipelineMetrics;
+
+    public enum Loader { BATCH, COPY }
+
+    @Setter
+    @Value("${techdom.driving.loader:BATCH}")
+    private Loader loader = Loader.BATCH;
+
+    private volatile boolean copyUnavailableLogged;
 
     private static final String BULK_INSERT_SQL = """
         INSERT INTO driving_log (
             record_time, mdn, gps_condition, latitude, longitude, angle, speed, total_distance, battery_volt
         ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT DO NOTHING
     """;
 
     @Override
-    public void bulkInsert(List<DrivingLog> drivingLogList) {
+    public List<DrivingLog> bulkInsert(List<DrivingLog> drivingLogList) {
+        if (drivingLogList.isEmpty()) {
+            return List.of();
+        }
+        pipelineMetrics.recordBulkInsert(drivingLogList.size());
+
+        if (loader == Loader.COPY && copyIn(drivingLogList)) {
+            return drivingLogList;
+        }
+        return batchInsert(drivingLogList);
+    }
+
+    /**
+     * COPY로 적재합니다. 적재하지 못했으면 false를 돌려주고, 호출한 쪽에서 배치 INSERT로 다시 저장합니다.
+     * 트랜잭션 안이면 savepoint로 COPY 실패만 되돌려 같은 트랜잭션에서 이어서 저장할 수 있게 합니다.
+     */
+    private boolean copyIn(List<DrivingLog> drivingLogList) {
+        Boolean copied = jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            if (!con.isWrapperFor(PGConnection.class)) {
+                logCopyUnavailable(con);
+                return false;
+            }
+
+            Savepoint savepoint = con.getAutoCommit() ? null : con.setSavepoint();
+            try {
+                DrivingLogCopyWriter.copy(con.unwrap(PGConnection.class).getCopyAPI(), drivingLogList);
+                if (savepoint != null) {
+                    con.releaseSavepoint(savepoint);
+                }
+                return true;
+            } catch (SQLException e) {
+                // COPY는 한 행이라도 실패하면(중복 키 등) 전체가 취소되므로, 중복을 건너뛰는 배치 INSERT로 다시 시도
+                if (savepoint != null) {
+                    con.rollback(savepoint);
+                }
+                log.warn("주행기록 COPY 실패, JDBC 배치로 저장 {}건 : {}", drivingLogList.size(), e.getMessage());
+                return false;
+            }
+        });
+        return Boolean.TRUE.equals(copied);
+    }
+
+    private void logCopyUnavailable(Connection con) throws SQLException {
+        if (!copyUnavailableLogged) {
+            copyUnavailableLogged = true;
+            log.info("COPY는 PostgreSQL에서만 사용할 수 있어 JDBC 배치로 저장합니다. (DB={})",
+                    con.getMetaData().getDatabaseProductName());
+        }
+    }
+
+    private List<DrivingLog> batchInsert(List<DrivingLog> drivingLogList) {
         int[] updateCounts = jdbcTemplate.batchUpdate(BULK_INSERT_SQL, new BatchPreparedStatementSetter() {
             @Override
             public void setValues(PreparedStatement ps, int i) throws SQLException {
@@ -57,5 +136,17 @@ public class DrivingLogCustomRepositoryImpl implements DrivingLogCustomRepositor
                 return drivingLogList.size();
             }
         });
+
+        List<DrivingLog> inserted = new ArrayList<>(drivingLogList.size());
+        for (int i = 0; i < updateCounts.length; i++) {
+            // 드라이버가 건별 결과를 알려주지 않으면(SUCCESS_NO_INFO) 저장된 것으로 본다
+            if (updateCounts[i] > 0 || updateCounts[i] == Statement.SUCCESS_NO_INFO) {
+                inserted.add(drivingLogList.get(i));
+            }
+        }
+        if (inserted.size() < drivingLogList.size()) {
+            log.debug("주행기록 {}건 중 {}건은 이미 저장되어 건너뜀", drivingLogList.size(), drivingLogList.size() - inserted.size());
+        }
+        return inserted.size() == drivingLogList.size() ? drivingLogList : inserted;
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.DrivingLogDaily;
+import kjstyle.techdom.domain.entitys.DrivingLogRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DrivingLogDailyRepository extends JpaRepository<DrivingLogDaily, DrivingLogRollupId> {
+
+    List<DrivingLogDaily> findByMdnAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+            String mdn, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,14 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.DrivingLogHourly;
+import kjstyle.techdom.domain.entitys.DrivingLogRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DrivingLogHourlyRepository extends JpaRepository<DrivingLogHourly, DrivingLogRollupId> {
+
+    List<DrivingLogHourly> findByMdnAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+            String mdn, LocalDateTime from, LocalDateTime to);
+}
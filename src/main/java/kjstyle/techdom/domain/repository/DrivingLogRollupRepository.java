@@ -0,0 +1,166 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.rollup.RollupBucket;
+import kjstyle.techdom.domain.rollup.RollupGranularity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주행기록 롤업 테이블(driving_log_hourly, driving_log_daily)에 배치 증분을 더합니다.
+ * <ul>
+ *     <li>PostgreSQL - INSERT ... ON CONFLICT DO UPDATE (동시에 같은 구간을 처음 넣어도 중복 키 오류 없이 합쳐짐)</li>
+ *     <li>그 외(H2) - MERGE INTO ... USING (VALUES ...). H2는 ON CONFLICT DO UPDATE를 지원하지 않음</li>
+ * </ul>
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class DrivingLogRollupRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String COLUMNS = """
+        mdn, bucket_start, sample_count, speed_sum, speed_samples, max_speed, min_total_distance, max_total_distance,
+        battery_volt_sum, battery_volt_samples, min_battery_volt, max_battery_volt""";
+
+    // {o} = 기존 행, {n} = 이번 증분. MAX/MIN은 한쪽이 NULL이면 다른 쪽 값을 쓴다
+    private static final String UPDATE_SET = """
+        sample_count = {o}.sample_count + {n}.sample_count,
+        speed_sum = COALESCE({o}.speed_sum, 0) + COALESCE({n}.speed_sum, 0),
+        speed_samples = {o}.speed_samples + {n}.speed_samples,
+        max_speed = GREATEST(COALESCE({o}.max_speed, {n}.max_speed), COALESCE({n}.max_speed, {o}.max_speed)),
+        min_total_distance = LEAST(COALESCE({o}.min_total_distance, {n}.min_total_distance), COALESCE({n}.min_total_distance, {o}.min_total_distance)),
+        max_total_distance = GREATEST(COALESCE({o}.max_total_distance, {n}.max_total_distance), COALESCE({n}.max_total_distance, {o}.max_total_distance)),
+        battery_volt_sum = COALESCE({o}.battery_volt_sum, 0) + COALESCE({n}.battery_volt_sum, 0),
+        battery_volt_samples = {o}.battery_volt_samples + {n}.battery_volt_samples,
+        min_battery_volt = LEAST(COALESCE({o}.min_battery_volt, {n}.min_battery_volt), COALESCE({n}.min_battery_volt, {o}.min_battery_volt)),
+        max_battery_volt = GREATEST(COALESCE({o}.max_battery_volt, {n}.max_battery_volt), COALESCE({n}.max_battery_volt, {o}.max_battery_volt))""";
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO %s AS t (%s)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (mdn, bucket_start) DO UPDATE SET
+        %s
+    """;
+
+    // VALUES 안의 파라미터는 H2가 타입을 추론하지 못하므로 CAST로 지정
+    private static final String MERGE_SQL = """
+        MERGE INTO %s t
+        USING (VALUES (CAST(? AS VARCHAR(20)), CAST(? AS TIMESTAMP), CAST(? AS BIGINT), CAST(? AS BIGINT),
+                       CAST(? AS BIGINT), CAST(? AS INTEGER), CAST(? AS BIGINT), CAST(? AS BIGINT),
+                       CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS INTEGER), CAST(? AS INTEGER)))
+              AS s (%s)
+        ON t.mdn = s.mdn AND t.bucket_start = s.bucket_start
+        WHEN MATCHED THEN UPDATE SET
+        %s
+        WHEN NOT MATCHED THEN INSERT (%s)
+        VALUES (s.mdn, s.bucket_start, s.sample_count, s.speed_sum, s.speed_samples, s.max_speed, s.min_total_distance,
+                s.max_total_distance, s.battery_volt_sum, s.battery_volt_samples, s.min_battery_volt, s.max_battery_volt)
+    """;
+
+    private static final String TIMESCALE_EXTENSION_SQL = "SELECT COUNT(*) FROM pg_extension WHERE extname = 'timescaledb'";
+
+    private static final String CONTINUOUS_AGGREGATE_SQL = """
+        SELECT COUNT(*) FROM timescaledb_information.continuous_aggregates
+        WHERE view_name IN ('driving_log_hourly', 'driving_log_daily')
+    """;
+
+    private volatile Map<RollupGranularity, String> mergeSql;
+
+    public void merge(RollupGranularity granularity, List<RollupBucket> buckets) {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(mergeSql().get(granularity), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                RollupBucket bucket = buckets.get(i);
+                ps.setString(1, bucket.getMdn());
+                ps.setTimestamp(2, Timestamp.valueOf(bucket.getBucketStart()));
+                ps.setLong(3, bucket.getSampleCount());
+                ps.setLong(4, bucket.getSpeedSum());
+                ps.setLong(5, bucket.getSpeedSamples());
+                setInt(ps, 6, bucket.getMaxSpeed());
+                setLong(ps, 7, bucket.getMinTotalDistance());
+                setLong(ps, 8, bucket.getMaxTotalDistance());
+                ps.setLong(9, bucket.getBatteryVoltSum());
+                ps.setLong(10, bucket.getBatteryVoltSamples());
+                setInt(ps, 11, bucket.getMinBatteryVolt());
+                setInt(ps, 12, bucket.getMaxBatteryVolt());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return buckets.size();
+            }
+        });
+    }
+
+    /**
+     * 롤업 두 개가 모두 TimescaleDB 연속 집계로 만들어져 있는지 확인합니다. (PostgreSQL + timescaledb 확장에서만 true)
+     */
+    public boolean isContinuousAggregate() {
+        Boolean found = jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            if (!DatabaseProduct.isPostgres(DatabaseProduct.name(con))) {
+                return false;
+            }
+            if (count(con, TIMESCALE_EXTENSION_SQL) == 0) {
+                return false;
+            }
+            return count(con, CONTINUOUS_AGGREGATE_SQL) == RollupGranularity.values().length;
+        });
+        return Boolean.TRUE.equals(found);
+    }
+
+    private static long count(Connection con, String sql) throws SQLException {
+        try (Statement statement = con.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    // 첫 사용 시 DB 종류를 보고 한 번만 만든다
+    private Map<RollupGranularity, String> mergeSql() {
+        Map<RollupGranularity, String> sql = mergeSql;
+        if (sql == null) {
+            String product = DatabaseProduct.name(jdbcTemplate);
+            boolean postgres = DatabaseProduct.isPostgres(product);
+            sql = new EnumMap<>(RollupGranularity.class);
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                sql.put(granularity, postgres
+                        ? UPSERT_SQL.formatted(granularity.getTable(), COLUMNS, updateSet("t", "EXCLUDED"))
+                        : MERGE_SQL.formatted(granularity.getTable(), COLUMNS, updateSet("t", "s"), COLUMNS));
+            }
+            log.info("주행기록 롤업 저장 방식 : {} (DB={})", postgres ? "ON CONFLICT DO UPDATE" : "MERGE", product);
+            mergeSql = sql;
+        }
+        return sql;
+    }
+
+    private static String updateSet(String oldAlias, String newAlias) {
+        return UPDATE_SET.replace("{o}", oldAlias).replace("{n}", newAlias);
+    }
+
+    private static void setInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) ps.setInt(index, value);
+        else ps.setNull(index, Types.INTEGER);
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) ps.setLong(index, value);
+        else ps.setNull(index, Types.BIGINT);
+    }
+}
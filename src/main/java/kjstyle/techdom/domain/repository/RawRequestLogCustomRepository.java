@@ -0,0 +1,13 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.RawRequestLog;
+
+import java.util.List;
+
+public interface RawRequestLogCustomRepository {
+
+    /**
+     * 원본 요청을 한 번의 배치 INSERT로 저장합니다.
+     */
+    void insertAll(List<RawRequestLog> rows);
+}
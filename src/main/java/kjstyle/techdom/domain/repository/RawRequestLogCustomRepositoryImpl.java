@@ -0,0 +1,72 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.RawRequestLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * raw_request_log 배치 INSERT입니다.
+ * PostgreSQL은 JSONB/INET 컬럼에 문자열 파라미터를 그대로 넣을 수 없으므로 CAST를 붙이고, H2는 그대로 바인딩합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RawRequestLogCustomRepositoryImpl implements RawRequestLogCustomRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO raw_request_log (
+            mdn, service_method, received_at, raw_body, raw_body_gz, processed, process_result, headers, source_ip, created_at
+        ) VALUES (?, ?, ?, %s, ?, ?, ?, %s, %s, ?)
+    """;
+
+    private volatile String insertSql;
+
+    @Override
+    public void insertAll(List<RawRequestLog> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(insertSql(), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                RawRequestLog row = rows.get(i);
+                ps.setString(1, row.getMdn());
+                ps.setString(2, row.getServiceMethod());
+                ps.setObject(3, row.getReceivedAt());
+                ps.setString(4, row.getRawBody());
+                if (row.getRawBodyGz() != null) ps.setBytes(5, row.getRawBodyGz());
+                else ps.setNull(5, Types.BINARY);
+                if (row.getProcessed() != null) ps.setBoolean(6, row.getProcessed());
+                else ps.setNull(6, Types.BOOLEAN);
+                ps.setString(7, row.getProcessResult());
+                ps.setString(8, row.getHeaders());
+                ps.setString(9, row.getSourceIp());
+                ps.setObject(10, row.getCreatedAt());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    private String insertSql() {
+        String sql = insertSql;
+        if (sql == null) {
+            boolean postgres = DatabaseProduct.isPostgres(DatabaseProduct.name(jdbcTemplate));
+            sql = postgres
+                    ? INSERT_SQL.formatted("CAST(? AS JSONB)", "CAST(? AS JSONB)", "CAST(? AS INET)")
+                    : INSERT_SQL.formatted("?", "?", "?");
+            insertSql = sql;
+        }
+        return sql;
+    }
+}
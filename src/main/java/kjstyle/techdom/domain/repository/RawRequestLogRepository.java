@@ -0,0 +1,11 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.RawRequestLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface RawRequestLogRepository extends JpaRepository<RawRequestLog, Long> {
+
+    List<RawRequestLog> findByMdnOrderByIdAsc(String mdn);
+}
@@ -0,0 +1,13 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.TripSummary;
+
+public interface TripSummaryCustomRepository {
+
+    /**
+     * 운행 요약 한 건을 저장합니다. 같은 (mdn, start_time)이 이미 있으면(시동 OFF 재전달) 아무 것도 하지 않습니다.
+     *
+     * @return 새로 저장되었으면 true
+     */
+    boolean insert(TripSummary tripSummary);
+}
@@ -0,0 +1,56 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.TripSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+@Repository
+@RequiredArgsConstructor
+public class TripSummaryCustomRepositoryImpl implements TripSummaryCustomRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO trip_summary (
+            mdn, start_time, end_time, vehicle_id, duration_seconds, start_distance, end_distance, distance,
+            max_speed, avg_speed, speed_samples, start_latitude, start_longitude, end_latitude, end_longitude
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT DO NOTHING
+    """;
+
+    @Override
+    public boolean insert(TripSummary trip) {
+        return jdbcTemplate.update(INSERT_SQL, ps -> {
+            ps.setString(1, trip.getMdn());
+            ps.setObject(2, trip.getStartTime());
+            ps.setObject(3, trip.getEndTime());
+            setLong(ps, 4, trip.getVehicleId());
+            ps.setLong(5, trip.getDurationSeconds());
+            setLong(ps, 6, trip.getStartDistance());
+            setLong(ps, 7, trip.getEndDistance());
+            setLong(ps, 8, trip.getDistance());
+            if (trip.getMaxSpeed() != null) ps.setInt(9, trip.getMaxSpeed());
+            else ps.setNull(9, Types.INTEGER);
+            setDouble(ps, 10, trip.getAvgSpeed());
+            ps.setInt(11, trip.getSpeedSamples());
+            setDouble(ps, 12, trip.getStartLatitude());
+            setDouble(ps, 13, trip.getStartLongitude());
+            setDouble(ps, 14, trip.getEndLatitude());
+            setDouble(ps, 15, trip.getEndLongitude());
+        }) > 0;
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) ps.setLong(index, value);
+        else ps.setNull(index, Types.BIGINT);
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value != null) ps.setDouble(index, value);
+        else ps.setNull(index, Types.DOUBLE);
+    }
+}
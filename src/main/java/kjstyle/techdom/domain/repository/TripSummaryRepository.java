@@ -0,0 +1,12 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.TripSummary;
+import kjstyle.techdom.domain.entitys.TripSummaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface TripSummaryRepository extends JpaRepository<TripSummary, TripSummaryId> {
+
+    List<TripSummary> findByMdnOrderByStartTimeDesc(String mdn);
+}
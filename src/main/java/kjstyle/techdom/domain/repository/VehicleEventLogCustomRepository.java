@@ -0,0 +1,21 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+
+import java.util.List;
+
+public interface VehicleEventLogCustomRepository {
+    /**
+     * 한 건을 저장합니다. 같은 (event_timestamp_utc, mdn)이 이미 있으면 아무 것도 하지 않습니다.
+     *
+     * @return 새로 저장되었으면 true, 중복이라 무시되었으면 false
+     */
+    boolean insert(VehicleEventLog eventLog);
+
+    /**
+     * 여러 건을 JDBC 배치로 저장합니다. 이미 있는 (event_timestamp_utc, mdn)은 건너뜁니다.
+     *
+     * @return 새로 저장된 건수
+     */
+    int bulkInsert(List<VehicleEventLog> eventLogList);
+}
@@ -0,0 +1,125 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * vehicle_event_log를 JPA save 대신 JDBC로 저장하는 레포지토리입니다.
+ * 복합키(@IdClass)가 미리 할당된 엔티티를 save하면 merge로 처리되어 INSERT 전에 SELECT가 한 번 더 나가므로,
+ * 핸들러는 단건/배치 모두 이 경로로 저장합니다.
+ * <p>
+ * Kafka는 at-least-once로 전달하므로 같은 이벤트가 다시 들어올 수 있습니다.
+ * INSERT ... ON CONFLICT DO NOTHING 으로 이미 저장된 (event_timestamp_utc, mdn)은 PK 위반 없이 건너뜁니다.
+ * (H2 PostgreSQL 모드는 충돌 대상 컬럼 지정을 지원하지 않으므로 대상 없이 사용. 이 테이블의 유일 제약은 PK뿐이라 의미는 같음)
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class VehicleEventLogCustomRepositoryImpl implements VehicleEventLogCustomRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO vehicle_event_log (
+            event_timestamp_utc, mdn, vehicle_id, event_type, event_second, gps_status, latitude, longitude, angle, speed,
+            current_accumulated_distance, battery_volt, on_time, ignition_off_time,
+            geofence_group_id, geofence_point_id, event_value, raw_json_data
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT DO NOTHING
+    """;
+
+    @Override
+    public boolean insert(VehicleEventLog eventLog) {
+        int inserted = jdbcTemplate.update(INSERT_SQL, ps -> setValues(ps, eventLog));
+        if (inserted == 0) {
+            log.debug("이미 저장된 이벤트라 건너뜀 MDN={}, ts={}", eventLog.getMdn(), eventLog.getEventTimestampUtc());
+        }
+        return inserted > 0;
+    }
+
+    @Override
+    public int bulkInsert(List<VehicleEventLog> eventLogList) {
+        if (eventLogList.isEmpty()) {
+            return 0;
+        }
+
+        int[] updateCounts = jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                VehicleEventLogCustomRepositoryImpl.setValues(ps, eventLogList.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return eventLogList.size();
+            }
+        });
+
+        int inserted = countInserted(updateCounts);
+        if (inserted < eventLogList.size()) {
+            log.debug("이벤트 {}건 중 {}건은 이미 저장되어 건너뜀", eventLogList.size(), eventLogList.size() - inserted);
+        }
+        return inserted;
+    }
+
+    // 드라이버가 건별 결과를 알려주지 않으면(SUCCESS_NO_INFO) 저장된 것으로 센다
+    private static int countInserted(int[] updateCounts) {
+        int inserted = 0;
+        for (int count : updateCounts) {
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+
+    private static void setValues(PreparedStatement ps, VehicleEventLog eventLog) throws SQLException {
+        ps.setObject(1, eventLog.getEventTimestampUtc());
+        ps.setString(2, eventLog.getMdn());
+        setLong(ps, 3, eventLog.getVehicleId());
+        ps.setString(4, eventLog.getEventType().name());
+        setInteger(ps, 5, eventLog.getEventSecond());
+        ps.setString(6, eventLog.getGpsStatus() != null ? eventLog.getGpsStatus().getCode() : null);
+        setDouble(ps, 7, eventLog.getLatitude());
+        setDouble(ps, 8, eventLog.getLongitude());
+        setInteger(ps, 9, eventLog.getAngle());
+        setInteger(ps, 10, eventLog.getSpeed());
+        setLong(ps, 11, eventLog.getCurrentAccumulatedDistance());
+        setInteger(ps, 12, eventLog.getBatteryVolt());
+
+        if (eventLog.getOnTime() != null) ps.setObject(13, eventLog.getOnTime());
+        else ps.setNull(13, Types.TIMESTAMP_WITH_TIMEZONE);
+
+        if (eventLog.getIgnitionOffTime() != null) ps.setObject(14, eventLog.getIgnitionOffTime());
+        else ps.setNull(14, Types.TIMESTAMP_WITH_TIMEZONE);
+
+        ps.setString(15, eventLog.getGeofenceGroupId());
+        ps.setString(16, eventLog.getGeofencePointId());
+        ps.setString(17, eventLog.getEventValue());
+        ps.setString(18, eventLog.getRawJsonData());
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) ps.setInt(index, value);
+        else ps.setNull(index, Types.INTEGER);
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) ps.setLong(index, value);
+        else ps.setNull(index, Types.BIGINT);
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value != null) ps.setDouble(index, value);
+        else ps.setNull(index, Types.DOUBLE);
+    }
+}
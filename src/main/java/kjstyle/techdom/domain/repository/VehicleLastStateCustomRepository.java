@@ -0,0 +1,13 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.VehicleLastState;
+
+import java.util.List;
+
+public interface VehicleLastStateCustomRepository {
+
+    /**
+     * 단말별 상태를 저장합니다. 이미 더 최근 상태(state_time)가 저장되어 있는 단말은 덮어쓰지 않습니다.
+     */
+    void upsertAll(List<VehicleLastState> states);
+}
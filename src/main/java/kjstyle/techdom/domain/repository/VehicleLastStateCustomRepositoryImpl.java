@@ -0,0 +1,106 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.VehicleLastState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * vehicle_last_state 배치 upsert입니다. 여러 인스턴스가 같은 단말을 기록할 수 있으므로 state_time이 더 최근인 경우에만 덮어씁니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class VehicleLastStateCustomRepositoryImpl implements VehicleLastStateCustomRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String COLUMNS =
+            "mdn, vehicle_id, state_time, source, latitude, longitude, angle, speed, total_distance, ignition_on, updated_at";
+
+    private static final String UPDATE_SET = """
+        vehicle_id = COALESCE({n}.vehicle_id, t.vehicle_id),
+        state_time = {n}.state_time,
+        source = {n}.source,
+        latitude = {n}.latitude,
+        longitude = {n}.longitude,
+        angle = {n}.angle,
+        speed = {n}.speed,
+        total_distance = COALESCE({n}.total_distance, t.total_distance),
+        ignition_on = COALESCE({n}.ignition_on, t.ignition_on),
+        updated_at = {n}.updated_at""";
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO vehicle_last_state AS t (%s)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (mdn) DO UPDATE SET
+        %s
+        WHERE EXCLUDED.state_time >= t.state_time
+    """.formatted(COLUMNS, UPDATE_SET.replace("{n}", "EXCLUDED"));
+
+    // VALUES 안의 파라미터는 H2가 타입을 추론하지 못하므로 CAST로 지정
+    private static final String MERGE_SQL = """
+        MERGE INTO vehicle_last_state t
+        USING (VALUES (CAST(? AS VARCHAR(20)), CAST(? AS BIGINT), CAST(? AS TIMESTAMP WITH TIME ZONE), CAST(? AS VARCHAR(20)),
+                       CAST(? AS DOUBLE PRECISION), CAST(? AS DOUBLE PRECISION), CAST(? AS INTEGER), CAST(? AS INTEGER),
+                       CAST(? AS BIGINT), CAST(? AS BOOLEAN), CAST(? AS TIMESTAMP WITH TIME ZONE)))
+              AS s (%s)
+        ON t.mdn = s.mdn
+        WHEN MATCHED AND s.state_time >= t.state_time THEN UPDATE SET
+        %s
+        WHEN NOT MATCHED THEN INSERT (%s)
+        VALUES (s.mdn, s.vehicle_id, s.state_time, s.source, s.latitude, s.longitude, s.angle, s.speed,
+                s.total_distance, s.ignition_on, s.updated_at)
+    """.formatted(COLUMNS, UPDATE_SET.replace("{n}", "s"), COLUMNS);
+
+    private volatile String upsertSql;
+
+    @Override
+    public void upsertAll(List<VehicleLastState> states) {
+        if (states.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(upsertSql(), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                VehicleLastState state = states.get(i);
+                ps.setString(1, state.getMdn());
+                if (state.getVehicleId() != null) ps.setLong(2, state.getVehicleId());
+                else ps.setNull(2, Types.BIGINT);
+                ps.setObject(3, state.getStateTime());
+                ps.setString(4, state.getSource());
+                if (state.getLatitude() != null) ps.setDouble(5, state.getLatitude());
+                else ps.setNull(5, Types.DOUBLE);
+                if (state.getLongitude() != null) ps.setDouble(6, state.getLongitude());
+                else ps.setNull(6, Types.DOUBLE);
+                if (state.getAngle() != null) ps.setInt(7, state.getAngle());
+                else ps.setNull(7, Types.INTEGER);
+                if (state.getSpeed() != null) ps.setInt(8, state.getSpeed());
+                else ps.setNull(8, Types.INTEGER);
+                if (state.getTotalDistance() != null) ps.setLong(9, state.getTotalDistance());
+                else ps.setNull(9, Types.BIGINT);
+                if (state.getIgnitionOn() != null) ps.setBoolean(10, state.getIgnitionOn());
+                else ps.setNull(10, Types.BOOLEAN);
+                ps.setObject(11, state.getUpdatedAt());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return states.size();
+            }
+        });
+    }
+
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            sql = DatabaseProduct.isPostgres(DatabaseProduct.name(jdbcTemplate)) ? UPSERT_SQL : MERGE_SQL;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+}
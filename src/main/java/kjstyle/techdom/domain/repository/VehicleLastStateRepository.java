@@ -0,0 +1,12 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.VehicleLastState;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface VehicleLastStateRepository extends JpaRepository<VehicleLastState, String> {
+
+    List<VehicleLastState> findByUpdatedAtAfter(OffsetDateTime updatedAt);
+}
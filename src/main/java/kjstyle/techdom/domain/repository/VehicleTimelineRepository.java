@@ -0,0 +1,91 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.timeline.DrivingTimelineItem;
+import kjstyle.techdom.domain.timeline.EventTimelineItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * 단말 타임라인 조회 레포지토리입니다.
+ * (mdn, 시각 DESC) 인덱스(idx_vehicle_event_log_mdn_time, idx_driving_log_mdn_time)를 그대로 타도록
+ * OFFSET 없이 "이 시각 이전" 조건(keyset)으로 최신순 N건을 읽습니다. 단말 안에서 시각은 PK라 커서로 시각 하나면 충분합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class VehicleTimelineRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String EVENT_SQL = """
+        SELECT event_timestamp_utc, event_type, gps_status, latitude, longitude, angle, speed,
+               current_accumulated_distance, battery_volt, on_time, ignition_off_time,
+               geofence_group_id, geofence_point_id, event_value
+        FROM vehicle_event_log
+        WHERE mdn = ? AND event_timestamp_utc >= ? AND event_timestamp_utc < ?
+        ORDER BY event_timestamp_utc DESC
+        LIMIT ?
+    """;
+
+    private static final String DRIVING_SQL = """
+        SELECT record_time, gps_condition, latitude, longitude, angle, speed, total_distance, battery_volt
+        FROM driving_log
+        WHERE mdn = ? AND record_time >= ? AND record_time < ?
+        ORDER BY record_time DESC
+        LIMIT ?
+    """;
+
+    private static final RowMapper<EventTimelineItem> EVENT_ROW_MAPPER = (rs, rowNum) -> new EventTimelineItem(
+            rs.getObject(1, OffsetDateTime.class),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getObject(4, Double.class),
+            rs.getObject(5, Double.class),
+            rs.getObject(6, Integer.class),
+            rs.getObject(7, Integer.class),
+            rs.getObject(8, Long.class),
+            rs.getObject(9, Integer.class),
+            rs.getObject(10, OffsetDateTime.class),
+            rs.getObject(11, OffsetDateTime.class),
+            rs.getString(12),
+            rs.getString(13),
+            rs.getString(14)
+    );
+
+    // record_time은 저장할 때처럼 Timestamp로 주고받는다 (DrivingLogCustomRepositoryImpl 참고)
+    private static final RowMapper<DrivingTimelineItem> DRIVING_ROW_MAPPER = (rs, rowNum) -> new DrivingTimelineItem(
+            rs.getTimestamp(1).toLocalDateTime().atOffset(ZoneOffset.UTC),
+            rs.getString(2),
+            rs.getBigDecimal(3),
+            rs.getBigDecimal(4),
+            rs.getObject(5, Integer.class),
+            rs.getObject(6, Integer.class),
+            rs.getObject(7, Long.class),
+            rs.getObject(8, Integer.class)
+    );
+
+    /**
+     * [from, before) 범위의 이벤트를 최신순으로 최대 limit 건 읽습니다.
+     */
+    public List<EventTimelineItem> findEvents(String mdn, OffsetDateTime from, OffsetDateTime before, int limit) {
+        return jdbcTemplate.query(EVENT_SQL, EVENT_ROW_MAPPER, mdn, from, before, limit);
+    }
+
+    /**
+     * [from, before) 범위의 주기정보를 최신순으로 최대 limit 건 읽습니다.
+     */
+    public List<DrivingTimelineItem> findDrivingLogs(String mdn, OffsetDateTime from, OffsetDateTime before, int limit) {
+        return jdbcTemplate.query(DRIVING_SQL, DRIVING_ROW_MAPPER, mdn, toTimestamp(from), toTimestamp(before), limit);
+    }
+
+    private static Timestamp toTimestamp(OffsetDateTime time) {
+        LocalDateTime utc = time.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        return Timestamp.valueOf(utc);
+    }
+}
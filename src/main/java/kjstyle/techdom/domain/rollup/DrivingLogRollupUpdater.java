@@ -0,0 +1,63 @@
+package kjstyle.techdom.domain.rollup;
+
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.repository.DrivingLogRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 주기정보 배치를 시간/일 구간별로 모아 롤업 테이블에 더합니다. DrivingLogBulkWriter가 청크를 저장한 같은 트랜잭션에서 호출하므로
+ * 원본이 롤백되면(중복 키 등) 롤업도 함께 롤백되어 같은 주기정보가 두 번 더해지지 않습니다.
+ * <p>
+ * techdom.driving.rollup 으로 갱신 주체를 고릅니다.
+ * <ul>
+ *     <li>AUTO - 롤업이 TimescaleDB 연속 집계로 만들어져 있으면 DB에 맡기고, 아니면 애플리케이션이 갱신 (기본값)</li>
+ *     <li>APP - 항상 애플리케이션이 갱신</li>
+ *     <li>NONE - 갱신하지 않음</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class DrivingLogRollupUpdater {
+
+    public enum Mode { AUTO, APP, NONE }
+
+    private final DrivingLogRollupRepository drivingLogRollupRepository;
+    private final Mode mode;
+
+    private volatile Boolean enabled; // AUTO 판정 결과 (첫 배치에서 한 번만 확인)
+
+    public DrivingLogRollupUpdater(
+            DrivingLogRollupRepository drivingLogRollupRepository,
+            @Value("${techdom.driving.rollup:AUTO}") Mode mode
+    ) {
+        this.drivingLogRollupRepository = drivingLogRollupRepository;
+        this.mode = mode;
+    }
+
+    public void apply(List<DrivingLog> drivingLogs) {
+        if (drivingLogs.isEmpty() || !isEnabled()) {
+            return;
+        }
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            drivingLogRollupRepository.merge(granularity, RollupBucket.aggregate(drivingLogs, granularity));
+        }
+    }
+
+    private boolean isEnabled() {
+        Boolean result = enabled;
+        if (result == null) {
+            result = switch (mode) {
+                case APP -> true;
+                case NONE -> false;
+                case AUTO -> !drivingLogRollupRepository.isContinuousAggregate();
+            };
+            log.info("주행기록 롤업 갱신 : {} (techdom.driving.rollup={})", result ? "애플리케이션" : "하지 않음", mode);
+            enabled = result;
+        }
+        return result;
+    }
+}
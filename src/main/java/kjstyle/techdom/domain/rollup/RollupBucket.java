@@ -0,0 +1,84 @@
+package kjstyle.techdom.domain.rollup;
+
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 배치 안에서 (단말, 구간) 하나에 해당하는 주기정보를 모은 증분입니다. 저장 시 기존 구간 값에 더해집니다.
+ */
+@Getter
+public final class RollupBucket {
+
+    private static final Comparator<RollupBucket> LOCK_ORDER =
+            Comparator.comparing(RollupBucket::getMdn).thenComparing(RollupBucket::getBucketStart);
+
+    private final String mdn;
+    private final LocalDateTime bucketStart;
+
+    private long sampleCount;
+    private long speedSum;
+    private long speedSamples;
+    private Integer maxSpeed;
+    private Long minTotalDistance;
+    private Long maxTotalDistance;
+    private long batteryVoltSum;
+    private long batteryVoltSamples;
+    private Integer minBatteryVolt;
+    private Integer maxBatteryVolt;
+
+    RollupBucket(String mdn, LocalDateTime bucketStart) {
+        this.mdn = mdn;
+        this.bucketStart = bucketStart;
+    }
+
+    /**
+     * 배치를 구간별로 모읍니다. 동시에 저장하는 청크끼리 같은 행을 다른 순서로 잠그지 않도록 (mdn, 구간) 순으로 정렬해 돌려줍니다.
+     */
+    public static List<RollupBucket> aggregate(List<DrivingLog> drivingLogs, RollupGranularity granularity) {
+        Map<String, Map<LocalDateTime, RollupBucket>> byMdn = new HashMap<>();
+        for (DrivingLog drivingLog : drivingLogs) {
+            String mdn = drivingLog.getId().getMdn();
+            LocalDateTime bucketStart = granularity.bucketStart(drivingLog.getId().getRecordTime());
+            byMdn.computeIfAbsent(mdn, k -> new HashMap<>())
+                    .computeIfAbsent(bucketStart, k -> new RollupBucket(mdn, bucketStart))
+                    .add(drivingLog);
+        }
+
+        List<RollupBucket> buckets = new ArrayList<>();
+        byMdn.values().forEach(m -> buckets.addAll(m.values()));
+        buckets.sort(LOCK_ORDER);
+        return buckets;
+    }
+
+    void add(DrivingLog drivingLog) {
+        sampleCount++;
+
+        Integer speed = drivingLog.getSpeed();
+        if (speed != null) {
+            speedSum += speed;
+            speedSamples++;
+            maxSpeed = maxSpeed == null ? speed : Math.max(maxSpeed, speed);
+        }
+
+        Long totalDistance = drivingLog.getTotalDistance();
+        if (totalDistance != null) {
+            minTotalDistance = minTotalDistance == null ? totalDistance : Math.min(minTotalDistance, totalDistance);
+            maxTotalDistance = maxTotalDistance == null ? totalDistance : Math.max(maxTotalDistance, totalDistance);
+        }
+
+        Integer batteryVolt = drivingLog.getBatteryVolt();
+        if (batteryVolt != null) {
+            batteryVoltSum += batteryVolt;
+            batteryVoltSamples++;
+            minBatteryVolt = minBatteryVolt == null ? batteryVolt : Math.min(minBatteryVolt, batteryVolt);
+            maxBatteryVolt = maxBatteryVolt == null ? batteryVolt : Math.max(maxBatteryVolt, batteryVolt);
+        }
+    }
+}
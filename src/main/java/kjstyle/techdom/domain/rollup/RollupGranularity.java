@@ -0,0 +1,24 @@
+package kjstyle.techdom.domain.rollup;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 주행기록 롤업 구간 단위와 저장 테이블입니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RollupGranularity {
+    HOURLY("driving_log_hourly", ChronoUnit.HOURS),
+    DAILY("driving_log_daily", ChronoUnit.DAYS);
+
+    private final String table;
+    private final ChronoUnit unit;
+
+    public LocalDateTime bucketStart(LocalDateTime recordTime) {
+        return recordTime.truncatedTo(unit);
+    }
+}
@@ -0,0 +1,34 @@
+package kjstyle.techdom.domain.service;
+
+import kjstyle.techdom.domain.entitys.DrivingLog;
+
+import java.util.List;
+
+/**
+ * 청크 단위 대량 저장 결과입니다. 실패한 청크가 있어도 나머지 청크는 저장된 상태입니다.
+ *
+ * @param totalRows     입력 건수
+ * @param insertedRows  새로 저장된 건수
+ * @param duplicateRows 이미 저장되어 있어 건너뛴 건수 (재전송 등)
+ * @param failures      실패한 청크 목록 (입력 순서 기준 위치)
+ * @param insertedLogs  커밋된 청크에서 새로 저장된 주기정보 (입력 순서). Iterator로 저장한 경우에는 모으지 않아 비어 있음
+ */
+public record BulkInsertResult(long totalRows, long insertedRows, long duplicateRows,
+                               List<ChunkFailure> failures, List<DrivingLog> insertedLogs) {
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    public long failedRows() {
+        return totalRows - insertedRows - duplicateRows;
+    }
+
+    /**
+     * @param fromIndex 입력에서 청크의 시작 위치 (0부터)
+     * @param size      청크 건수
+     * @param message   실패 원인
+     */
+    public record ChunkFailure(long fromIndex, int size, String message) {
+    }
+}
@@ -0,0 +1,166 @@
+package kjstyle.techdom.domain.service;
+
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.repository.DrivingLogCustomRepository;
+import kjstyle.techdom.domain.rollup.DrivingLogRollupUpdater;
+import kjstyle.techdom.domain.service.BulkInsertResult.ChunkFailure;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 주행기록을 청크(techdom.driving.batch-size) 단위로 나눠 청크마다 한 트랜잭션으로 저장합니다.
+ * <ul>
+ *     <li>청크는 최대 techdom.driving.writer-parallelism 개까지 서로 다른 커넥션에서 동시에 저장합니다.</li>
+ *     <li>입력은 Iterator로 받아 필요한 만큼만 청크로 읽으므로, 메모리에는 동시에 저장 중인 청크 + 1개만 올라갑니다.</li>
+ *     <li>한 청크가 실패해도 그 청크만 롤백하고 나머지는 계속 저장하며, 실패한 청크는 결과로 돌려줍니다.</li>
+ *     <li>이미 저장된 주기정보는 건너뛰므로, 일부 청크만 저장된 요청을 단말이 통째로 재전송해도 나머지만 저장됩니다.</li>
+ * </ul>
+ * 청크가 하나뿐이면 호출 스레드에서 바로 저장합니다 (호출 쪽 트랜잭션이 있으면 참여).
+ * 시간/일 롤업은 청크와 같은 트랜잭션에서 새로 저장된 행만으로 갱신합니다.
+ */
+@Slf4j
+@Component
+public class DrivingLogBulkWriter implements DisposableBean {
+
+    private final DrivingLogCustomRepository drivingLogCustomRepository;
+    private final DrivingLogRollupUpdater drivingLogRollupUpdater;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DrivingLogBulkWriter(
+            DrivingLogCustomRepository drivingLogCustomRepository,
+            DrivingLogRollupUpdater drivingLogRollupUpdater,
+            PlatformTransactionManager transactionManager,
+            @Value("${techdom.driving.batch-size:500}") int chunkSize,
+            @Value("${techdom.driving.writer-parallelism:4}") int parallelism
+    ) {
+        this.drivingLogCustomRepository = drivingLogCustomRepository;
+        this.drivingLogRollupUpdater = drivingLogRollupUpdater;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.parallelism = Math.max(parallelism, 1);
+    }
+
+    /**
+     * 커밋된 청크에서 새로 저장된 주기정보를 결과({@link BulkInsertResult#insertedLogs()})에 담아 돌려줍니다.
+     */
+    public BulkInsertResult write(List<DrivingLog> drivingLogs) {
+        return write(drivingLogs.iterator(), true);
+    }
+
+    /**
+     * 입력을 메모리에 다 올리지 않고 저장합니다. 저장된 주기정보는 결과에 담지 않습니다.
+     */
+    public BulkInsertResult write(Iterator<DrivingLog> drivingLogs) {
+        return write(drivingLogs, false);
+    }
+
+    private BulkInsertResult write(Iterator<DrivingLog> drivingLogs, boolean collectInserted) {
+        ChunkResults results = new ChunkResults(collectInserted);
+        Semaphore permits = new Semaphore(parallelism);
+
+        long offset = 0;
+        while (drivingLogs.hasNext()) {
+            List<DrivingLog> chunk = nextChunk(drivingLogs);
+            long fromIndex = offset;
+            offset += chunk.size();
+
+            if (fromIndex == 0 && !drivingLogs.hasNext()) {
+                writeChunk(chunk, fromIndex, results);
+                break;
+            }
+
+            // 동시에 저장 중인 청크가 parallelism 개면 하나가 끝날 때까지 다음 청크를 읽지 않는다
+            permits.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    writeChunk(chunk, fromIndex, results);
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+        permits.acquireUninterruptibly(parallelism);
+
+        return results.toResult(offset);
+    }
+
+    private List<DrivingLog> nextChunk(Iterator<DrivingLog> drivingLogs) {
+        List<DrivingLog> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize && drivingLogs.hasNext()) {
+            chunk.add(drivingLogs.next());
+        }
+        return chunk;
+    }
+
+    private void writeChunk(List<DrivingLog> chunk, long fromIndex, ChunkResults results) {
+        try {
+            List<DrivingLog> inserted = transactionTemplate.execute(status -> {
+                List<DrivingLog> newLogs = drivingLogCustomRepository.bulkInsert(chunk);
+                drivingLogRollupUpdater.apply(newLogs);
+                return newLogs;
+            });
+            results.committed(fromIndex, chunk.size(), inserted);
+        } catch (RuntimeException e) {
+            log.warn("주행기록 청크 저장 실패 from={}, size={} : {}", fromIndex, chunk.size(), e.getMessage());
+            results.failed(new ChunkFailure(fromIndex, chunk.size(), e.getMessage()));
+        }
+    }
+
+    /**
+     * 청크들이 서로 다른 스레드에서 끝나므로 결과를 동시성 컬렉션에 모았다가, 마지막에 입력 순서로 정리합니다.
+     */
+    private static final class ChunkResults {
+        private final boolean collectInserted;
+        private final AtomicLong inserted = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final ConcurrentLinkedQueue<ChunkFailure> failures = new ConcurrentLinkedQueue<>();
+        private final ConcurrentSkipListMap<Long, List<DrivingLog>> insertedLogs = new ConcurrentSkipListMap<>();
+
+        ChunkResults(boolean collectInserted) {
+            this.collectInserted = collectInserted;
+        }
+
+        void committed(long fromIndex, int size, List<DrivingLog> newLogs) {
+            inserted.addAndGet(newLogs.size());
+            duplicates.addAndGet(size - newLogs.size());
+            if (collectInserted && !newLogs.isEmpty()) {
+                insertedLogs.put(fromIndex, newLogs);
+            }
+        }
+
+        void failed(ChunkFailure failure) {
+            failures.add(failure);
+        }
+
+        BulkInsertResult toResult(long totalRows) {
+            List<ChunkFailure> failureList = new ArrayList<>(failures);
+            failureList.sort((a, b) -> Long.compare(a.fromIndex(), b.fromIndex()));
+
+            List<DrivingLog> logs = new ArrayList<>();
+            insertedLogs.values().forEach(logs::addAll);
+            return new BulkInsertResult(totalRows, inserted.get(), duplicates.get(), failureList, logs);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -1,14 +1,20 @@
 package kjstyle.techdom.domain.service;
 
+import kjstyle.techdom.domain.cache.VehicleLastStateStore;
 import kjstyle.techdom.domain.entitys.DrivingLog;
-import kjstyle.techdom.domain.repository.DrivingLogCustomRepository;
+import kjstyle.techdom.domain.entitys.DrivingLogRollup;
+import kjstyle.techdom.domain.geofence.GeofenceEngine;
+import kjstyle.techdom.domain.repository.DrivingLogDailyRepository;
+import kjstyle.techdom.domain.repository.DrivingLogHourlyRepository;
 import kjstyle.techdom.domain.repository.DrivingLogRepository;
+import kjstyle.techdom.domain.rollup.RollupGranularity;
+import kjstyle.techdom.domain.trip.TripAggregator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -16,16 +22,48 @@ import java.util.stream.Collectors;
 public class DrivingLogService {
 
     private final DrivingLogRepository drivingLogRepository;
-    private final DrivingLogCustomRepository drivingLogCustomRepository;
+    private final DrivingLogBulkWriter drivingLogBulkWriter;
+    private final GeofenceEngine geofenceEngine;
+    private final TripAggregator tripAggregator;
+    private final VehicleLastStateStore vehicleLastStateStore;
+    private final DrivingLogHourlyRepository drivingLogHourlyRepository;
+    private final DrivingLogDailyRepository drivingLogDailyRepository;
 
     public DrivingLog saveDrivingLog(DrivingLog drivingLog) {
         return drivingLogRepository.save(drivingLog);
     }
 
-    public void saveBulk(List<DrivingLog> logs) {
-        log.info("Saving bulk logs:\n" + logs.stream()
-                .map(Object::toString)
-                .collect(Collectors.joining("\n")));
-        drivingLogCustomRepository.bulkInsert(logs);
+    /**
+     * 재접속 후 수백 건이 한 번에 올라와도 배치 크기가 일정하도록 청크로 나눠 저장합니다.
+     * 지오펜스/운행/최신 상태는 청크가 모두 끝난 뒤, 커밋된 청크에서 새로 저장된 주기정보로만 갱신합니다.
+     * (롤백된 청크나 재전송된 중복이 메모리 상태에 두 번 반영되지 않도록)
+     *
+     * @return 청크별 저장 결과 (실패한 청크가 있어도 나머지는 저장됨)
+     */
+    public BulkInsertResult saveBulk(List<DrivingLog> logs) {
+        log.debug("주행기록 {}건 저장", logs.size());
+
+        BulkInsertResult result = drivingLogBulkWriter.write(logs);
+
+        List<DrivingLog> inserted = result.insertedLogs();
+        if (!inserted.isEmpty()) {
+            geofenceEngine.onDrivingLogs(inserted);
+            tripAggregator.onDrivingLogs(inserted);
+            vehicleLastStateStore.onDrivingLogs(inserted);
+        }
+        return result;
+    }
+
+    /**
+     * 단말의 [from, to) 구간 롤업을 시간순으로 돌려줍니다. 원본 주기정보 대신 미리 모아 둔 구간을 읽습니다.
+     */
+    public List<? extends DrivingLogRollup> findRollups(String mdn, RollupGranularity granularity,
+                                                       LocalDateTime from, LocalDateTime to) {
+        return switch (granularity) {
+            case HOURLY -> drivingLogHourlyRepository
+                    .findByMdnAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(mdn, from, to);
+            case DAILY -> drivingLogDailyRepository
+                    .findByMdnAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(mdn, from, to);
+        };
     }
 }
@@ -1,29 +1,327 @@
 package kjstyle.techdom.domain.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import kjstyle.techdom.config.VehicleKafkaConfig;
+import kjstyle.techdom.domain.diagnostic.EventDiagnostics;
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics;
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics.Stage;
 import kjstyle.techdom.domain.entitys.VehicleEventLog;
-import lombok.RequiredArgsConstructor;
+import kjstyle.techdom.domain.exceptions.EventPublishRejectedException;
+import kjstyle.techdom.domain.spool.EventSpool;
+import kjstyle.techdom.web.dto.EventBatchRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
-import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * 차량 이벤트를 Kafka로 비동기 전송합니다.
+ * 컨트롤러 스레드는 브로커 ACK를 기다리지 않고, 전송 대기(in-flight) 건수만 세마포어로 제한합니다.
+ * 브로커가 느려져 한도가 가득 차면 잠시 기다려 보고, 그래도 자리가 없으면 {@link EventPublishRejectedException}을 던집니다.
+ * ACK/실패/거절 건수와 현재 in-flight 건수는 /actuator/metrics 로 확인할 수 있습니다.
+ * <p>
+ * 브로커를 쓸 수 없으면(send 예외, in-flight 한도 초과, ACK 실패) 이벤트를 {@link EventSpool}에 기록하고 정상 응답합니다.
+ * 스풀에 남은 이벤트가 있는 동안에는 새 이벤트도 스풀 뒤에 붙여 단말별 순서를 지키고,
+ * 별도 스레드가 techdom.spool.drain-interval-ms 마다 스풀을 기록 순서대로 Kafka에 다시 보냅니다.
+ * (ACK 실패는 실패를 안 시점에 스풀 뒤에 붙으므로, 그 사이 스풀에 들어간 같은 단말의 이벤트보다 뒤에 설 수 있습니다.)
+ * <p>
+ * ACK 실패 콜백은 Kafka 프로듀서 I/O 스레드에서 호출되므로, 그 자리에서 스풀 잠금/fsync를 기다리지 않고
+ * 전용 스레드(event-spool-failed)에 넘겨 모아서 기록합니다.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class EventSender {
+public class EventSender implements DisposableBean {
+
+    // 묶음 전송 시 in-flight 자리를 한 번에 잡는 최대 건수. 큰 묶음이 자리가 한꺼번에 날 때까지 밀려나지 않게 나눠 잡는다
+    static final int SEND_ALL_CHUNK = 100;
 
     private final KafkaTemplate<String, VehicleEventLog> kafkaTemplate;
+    private final EventDiagnostics eventDiagnostics;
+    private final PipelineMetrics pipelineMetrics;
+    private final EventSpool eventSpool;
+
+    private final Semaphore inFlightWindow;
+    private final long acquireTimeoutMillis;
+    private final int sendAllChunk;
+
+    private final Counter ackedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Counter spooledCounter;
+
+    private final int drainBatchSize;
+    private final long drainTimeoutMillis;
+    private final ScheduledExecutorService drainer;
+
+    // ACK에 실패해 스풀에 기록할 이벤트. event-spool-failed 스레드만 꺼낸다
+    private final LinkedBlockingQueue<VehicleEventLog> failedQueue = new LinkedBlockingQueue<>();
+    private final Thread failedSpooler;
+    private volatile boolean running = true;
+
+    @Autowired
+    public EventSender(
+            KafkaTemplate<String, VehicleEventLog> kafkaTemplate,
+            MeterRegistry meterRegistry,
+            EventDiagnostics eventDiagnostics,
+            PipelineMetrics pipelineMetrics,
+            EventSpool eventSpool,
+            @Value("${techdom.kafka.producer.max-in-flight:10000}") int maxInFlight,
+            @Value("${techdom.kafka.producer.acquire-timeout-ms:50}") long acquireTimeoutMillis,
+            @Value("${techdom.spool.drain-interval-ms:1000}") long drainIntervalMillis,
+            @Value("${techdom.spool.drain-batch:500}") int drainBatchSize,
+            @Value("${techdom.spool.drain-timeout-ms:30000}") long drainTimeoutMillis
+    ) {
+        this(kafkaTemplate, meterRegistry, eventDiagnostics, pipelineMetrics, eventSpool, checkMaxInFlight(maxInFlight),
+                acquireTimeoutMillis, drainIntervalMillis, drainBatchSize, drainTimeoutMillis, SEND_ALL_CHUNK);
+    }
+
+    EventSender(KafkaTemplate<String, VehicleEventLog> kafkaTemplate, MeterRegistry meterRegistry,
+                EventDiagnostics eventDiagnostics, PipelineMetrics pipelineMetrics, EventSpool eventSpool,
+                int maxInFlight, long acquireTimeoutMillis, long drainIntervalMillis, int drainBatchSize,
+                long drainTimeoutMillis, int sendAllChunk) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.eventDiagnostics = eventDiagnostics;
+        this.pipelineMetrics = pipelineMetrics;
+        this.eventSpool = eventSpool;
+        this.inFlightWindow = new Semaphore(maxInFlight);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.sendAllChunk = sendAllChunk;
+        this.drainBatchSize = drainBatchSize;
+        this.drainTimeoutMillis = drainTimeoutMillis;
+
+        this.ackedCounter = meterRegistry.counter("techdom.kafka.producer.records", "result", "acked");
+        this.failedCounter = meterRegistry.counter("techdom.kafka.producer.records", "result", "failed");
+        this.rejectedCounter = meterRegistry.counter("techdom.kafka.producer.records", "result", "rejected");
+        this.spooledCounter = meterRegistry.counter("techdom.kafka.producer.records", "result", "spooled");
+        Gauge.builder("techdom.kafka.producer.in-flight", inFlightWindow, window -> maxInFlight - window.availablePermits())
+                .description("브로커 ACK를 기다리는 중인 이벤트 건수")
+                .register(meterRegistry);
+
+        if (eventSpool.isEnabled()) {
+            this.drainer = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("event-spool-drain").daemon().factory());
+            this.drainer.scheduleWithFixedDelay(this::drainSpool, drainIntervalMillis, drainIntervalMillis, TimeUnit.MILLISECONDS);
+            this.failedSpooler = Thread.ofPlatform().name("event-spool-failed").daemon().start(this::spoolFailedLoop);
+        } else {
+            this.drainer = null;
+            this.failedSpooler = null;
+        }
+    }
+
+    // 한도가 묶음 요청 최대 건수보다 작으면 묶음 하나가 자리를 다 차지하고도 모자라므로 기동 시 막는다
+    private static int checkMaxInFlight(int maxInFlight) {
+        if (maxInFlight < EventBatchRequest.MAX_EVENTS) {
+            throw new IllegalArgumentException("techdom.kafka.producer.max-in-flight는 묶음 요청 최대 건수("
+                    + EventBatchRequest.MAX_EVENTS + ") 이상이어야 합니다: " + maxInFlight);
+        }
+        return maxInFlight;
+    }
 
     public void send(VehicleEventLog eventLog) {
-        log.info("--------------- 이벤트 퍼블리싱 직전");
-        String kafkaKey = generateKafkaKey(eventLog.getMdn(), eventLog.getEventTimestampUtc());
-        kafkaTemplate.send(VehicleKafkaConfig.VEHICLE_EVENT_TOPIC, kafkaKey, eventLog);
-        log.info("--------------- 이벤트 퍼블리싱 직후");
+        long startNanos = System.nanoTime();
+        eventDiagnostics.trace("publish", eventLog);
+
+        // 스풀에 먼저 들어간 이벤트가 남아 있으면 앞지르지 않도록 뒤에 붙인다
+        if (eventSpool.hasPending() || !acquireWindow(eventLog.getMdn(), 1, 1)) {
+            spool(List.of(eventLog), startNanos);
+            return;
+        }
+
+        try {
+            publish(eventLog, startNanos);
+        } catch (RuntimeException e) {
+            // 메타데이터 조회 실패 등으로 send 자체가 예외를 던지면 콜백이 호출되지 않으므로 여기서 반환
+            inFlightWindow.release();
+            failedCounter.increment();
+            if (!eventSpool.isEnabled()) {
+                throw e;
+            }
+            log.warn("Kafka 전송 불가, 스풀에 기록 MDN={} : {}", eventLog.getMdn(), e.getMessage());
+            spool(List.of(eventLog), startNanos);
+        }
+    }
+
+    /**
+     * 여러 이벤트를 한 번에 보냅니다. in-flight 자리를 {@link #SEND_ALL_CHUNK}건씩 나눠 잡으면서 프로듀서에 넣고 돌아가며,
+     * 프로듀서가 파티션별로 묶어 전송합니다. 자리를 못 잡거나 브로커를 쓸 수 없으면 남은 이벤트를 한 번의 fsync로 스풀에 기록합니다.
+     * 스풀을 쓰지 않으면 남은 이벤트는 {@link EventPublishRejectedException}으로 거절되고, 앞서 보낸 이벤트는 그대로 전달됩니다.
+     * (재시도로 다시 오면 컨슈머 저장이 중복을 건너뜀)
+     */
+    public void sendAll(List<VehicleEventLog> eventLogs) {
+        if (eventLogs.isEmpty()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        eventDiagnostics.traceAll("publish", eventLogs);
+
+        int size = eventLogs.size();
+        int published = 0;
+        while (published < size) {
+            int chunk = Math.min(sendAllChunk, size - published);
+            // 앞 묶음을 보내는 사이 다른 요청이 스풀에 넣었으면 그 뒤에 붙인다
+            if (eventSpool.hasPending() || !acquireWindow(eventLogs.get(published).getMdn(), chunk, size - published)) {
+                spool(eventLogs.subList(published, size), startNanos);
+                return;
+            }
+
+            int end = published + chunk;
+            try {
+                for (; published < end; published++) {
+                    publish(eventLogs.get(published), startNanos);
+                }
+            } catch (RuntimeException e) {
+                inFlightWindow.release(end - published);
+                failedCounter.increment(size - published);
+                if (!eventSpool.isEnabled()) {
+                    throw e;
+                }
+                log.warn("Kafka 전송 불가, 남은 {}건을 스풀에 기록 : {}", size - published, e.getMessage());
+                spool(eventLogs.subList(published, size), startNanos);
+                return;
+            }
+        }
+    }
+
+    // in-flight 자리를 확보한 뒤 호출. ACK/실패 콜백에서 자리를 반환한다
+    private void publish(VehicleEventLog eventLog, long startNanos) {
+        // 같은 단말의 이벤트가 항상 같은 파티션으로 가도록 MDN을 키로 사용 (시동 OFF -> ON 순서 보장)
+        String kafkaKey = eventLog.getMdn();
+        kafkaTemplate.send(VehicleKafkaConfig.VEHICLE_EVENT_TOPIC, kafkaKey, eventLog)
+                .whenComplete((result, ex) -> {
+                    inFlightWindow.release();
+                    if (ex == null) {
+                        ackedCounter.increment();
+                        pipelineMetrics.recordSince(Stage.BROKER_ACK, eventLog.getEventType(), startNanos);
+                        eventDiagnostics.trace("acked", eventLog);
+                    } else {
+                        failedCounter.increment();
+                        eventDiagnostics.traceFailure("acked", eventLog, ex);
+                        if (eventSpool.isEnabled()) {
+                            failedQueue.add(eventLog);
+                        }
+                    }
+                });
+        pipelineMetrics.recordSince(Stage.PUBLISH, eventLog.getEventType(), startNanos);
+    }
+
+    // 자리를 못 잡았는데 스풀도 쓰지 않으면, 보내지 못한 건수(remaining)만큼 거절로 센다
+    private boolean acquireWindow(String mdn, int permits, int remaining) {
+        boolean acquired;
+        try {
+            acquired = inFlightWindow.tryAcquire(permits, acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired && !eventSpool.isEnabled()) {
+            rejectedCounter.increment(remaining);
+            throw new EventPublishRejectedException(mdn, "이벤트 전송 대기 건수가 한도에 도달했습니다.");
+        }
+        return acquired;
+    }
+
+    // 스풀도 가득 찼으면 EventPublishRejectedException(503)이 그대로 나간다
+    private void spool(List<VehicleEventLog> eventLogs, long startNanos) {
+        eventSpool.appendAll(eventLogs);
+        spooledCounter.increment(eventLogs.size());
+        for (VehicleEventLog eventLog : eventLogs) {
+            pipelineMetrics.recordSince(Stage.PUBLISH, eventLog.getEventType(), startNanos);
+        }
+        eventDiagnostics.traceAll("spooled", eventLogs);
+    }
+
+    // ACK에 실패한 이벤트를 꺼내, 그 사이 쌓인 것까지 묶어 한 번의 fsync로 기록한다
+    private void spoolFailedLoop() {
+        List<VehicleEventLog> batch = new ArrayList<>(drainBatchSize);
+        while (running) {
+            try {
+                VehicleEventLog first = failedQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            failedQueue.drainTo(batch, drainBatchSize - 1);
+            spoolFailed(batch);
+            batch.clear();
+        }
+    }
+
+    // 이미 단말에 응답한 이벤트의 ACK 실패. 스풀에 남기지 못하면 유실되므로 에러로 남긴다
+    private void spoolFailed(List<VehicleEventLog> eventLogs) {
+        try {
+            eventSpool.appendAll(eventLogs);
+            spooledCounter.increment(eventLogs.size());
+        } catch (RuntimeException e) {
+            log.error("이벤트 {}건 유실, 스풀 기록 실패 (첫 MDN={}) : {}", eventLogs.size(), eventLogs.get(0).getMdn(), e.getMessage());
+        }
+    }
+
+    /**
+     * 스풀에 남은 이벤트를 기록 순서대로 묶음 단위로 보내고, 묶음 전체의 ACK를 받은 뒤에 다음 묶음으로 넘어갑니다.
+     * 실패하면 그 묶음부터 다음 주기에 다시 보냅니다. (일부는 이미 전달됐을 수 있으나 컨슈머 저장이 중복을 건너뜀)
+     */
+    void drainSpool() {
+        try {
+            while (eventSpool.drain(drainBatchSize, this::resend) > 0) {
+                log.debug("스풀 재전송 진행, 남은 건수={}", eventSpool.pendingCount());
+            }
+        } catch (RuntimeException e) {
+            log.error("스풀 재전송 중 오류 : {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean resend(List<VehicleEventLog> eventLogs) {
+        try {
+            CompletableFuture<?>[] acks = new CompletableFuture<?>[eventLogs.size()];
+            for (int i = 0; i < acks.length; i++) {
+                VehicleEventLog eventLog = eventLogs.get(i);
+                acks[i] = kafkaTemplate.send(VehicleKafkaConfig.VEHICLE_EVENT_TOPIC, eventLog.getMdn(), eventLog);
+            }
+            CompletableFuture.allOf(acks).get(drainTimeoutMillis, TimeUnit.MILLISECONDS);
+            ackedCounter.increment(acks.length);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            log.warn("스풀 이벤트 재전송 실패, 다음 주기에 다시 시도 (남은 건수={}) : {}", eventSpool.pendingCount(), e.getMessage());
+            return false;
+        }
     }
 
-    private static String generateKafkaKey(String mdn, OffsetDateTime eventTimestampUtc) {
-        return mdn + "-" + eventTimestampUtc;
+    @Override
+    public void destroy() throws InterruptedException {
+        if (drainer != null) {
+            drainer.shutdownNow();
+        }
+        if (failedSpooler != null) {
+            running = false;
+            failedSpooler.join(TimeUnit.SECONDS.toMillis(5));
+            // 종료 직전에 들어온 ACK 실패도 스풀에 남긴다
+            List<VehicleEventLog> remaining = new ArrayList<>();
+            failedQueue.drainTo(remaining);
+            if (!remaining.isEmpty()) {
+                spoolFailed(remaining);
+            }
+        }
     }
 }
@@ -1,18 +1,20 @@
 package kjstyle.techdom.domain.service;
 
 import kjstyle.techdom.domain.entitys.VehicleEventLog;
-import kjstyle.techdom.domain.repository.VehicleEventLogRepository;
+import kjstyle.techdom.domain.repository.VehicleEventLogCustomRepository;
 import kjstyle.techdom.enums.VehicleEventType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class GeofenceOutEventHandler implements VehicleEventHandler {
 
-    private final VehicleEventLogRepository vehicleEventLogRepository;
+    private final VehicleEventLogCustomRepository vehicleEventLogCustomRepository;
 
     @Override
     public VehicleEventType getEventType() {
@@ -21,11 +23,17 @@ public class GeofenceOutEventHandler implements VehicleEventHandler {
 
     @Override
     public void handle(VehicleEventLog eventLog) {
-        log.info("지오펜스 OUT 이벤트 수신 {}", eventLog);
+        // TODO : 비지니스 제약사항 추가 필요
 
+        vehicleEventLogCustomRepository.insert(eventLog);
+        log.debug("지오펜스 OUT 이벤트 저장 완료 MDN={}", eventLog.getMdn());
+    }
+
+    @Override
+    public void handleAll(List<VehicleEventLog> eventLogs) {
         // TODO : 비지니스 제약사항 추가 필요
 
-        vehicleEventLogRepository.save(eventLog);
-        log.info("지오펜스 OUT 이벤트 저장 완료 MDN={}", eventLog.getMdn());
+        vehicleEventLogCustomRepository.bulkInsert(eventLogs);
+        log.debug("지오펜스 OUT 이벤트 {}건 일괄 저장 완료", eventLogs.size());
     }
 }
@@ -1,18 +1,22 @@
 package kjstyle.techdom.domain.service;
 
+import kjstyle.techdom.domain.cache.IgnitionOffStateCache;
 import kjstyle.techdom.domain.entitys.VehicleEventLog;
-import kjstyle.techdom.domain.repository.VehicleEventLogRepository;
+import kjstyle.techdom.domain.repository.VehicleEventLogCustomRepository;
 import kjstyle.techdom.enums.VehicleEventType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class IgnitionOffEventHandler implements VehicleEventHandler{
 
-    private final VehicleEventLogRepository vehicleEventLogRepository;
+    private final VehicleEventLogCustomRepository vehicleEventLogCustomRepository;
+    private final IgnitionOffStateCache ignitionOffStateCache;
 
     @Override
     public VehicleEventType getEventType() {
@@ -24,11 +28,26 @@ public class IgnitionOffEventHandler implements VehicleEventHandler{
 
         // TODO : 비지니스 제약사항 추가 필요
 
-        vehicleEventLogRepository.save(eventLog);
+        vehicleEventLogCustomRepository.insert(eventLog);
+        ignitionOffStateCache.update(eventLog); // 다음 시동 ON의 GPS 보정용
+
+        // 운행 종료(운행 요약)와 최종 누적거리/시동 상태는 저장 후 VehicleEventLogService가 넘겨주는
+        // TripAggregator, VehicleLastStateStore에서 반영한다
+
+        log.debug("시동 OFF 이벤트 저장 완료 MDN={}", eventLog.getMdn());
+    }
+
+    @Override
+    public void handleAll(List<VehicleEventLog> eventLogs) {
+
+        // TODO : 비지니스 제약사항 추가 필요
+
+        vehicleEventLogCustomRepository.bulkInsert(eventLogs);
+        eventLogs.forEach(ignitionOffStateCache::update); // 다음 시동 ON의 GPS 보정용
 
-        // TODO : 차량의 상태를 운행종료로 업데이트해야함
-        // TODO : 차량의 최종 누적거리를 업데이트해야함
+        // 운행 종료(운행 요약)와 최종 누적거리/시동 상태는 저장 후 VehicleEventLogService가 넘겨주는
+        // TripAggregator, VehicleLastStateStore에서 반영한다
 
-        log.info("시동 OFF 이벤트 저장 완료 MDN={}", eventLog.getMdn());
+        log.debug("시동 OFF 이벤트 {}건 일괄 저장 완료", eventLogs.size());
     }
 }
\ No newline at end of file
@@ -1,13 +1,16 @@
 package kjstyle.techdom.domain.service;
 
+import kjstyle.techdom.domain.cache.IgnitionOffState;
+import kjstyle.techdom.domain.cache.IgnitionOffStateCache;
 import kjstyle.techdom.domain.entitys.VehicleEventLog;
-import kjstyle.techdom.domain.repository.VehicleEventLogRepository;
+import kjstyle.techdom.domain.repository.VehicleEventLogCustomRepository;
 import kjstyle.techdom.enums.GpsCondition;
 import kjstyle.techdom.enums.VehicleEventType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -15,7 +18,8 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class IgnitionOnEventHandler implements VehicleEventHandler{
 
-    private final VehicleEventLogRepository vehicleEventLogRepository;
+    private final VehicleEventLogCustomRepository vehicleEventLogCustomRepository;
+    private final IgnitionOffStateCache ignitionOffStateCache;
 
     @Override
     public VehicleEventType getEventType() {
@@ -24,28 +28,39 @@ public class IgnitionOnEventHandler implements VehicleEventHandler{
 
     @Override
     public void handle(VehicleEventLog eventLog) {
+        adjustGpsPositionIfAbnormal(eventLog);
 
+        vehicleEventLogCustomRepository.insert(eventLog);
+        log.debug("시동 ON 이벤트 저장 완료 MDN={}", eventLog.getMdn());
+    }
+
+    @Override
+    public void handleAll(List<VehicleEventLog> eventLogs) {
+        eventLogs.forEach(this::adjustGpsPositionIfAbnormal);
+
+        vehicleEventLogCustomRepository.bulkInsert(eventLogs);
+        log.debug("시동 ON 이벤트 {}건 일괄 저장 완료", eventLogs.size());
+    }
+
+    private void adjustGpsPositionIfAbnormal(VehicleEventLog eventLog) {
         // 규격서: "시동 ON 시 GPS 상태가 정상적이지 않으면, GPS 상태 값(gcd)을 ‘P’로 설정하고, 직전 시동 OFF 때의 GPS 위치 정보를 보낸다."
         // 규격서: "  ㄴ 위경도 값은 직전 시동 OFF의 위경도 값으로 설정한다."
         if (eventLog.getGpsStatus() == GpsCondition.ABNORMAL_ON_IGNITION) {
-            // TODO: DB에서 직전 시동 OFF의 위경도(lat, lon)를 조회하여 eventLog의 lat/lon과 비교하거나 보정하는 로직 추가
-            Optional<VehicleEventLog> lastOffEvent = vehicleEventLogRepository.findTopByMdnAndEventTypeOrderByEventTimestampUtcDesc(eventLog.getMdn(), VehicleEventType.IGNITION_OFF);
-
-            lastOffEvent.ifPresentOrElse(
-                    prevOffEvent ->{
-                        eventLog.adjustGpsPosition(prevOffEvent.getLatitude(), prevOffEvent.getLongitude());
-                        log.info("직전 시동 OFF ({})의 위경도({}, {})로 현재 이벤트를 수정. 시동OFF한 곳에서 시동을 다시 걸겠지..",
-                                prevOffEvent.getEventTimestampUtc(), prevOffEvent.getLatitude(), prevOffEvent.getLongitude());
+            // 직전 시동 OFF의 위경도는 하이퍼테이블 조회 대신 단말별 캐시에서 가져온다 (캐시에 없을 때만 DB 조회)
+            Optional<IgnitionOffState> lastOffState = ignitionOffStateCache.get(eventLog.getMdn());
+
+            lastOffState.ifPresentOrElse(
+                    prevOffState ->{
+                        eventLog.adjustGpsPosition(prevOffState.latitude(), prevOffState.longitude());
+                        log.debug("직전 시동 OFF ({})의 위경도({}, {})로 현재 이벤트를 수정. 시동OFF한 곳에서 시동을 다시 걸겠지..",
+                                prevOffState.eventTimestampUtc(), prevOffState.latitude(), prevOffState.longitude());
                     },
                     () -> {
                         // 규격서: "설치 후, 최초 시동 ON의 경우 그 전에 저장된 GPS 데이터가 없기 때문에 위경도 없이 보낸다. (상태값은 V, GPS 장치 인식 안된 경우는 0)"
-                        log.info("이전 OFF가 없다는건..생애최초 시동 걸었다는 이야기인데.. GPS마저 비정상이라면 그냥 0,0 으로 ");
+                        log.debug("이전 OFF가 없다는건..생애최초 시동 걸었다는 이야기인데.. GPS마저 비정상이라면 그냥 0,0 으로 ");
                         eventLog.adjustGpsPosition(0.0, 0.0);
                     }
             );
         }
-
-        vehicleEventLogRepository.save(eventLog);
-        log.info("시동 ON 이벤트 저장 완료");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package kjstyle.techdom.domain.service;
+
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Kafka에서 받은 이벤트 묶음을 MDN 해시로 여러 줄(stripe)로 나눠 가상 스레드에서 동시에 처리합니다.
+ * 같은 단말의 이벤트는 항상 같은 줄에 수신 순서대로 들어가므로, 시동 OFF -> 시동 ON(GPS 보정) 순서가 유지됩니다.
+ *
+ * - stripes가 1이면 지금처럼 묶음 전체를 한 트랜잭션으로 처리합니다.
+ * - stripes가 2 이상이면 줄마다 별도 트랜잭션으로 저장하고, 모든 줄이 끝난 뒤 하나라도 실패했으면 예외를 던져 묶음 전체를 재전달받습니다.
+ *   이미 커밋된 줄이 다시 들어와도 저장이 ON CONFLICT DO NOTHING 이라 중복 없이 건너뜁니다.
+ *   저장 뒤의 메모리 반영도 다시 적용해도 결과가 같습니다.
+ *   (직전 시동 OFF 캐시와 마지막 상태는 더 최근 시각만 반영, 지오펜스는 마지막으로 반영한 위치 시각 이후만 판정,
+ *   운행은 같은 시동 ON을 다시 열지 않고 요약 저장도 ON CONFLICT DO NOTHING)
+ *
+ * 묶음 처리가 실패하면 리스너가 {@link #processEach}로 한 건씩 다시 처리해 실패한 레코드만 골라냅니다.
+ */
+@Slf4j
+@Component
+public class StripedEventProcessor implements DisposableBean {
+
+    private final VehicleEventLogService vehicleEventLogService;
+    private final int stripes;
+    private final ExecutorService executor;
+
+    public StripedEventProcessor(
+            VehicleEventLogService vehicleEventLogService,
+            @Value("${techdom.kafka.consumer.stripes:1}") int stripes
+    ) {
+        this.vehicleEventLogService = vehicleEventLogService;
+        this.stripes = Math.max(stripes, 1);
+        this.executor = this.stripes > 1 ? Executors.newVirtualThreadPerTaskExecutor() : null;
+    }
+
+    public void process(List<VehicleEventLog> eventLogs) {
+        if (executor == null || eventLogs.size() < 2) {
+            vehicleEventLogService.processVehicleEvents(eventLogs);
+            return;
+        }
+
+        List<List<VehicleEventLog>> stripeLogs = split(eventLogs);
+        if (stripeLogs.size() == 1) {
+            vehicleEventLogService.processVehicleEvents(stripeLogs.get(0));
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>(stripeLogs.size());
+        for (List<VehicleEventLog> stripe : stripeLogs) {
+            futures.add(executor.submit(() -> vehicleEventLogService.processVehicleEvents(stripe)));
+        }
+        awaitAll(futures);
+    }
+
+    /**
+     * 묶음 처리가 실패했을 때 레코드를 수신 순서대로 한 건씩 각자의 트랜잭션으로 다시 처리합니다.
+     * 처음 실패한 레코드에서 멈추고 그 위치를 담은 {@link BatchListenerFailedException}을 던지므로,
+     * 컨테이너 에러 핸들러가 앞의 레코드까지 오프셋을 커밋하고 실패한 레코드부터 다시 받습니다.
+     * 같은 단말의 뒤 이벤트는 실패한 레코드 뒤에 있으므로 순서가 바뀌지 않습니다.
+     */
+    public void processEach(List<VehicleEventLog> eventLogs) {
+        for (int i = 0; i < eventLogs.size(); i++) {
+            VehicleEventLog eventLog = eventLogs.get(i);
+            try {
+                vehicleEventLogService.processVehicleEvents(List.of(eventLog));
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException(
+                        "이벤트 처리 실패 MDN=" + eventLog.getMdn() + ", time=" + eventLog.getEventTimestampUtc(), e, i);
+            }
+        }
+    }
+
+    /**
+     * 수신 순서를 유지한 채 MDN 해시로 나눕니다. 비어 있는 줄은 제외합니다.
+     */
+    List<List<VehicleEventLog>> split(List<VehicleEventLog> eventLogs) {
+        List<List<VehicleEventLog>> buckets = new ArrayList<>(stripes);
+        for (int i = 0; i < stripes; i++) {
+            buckets.add(null);
+        }
+        for (VehicleEventLog eventLog : eventLogs) {
+            int stripe = Math.floorMod(eventLog.getMdn().hashCode(), stripes);
+            List<VehicleEventLog> bucket = buckets.get(stripe);
+            if (bucket == null) {
+                bucket = new ArrayList<>();
+                buckets.set(stripe, bucket);
+            }
+            bucket.add(eventLog);
+        }
+        buckets.removeIf(bucket -> bucket == null);
+        return buckets;
+    }
+
+    // 실패한 줄이 있어도 나머지 줄이 끝날 때까지 기다린 뒤 첫 번째 예외를 던진다 (재전달 시 동시에 처리되는 줄이 없도록)
+    private static void awaitAll(List<Future<?>> futures) {
+        RuntimeException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) {
+                    failure = new IllegalStateException("이벤트 처리 대기 중 인터럽트되었습니다.", e);
+                }
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException runtime
+                            ? runtime
+                            : new IllegalStateException(e.getCause());
+                } else {
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -3,9 +3,22 @@ package kjstyle.techdom.domain.service;
 import kjstyle.techdom.domain.entitys.VehicleEventLog;
 import kjstyle.techdom.enums.VehicleEventType;
 
+import java.util.List;
+
 public interface VehicleEventHandler {
 
     VehicleEventType getEventType();
 
     void handle(VehicleEventLog eventLog);
-}
\ No newline at end of file
+
+    /**
+     * 같은 이벤트 타입의 이벤트 여러 건을 한 번에 처리합니다.
+     * 기본 구현은 한 건씩 {@link #handle(VehicleEventLog)}을 호출하며,
+     * 배치 저장이 가능한 핸들러는 이 메서드를 재정의하여 한 번의 multi-row insert로 저장합니다.
+     *
+     * @param eventLogs 수신 순서대로 정렬된 같은 타입의 이벤트 목록
+     */
+    default void handleAll(List<VehicleEventLog> eventLogs) {
+        eventLogs.forEach(this::handle);
+    }
+}
@@ -1,22 +1,64 @@
 package kjstyle.techdom.domain.service;
 
 import kjstyle.techdom.config.VehicleKafkaConfig;
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics;
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics.Stage;
 import kjstyle.techdom.domain.entitys.VehicleEventLog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class VehicleEventListener {
 
-    private final VehicleEventLogService vehicleEventLogService;
+    private final StripedEventProcessor stripedEventProcessor;
+    private final PipelineMetrics pipelineMetrics;
 
+    /**
+     * kafkaListenerContainerFactory가 배치 리스너 모드이므로 한 번의 poll 결과를 목록으로 받습니다.
+     * 메시지 키가 MDN이라 같은 단말의 이벤트는 한 컨테이너에 순서대로 들어오고, 묶음 안에서는 단말별로 나눠 처리합니다.
+     *
+     * 묶음 처리가 실패하면 한 건씩 다시 처리하고, 실패한 레코드의 위치를 담은 BatchListenerFailedException을
+     * 에러 핸들러(VehicleKafkaConfig)에 넘겨 그 레코드만 재시도/건너뛰게 합니다.
+     *
+     * 레코드를 그대로 받아 타임스탬프(프로듀서 전송 시각)를 record.timestamp()로 읽습니다.
+     * (RECEIVED_TIMESTAMP 헤더로 받으면 레코드마다 Long으로 박싱된 목록이 하나 더 만들어짐)
+     *
+     * @param records 한 번의 poll 결과. 타임스탬프는 consume/end-to-end 지연 시간 기록에 사용
+     */
     @KafkaListener(topics = VehicleKafkaConfig.VEHICLE_EVENT_TOPIC, groupId = "vehicle-event-consumer")
-    public void handleEventLogOnKafka(VehicleEventLog eventLog) {
-        log.info("--------------- Kafka 메시지 수신 후 핸들러 호출 직전");
-        vehicleEventLogService.processVehicleEvent(eventLog);
+    public void handleEventLogOnKafka(List<ConsumerRecord<String, VehicleEventLog>> records) {
+        log.debug("Kafka 메시지 {}건 수신", records.size());
+        recordSinceProduced(Stage.CONSUME, records);
+
+        List<VehicleEventLog> eventLogs = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, VehicleEventLog> record : records) {
+            eventLogs.add(record.value());
+        }
+
+        try {
+            stripedEventProcessor.process(eventLogs);
+        } catch (RuntimeException e) {
+            // 묶음 전체를 재전달받으면 잘못된 레코드 하나 때문에 같은 묶음이 계속 실패하므로 한 건씩 다시 처리해 원인 레코드만 넘긴다
+            log.warn("이벤트 묶음 처리 실패, 한 건씩 다시 처리합니다 ({}건): {}", eventLogs.size(), e.getMessage());
+            stripedEventProcessor.processEach(eventLogs);
+        }
+
+        // process()는 모든 줄의 커밋이 끝난 뒤에 반환된다
+        recordSinceProduced(Stage.END_TO_END, records);
+    }
+
+    private void recordSinceProduced(Stage stage, List<ConsumerRecord<String, VehicleEventLog>> records) {
+        long nowMillis = System.currentTimeMillis();
+        for (ConsumerRecord<String, VehicleEventLog> record : records) {
+            pipelineMetrics.recordMillis(stage, record.value().getEventType(), nowMillis - record.timestamp());
+        }
     }
 }
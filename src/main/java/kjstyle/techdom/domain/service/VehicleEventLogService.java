@@ -1,14 +1,23 @@
 package kjstyle.techdom.domain.service;
 
+import kjstyle.techdom.domain.cache.VehicleLastStateStore;
+import kjstyle.techdom.domain.diagnostic.EventDiagnostics;
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics;
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics.Stage;
 import kjstyle.techdom.domain.entitys.VehicleEventLog;
 import kjstyle.techdom.domain.exceptions.VehicleEventHandleException;
+import kjstyle.techdom.domain.geofence.GeofenceEngine;
 import kjstyle.techdom.domain.repository.VehicleEventLogRepository;
+import kjstyle.techdom.domain.trip.TripAggregator;
 import kjstyle.techdom.enums.VehicleEventType;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -29,12 +38,32 @@ public class VehicleEventLogService {
 
     private final Map<VehicleEventType, VehicleEventHandler> eventHandlers;
 
+    private final EventDiagnostics eventDiagnostics;
+
+    private final GeofenceEngine geofenceEngine;
+
+    private final PipelineMetrics pipelineMetrics;
+
+    private final TripAggregator tripAggregator;
+
+    private final VehicleLastStateStore vehicleLastStateStore;
+
     @Autowired
     public VehicleEventLogService(
             VehicleEventLogRepository vehicleEventLogRepository,
-            List<VehicleEventHandler> handlers // Spring이 모든 VehicleEventHandler 구현체를 리스트로 주입
+            List<VehicleEventHandler> handlers, // Spring이 모든 VehicleEventHandler 구현체를 리스트로 주입
+            EventDiagnostics eventDiagnostics,
+            GeofenceEngine geofenceEngine,
+            PipelineMetrics pipelineMetrics,
+            TripAggregator tripAggregator,
+            VehicleLastStateStore vehicleLastStateStore
     ) {
         this.vehicleEventLogRepository = vehicleEventLogRepository;
+        this.eventDiagnostics = eventDiagnostics;
+        this.geofenceEngine = geofenceEngine;
+        this.pipelineMetrics = pipelineMetrics;
+        this.tripAggregator = tripAggregator;
+        this.vehicleLastStateStore = vehicleLastStateStore;
 
         // 이벤트 타입에 대한 VehicleEventHandler 객체를 Map으로 저장
         this.eventHandlers = handlers.stream()
@@ -48,17 +77,89 @@ public class VehicleEventLogService {
 
     @Transactional(readOnly = false)
     public void processVehicleEvent(VehicleEventLog eventLog) throws VehicleEventHandleException {
-        log.info("MDN: {} 이벤트 수신 {}", eventLog.getMdn(), eventLog);
+        eventDiagnostics.trace("consume", eventLog);
 
         VehicleEventHandler handler = eventHandlers.get(eventLog.getEventType());
         if (handler != null) {
             handler.handle(eventLog);
+            geofenceEngine.onEvents(List.of(eventLog));
+            tripAggregator.onEvents(List.of(eventLog));
+            vehicleLastStateStore.onEvents(List.of(eventLog));
+        } else {
+            log.error("지원하지 않는 이벤트 타입입니다.");
+            throw new VehicleEventHandleException("지원하지 않는 이벤트 타입입니다.");
+        }
+    }
+
+    /**
+     * Kafka에서 한 번에 poll한 이벤트 묶음을 하나의 트랜잭션으로 처리합니다.
+     * 수신 순서를 유지한 채 연속된 같은 타입의 이벤트끼리 묶어 핸들러에 넘기므로,
+     * 시동 ON 폭주처럼 같은 타입이 몰리는 경우 한 번의 multi-row insert로 저장됩니다.
+     * (타입별로 전체를 재정렬하지 않는 이유: 같은 배치 안의 직전 시동 OFF가 먼저 저장되어야 시동 ON의 GPS 보정이 가능하기 때문)
+     *
+     * @param eventLogs 수신 순서대로 정렬된 이벤트 목록
+     */
+    @Transactional(readOnly = false)
+    public void processVehicleEvents(List<VehicleEventLog> eventLogs) throws VehicleEventHandleException {
+        log.debug("이벤트 {}건 일괄 수신", eventLogs.size());
+        eventDiagnostics.traceAll("consume", eventLogs);
+
+        long typeMask = 0;
+        List<VehicleEventLog> run = new ArrayList<>();
+        for (VehicleEventLog eventLog : eventLogs) {
+            typeMask |= PipelineMetrics.typeBit(eventLog.getEventType());
+            if (!run.isEmpty() && run.get(0).getEventType() != eventLog.getEventType()) {
+                handleRun(run);
+                run = new ArrayList<>();
+            }
+            run.add(eventLog);
+        }
+        if (!run.isEmpty()) {
+            handleRun(run);
+        }
+
+        // 핸들러가 GPS 보정(시동 ON 'P')까지 마친 위치로 서버 지오펜스를 판정
+        geofenceEngine.onEvents(eventLogs);
+        // 시동 ON/OFF로 운행을 열고 닫아 운행 요약 저장 (같은 트랜잭션)
+        tripAggregator.onEvents(eventLogs);
+        // 단말별 마지막 위치/상태 갱신 (테이블에는 VehicleLastStateStore가 모아서 기록)
+        vehicleLastStateStore.onEvents(eventLogs);
+
+        registerCommitTimer(typeMask);
+    }
+
+    // 커밋(JPA flush 포함) 소요 시간을 묶음에 포함된 타입마다 기록
+    private void registerCommitTimer(long typeMask) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long beforeCommitNanos;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                beforeCommitNanos = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                pipelineMetrics.recordForTypes(Stage.COMMIT, typeMask, System.nanoTime() - beforeCommitNanos);
+            }
+        });
+    }
+
+    private void handleRun(List<VehicleEventLog> run) {
+        VehicleEventHandler handler = eventHandlers.get(run.get(0).getEventType());
+        if (handler != null) {
+            long startNanos = System.nanoTime();
+            handler.handleAll(run);
+            pipelineMetrics.recordSince(Stage.HANDLE, handler.getEventType(), startNanos);
         } else {
             log.error("지원하지 않는 이벤트 타입입니다.");
             throw new VehicleEventHandleException("지원하지 않는 이벤트 타입입니다.");
         }
     }
-    
+
     public Optional<VehicleEventLog> findTopByMdnAndEventTypeOrderByEventTimestampUtcDesc(String mdn, VehicleEventType eventType) {
         return vehicleEventLogRepository.findTopByMdnAndEventTypeOrderByEventTimestampUtcDesc(mdn, eventType);
     }
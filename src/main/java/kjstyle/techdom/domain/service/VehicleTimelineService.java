@@ -0,0 +1,75 @@
+package kjstyle.techdom.domain.service;
+
+import kjstyle.techdom.domain.repository.VehicleTimelineRepository;
+import kjstyle.techdom.domain.timeline.DrivingTimelineItem;
+import kjstyle.techdom.domain.timeline.EventTimelineItem;
+import kjstyle.techdom.domain.timeline.TimelinePage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 단말의 이벤트/주기정보 타임라인을 최신순으로 조회합니다.
+ * <ul>
+ *     <li>페이지 조회 - cursor(직전 페이지 마지막 시각) 이전부터 limit 건. 몇 번째 페이지든 인덱스에서 바로 시작 위치를 찾습니다.</li>
+ *     <li>스트리밍 - 긴 범위를 techdom.timeline.stream-chunk 건씩 같은 방식으로 이어 읽어 넘겨줍니다.
+ *     커서/트랜잭션을 열어 두지 않으므로 느린 클라이언트가 DB 커넥션을 붙잡지 않습니다.</li>
+ * </ul>
+ */
+@Service
+public class VehicleTimelineService {
+
+    private final VehicleTimelineRepository vehicleTimelineRepository;
+    private final int streamChunk;
+
+    public VehicleTimelineService(
+            VehicleTimelineRepository vehicleTimelineRepository,
+            @Value("${techdom.timeline.stream-chunk:1000}") int streamChunk
+    ) {
+        this.vehicleTimelineRepository = vehicleTimelineRepository;
+        this.streamChunk = Math.max(streamChunk, 1);
+    }
+
+    public TimelinePage<EventTimelineItem> findEvents(String mdn, OffsetDateTime from, OffsetDateTime to,
+                                                      OffsetDateTime cursor, int limit) {
+        List<EventTimelineItem> rows = vehicleTimelineRepository.findEvents(mdn, from, before(to, cursor), limit + 1);
+        return TimelinePage.of(rows, limit, EventTimelineItem::eventTimestampUtc);
+    }
+
+    public TimelinePage<DrivingTimelineItem> findDrivingLogs(String mdn, OffsetDateTime from, OffsetDateTime to,
+                                                             OffsetDateTime cursor, int limit) {
+        List<DrivingTimelineItem> rows = vehicleTimelineRepository.findDrivingLogs(mdn, from, before(to, cursor), limit + 1);
+        return TimelinePage.of(rows, limit, DrivingTimelineItem::recordTime);
+    }
+
+    public void streamEvents(String mdn, OffsetDateTime from, OffsetDateTime to, Consumer<EventTimelineItem> sink) {
+        OffsetDateTime before = to;
+        List<EventTimelineItem> rows;
+        do {
+            rows = vehicleTimelineRepository.findEvents(mdn, from, before, streamChunk);
+            rows.forEach(sink);
+            if (!rows.isEmpty()) {
+                before = rows.get(rows.size() - 1).eventTimestampUtc();
+            }
+        } while (rows.size() == streamChunk);
+    }
+
+    public void streamDrivingLogs(String mdn, OffsetDateTime from, OffsetDateTime to, Consumer<DrivingTimelineItem> sink) {
+        OffsetDateTime before = to;
+        List<DrivingTimelineItem> rows;
+        do {
+            rows = vehicleTimelineRepository.findDrivingLogs(mdn, from, before, streamChunk);
+            rows.forEach(sink);
+            if (!rows.isEmpty()) {
+                before = rows.get(rows.size() - 1).recordTime();
+            }
+        } while (rows.size() == streamChunk);
+    }
+
+    private static OffsetDateTime before(OffsetDateTime to, OffsetDateTime cursor) {
+        return cursor != null && cursor.isBefore(to) ? cursor : to;
+    }
+}
@@ -0,0 +1,437 @@
+package kjstyle.techdom.domain.spool;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import kjstyle.techdom.domain.codec.VehicleEventLogCodec;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.exceptions.EventPublishRejectedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * 브로커 장애로 Kafka에 보내지 못한 이벤트를 로컬 디스크에 순서대로 쌓아 두는 append-only 스풀입니다.
+ * {@link kjstyle.techdom.domain.service.EventSender}가 전송에 실패하면 여기에 기록하고, 브로커가 돌아오면 기록한 순서대로 다시 보냅니다.
+ * <pre>
+ * 디렉터리: techdom.spool.dir
+ *   spool-{세그먼트 순번 20자리}.seg  segment-size 크기로 만들어 전체를 메모리 매핑 (레코드 형식은 {@link SpoolSegment})
+ *   spool.checkpoint                  [8 세그먼트 순번][4 오프셋] Kafka ACK까지 받은 위치
+ *   spool.lock                        한 디렉터리는 프로세스(애플리케이션 컨텍스트) 하나만 사용
+ * </pre>
+ * <ul>
+ *     <li>기록은 매핑된 버퍼에 복사하는 것으로 끝나고, fsync는 모아서 합니다.
+ *     GROUP이면 먼저 도착한 호출 하나가 그때까지 쌓인 기록을 한 번에 force하고 나머지는 그 결과를 기다립니다(group commit).
+ *     PERIODIC이면 기다리지 않고 fsync-interval-ms 마다 force합니다. 단말에는 이미 정상 응답했으므로 마지막 force 이후의 기록은
+ *     OS 장애/전원 차단 시 유실됩니다. (프로세스만 죽으면 페이지 캐시가 남아 유실되지 않음) 유실을 허용하는 환경에서만 사용합니다.</li>
+ *     <li>세그먼트가 차면 다음 순번 파일로 넘어가고, 다 보낸 세그먼트는 삭제합니다. 세그먼트 합계가 max-size를 넘게 되면
+ *     {@link EventPublishRejectedException}(503)으로 거절해 단말이 재전송하게 합니다.</li>
+ *     <li>체크포인트는 ACK를 받은 뒤에 옮기므로 재시작 시 마지막 묶음이 다시 전송될 수 있습니다.
+ *     컨슈머 저장이 (event_timestamp_utc, mdn) 기준 ON CONFLICT DO NOTHING 이라 한 건만 남습니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class EventSpool implements DisposableBean {
+
+    private static final String CHECKPOINT_FILE = "spool.checkpoint";
+    private static final String LOCK_FILE = "spool.lock";
+
+    public enum Fsync {
+        GROUP,    // 기록 호출이 디스크 반영까지 기다림 (여러 호출을 한 번의 force로 묶음)
+        PERIODIC  // 기다리지 않고 주기적으로 force. OS 장애 시 마지막 주기의 기록이 유실됨
+    }
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxBytes;
+    private final Fsync fsync;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock forceLock = new ReentrantLock();
+
+    // appendLock 안에서만 접근
+    private final ArrayDeque<SpoolSegment> segments = new ArrayDeque<>();
+    private long nextSegmentSequence;
+    private long appendedCount;
+
+    private volatile long forcedCount; // 디스크 반영이 끝난 appendedCount
+
+    // 읽기 위치. drain은 한 스레드에서만 호출한다
+    private long readSegment;
+    private int readOffset;
+
+    private FileChannel lockChannel;
+    private FileLock directoryLock;
+
+    private final AtomicLong pendingRecords = new AtomicLong(); // 기록했지만 아직 ACK를 받지 못한 건수
+
+    private final Counter appendedCounter;
+    private final Counter drainedCounter;
+    private final Counter rejectedCounter;
+
+    public EventSpool(
+            MeterRegistry meterRegistry,
+            @Value("${techdom.spool.enabled:true}") boolean enabled,
+            @Value("${techdom.spool.dir:./spool}") Path directory,
+            @Value("${techdom.spool.segment-size:64MB}") DataSize segmentSize,
+            @Value("${techdom.spool.max-size:1GB}") DataSize maxSize,
+            @Value("${techdom.spool.fsync:GROUP}") Fsync fsync
+    ) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.maxBytes = maxSize.toBytes();
+        this.fsync = fsync;
+
+        this.appendedCounter = meterRegistry.counter("techdom.spool.records", "result", "appended");
+        this.drainedCounter = meterRegistry.counter("techdom.spool.records", "result", "drained");
+        this.rejectedCounter = meterRegistry.counter("techdom.spool.records", "result", "rejected");
+        Gauge.builder("techdom.spool.pending", pendingRecords, AtomicLong::get)
+                .description("스풀에 남아 Kafka 재전송을 기다리는 이벤트 건수")
+                .register(meterRegistry);
+
+        if (enabled) {
+            if (fsync == Fsync.PERIODIC) {
+                log.warn("이벤트 스풀 fsync=PERIODIC : OS 장애 시 마지막 fsync 이후 기록된 이벤트가 유실될 수 있습니다.");
+            }
+            try {
+                recover();
+            } catch (IOException e) {
+                throw new UncheckedIOException("이벤트 스풀을 열 수 없습니다: " + directory, e);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 아직 Kafka로 보내지 못한 이벤트가 남아 있는지. 남아 있으면 새 이벤트도 스풀 뒤에 붙여야 단말별 순서가 유지됩니다.
+     */
+    public boolean hasPending() {
+        return pendingRecords.get() > 0;
+    }
+
+    public long pendingCount() {
+        return pendingRecords.get();
+    }
+
+    /**
+     * 이벤트를 스풀 끝에 기록합니다. GROUP 모드면 디스크 반영까지 기다립니다.
+     */
+    public void append(VehicleEventLog eventLog) {
+        appendAll(List.of(eventLog));
+    }
+
+    /**
+     * 여러 이벤트를 순서대로 이어 붙이고 디스크 반영은 한 번만 기다립니다.
+     * 중간에 용량 한도에 걸리면 그 앞까지는 기록된 채로 {@link EventPublishRejectedException}을 던집니다.
+     */
+    public void appendAll(List<VehicleEventLog> eventLogs) {
+        List<byte[]> payloads = new ArrayList<>(eventLogs.size());
+        for (VehicleEventLog eventLog : eventLogs) {
+            payloads.add(VehicleEventLogCodec.encode(eventLog));
+        }
+
+        long sequence = 0;
+        int appended = 0;
+        appendLock.lock();
+        try {
+            for (int i = 0; i < payloads.size(); i++) {
+                byte[] payload = payloads.get(i);
+                SpoolSegment segment = segments.peekLast();
+                if (segment == null || !segment.fits(payload.length)) {
+                    segment = roll(eventLogs.get(i).getMdn(), payload.length);
+                }
+                segment.append(payload);
+                sequence = ++appendedCount;
+                pendingRecords.incrementAndGet();
+                appended++;
+            }
+        } finally {
+            appendLock.unlock();
+            appendedCounter.increment(appended);
+            if (appended > 0 && fsync == Fsync.GROUP) {
+                awaitForced(sequence);
+            }
+        }
+    }
+
+    private SpoolSegment roll(String mdn, int payloadLength) {
+        int size = Math.max(segmentSize, SpoolSegment.HEADER_SIZE + payloadLength + SpoolSegment.END_MARK_SIZE);
+        long usedBytes = segments.stream().mapToLong(SpoolSegment::capacity).sum();
+        if (usedBytes + size > maxBytes) {
+            rejectedCounter.increment();
+            throw new EventPublishRejectedException(mdn, "이벤트 스풀 용량이 한도에 도달했습니다.");
+        }
+        long sequence = nextSegmentSequence++;
+        try {
+            SpoolSegment created = SpoolSegment.create(directory.resolve(SpoolSegment.fileName(sequence)), sequence, size);
+            segments.addLast(created);
+            log.info("이벤트 스풀 세그먼트 생성 {}", created.path);
+            return created;
+        } catch (IOException e) {
+            rejectedCounter.increment();
+            log.error("이벤트 스풀 세그먼트 생성 실패 {} : {}", directory, e.getMessage());
+            throw new EventPublishRejectedException(mdn, "이벤트 스풀에 기록할 수 없습니다.");
+        }
+    }
+
+    // 먼저 잠금을 얻은 스레드가 그때까지의 기록을 모두 force하고, 기다리던 스레드는 이미 반영됐으면 바로 돌아간다
+    private void awaitForced(long sequence) {
+        while (forcedCount < sequence) {
+            forceLock.lock();
+            try {
+                if (forcedCount < sequence) {
+                    forceUpTo();
+                }
+            } finally {
+                forceLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * PERIODIC 모드에서 쌓인 기록을 디스크에 반영합니다. (GROUP 모드에서는 보통 반영할 것이 없음)
+     */
+    @Scheduled(fixedDelayString = "${techdom.spool.fsync-interval-ms:100}")
+    public void flush() {
+        if (!enabled || forcedCount == appendedCountSnapshot()) {
+            return;
+        }
+        forceLock.lock();
+        try {
+            forceUpTo();
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    // forceLock을 잡은 상태에서 호출
+    private void forceUpTo() {
+        long target;
+        List<SpoolSegment> dirty = new ArrayList<>(2);
+        List<Integer> ends = new ArrayList<>(2);
+        appendLock.lock();
+        try {
+            target = appendedCount;
+            for (SpoolSegment segment : segments) {
+                if (segment.writeOffset > segment.forcedOffset) {
+                    dirty.add(segment);
+                    ends.add(segment.writeOffset);
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        for (int i = 0; i < dirty.size(); i++) {
+            SpoolSegment segment = dirty.get(i);
+            segment.force(segment.forcedOffset, ends.get(i));
+            segment.forcedOffset = ends.get(i);
+        }
+        forcedCount = target;
+    }
+
+    private long appendedCountSnapshot() {
+        appendLock.lock();
+        try {
+            return appendedCount;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 가장 오래된 이벤트부터 최대 maxRecords 건을 기록 순서대로 sink에 넘깁니다.
+     * sink가 true를 돌려주면(= Kafka ACK 완료) 읽기 위치를 그 뒤로 옮기고 다 읽은 세그먼트를 삭제합니다.
+     * false면 위치를 그대로 두므로 다음 호출에서 같은 이벤트부터 다시 넘깁니다.
+     *
+     * @return 전송을 확정한 건수
+     */
+    public int drain(int maxRecords, Predicate<List<VehicleEventLog>> sink) {
+        if (!enabled || !hasPending()) {
+            return 0;
+        }
+
+        List<SpoolSegment> snapshot;
+        List<Integer> limits;
+        appendLock.lock();
+        try {
+            snapshot = new ArrayList<>(segments);
+            limits = new ArrayList<>(snapshot.size());
+            for (SpoolSegment segment : snapshot) {
+                limits.add(segment.writeOffset);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+
+        List<VehicleEventLog> batch = new ArrayList<>(Math.min(maxRecords, 1024));
+        long cursorSegment = readSegment;
+        int cursorOffset = readOffset;
+        for (int i = 0; i < snapshot.size() && batch.size() < maxRecords; i++) {
+            SpoolSegment segment = snapshot.get(i);
+            if (segment.sequence < cursorSegment) {
+                continue;
+            }
+            int offset = segment.sequence == cursorSegment ? cursorOffset : 0;
+            int limit = limits.get(i);
+            while (offset < limit && batch.size() < maxRecords) {
+                int length = segment.lengthAt(offset);
+                batch.add(VehicleEventLogCodec.decode(segment.payloadAt(offset, length)));
+                offset += SpoolSegment.HEADER_SIZE + length;
+            }
+            cursorSegment = segment.sequence;
+            cursorOffset = offset;
+            // 다 읽었고 뒤에 세그먼트가 있으면 다음 세그먼트 처음으로 넘어간다
+            if (offset >= limit && i + 1 < snapshot.size()) {
+                cursorSegment = snapshot.get(i + 1).sequence;
+                cursorOffset = 0;
+            }
+        }
+
+        if (batch.isEmpty()) {
+            // 복구한 세그먼트 끝까지 이미 보낸 경우 등 (건수는 남아 있지 않음)
+            return 0;
+        }
+        if (!sink.test(batch)) {
+            return 0;
+        }
+
+        commit(cursorSegment, cursorOffset);
+        pendingRecords.addAndGet(-batch.size());
+        drainedCounter.increment(batch.size());
+        return batch.size();
+    }
+
+    private void commit(long segmentSequence, int offset) {
+        readSegment = segmentSequence;
+        readOffset = offset;
+        try {
+            writeCheckpoint(segmentSequence, offset);
+        } catch (IOException e) {
+            // 체크포인트가 뒤처지면 재시작 시 다시 보낼 뿐이므로 계속 진행
+            log.warn("이벤트 스풀 체크포인트 기록 실패 : {}", e.getMessage());
+        }
+
+        List<SpoolSegment> finished = new ArrayList<>();
+        appendLock.lock();
+        try {
+            while (!segments.isEmpty() && segments.peekFirst().sequence < segmentSequence) {
+                finished.add(segments.pollFirst());
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        for (SpoolSegment segment : finished) {
+            try {
+                segment.delete();
+            } catch (IOException e) {
+                log.warn("이벤트 스풀 세그먼트 삭제 실패 {} : {}", segment.path, e.getMessage());
+            }
+        }
+    }
+
+    private void writeCheckpoint(long segmentSequence, int offset) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(12).putLong(segmentSequence).putInt(offset).flip();
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // 체크포인트 이전 세그먼트는 지우고, 이후 세그먼트는 CRC가 맞는 레코드까지 읽을 대상으로 다시 연다
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        lockDirectory();
+
+        Path checkpointPath = directory.resolve(CHECKPOINT_FILE);
+        if (Files.exists(checkpointPath)) {
+            ByteBuffer checkpoint = ByteBuffer.wrap(Files.readAllBytes(checkpointPath));
+            readSegment = checkpoint.getLong();
+            readOffset = checkpoint.getInt();
+        }
+
+        List<Path> files;
+        try (Stream<Path> listed = Files.list(directory)) {
+            files = listed.filter(SpoolSegment::isSegmentFile)
+                    .sorted()
+                    .toList();
+        }
+
+        long pending = 0;
+        nextSegmentSequence = readSegment + 1;
+        for (Path file : files) {
+            long sequence = SpoolSegment.parseSequence(file);
+            if (sequence < readSegment) {
+                Files.delete(file);
+                continue;
+            }
+            SpoolSegment segment = SpoolSegment.recover(file, sequence);
+            segments.addLast(segment);
+            nextSegmentSequence = Math.max(nextSegmentSequence, sequence + 1);
+
+            int offset = sequence == readSegment ? readOffset : 0;
+            while (offset < segment.writeOffset) {
+                offset += SpoolSegment.HEADER_SIZE + segment.lengthAt(offset);
+                pending++;
+            }
+        }
+        pendingRecords.set(pending);
+
+        if (pending > 0) {
+            log.warn("이벤트 스풀에 재전송할 이벤트 {}건이 남아 있습니다. ({})", pending, directory);
+        }
+    }
+
+    private void lockDirectory() throws IOException {
+        lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            directoryLock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            directoryLock = null;
+        }
+        if (directoryLock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("다른 프로세스가 이벤트 스풀 디렉터리를 사용 중입니다: " + directory);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        flush();
+        directoryLock.release();
+        lockChannel.close();
+    }
+}
@@ -0,0 +1,136 @@
+package kjstyle.techdom.domain.spool;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * 스풀 세그먼트 파일 하나. 파일 전체를 메모리 매핑해 두고 레코드를 이어 붙입니다.
+ * <pre>
+ * 레코드: [4 payload 길이][4 CRC32C][payload]
+ * 길이가 0이면 (새 파일은 0으로 채워져 있음) 그 뒤로는 기록되지 않은 영역입니다.
+ * </pre>
+ * 쓰기/writeOffset 변경은 {@link EventSpool}의 append 잠금 안에서만 하고,
+ * forcedOffset은 fsync를 맡은 스레드 하나만 변경합니다.
+ */
+final class SpoolSegment {
+
+    static final int HEADER_SIZE = 8;
+    static final int END_MARK_SIZE = 4; // 마지막 레코드 뒤에 길이 0을 읽을 자리
+
+    final long sequence;
+    final Path path;
+    private final MappedByteBuffer buffer;
+
+    int writeOffset;      // 기록이 끝난 위치. 읽기는 이 위치까지만 한다
+    int forcedOffset;     // 디스크에 반영(force)된 위치
+    final boolean writable; // 재시작 후 복구한 세그먼트에는 이어 쓰지 않는다 (찢어진 레코드 뒤에 덧쓰지 않도록)
+
+    private SpoolSegment(long sequence, Path path, MappedByteBuffer buffer, int writeOffset, boolean writable) {
+        this.sequence = sequence;
+        this.path = path;
+        this.buffer = buffer;
+        this.writeOffset = writeOffset;
+        this.forcedOffset = writeOffset;
+        this.writable = writable;
+    }
+
+    static SpoolSegment create(Path path, long sequence, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new SpoolSegment(sequence, path, buffer, 0, true);
+        }
+    }
+
+    /**
+     * 기존 세그먼트를 열어 CRC가 맞는 마지막 레코드까지를 기록된 영역으로 봅니다.
+     */
+    static SpoolSegment recover(Path path, long sequence) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            SpoolSegment segment = new SpoolSegment(sequence, path, buffer, 0, false);
+            int offset = 0;
+            int length;
+            while ((length = segment.validRecordLength(offset)) > 0) {
+                offset += HEADER_SIZE + length;
+            }
+            segment.writeOffset = offset;
+            segment.forcedOffset = offset;
+            return segment;
+        }
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    boolean fits(int payloadLength) {
+        return writable && writeOffset + HEADER_SIZE + payloadLength + END_MARK_SIZE <= buffer.capacity();
+    }
+
+    /**
+     * payload, CRC, 길이 순서로 기록해 길이가 보이면 레코드 전체가 기록된 상태가 되게 합니다.
+     */
+    void append(byte[] payload) {
+        int offset = writeOffset;
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        buffer.put(offset + HEADER_SIZE, payload);
+        buffer.putInt(offset + 4, (int) crc.getValue());
+        buffer.putInt(offset, payload.length);
+        writeOffset = offset + HEADER_SIZE + payload.length;
+    }
+
+    int lengthAt(int offset) {
+        return buffer.getInt(offset);
+    }
+
+    byte[] payloadAt(int offset, int length) {
+        byte[] payload = new byte[length];
+        buffer.get(offset + HEADER_SIZE, payload);
+        return payload;
+    }
+
+    void force(int from, int to) {
+        if (to > from) {
+            buffer.force(from, to - from);
+        }
+    }
+
+    void delete() throws IOException {
+        // MappedByteBuffer는 GC될 때 해제된다. 리눅스는 매핑 중인 파일도 삭제할 수 있다
+        Files.deleteIfExists(path);
+    }
+
+    private int validRecordLength(int offset) {
+        if (offset + HEADER_SIZE > buffer.capacity()) {
+            return 0;
+        }
+        int length = buffer.getInt(offset);
+        if (length <= 0 || offset + HEADER_SIZE + length > buffer.capacity()) {
+            return 0;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + HEADER_SIZE, length));
+        return (int) crc.getValue() == buffer.getInt(offset + 4) ? length : 0;
+    }
+
+    static String fileName(long sequence) {
+        return String.format("spool-%020d.seg", sequence);
+    }
+
+    static long parseSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring("spool-".length(), name.length() - ".seg".length()));
+    }
+
+    static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith("spool-") && name.endsWith(".seg");
+    }
+}
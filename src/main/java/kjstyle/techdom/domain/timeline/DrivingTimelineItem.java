@@ -0,0 +1,19 @@
+package kjstyle.techdom.domain.timeline;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * 주기정보 타임라인 한 건입니다. record_time(UTC)은 이벤트 타임라인과 같은 형식으로 오프셋을 붙여 내려줍니다.
+ */
+public record DrivingTimelineItem(
+        OffsetDateTime recordTime,
+        String gpsCondition,
+        BigDecimal latitude,
+        BigDecimal longitude,
+        Integer angle,
+        Integer speed,
+        Long totalDistance,
+        Integer batteryVolt
+) {
+}
@@ -0,0 +1,24 @@
+package kjstyle.techdom.domain.timeline;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 이벤트 타임라인 한 건입니다. 엔티티를 거치지 않고 필요한 컬럼만 읽으며, 원문(raw_json_data)은 포함하지 않습니다.
+ */
+public record EventTimelineItem(
+        OffsetDateTime eventTimestampUtc,
+        String eventType,
+        String gpsStatus,
+        Double latitude,
+        Double longitude,
+        Integer angle,
+        Integer speed,
+        Long currentAccumulatedDistance,
+        Integer batteryVolt,
+        OffsetDateTime onTime,
+        OffsetDateTime ignitionOffTime,
+        String geofenceGroupId,
+        String geofencePointId,
+        String eventValue
+) {
+}
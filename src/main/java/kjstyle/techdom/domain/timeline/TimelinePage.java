@@ -0,0 +1,22 @@
+package kjstyle.techdom.domain.timeline;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 최신순 타임라인 한 페이지입니다. 다음 페이지는 nextCursor를 cursor로 넘겨 그 시각 이전부터 이어서 읽습니다. (마지막 페이지면 null)
+ */
+public record TimelinePage<T>(List<T> items, OffsetDateTime nextCursor) {
+
+    /**
+     * limit + 1 건을 읽은 결과로 페이지를 만듭니다. 한 건이 더 있으면 다음 페이지가 있는 것입니다.
+     */
+    public static <T> TimelinePage<T> of(List<T> rows, int limit, Function<T, OffsetDateTime> timeOf) {
+        if (rows.size() <= limit) {
+            return new TimelinePage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new TimelinePage<>(items, timeOf.apply(items.get(limit - 1)));
+    }
+}
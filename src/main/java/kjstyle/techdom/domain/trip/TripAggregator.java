@@ -0,0 +1,294 @@
+package kjstyle.techdom.domain.trip;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.entitys.TripSummary;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.repository.TripSummaryCustomRepository;
+import kjstyle.techdom.enums.VehicleEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * 시동 ON ~ 시동 OFF 를 한 번의 운행으로 묶어 운행 요약(trip_summary)을 만듭니다.
+ * <p>
+ * 단말별로 진행 중인 운행(시작 시각/거리/위치)을 메모리에 두고, 시동 OFF가 오면 운행 시간, 누적 거리 차이를 계산해 한 건을 저장합니다.
+ * 최고/평균 속도는 techdom.trip.speed-stats 로 계산 위치를 고릅니다.
+ * <ul>
+ *     <li>DB (기본값) - 시동 OFF 때 운행 구간의 주기정보를 DB에서 집계합니다. 주기정보는 아무 인스턴스로나 들어오므로
+ *     여러 인스턴스로 운영할 때도 정확합니다.</li>
+ *     <li>MEMORY - 이 인스턴스가 저장한 주기정보로 메모리에서 누적해 조회를 생략합니다. 인스턴스가 하나이거나
+ *     주기정보 요청이 단말별로 같은 인스턴스로 가는 경우에만 맞는 값이 나옵니다.</li>
+ * </ul>
+ * <ul>
+ *     <li>재시작/리밸런싱으로 진행 중 상태가 없으면 그때만 직전 시동 ON과 구간 주기정보를 DB에서 읽어 복구합니다.</li>
+ *     <li>시동 OFF가 재전달되어도 저장은 (mdn, start_time) 기준 ON CONFLICT DO NOTHING 이라 한 건만 남습니다.</li>
+ *     <li>시동 OFF 뒤에 늦게 도착한 같은 운행의 주기정보는 반영하지 않습니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class TripAggregator {
+
+    private static final String LAST_IGNITION_ON_SQL = """
+        SELECT o.event_timestamp_utc, o.vehicle_id, o.current_accumulated_distance, o.latitude, o.longitude
+        FROM vehicle_event_log o
+        WHERE o.mdn = ? AND o.event_type = 'IGNITION_ON' AND o.event_timestamp_utc < ?
+          AND NOT EXISTS (
+              SELECT 1 FROM vehicle_event_log f
+              WHERE f.mdn = o.mdn AND f.event_type = 'IGNITION_OFF'
+                AND f.event_timestamp_utc > o.event_timestamp_utc AND f.event_timestamp_utc < ?
+          )
+        ORDER BY o.event_timestamp_utc DESC
+        LIMIT 1
+    """;
+
+    private static final String SPEED_STATS_SQL = """
+        SELECT MAX(speed), SUM(speed), COUNT(speed)
+        FROM driving_log
+        WHERE mdn = ? AND record_time >= ? AND record_time <= ?
+    """;
+
+    public enum SpeedStats { DB, MEMORY }
+
+    private final TripSummaryCustomRepository tripSummaryCustomRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SpeedStats speedStats;
+
+    // 단말별 진행 중인 운행. 시동 OFF 없이 끊긴 단말은 open-trip-expire 후 제거
+    private final Cache<String, OpenTrip> openTrips;
+
+    private final Counter closedCounter;
+    private final Counter recoveredCounter;
+    private final Counter unclosedCounter;
+    private final Counter orphanOffCounter;
+
+    public TripAggregator(
+            TripSummaryCustomRepository tripSummaryCustomRepository,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${techdom.trip.maximum-size:200000}") long maximumSize,
+            @Value("${techdom.trip.open-trip-expire:24h}") Duration openTripExpire,
+            @Value("${techdom.trip.speed-stats:DB}") SpeedStats speedStats
+    ) {
+        this.tripSummaryCustomRepository = tripSummaryCustomRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.speedStats = speedStats;
+        this.openTrips = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(openTripExpire)
+                .build();
+
+        this.closedCounter = meterRegistry.counter("techdom.trip.closed", "source", "memory");
+        this.recoveredCounter = meterRegistry.counter("techdom.trip.closed", "source", "recovered");
+        this.unclosedCounter = meterRegistry.counter("techdom.trip.unclosed");
+        this.orphanOffCounter = meterRegistry.counter("techdom.trip.orphan-off");
+    }
+
+    /**
+     * 수신 순서대로 시동 ON은 운행을 열고, 시동 OFF는 운행을 닫아 저장합니다. 다른 타입은 무시합니다.
+     */
+    public void onEvents(List<VehicleEventLog> eventLogs) {
+        for (VehicleEventLog eventLog : eventLogs) {
+            if (eventLog.getEventType() == VehicleEventType.IGNITION_ON) {
+                open(eventLog);
+            } else if (eventLog.getEventType() == VehicleEventType.IGNITION_OFF) {
+                close(eventLog);
+            }
+        }
+    }
+
+    /**
+     * 진행 중인 운행이 있는 단말의 주기정보 속도를 누적합니다. (speed-stats=MEMORY 일 때만)
+     */
+    public void onDrivingLogs(List<DrivingLog> drivingLogs) {
+        if (speedStats != SpeedStats.MEMORY) {
+            return;
+        }
+        for (DrivingLog drivingLog : drivingLogs) {
+            Integer speed = drivingLog.getSpeed();
+            if (speed == null) {
+                continue;
+            }
+            long recordEpochSecond = drivingLog.getId().getRecordTime().toEpochSecond(ZoneOffset.UTC);
+            openTrips.asMap().computeIfPresent(drivingLog.getId().getMdn(), (mdn, trip) -> {
+                if (recordEpochSecond >= trip.startEpochSecond) {
+                    trip.addSpeed(speed);
+                }
+                return trip;
+            });
+        }
+    }
+
+    private void open(VehicleEventLog on) {
+        OpenTrip opened = new OpenTrip(on);
+        openTrips.asMap().compute(on.getMdn(), (mdn, existing) -> {
+            if (existing == null) {
+                return opened;
+            }
+            if (existing.startEpochSecond >= opened.startEpochSecond) {
+                return existing; // 같은 시동 ON 재전달 또는 늦게 도착한 이전 시동 ON
+            }
+            unclosedCounter.increment(); // 시동 OFF 없이 다시 시동 ON
+            log.debug("시동 OFF 없이 새 운행 시작 MDN={}, 이전 시작={}", mdn, existing.startTime);
+            return opened;
+        });
+    }
+
+    private void close(VehicleEventLog off) {
+        String mdn = off.getMdn();
+        long offEpochSecond = off.getEventTimestampUtc().toEpochSecond();
+
+        OpenTrip[] removed = new OpenTrip[1];
+        openTrips.asMap().computeIfPresent(mdn, (key, trip) -> {
+            if (trip.startEpochSecond > offEpochSecond) {
+                return trip; // 이 시동 OFF보다 나중에 시작한 운행은 그대로 둔다
+            }
+            removed[0] = trip;
+            return null;
+        });
+
+        OpenTrip trip = removed[0];
+        boolean recovered = false;
+        if (trip == null) {
+            trip = recover(mdn, off.getEventTimestampUtc());
+            recovered = true;
+        } else if (speedStats == SpeedStats.DB) {
+            loadSpeedStats(trip, off.getEventTimestampUtc());
+        }
+        if (trip == null) {
+            orphanOffCounter.increment();
+            log.debug("직전 시동 ON을 찾을 수 없어 운행을 만들지 않음 MDN={}, OFF={}", mdn, off.getEventTimestampUtc());
+            return;
+        }
+
+        if (tripSummaryCustomRepository.insert(trip.toSummary(off))) {
+            (recovered ? recoveredCounter : closedCounter).increment();
+        }
+    }
+
+    // 메모리 상태가 없을 때만 DB에서 직전 시동 ON과 운행 구간의 주기정보 속도를 읽어 복구
+    private OpenTrip recover(String mdn, OffsetDateTime offTime) {
+        List<OpenTrip> found = jdbcTemplate.query(LAST_IGNITION_ON_SQL, (rs, rowNum) -> new OpenTrip(
+                mdn,
+                rs.getObject(1, OffsetDateTime.class),
+                getLong(rs.getObject(2)),
+                getLong(rs.getObject(3)),
+                getDouble(rs.getObject(4)),
+                getDouble(rs.getObject(5))
+        ), mdn, offTime, offTime);
+        if (found.isEmpty()) {
+            return null;
+        }
+
+        OpenTrip trip = found.get(0);
+        loadSpeedStats(trip, offTime);
+        return trip;
+    }
+
+    // 운행 구간(시동 ON ~ 시동 OFF)의 주기정보 속도를 DB에서 집계해 덮어쓴다
+    private void loadSpeedStats(OpenTrip trip, OffsetDateTime offTime) {
+        jdbcTemplate.query(SPEED_STATS_SQL, rs -> {
+            long samples = rs.getLong(3);
+            trip.maxSpeed = samples > 0 ? rs.getInt(1) : 0;
+            trip.speedSum = samples > 0 ? rs.getLong(2) : 0;
+            trip.speedSamples = (int) samples;
+        }, trip.mdn,
+                trip.startTime.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime(),
+                offTime.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime());
+    }
+
+    /**
+     * 진행 중인 운행 상태를 버립니다. (테스트/운영 중 강제 정리용)
+     */
+    public void forget(String mdn) {
+        openTrips.invalidate(mdn);
+    }
+
+    public boolean isOpen(String mdn) {
+        return openTrips.getIfPresent(mdn) != null;
+    }
+
+    private static Long getLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private static Double getDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : null;
+    }
+
+    /**
+     * 진행 중인 운행 하나. 변경은 openTrips.asMap().compute* 안에서만 하므로 단말 단위로 직렬화됩니다.
+     */
+    static final class OpenTrip {
+        final String mdn;
+        final OffsetDateTime startTime;
+        final long startEpochSecond;
+        final Long vehicleId;
+        final Long startDistance;
+        final Double startLatitude;
+        final Double startLongitude;
+
+        int maxSpeed;
+        long speedSum;
+        int speedSamples;
+
+        OpenTrip(VehicleEventLog on) {
+            this(on.getMdn(), on.getEventTimestampUtc(), on.getVehicleId(), on.getCurrentAccumulatedDistance(),
+                    on.getLatitude(), on.getLongitude());
+        }
+
+        OpenTrip(String mdn, OffsetDateTime startTime, Long vehicleId, Long startDistance,
+                 Double startLatitude, Double startLongitude) {
+            this.mdn = mdn;
+            this.startTime = startTime;
+            this.startEpochSecond = startTime.toEpochSecond();
+            this.vehicleId = vehicleId;
+            this.startDistance = startDistance;
+            this.startLatitude = startLatitude;
+            this.startLongitude = startLongitude;
+        }
+
+        void addSpeed(int speed) {
+            if (speedSamples == 0 || speed > maxSpeed) {
+                maxSpeed = speed;
+            }
+            speedSum += speed;
+            speedSamples++;
+        }
+
+        TripSummary toSummary(VehicleEventLog off) {
+            Long endDistance = off.getCurrentAccumulatedDistance();
+            Long distance = (startDistance != null && endDistance != null && endDistance >= startDistance)
+                    ? endDistance - startDistance : null;
+
+            return TripSummary.builder()
+                    .mdn(mdn)
+                    .startTime(startTime)
+                    .endTime(off.getEventTimestampUtc())
+                    .vehicleId(off.getVehicleId() != null ? off.getVehicleId() : vehicleId)
+                    .durationSeconds(Math.max(off.getEventTimestampUtc().toEpochSecond() - startEpochSecond, 0))
+                    .startDistance(startDistance)
+                    .endDistance(endDistance)
+                    .distance(distance)
+                    .maxSpeed(speedSamples > 0 ? maxSpeed : null)
+                    .avgSpeed(speedSamples > 0 ? (double) speedSum / speedSamples : null)
+                    .speedSamples(speedSamples)
+                    .startLatitude(startLatitude)
+                    .startLongitude(startLongitude)
+                    .endLatitude(off.getLatitude())
+                    .endLongitude(off.getLongitude())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package kjstyle.techdom.enums;
+
+/**
+ * 서버 지오펜스 엔진이 판정한 경계 통과 방향입니다.
+ */
+public enum GeofenceTransition {
+    ENTER,
+    EXIT
+}
@@ -0,0 +1,23 @@
+package kjstyle.techdom.enums;
+
+/**
+ * 지오펜스 아이템의 이벤트 발생 조건입니다. (geofence_item.event_trigger_type)
+ */
+public enum GeofenceTriggerType {
+    /**
+     * 진입 시에만 이벤트 발생
+     */
+    ENTER,
+    /**
+     * 이탈 시에만 이벤트 발생
+     */
+    EXIT,
+    /**
+     * 진입/이탈 모두 이벤트 발생
+     */
+    BOTH;
+
+    public boolean firesOn(GeofenceTransition transition) {
+        return this == BOTH || (this == ENTER) == (transition == GeofenceTransition.ENTER);
+    }
+}
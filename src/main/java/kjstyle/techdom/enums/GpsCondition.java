@@ -41,9 +41,19 @@ public enum GpsCondition {
      * @throws IllegalArgumentException 유효하지 않은 코드값이 입력된 경우
      */
     public static GpsCondition fromCode(String code) {
-        for (GpsCondition condition : GpsCondition.values()) {
-            if (condition.getCode().equals(code)) {
-                return condition;
+        // 요청마다 호출되므로 values() 배열 복사 없이 한 글자 코드로 바로 분기한다
+        if (code != null && code.length() == 1) {
+            switch (code.charAt(0)) {
+                case 'A':
+                    return NORMAL;
+                case 'V':
+                    return ABNORMAL;
+                case '0':
+                    return NOT_INSTALLED;
+                case 'P':
+                    return ABNORMAL_ON_IGNITION;
+                default:
+                    break;
             }
         }
         throw new IllegalArgumentException("Unknown GPS condition code: " + code);
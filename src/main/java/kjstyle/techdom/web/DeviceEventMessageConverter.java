@@ -0,0 +1,85 @@
+package kjstyle.techdom.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import kjstyle.techdom.web.dto.DeviceEvent;
+import kjstyle.techdom.web.dto.DeviceEventDecoder;
+import kjstyle.techdom.web.dto.EventBatchRequest;
+import kjstyle.techdom.web.dto.IgnitionEvent;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 시동/지오펜스 이벤트 요청 본문을 {@link DeviceEventDecoder}로 읽어 {@link DeviceEvent} 또는 {@link EventBatchRequest}로 바인딩합니다.
+ * 문자열 DTO 생성, Bean Validation, 변환을 한 번의 토큰 순회로 대신하며 검증 오류는 RequestValidationException(400)입니다.
+ * 본문이 {@link RawRequestBodyAdvice}가 잡아 둔 바이트이면 그 배열 위에서 바로 파싱해 다시 복사하지 않습니다.
+ * 읽기 전용 컨버터이므로 쓰기는 지원하지 않고(canWrite가 항상 false), 응답 직렬화는 기존 Jackson 컨버터가 맡습니다.
+ */
+public class DeviceEventMessageConverter implements HttpMessageConverter<Object> {
+
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES =
+            List.of(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+
+    private final JsonFactory jsonFactory;
+
+    public DeviceEventMessageConverter(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        if (!DeviceEvent.class.isAssignableFrom(clazz) && clazz != EventBatchRequest.class) {
+            return false;
+        }
+        if (mediaType == null) {
+            return true;
+        }
+        for (MediaType supported : SUPPORTED_MEDIA_TYPES) {
+            if (supported.includes(mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return SUPPORTED_MEDIA_TYPES;
+    }
+
+    @Override
+    public Object read(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] body = inputMessage instanceof RawRequestBodyAdvice.CapturedBody captured
+                ? captured.bytes()
+                : inputMessage.getBody().readAllBytes();
+
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (clazz == EventBatchRequest.class) {
+                return DeviceEventDecoder.decodeBatch(parser, body);
+            }
+            return clazz == IgnitionEvent.class
+                    ? DeviceEventDecoder.decodeIgnition(parser)
+                    : DeviceEventDecoder.decodeGeofence(parser);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    public void write(Object value, MediaType contentType, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("요청 본문 읽기 전용 컨버터입니다: " + value.getClass().getName());
+    }
+}
@@ -0,0 +1,90 @@
+package kjstyle.techdom.web;
+
+import kjstyle.techdom.domain.cache.DeviceRegistry;
+import kjstyle.techdom.domain.diagnostic.EventDiagnostics;
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.exceptions.DrivingLogSaveException;
+import kjstyle.techdom.domain.exceptions.RequestValidationException;
+import kjstyle.techdom.domain.rollup.RollupGranularity;
+import kjstyle.techdom.domain.service.BulkInsertResult;
+import kjstyle.techdom.domain.service.DrivingLogService;
+import kjstyle.techdom.web.dto.DrivingLogRequest;
+import kjstyle.techdom.web.dto.DrivingLogRollupResponse;
+import kjstyle.techdom.web.dto.EventResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class DrivingLogController {
+
+    private static final int MAX_ROLLUP_BUCKETS = 1000; // 한 번에 조회할 수 있는 최대 구간 수 (시간 단위 약 41일, 일 단위 약 2.7년)
+
+    private final DrivingLogService drivingLogService;
+    private final EventDiagnostics eventDiagnostics;
+    private final DeviceRegistry deviceRegistry;
+
+    /**
+     * 60초 주기 주행기록을 수신하여 driving_log 테이블에 벌크 저장합니다.
+     * 주기정보는 Kafka를 거치지 않고 바로 bulkInsert로 전달됩니다.
+     * <p>
+     * 저장은 응답 전에 동기로 끝냅니다. 청크(techdom.driving.batch-size)마다 각자의 트랜잭션으로 커밋되고,
+     * 실패한 청크가 있으면 500으로 응답해 단말이 같은 주기정보를 다시 보내게 합니다.
+     * (이미 저장된 행은 ON CONFLICT DO NOTHING으로 건너뛰므로 재전송해도 중복되지 않음)
+     */
+    @PostMapping("/api/v1/vehicle/driving")
+    public ResponseEntity<EventResponse> driving(@RequestBody DrivingLogRequest request) {
+        eventDiagnostics.traceDriving(request.getMdn(), request.getRecordTime(),
+                request.getCycleList() == null ? 0 : request.getCycleList().size());
+
+        List<DrivingLog> drivingLogs = request.toDrivingLogs();
+
+        deviceRegistry.authenticate(request.getMdn(), request.getTid(), request.getMid(), request.getPv());
+
+        BulkInsertResult result = drivingLogService.saveBulk(drivingLogs);
+        if (result.hasFailures()) {
+            throw new DrivingLogSaveException(request.getMdn(),
+                    "주행기록 " + result.totalRows() + "건 중 " + result.failedRows() + "건을 저장하지 못했습니다.");
+        }
+
+        return new ResponseEntity<>(
+                new EventResponse("200", "OK", request.getMdn())
+                , HttpStatus.OK
+        );
+    }
+
+    /**
+     * 단말의 시간/일 단위 주행 롤업을 [from, to) 범위로 조회합니다. (시각은 UTC, ISO-8601)
+     */
+    @GetMapping("/api/v1/vehicle/driving/{mdn}/rollup")
+    public ResponseEntity<List<DrivingLogRollupResponse>> rollup(
+            @PathVariable String mdn,
+            @RequestParam(defaultValue = "HOURLY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        if (!from.isBefore(to) || granularity.getUnit().between(from, to) > MAX_ROLLUP_BUCKETS) {
+            throw new RequestValidationException(mdn, List.of(
+                    "from은 to보다 앞서야 하고, 조회 범위는 " + MAX_ROLLUP_BUCKETS + "개 구간(" +
+                            granularity.getUnit().toString().toLowerCase() + ") 이하여야 합니다."));
+        }
+
+        List<DrivingLogRollupResponse> buckets = drivingLogService.findRollups(mdn, granularity, from, to).stream()
+                .map(DrivingLogRollupResponse::from)
+                .toList();
+        return ResponseEntity.ok(buckets);
+    }
+}
@@ -0,0 +1,76 @@
+package kjstyle.techdom.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import kjstyle.techdom.domain.archive.RawRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이벤트 수신 API의 요청 본문을 바인딩 전에 바이트 그대로 읽어 {@link RawRequest}로 요청 속성에 남깁니다.
+ * 컨버터에는 같은 바이트를 다시 넘기므로 원문을 얻으려고 객체를 다시 직렬화하지 않습니다.
+ * 컨트롤러는 {@link #RAW_REQUEST} 속성으로 받아 VehicleEventLog.rawJsonData와 raw_request_log에 사용합니다.
+ */
+@ControllerAdvice(assignableTypes = VehicleEventController.class)
+public class RawRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    public static final String RAW_REQUEST = "techdom.rawRequest";
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+        byte[] body = inputMessage.getBody().readAllBytes();
+        HttpHeaders headers = inputMessage.getHeaders();
+
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        Map<String, List<String>> headerCopy = new LinkedHashMap<>(headers);
+        request.setAttribute(RAW_REQUEST,
+                new RawRequest(parameter.getExecutable().getName(), body, headerCopy, request.getRemoteAddr(), OffsetDateTime.now(ZoneOffset.UTC)));
+
+        return new CapturedBody(body, headers);
+    }
+
+    /**
+     * 요청 속성에 남긴 원본 요청. 본문을 읽기 전에 실패한 요청이면 null
+     */
+    public static RawRequest rawRequestOf(HttpServletRequest request) {
+        return (RawRequest) request.getAttribute(RAW_REQUEST);
+    }
+
+    /**
+     * 잡아 둔 본문 바이트를 다시 넘기는 입력 메시지. {@link DeviceEventMessageConverter}는 스트림 대신 배열을 바로 파싱합니다.
+     */
+    record CapturedBody(byte[] bytes, HttpHeaders headers) implements HttpInputMessage {
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package kjstyle.techdom.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 요청 본문 바인딩/검증 전에 수신 시각을 남겨, 컨트롤러에서 validate 단계 지연 시간을 잴 수 있게 합니다.
+ */
+public class RequestReceivedAtInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(PipelineMetrics.RECEIVED_AT_NANOS, System.nanoTime());
+        return true;
+    }
+}
@@ -1,6 +1,14 @@
 package kjstyle.techdom.web;
 
+import jakarta.servlet.http.HttpServletRequest;
+import kjstyle.techdom.domain.archive.RawRequestArchiver;
+import kjstyle.techdom.domain.exceptions.DeviceAuthenticationException;
+import kjstyle.techdom.domain.exceptions.DrivingLogSaveException;
+import kjstyle.techdom.domain.exceptions.EventPublishRejectedException;
+import kjstyle.techdom.domain.exceptions.EventRateLimitedException;
+import kjstyle.techdom.domain.exceptions.RequestValidationException;
 import kjstyle.techdom.web.dto.EventResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,10 +21,14 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @ControllerAdvice
+@RequiredArgsConstructor
 public class VehicleControllerExceptionAdvice {
+
+    private final RawRequestArchiver rawRequestArchiver;
+
     // 유효성 검사 실패 시 발생하는 MethodArgumentNotValidException을 처리하는 핸들러
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<EventResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
+    public ResponseEntity<EventResponse> handleValidationExceptions(MethodArgumentNotValidException ex, HttpServletRequest request) {
         List<String> errors = ex.getBindingResult()
                 .getFieldErrors()
                 .stream()
@@ -26,15 +38,72 @@ public class VehicleControllerExceptionAdvice {
         String mdn = (ex.getBindingResult().getFieldValue("mdn") instanceof String) ?
                 (String) ex.getBindingResult().getFieldValue("mdn") : null;
 
+        archiveRejected(request, "400 " + errors);
         return new ResponseEntity<>(
                 new EventResponse("400", "요청 파라미터 유효성 검사에 실패했습니다.", mdn, errors),
                 HttpStatus.BAD_REQUEST
         );
     }
 
+    // 배열 요청 등 직접 검증한 항목에서 오류가 발생한 경우도 동일한 형식의 400 응답으로 변환
+    @ExceptionHandler(RequestValidationException.class)
+    public ResponseEntity<EventResponse> handleRequestValidationException(RequestValidationException ex, HttpServletRequest request) {
+        archiveRejected(request, "400 " + ex.getErrors());
+        return new ResponseEntity<>(
+                new EventResponse("400", "요청 파라미터 유효성 검사에 실패했습니다.", ex.getMdn(), ex.getErrors()),
+                HttpStatus.BAD_REQUEST
+        );
+    }
+
+    // 등록되지 않았거나 등록 정보와 다른 단말의 요청은 Kafka로 보내지 않고 403으로 응답
+    @ExceptionHandler(DeviceAuthenticationException.class)
+    public ResponseEntity<EventResponse> handleDeviceAuthenticationException(DeviceAuthenticationException ex, HttpServletRequest request) {
+        archiveRejected(request, "403 " + ex.getMessage());
+        return new ResponseEntity<>(
+                new EventResponse("403", ex.getMessage(), ex.getMdn()),
+                HttpStatus.FORBIDDEN
+        );
+    }
+
+    // 브로커 지연으로 전송 대기 한도가 가득 찼는데 스풀도 쓸 수 없는 경우 단말이 재전송하도록 503으로 응답
+    @ExceptionHandler(EventPublishRejectedException.class)
+    public ResponseEntity<EventResponse> handleEventPublishRejectedException(EventPublishRejectedException ex, HttpServletRequest request) {
+        log.warn("이벤트 전송 거절 MDN={} : {}", ex.getMdn(), ex.getMessage());
+        archiveRejected(request, "503 " + ex.getMessage());
+        return new ResponseEntity<>(
+                new EventResponse("503", "잠시 후 다시 시도해 주세요.", ex.getMdn()),
+                HttpStatus.SERVICE_UNAVAILABLE
+        );
+    }
+
+    // 같은 단말이 짧은 시간에 너무 많은 이벤트를 보낸 경우 Kafka로 보내지 않고 429로 응답
+    @ExceptionHandler(EventRateLimitedException.class)
+    public ResponseEntity<EventResponse> handleEventRateLimitedException(EventRateLimitedException ex, HttpServletRequest request) {
+        archiveRejected(request, "429 " + ex.getMessage());
+        return new ResponseEntity<>(
+                new EventResponse("429", ex.getMessage(), ex.getMdn()),
+                HttpStatus.TOO_MANY_REQUESTS
+        );
+    }
+
+    // 주행기록 일부 청크 저장 실패. 저장된 청크는 그대로 두고 실패 건수를 알려준다
+    @ExceptionHandler(DrivingLogSaveException.class)
+    public ResponseEntity<EventResponse> handleDrivingLogSaveException(DrivingLogSaveException ex) {
+        log.warn("주행기록 저장 실패 MDN={} : {}", ex.getMdn(), ex.getMessage());
+        return new ResponseEntity<>(
+                new EventResponse("500", ex.getMessage(), ex.getMdn()),
+                HttpStatus.INTERNAL_SERVER_ERROR
+        );
+    }
+
     @ExceptionHandler(Exception.class)
     public EventResponse handleException(Exception e) {
         log.error("알 수 없는 에러 : {}", e.getMessage());
         return new EventResponse("500", "INTERNAL SERVER ERROR", e.getMessage());
     }
-}
\ No newline at end of file
+
+    // 이벤트 수신 API에서 거절한 요청도 원본을 남긴다. 단말 인증 전일 수 있으므로 mdn(device FK)은 비워 둔다
+    private void archiveRejected(HttpServletRequest request, String processResult) {
+        rawRequestArchiver.archive(RawRequestBodyAdvice.rawRequestOf(request), null, false, processResult);
+    }
+}
@@ -1,13 +1,23 @@
 package kjstyle.techdom.web;
 
-import jakarta.validation.Valid;
 import kjstyle.techdom.config.VehicleKafkaConfig;
+import kjstyle.techdom.domain.archive.RawRequest;
+import kjstyle.techdom.domain.archive.RawRequestArchiver;
+import kjstyle.techdom.domain.cache.DeviceInfo;
+import kjstyle.techdom.domain.cache.DeviceRegistry;
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics;
 import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.exceptions.DeviceAuthenticationException;
+import kjstyle.techdom.domain.exceptions.EventRateLimitedException;
+import kjstyle.techdom.domain.ingest.EventIngestGuard;
 import kjstyle.techdom.domain.service.EventSender;
 import kjstyle.techdom.enums.VehicleEventType;
+import kjstyle.techdom.web.dto.DeviceEvent;
+import kjstyle.techdom.web.dto.EventBatchRequest;
+import kjstyle.techdom.web.dto.EventBatchResponse;
 import kjstyle.techdom.web.dto.EventResponse;
-import kjstyle.techdom.web.dto.GeofenceEventRequest;
-import kjstyle.techdom.web.dto.IgnitionEventRequest;
+import kjstyle.techdom.web.dto.GeofenceEvent;
+import kjstyle.techdom.web.dto.IgnitionEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
@@ -15,10 +25,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -26,14 +41,23 @@ import java.time.OffsetDateTime;
 public class VehicleEventController {
 
     private final EventSender eventSender;
+    private final DeviceRegistry deviceRegistry;
+    private final PipelineMetrics pipelineMetrics;
+    private final RawRequestArchiver rawRequestArchiver;
+    private final EventIngestGuard eventIngestGuard;
 
     @PostMapping("/api/v1/vehicle/ignition")
-    public ResponseEntity<EventResponse> ignition(@Valid @RequestBody IgnitionEventRequest request) { // TODO : 응답을 어떻게 해야할지
-        log.info("시동 이벤트 컨트롤러 진입 : {} ", request);
+    public ResponseEntity<EventResponse> ignition(@RequestBody IgnitionEvent request,
+                                                  @RequestAttribute(PipelineMetrics.RECEIVED_AT_NANOS) long receivedAtNanos,
+                                                  @RequestAttribute(RawRequestBodyAdvice.RAW_REQUEST) RawRequest rawRequest) { // TODO : 응답을 어떻게 해야할지
+        DeviceInfo device = deviceRegistry.authenticate(request.getMdn(), request.getTid(), request.getMid(), request.getPv());
 
-        log.info("--------------- 이벤트 퍼블리싱 직전");
-        eventSender.send(request.toVehicleEventLog());
-        log.info("--------------- 이벤트 퍼블리싱 직후");
+        VehicleEventLog eventLog = request.toVehicleEventLog();
+        eventLog.assignVehicleId(device.vehicleId());
+        eventLog.setRawJsonData(rawRequest.bodyAsString());
+        pipelineMetrics.recordSince(PipelineMetrics.Stage.VALIDATE, eventLog.getEventType(), receivedAtNanos);
+        String result = send(eventLog);
+        rawRequestArchiver.archive(rawRequest, device.mdn(), true, result);
 
         return new ResponseEntity<>(
                 new EventResponse("200", "OK", request.getMdn())
@@ -42,11 +66,17 @@ public class VehicleEventController {
     }
 
     @PostMapping("/api/v1/vehicle/geofence/in")
-    public ResponseEntity<EventResponse> geofenceIn(@Valid @RequestBody GeofenceEventRequest request) {
-        log.info("지오펜스 IN 컨트롤러 진입 : {} ", request);
-        log.info("--------------- 이벤트 퍼블리싱 직전");
-        eventSender.send(request.toVehicleEventLog(VehicleEventType.GEOFENCE_IN));
-        log.info("--------------- 이벤트 퍼블리싱 직후");
+    public ResponseEntity<EventResponse> geofenceIn(@RequestBody GeofenceEvent request,
+                                                    @RequestAttribute(PipelineMetrics.RECEIVED_AT_NANOS) long receivedAtNanos,
+                                                    @RequestAttribute(RawRequestBodyAdvice.RAW_REQUEST) RawRequest rawRequest) {
+        DeviceInfo device = deviceRegistry.authenticate(request.getMdn(), request.getTid(), request.getMid(), request.getPv());
+
+        VehicleEventLog eventLog = request.toVehicleEventLog(VehicleEventType.GEOFENCE_IN);
+        eventLog.assignVehicleId(device.vehicleId());
+        eventLog.setRawJsonData(rawRequest.bodyAsString());
+        pipelineMetrics.recordSince(PipelineMetrics.Stage.VALIDATE, eventLog.getEventType(), receivedAtNanos);
+        String result = send(eventLog);
+        rawRequestArchiver.archive(rawRequest, device.mdn(), true, result);
 
         return new ResponseEntity<>(
                 new EventResponse("200", "OK", request.getMdn())
@@ -55,15 +85,105 @@ public class VehicleEventController {
     }
 
     @PostMapping("/api/v1/vehicle/geofence/out")
-    public ResponseEntity<EventResponse> geofenceOut(@Valid @RequestBody GeofenceEventRequest request) {
-        log.info("지오펜스 IN 컨트롤러 진입 : {} ", request);
-        log.info("--------------- 이벤트 퍼블리싱 직전");
-        eventSender.send(request.toVehicleEventLog(VehicleEventType.GEOFENCE_OUT));
-        log.info("--------------- 이벤트 퍼블리싱 직후");
+    public ResponseEntity<EventResponse> geofenceOut(@RequestBody GeofenceEvent request,
+                                                     @RequestAttribute(PipelineMetrics.RECEIVED_AT_NANOS) long receivedAtNanos,
+                                                     @RequestAttribute(RawRequestBodyAdvice.RAW_REQUEST) RawRequest rawRequest) {
+        DeviceInfo device = deviceRegistry.authenticate(request.getMdn(), request.getTid(), request.getMid(), request.getPv());
+
+        VehicleEventLog eventLog = request.toVehicleEventLog(VehicleEventType.GEOFENCE_OUT);
+        eventLog.assignVehicleId(device.vehicleId());
+        eventLog.setRawJsonData(rawRequest.bodyAsString());
+        pipelineMetrics.recordSince(PipelineMetrics.Stage.VALIDATE, eventLog.getEventType(), receivedAtNanos);
+        String result = send(eventLog);
+        rawRequestArchiver.archive(rawRequest, device.mdn(), true, result);
 
         return new ResponseEntity<>(
                 new EventResponse("200", "OK", request.getMdn())
                 , HttpStatus.OK
         );
     }
+
+    /**
+     * 시동/지오펜스 이벤트 여러 건을 한 요청으로 받습니다. 본문은 {@link DeviceEventMessageConverter}가 항목별로 디코딩(검증)해 두고,
+     * 여기서는 항목마다 단말 인증을 따로 하고,
+     * 통과한 항목만 {@link EventSender#sendAll}로 한 번에 보냅니다. 응답의 results는 요청 순서와 같습니다.
+     * 중복 판단 링은 전송 후에 기록되므로, 같은 묶음 안에서 반복된 (mdn, 초) 항목은 요청 단위 집합으로 따로 거릅니다. (게이트웨이 재시도 등)
+     */
+    @PostMapping("/api/v1/vehicle/events")
+    public ResponseEntity<EventBatchResponse> events(@RequestBody EventBatchRequest request,
+                                                     @RequestAttribute(PipelineMetrics.RECEIVED_AT_NANOS) long receivedAtNanos,
+                                                     @RequestAttribute(RawRequestBodyAdvice.RAW_REQUEST) RawRequest rawRequest) {
+        List<EventResponse> results = new ArrayList<>(request.getEvents().size());
+        List<VehicleEventLog> accepted = new ArrayList<>(request.getEvents().size());
+        Set<EventKey> acceptedKeys = new HashSet<>();
+        for (EventBatchRequest.Item item : request.getEvents()) {
+            results.add(readItem(item, accepted, acceptedKeys, receivedAtNanos));
+        }
+
+        eventSender.sendAll(accepted);
+        eventIngestGuard.markSent(accepted);
+
+        // 중복으로 걸러진 항목도 정상 응답(200)이므로 처리된 건수에 포함한다
+        int acknowledged = (int) results.stream().filter(result -> "200".equals(result.getRstCd())).count();
+        rawRequestArchiver.archive(rawRequest, null, true,
+                "accepted=" + accepted.size() + ", duplicate=" + (acknowledged - accepted.size())
+                        + ", rejected=" + (results.size() - acknowledged));
+
+        return ResponseEntity.ok(new EventBatchResponse(results, acknowledged));
+    }
+
+    // 최근에 보낸 중복 이벤트는 보내지 않고 정상 응답한다. 단말 전송 속도 한도를 넘으면 EventRateLimitedException(429)
+    private String send(VehicleEventLog eventLog) {
+        if (!eventIngestGuard.admit(eventLog)) {
+            return "DUPLICATE";
+        }
+        eventSender.send(eventLog);
+        eventIngestGuard.markSent(eventLog);
+        return "OK";
+    }
+
+    // 디코딩(검증)을 통과한 항목이 단말 인증까지 통과하면 accepted에 추가한다
+    private EventResponse readItem(EventBatchRequest.Item item, List<VehicleEventLog> accepted, Set<EventKey> acceptedKeys,
+                                   long receivedAtNanos) {
+        if (item.getError() != null) {
+            return new EventResponse("400", item.getError().getMessage(), item.getError().getMdn(), item.getError().getErrors());
+        }
+
+        DeviceEvent itemEvent = item.getEvent();
+        EventBatchRequest.ItemType type = item.getType();
+        String mdn = itemEvent.getMdn();
+
+        VehicleEventLog eventLog;
+        try {
+            DeviceInfo device = deviceRegistry.authenticate(itemEvent.getMdn(), itemEvent.getTid(), itemEvent.getMid(), itemEvent.getPv());
+            eventLog = itemEvent instanceof GeofenceEvent geofence
+                    ? geofence.toVehicleEventLog(type == EventBatchRequest.ItemType.GEOFENCE_IN ? VehicleEventType.GEOFENCE_IN : VehicleEventType.GEOFENCE_OUT)
+                    : ((IgnitionEvent) itemEvent).toVehicleEventLog();
+            eventLog.assignVehicleId(device.vehicleId());
+        } catch (DeviceAuthenticationException e) {
+            return new EventResponse("403", e.getMessage(), mdn);
+        }
+
+        EventKey key = new EventKey(mdn, eventLog.getEventTimestampUtc().toEpochSecond());
+        if (acceptedKeys.contains(key)) {
+            return new EventResponse("200", "OK", mdn); // 같은 묶음 안에서 이미 받은 이벤트
+        }
+        try {
+            if (!eventIngestGuard.admit(eventLog)) {
+                return new EventResponse("200", "OK", mdn); // 최근에 보낸 중복 이벤트
+            }
+        } catch (EventRateLimitedException e) {
+            return new EventResponse("429", e.getMessage(), mdn);
+        }
+
+        eventLog.setRawJsonData(item.rawJson()); // 묶음 전체 원문은 raw_request_log에 남고, 이벤트에는 항목 부분만 남긴다
+        pipelineMetrics.recordSince(PipelineMetrics.Stage.VALIDATE, eventLog.getEventType(), receivedAtNanos);
+        accepted.add(eventLog);
+        acceptedKeys.add(key);
+        return new EventResponse("200", "OK", mdn);
+    }
+
+    // Kafka 키/DB PK와 같은 기준 (mdn, 이벤트 시각 초)
+    private record EventKey(String mdn, long epochSecond) {
+    }
 }
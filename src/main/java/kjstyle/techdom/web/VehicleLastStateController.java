@@ -0,0 +1,38 @@
+package kjstyle.techdom.web;
+
+import kjstyle.techdom.domain.cache.LastState;
+import kjstyle.techdom.domain.cache.VehicleLastStateStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 관제 지도용 전체 차량 마지막 위치/상태 조회 API입니다. DB를 조회하지 않고 메모리 상태를 그대로 내려줍니다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class VehicleLastStateController {
+
+    private final VehicleLastStateStore vehicleLastStateStore;
+
+    /**
+     * mdn을 주면 해당 단말들만, since를 주면 그 이후 바뀐 단말만(지도 증분 갱신용), 둘 다 없으면 전체를 돌려줍니다.
+     * since는 상태 발생 시각이 아니라 서버 반영 시각(updatedAt) 기준이므로, 직전 응답의 가장 큰 updatedAt을 넘기면 됩니다.
+     */
+    @GetMapping("/api/v1/vehicle/last-state")
+    public ResponseEntity<List<LastState>> lastStates(
+            @RequestParam(name = "mdn", required = false) List<String> mdns,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since
+    ) {
+        List<LastState> states = (mdns != null && !mdns.isEmpty())
+                ? vehicleLastStateStore.findAll(mdns)
+                : vehicleLastStateStore.findAll(since);
+        return ResponseEntity.ok(states);
+    }
+}
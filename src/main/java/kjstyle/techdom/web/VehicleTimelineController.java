@@ -0,0 +1,142 @@
+package kjstyle.techdom.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import kjstyle.techdom.domain.exceptions.RequestValidationException;
+import kjstyle.techdom.domain.service.VehicleTimelineService;
+import kjstyle.techdom.domain.timeline.DrivingTimelineItem;
+import kjstyle.techdom.domain.timeline.EventTimelineItem;
+import kjstyle.techdom.domain.timeline.TimelinePage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 운영 도구용 단말 타임라인 조회 API입니다. 시각은 ISO-8601 (예: 2025-07-01T00:00:00Z), 범위는 [from, to) 이고 최신순으로 내려줍니다.
+ * <ul>
+ *     <li>/timeline/events, /timeline/driving - JSON 페이지. 응답의 nextCursor를 cursor로 넘기면 다음 페이지</li>
+ *     <li>/timeline/events/stream, /timeline/driving/stream - 범위 전체를 NDJSON(한 줄에 한 건)으로 스트리밍</li>
+ * </ul>
+ */
+@RestController
+public class VehicleTimelineController {
+
+    private final VehicleTimelineService vehicleTimelineService;
+    private final ObjectWriter objectWriter;
+    private final int maxPageSize;
+    private final Duration maxStreamRange;
+
+    public VehicleTimelineController(
+            VehicleTimelineService vehicleTimelineService,
+            ObjectMapper objectMapper,
+            @Value("${techdom.timeline.max-page-size:1000}") int maxPageSize,
+            @Value("${techdom.timeline.max-stream-range:31d}") Duration maxStreamRange
+    ) {
+        this.vehicleTimelineService = vehicleTimelineService;
+        this.objectWriter = objectMapper.writer();
+        this.maxPageSize = maxPageSize;
+        this.maxStreamRange = maxStreamRange;
+    }
+
+    @GetMapping("/api/v1/vehicle/{mdn}/timeline/events")
+    public ResponseEntity<TimelinePage<EventTimelineItem>> events(
+            @PathVariable String mdn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime cursor,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        validatePage(mdn, from, to, limit);
+        return ResponseEntity.ok(vehicleTimelineService.findEvents(mdn, from, to, cursor, limit));
+    }
+
+    @GetMapping("/api/v1/vehicle/{mdn}/timeline/driving")
+    public ResponseEntity<TimelinePage<DrivingTimelineItem>> driving(
+            @PathVariable String mdn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime cursor,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        validatePage(mdn, from, to, limit);
+        return ResponseEntity.ok(vehicleTimelineService.findDrivingLogs(mdn, from, to, cursor, limit));
+    }
+
+    @GetMapping(value = "/api/v1/vehicle/{mdn}/timeline/events/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEvents(
+            @PathVariable String mdn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to
+    ) {
+        validateStream(mdn, from, to);
+        return ndjson(out -> vehicleTimelineService.streamEvents(mdn, from, to, lineWriter(out)));
+    }
+
+    @GetMapping(value = "/api/v1/vehicle/{mdn}/timeline/driving/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDriving(
+            @PathVariable String mdn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to
+    ) {
+        validateStream(mdn, from, to);
+        return ndjson(out -> vehicleTimelineService.streamDrivingLogs(mdn, from, to, lineWriter(out)));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> ndjson(Consumer<OutputStream> body) {
+        StreamingResponseBody stream = out -> {
+            try {
+                body.accept(out);
+            } catch (UncheckedIOException e) {
+                throw e.getCause(); // 클라이언트가 연결을 끊은 경우 등
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(stream);
+    }
+
+    private <T> Consumer<T> lineWriter(OutputStream out) {
+        return item -> {
+            try {
+                out.write(objectWriter.writeValueAsBytes(item));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private void validatePage(String mdn, OffsetDateTime from, OffsetDateTime to, int limit) {
+        List<String> errors = new ArrayList<>();
+        if (!from.isBefore(to)) {
+            errors.add("from은 to보다 앞서야 합니다.");
+        }
+        if (limit < 1 || limit > maxPageSize) {
+            errors.add("limit은 1 ~ " + maxPageSize + " 사이여야 합니다.");
+        }
+        if (!errors.isEmpty()) {
+            throw new RequestValidationException(mdn, errors);
+        }
+    }
+
+    private void validateStream(String mdn, OffsetDateTime from, OffsetDateTime to) {
+        if (!from.isBefore(to) || Duration.between(from, to).compareTo(maxStreamRange) > 0) {
+            throw new RequestValidationException(mdn, List.of(
+                    "from은 to보다 앞서야 하고, 스트리밍 범위는 " + maxStreamRange.toDays() + "일 이하여야 합니다."));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package kjstyle.techdom.web.dto;
+
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * 이벤트 요청 본문을 {@link DeviceEventDecoder}가 한 번에 읽어 검증/변환까지 마친 결과입니다.
+ * 단말 인증에 쓰는 공통 필드(mdn, tid, mid, pv)만 문자열로 두고, 나머지 값은 이미 타입 변환되어 builder에 들어 있습니다.
+ */
+@Getter
+public abstract class DeviceEvent {
+
+    private final String mdn;
+    private final String tid;
+    private final String mid;
+    private final String pv;
+
+    // 검증을 통과한 값이 채워진 builder. 이벤트 타입이 정해지는 시점이 엔드포인트마다 달라 build는 하위 클래스가 한다
+    @Getter(AccessLevel.NONE)
+    final VehicleEventLog.VehicleEventLogBuilder builder;
+
+    DeviceEvent(String mdn, String tid, String mid, String pv, VehicleEventLog.VehicleEventLogBuilder builder) {
+        this.mdn = mdn;
+        this.tid = tid;
+        this.mid = mid;
+        this.pv = pv;
+        this.builder = builder;
+    }
+}
@@ -0,0 +1,477 @@
+package kjstyle.techdom.web.dto;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.exceptions.RequestValidationException;
+import kjstyle.techdom.enums.GpsCondition;
+import kjstyle.techdom.enums.VehicleEventType;
+import kjstyle.techdom.web.validation.DeviceFieldParser;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시동/지오펜스 이벤트 전문을 {@link JsonParser} 토큰 단위로 읽으면서 검증하고, 문자열 DTO 없이 바로 VehicleEventLog 값으로 변환합니다.
+ * <ul>
+ *     <li>필드 규칙과 오류 메시지는 {@link IgnitionEventRequest}, {@link GeofenceEventRequest}의 Bean Validation 선언과 같습니다.
+ *     값이 없으면 필수 오류만, 값이 있으면 형식 오류만 남기는 방식은 {@link DrivingCycleRequest}와 같습니다.</li>
+ *     <li>숫자/시각 필드는 파서의 문자 버퍼를 그대로 {@link DeviceFieldParser}에 넘겨 필드마다 문자열을 만들지 않습니다.
+ *     고정값 필드(tid, mid, pv, gcd, eventValue)는 허용 목록의 상수 문자열을 그대로 씁니다.</li>
+ *     <li>모르는 필드는 건너뛰고(Jackson 기본 설정과 동일), 문자열 필드에 숫자/불리언이 오면 그 표기를 값으로 봅니다.</li>
+ *     <li>오류는 필드 선언 순서로 모아 {@link RequestValidationException}으로 던집니다.
+ *     JSON 문법 오류나 객체/배열 값은 {@link JsonParseException}입니다.</li>
+ *     <li>묶음 요청({@link #decodeBatch})은 같은 파서로 배열을 따라가며 항목마다 같은 규칙을 적용하고,
+ *     항목의 검증 오류는 예외 대신 {@link EventBatchRequest.Item}에 담습니다.</li>
+ * </ul>
+ */
+public final class DeviceEventDecoder {
+
+    private static final String[] TID_VALUES = {"A001"};
+    private static final String[] MID_VALUES = {"6"};
+    private static final String[] PV_VALUES = {"5"};
+    private static final String[] DID_VALUES = {"1"};
+    private static final String[] GCD_VALUES = {"A", "V", "0", "P"};
+    private static final String[] EVENT_VALUES = {"IN", "OUT"};
+
+    private static final int DATE_TIME_LENGTH = 14;
+
+    private static final String EVENTS_FIELD = "events";
+    private static final String TYPE_FIELD = "type";
+
+    private static final EnumSet<Field> IGNITION_FIELDS = EnumSet.complementOf(EnumSet.of(
+            Field.EVENT_TIME, Field.GEOFENCE_GROUP_ID, Field.GEOFENCE_POINT_ID, Field.EVENT_VALUE));
+    private static final EnumSet<Field> GEOFENCE_FIELDS = EnumSet.complementOf(EnumSet.of(
+            Field.ON_TIME, Field.OFF_TIME));
+    // 묶음 항목은 type을 다 읽기 전에는 종류를 모르므로 모든 필드를 읽고, 검증은 종류별 필드로만 한다
+    private static final EnumSet<Field> ALL_FIELDS = EnumSet.allOf(Field.class);
+
+    private static final Map<String, Field> FIELDS_BY_NAME = new HashMap<>();
+
+    static {
+        for (Field field : Field.values()) {
+            FIELDS_BY_NAME.put(field.jsonName, field);
+        }
+    }
+
+    private DeviceEventDecoder() {
+    }
+
+    /**
+     * @throws RequestValidationException 필드 값이 규칙에 맞지 않는 경우
+     * @throws JsonParseException         JSON 문법 오류, 최상위가 객체가 아니거나 필드 값이 객체/배열인 경우
+     */
+    public static IgnitionEvent decodeIgnition(JsonParser parser) throws IOException {
+        return toIgnition(decode(parser, IGNITION_FIELDS));
+    }
+
+    /**
+     * 이벤트 타입(IN/OUT)은 엔드포인트가 정하므로 {@link GeofenceEvent#toVehicleEventLog}에서 지정합니다.
+     *
+     * @throws RequestValidationException 필드 값이 규칙에 맞지 않는 경우
+     * @throws JsonParseException         JSON 문법 오류, 최상위가 객체가 아니거나 필드 값이 객체/배열인 경우
+     */
+    public static GeofenceEvent decodeGeofence(JsonParser parser) throws IOException {
+        return toGeofence(decode(parser, GEOFENCE_FIELDS));
+    }
+
+    /**
+     * 묶음 요청 본문을 읽습니다. 항목마다 type에 맞는 규칙으로 검증하고, 원문은 본문에서 항목의 바이트 구간을 잘라 둡니다.
+     * (항목을 트리로 만들거나 다시 직렬화하지 않습니다)
+     *
+     * @param parser body 위에 만든 파서 (항목 구간을 바이트 위치로 찾으므로 같은 배열이어야 함)
+     * @throws RequestValidationException events가 없거나 비어 있거나 {@link EventBatchRequest#MAX_EVENTS}건을 넘는 경우
+     * @throws JsonParseException         JSON 문법 오류, 최상위가 객체가 아니거나 events가 배열이 아닌 경우
+     */
+    public static EventBatchRequest decodeBatch(JsonParser parser, byte[] body) throws IOException {
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "묶음 요청은 JSON 객체여야 합니다.");
+        }
+
+        List<EventBatchRequest.Item> items = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            boolean events = EVENTS_FIELD.equals(parser.currentName());
+            JsonToken value = parser.nextToken();
+            if (!events || value == JsonToken.VALUE_NULL) {
+                parser.skipChildren();
+                continue;
+            }
+            if (value != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "events 값은 배열이어야 합니다.");
+            }
+            items = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (items.size() == EventBatchRequest.MAX_EVENTS) {
+                    throw new RequestValidationException(null,
+                            List.of("events는 최대 " + EventBatchRequest.MAX_EVENTS + "건까지 보낼 수 있습니다."));
+                }
+                items.add(decodeItem(parser, body));
+            }
+        }
+        if (items == null || items.isEmpty()) {
+            throw new RequestValidationException(null, List.of("events: events는 비어 있을 수 없습니다."));
+        }
+        return new EventBatchRequest(items);
+    }
+
+    // 파서가 항목의 첫 토큰에 있을 때 호출되고, 항목의 마지막 토큰까지 읽고 돌아간다
+    private static EventBatchRequest.Item decodeItem(JsonParser parser, byte[] body) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return EventBatchRequest.Item.rejected(new RequestValidationException(null,
+                    List.of("요청 형식이 올바르지 않습니다: events의 항목은 JSON 객체여야 합니다.")));
+        }
+
+        int start = (int) parser.currentTokenLocation().getByteOffset();
+        Decoding decoding = read(parser, ALL_FIELDS);
+        int end = (int) parser.currentLocation().getByteOffset();
+
+        EventBatchRequest.ItemType type = EventBatchRequest.ItemType.fromName(decoding.type);
+        if (type == null) {
+            return EventBatchRequest.Item.rejected(new RequestValidationException(decoding.mdn,
+                    List.of("type: type은 'IGNITION', 'GEOFENCE_IN', 'GEOFENCE_OUT' 중 하나여야 합니다.")));
+        }
+        EnumSet<Field> schema = type == EventBatchRequest.ItemType.IGNITION ? IGNITION_FIELDS : GEOFENCE_FIELDS;
+        Field nested = decoding.firstNested(schema);
+        if (nested != null) {
+            return EventBatchRequest.Item.rejected(new RequestValidationException(decoding.mdn,
+                    List.of("요청 형식이 올바르지 않습니다: " + nested.jsonName + " 값은 문자열이어야 합니다.")));
+        }
+
+        try {
+            validate(decoding, schema);
+        } catch (RequestValidationException e) {
+            return EventBatchRequest.Item.rejected(e);
+        }
+        DeviceEvent event;
+        if (type == EventBatchRequest.ItemType.IGNITION) {
+            // 단건 API처럼 시동 요청에 있는 지오펜스 필드는 값으로 쓰지 않는다
+            decoding.builder.geofenceGroupId(null).geofencePointId(null).eventValue(null);
+            event = toIgnition(decoding);
+        } else {
+            event = toGeofence(decoding);
+        }
+        return EventBatchRequest.Item.decoded(type, event, body, start, end);
+    }
+
+    private static IgnitionEvent toIgnition(Decoding decoding) {
+        // offTime이 비어 있으면 시동 ON (eventTime = onTime), 있으면 시동 OFF (eventTime = offTime)
+        if (decoding.offTime == null) {
+            decoding.builder
+                    .eventType(VehicleEventType.IGNITION_ON)
+                    .eventTimestampUtc(decoding.onTime.atOffset(ZoneOffset.UTC))
+                    .onTime(decoding.onTime.atOffset(ZoneOffset.UTC));
+        } else {
+            decoding.builder
+                    .eventType(VehicleEventType.IGNITION_OFF)
+                    .eventTimestampUtc(decoding.offTime.atOffset(ZoneOffset.UTC))
+                    .ignitionOffTime(decoding.offTime.atOffset(ZoneOffset.UTC));
+        }
+        return new IgnitionEvent(decoding.mdn, decoding.tid, decoding.mid, decoding.pv, decoding.builder);
+    }
+
+    private static GeofenceEvent toGeofence(Decoding decoding) {
+        decoding.builder.eventTimestampUtc(decoding.eventTime.atOffset(ZoneOffset.UTC));
+        return new GeofenceEvent(decoding.mdn, decoding.tid, decoding.mid, decoding.pv, decoding.builder);
+    }
+
+    private static Decoding decode(JsonParser parser, EnumSet<Field> schema) throws IOException {
+        Decoding decoding = read(parser, schema);
+        Field nested = decoding.firstNested(schema);
+        if (nested != null) {
+            throw new JsonParseException(parser, nested.jsonName + " 값은 문자열이어야 합니다.");
+        }
+        validate(decoding, schema);
+        return decoding;
+    }
+
+    // 객체 하나를 END_OBJECT까지 읽는다. schema 밖의 필드는 건너뛰고, 객체/배열 값은 기록만 하고 건너뛴다
+    private static Decoding read(JsonParser parser, EnumSet<Field> schema) throws IOException {
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "이벤트 요청은 JSON 객체여야 합니다.");
+        }
+
+        Decoding decoding = new Decoding();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            Field field = FIELDS_BY_NAME.get(name);
+            JsonToken value = parser.nextToken();
+            if (field == null || !schema.contains(field)) {
+                if (field == null && value.isScalarValue() && TYPE_FIELD.equals(name)) {
+                    decoding.type = parser.getText(); // 묶음 항목의 종류 (단건 요청에서는 쓰지 않음)
+                }
+                parser.skipChildren();
+                continue;
+            }
+            if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                decoding.nestedFields |= 1 << field.ordinal();
+                parser.skipChildren();
+                continue;
+            }
+            decoding.read(field, value, parser);
+        }
+        return decoding;
+    }
+
+    private static void validate(Decoding decoding, EnumSet<Field> schema) {
+        List<String> errors = decoding.errors(schema);
+        if (!errors.isEmpty()) {
+            throw new RequestValidationException(decoding.mdn, errors);
+        }
+        decoding.builder.mdn(decoding.mdn);
+    }
+
+    /**
+     * 요청 하나를 읽는 동안의 상태. 필드마다 값이 있었는지, 오류가 있었는지를 선언 순서(ordinal)로 기록합니다.
+     */
+    private static final class Decoding {
+        final VehicleEventLog.VehicleEventLogBuilder builder = VehicleEventLog.builder();
+        final TextSlice text = new TextSlice();
+        final String[] fieldErrors = new String[Field.values().length];
+        int presentFields; // 비트마스크 (1 << ordinal)
+        int nestedFields;  // 값이 객체/배열이었던 필드 (비트마스크)
+
+        String type;
+        String mdn;
+        String tid;
+        String mid;
+        String pv;
+        LocalDateTime onTime;
+        LocalDateTime offTime;
+        LocalDateTime eventTime;
+
+        void read(Field field, JsonToken value, JsonParser parser) throws IOException {
+            if (value == JsonToken.VALUE_NULL) {
+                return;
+            }
+            text.wrap(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (field.required != Required.NOT_NULL && text.isBlank()) {
+                return; // 필수 항목이면 마지막에 필수 오류로 남는다 (offTime은 빈 문자열이 시동 ON을 뜻함)
+            }
+            presentFields |= 1 << field.ordinal();
+
+            switch (field) {
+                case MDN -> mdn = parser.getText();
+                case TID -> tid = oneOf(field, TID_VALUES);
+                case MID -> mid = oneOf(field, MID_VALUES);
+                case PV -> pv = oneOf(field, PV_VALUES);
+                case DID -> oneOf(field, DID_VALUES);
+                case ON_TIME -> onTime = dateTime(field);
+                case OFF_TIME -> offTime = text.length() == 0 ? null : dateTime(field);
+                case EVENT_TIME -> eventTime = dateTime(field);
+                case GCD -> {
+                    String gcd = oneOf(field, GCD_VALUES);
+                    if (gcd != null) {
+                        builder.gpsStatus(GpsCondition.fromCode(gcd));
+                    }
+                }
+                case LAT -> {
+                    if (decimal(field)) {
+                        builder.latitude(DeviceFieldParser.parseDecimal(text));
+                    }
+                }
+                case LON -> {
+                    if (decimal(field)) {
+                        builder.longitude(DeviceFieldParser.parseDecimal(text));
+                    }
+                }
+                case ANG -> builder.angle(integer(field));
+                case SPD -> builder.speed(integer(field));
+                case SUM -> {
+                    if (digits(field)) {
+                        try {
+                            builder.currentAccumulatedDistance(DeviceFieldParser.parseLong(text));
+                        } catch (NumberFormatException e) {
+                            fieldErrors[field.ordinal()] = field.formatMessage;
+                        }
+                    }
+                }
+                case BATTERY_VOLT -> builder.batteryVolt(integer(field));
+                case GEOFENCE_GROUP_ID -> builder.geofenceGroupId(parser.getText());
+                case GEOFENCE_POINT_ID -> builder.geofencePointId(parser.getText());
+                case EVENT_VALUE -> builder.eventValue(oneOf(field, EVENT_VALUES));
+            }
+        }
+
+        // 허용 목록의 상수 문자열을 돌려준다. 맞지 않으면 형식 오류를 남기고 null
+        private String oneOf(Field field, String[] allowed) {
+            for (String candidate : allowed) {
+                if (candidate.contentEquals(text)) {
+                    return candidate;
+                }
+            }
+            fieldErrors[field.ordinal()] = field.formatMessage;
+            return null;
+        }
+
+        private LocalDateTime dateTime(Field field) {
+            if (!DeviceFieldParser.isDigits(text, DATE_TIME_LENGTH)) {
+                fieldErrors[field.ordinal()] = field.formatMessage;
+                return null;
+            }
+            try {
+                return DeviceFieldParser.parseDateTime(text);
+            } catch (DateTimeException e) {
+                fieldErrors[field.ordinal()] = "날짜/시간 형식 오류: " + e.getMessage(); // 월/일/시 범위 오류
+                return null;
+            }
+        }
+
+        private boolean decimal(Field field) {
+            if (DeviceFieldParser.isDecimal(text)) {
+                return true;
+            }
+            fieldErrors[field.ordinal()] = field.formatMessage;
+            return false;
+        }
+
+        private boolean digits(Field field) {
+            if (DeviceFieldParser.isDigits(text)) {
+                return true;
+            }
+            fieldErrors[field.ordinal()] = field.formatMessage;
+            return false;
+        }
+
+        private Integer integer(Field field) {
+            if (!digits(field)) {
+                return null;
+            }
+            try {
+                return DeviceFieldParser.parseInt(text);
+            } catch (NumberFormatException e) {
+                fieldErrors[field.ordinal()] = field.formatMessage; // int 범위 초과
+                return null;
+            }
+        }
+
+        Field firstNested(EnumSet<Field> schema) {
+            if (nestedFields != 0) {
+                for (Field field : schema) {
+                    if ((nestedFields & (1 << field.ordinal())) != 0) {
+                        return field;
+                    }
+                }
+            }
+            return null;
+        }
+
+        List<String> errors(EnumSet<Field> schema) {
+            List<String> errors = null;
+            for (Field field : schema) {
+                String message = fieldErrors[field.ordinal()];
+                if (message == null && field.required != Required.NONE && (presentFields & (1 << field.ordinal())) == 0) {
+                    message = field.requiredMessage;
+                }
+                if (message != null) {
+                    if (errors == null) {
+                        errors = new ArrayList<>();
+                    }
+                    errors.add(field.jsonName + ": " + message);
+                }
+            }
+            return errors != null ? errors : List.of();
+        }
+    }
+
+    private enum Required {
+        NONE,
+        NOT_NULL,  // @NotNull: 빈 문자열 허용
+        NOT_BLANK  // @NotBlank
+    }
+
+    /**
+     * 전문 필드. 선언 순서가 오류 메시지 순서입니다. (int 비트마스크를 쓰므로 32개 이하)
+     */
+    private enum Field {
+        MDN("mdn", Required.NOT_BLANK, "mdn은 필수 값입니다.", null),
+        TID("tid", Required.NOT_BLANK, "tid는 필수 값입니다.", "tid는 'A001'로 고정되어야 합니다."),
+        MID("mid", Required.NOT_BLANK, "mid는 필수 값입니다.", "mid는 '6' 값이어야 합니다."),
+        PV("pv", Required.NOT_BLANK, "pv는 필수 값입니다.", "pv는 '5' 값이어야 합니다."),
+        DID("did", Required.NOT_BLANK, "did는 필수 값입니다.", "did는 '1' 값이어야 합니다."),
+        ON_TIME("onTime", Required.NOT_BLANK, "onTime은 필수 값입니다.",
+                "onTime은 'ccyyMMddHHmmss' 형식의 14자리 숫자여야 합니다."),
+        OFF_TIME("offTime", Required.NOT_NULL, "offTime은 필수 값입니다.",
+                "offTime은 빈 문자열이거나 'ccyyMMddHHmmss' 형식의 14자리 숫자여야 합니다."),
+        EVENT_TIME("eventTime", Required.NOT_BLANK, "eventTime은 필수 값입니다.",
+                "eventTime은 'ccyyMMddHHmmss' 형식의 14자리 숫자여야 합니다."),
+        GCD("gcd", Required.NOT_BLANK, "gcd는 필수 값입니다.", "gcd는 'A', 'V', '0', 'P' 중 하나여야 합니다."),
+        LAT("lat", Required.NOT_BLANK, "lat은 필수 값입니다.", "lat은 유효한 숫자 형식이어야 합니다."),
+        LON("lon", Required.NOT_BLANK, "lon은 필수 값입니다.", "lon은 유효한 숫자 형식이어야 합니다."),
+        ANG("ang", Required.NOT_BLANK, "ang은 필수 값입니다.", "ang은 숫자 형식이어야 합니다."),
+        SPD("spd", Required.NOT_BLANK, "spd는 필수 값입니다.", "spd는 숫자 형식이어야 합니다."),
+        SUM("sum", Required.NOT_BLANK, "sum은 필수 값입니다.", "sum은 숫자 형식이어야 합니다."),
+        BATTERY_VOLT("batteryVolt", Required.NONE, null, "batteryVolt는 숫자 형식이어야 합니다."),
+        GEOFENCE_GROUP_ID("geofenceGroupId", Required.NOT_BLANK, "geofenceGroupId는 필수 값입니다.", null),
+        GEOFENCE_POINT_ID("geofencePointId", Required.NOT_BLANK, "geofencePointId는 필수 값입니다.", null),
+        EVENT_VALUE("eventValue", Required.NOT_BLANK, "eventValue는 필수 값입니다.", "eventValue는 'IN' 또는 'OUT'이어야 합니다.");
+
+        final String jsonName;
+        final Required required;
+        final String requiredMessage;
+        final String formatMessage;
+
+        Field(String jsonName, Required required, String requiredMessage, String formatMessage) {
+            this.jsonName = jsonName;
+            this.required = required;
+            this.requiredMessage = requiredMessage;
+            this.formatMessage = formatMessage;
+        }
+    }
+
+    /**
+     * 파서의 문자 버퍼 일부를 복사 없이 CharSequence로 보여주는 뷰. 요청 하나에서 필드마다 다시 씁니다.
+     * 버퍼는 다음 토큰을 읽으면 바뀌므로 현재 필드를 처리하는 동안에만 유효합니다.
+     */
+    private static final class TextSlice implements CharSequence {
+        private char[] buffer;
+        private int offset;
+        private int length;
+
+        void wrap(char[] buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        // @NotBlank와 같은 기준 (trim 후 길이 0)
+        boolean isBlank() {
+            for (int i = 0; i < length; i++) {
+                if (buffer[offset + i] > ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return buffer[offset + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buffer, offset, length);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package kjstyle.techdom.web.dto;
+
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.entitys.DrivingLogId;
+import kjstyle.techdom.enums.GpsCondition;
+import kjstyle.techdom.web.validation.DeviceFieldParser;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 주기정보의 개별 항목(1초 단위 기록)입니다.
+ * 한 요청에 수백 건이 들어올 수 있으므로 원소마다 Bean Validation을 돌리지 않고,
+ * {@link DrivingLogRequest#toDrivingLogs()}에서 한 번의 순회로 검증과 변환을 함께 수행합니다.
+ */
+@Getter
+@Setter
+@ToString
+public class DrivingCycleRequest {
+
+    private String sec; // recordTime 기준 경과 초 (평소 0-59, 밀린 기록을 한 번에 보낼 때는 하루치 0-86399)
+    private String gcd; // GPS 상태 (GpsCondition Enum의 String 값)
+    private String lat;
+    private String lon;
+    private String ang;
+    private String spd;
+    private String sum; // 누적 주행 거리
+    private String batteryVolt; // 배터리 전압 (옵션)
+
+    /**
+     * 항목의 필드를 검증하고 오류 메시지를 errors에 추가합니다.
+     *
+     * @param path   오류 메시지 앞에 붙일 경로 (예: "cycleList[3]")
+     * @param errors 오류 메시지를 누적할 목록
+     * @return 오류가 하나도 없으면 true
+     */
+    boolean validate(String path, List<String> errors) {
+        int before = errors.size();
+        check(DrivingCycleRequest::isSecondOffset, sec, path, "sec", "sec은 필수 값입니다.", "sec은 0~86399 사이의 숫자여야 합니다.", errors);
+        check(DrivingCycleRequest::isGpsCode, gcd, path, "gcd", "gcd는 필수 값입니다.", "gcd는 'A', 'V', '0', 'P' 중 하나여야 합니다.", errors);
+        check(DeviceFieldParser::isDecimal, lat, path, "lat", "lat은 필수 값입니다.", "lat은 유효한 숫자 형식이어야 합니다.", errors);
+        check(DeviceFieldParser::isDecimal, lon, path, "lon", "lon은 필수 값입니다.", "lon은 유효한 숫자 형식이어야 합니다.", errors);
+        check(DeviceFieldParser::isDigits, ang, path, "ang", "ang은 필수 값입니다.", "ang은 숫자 형식이어야 합니다.", errors);
+        check(DeviceFieldParser::isDigits, spd, path, "spd", "spd는 필수 값입니다.", "spd는 숫자 형식이어야 합니다.", errors);
+        check(DeviceFieldParser::isDigits, sum, path, "sum", "sum은 필수 값입니다.", "sum은 숫자 형식이어야 합니다.", errors);
+        check(DeviceFieldParser::isDigits, batteryVolt, path, "batteryVolt", null, "batteryVolt는 숫자 형식이어야 합니다.", errors);
+        return errors.size() == before;
+    }
+
+    /**
+     * 검증을 통과한 항목을 DrivingLog 엔티티로 변환합니다.
+     *
+     * @param mdn        단말 식별자
+     * @param recordTime 주기정보의 기준 시각(분 단위)
+     * @return DrivingLog 엔티티
+     */
+    DrivingLog toDrivingLog(String mdn, LocalDateTime recordTime) {
+        return DrivingLog.builder()
+                .id(new DrivingLogId(recordTime.plusSeconds(DeviceFieldParser.parseInt(this.sec)), mdn))
+                .gpsCondition(GpsCondition.fromCode(this.gcd))
+                .latitude(new BigDecimal(this.lat))
+                .longitude(new BigDecimal(this.lon))
+                .angle(DeviceFieldParser.parseInt(this.ang))
+                .speed(DeviceFieldParser.parseInt(this.spd))
+                .totalDistance(DeviceFieldParser.parseLong(this.sum))
+                .batteryVolt((this.batteryVolt != null && !this.batteryVolt.isEmpty()) ?
+                        DeviceFieldParser.parseInt(this.batteryVolt) : null) // null 허용
+                .build();
+    }
+
+    /**
+     * requiredMessage가 null이면 선택 항목으로 보고, 값이 없을 때는 검사하지 않습니다.
+     * path가 null이면 요청 헤더 필드로 보고 필드 이름만 앞에 붙입니다.
+     */
+    static void check(Predicate<CharSequence> format, String value, String path, String field,
+                      String requiredMessage, String formatMessage, List<String> errors) {
+        String prefix = path == null ? field + ": " : path + "." + field + ": ";
+        if (value == null || value.isBlank()) {
+            if (requiredMessage != null) {
+                errors.add(prefix + requiredMessage);
+            }
+            return;
+        }
+        if (!format.test(value)) {
+            errors.add(prefix + formatMessage);
+        }
+    }
+
+    /**
+     * 기준 시각으로부터의 경과 초가 다섯 자리 이하 숫자이면서 0~86399 범위인지 확인합니다.
+     */
+    private static boolean isSecondOffset(CharSequence value) {
+        int length = value.length();
+        if (length == 0 || length > 5 || !DeviceFieldParser.isDigits(value)) {
+            return false;
+        }
+        return DeviceFieldParser.parseInt(value) < 86_400;
+    }
+
+    private static boolean isGpsCode(CharSequence value) {
+        if (value.length() != 1) {
+            return false;
+        }
+        char code = value.charAt(0);
+        return code == 'A' || code == 'V' || code == '0' || code == 'P';
+    }
+}
@@ -0,0 +1,114 @@
+package kjstyle.techdom.web.dto;
+
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.exceptions.RequestValidationException;
+import kjstyle.techdom.web.validation.DeviceFieldParser;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 단말이 60초 주기로 전송하는 주행기록(주기정보) 요청 DTO입니다.
+ * 공통 헤더 필드와 주기정보 목록(cycleList)을 Bean Validation 없이 {@link #toDrivingLogs()}에서
+ * 한 번에 검증/변환합니다. (정규식/리플렉션 없이 문자 단위로 검사)
+ */
+@Getter
+@Setter
+@ToString(exclude = "cycleList")
+public class DrivingLogRequest {
+
+    public static final int MAX_CYCLES = 1440; // 재접속 시 밀린 기록이 한꺼번에 올라올 수 있어 하루치(1440건)까지 허용
+
+    // 공통 필수 필드
+    private String mdn;
+    private String tid;
+    private String mid;
+    private String pv;
+    private String did;
+
+    // 주기정보 기준 시각 (분 단위)
+    private String recordTime;
+
+    // 주기정보 건수 (옵션, 있으면 cycleList 건수와 일치해야 함)
+    private String cycleCount;
+
+    // 주기정보 목록 (1 ~ MAX_CYCLES 건)
+    private List<DrivingCycleRequest> cycleList;
+
+    /**
+     * 공통 헤더 필드와 주기정보 목록을 한 번 순회하면서 검증하고 DrivingLog 엔티티 목록으로 변환합니다.
+     * 오류가 하나라도 있으면 모든 오류 메시지를 모아 예외로 던집니다. (헤더 오류가 항목 오류보다 앞)
+     *
+     * @return DrivingLog 엔티티 목록
+     * @throws RequestValidationException 헤더 또는 주기정보 항목 중 유효하지 않은 값이 있는 경우
+     */
+    public List<DrivingLog> toDrivingLogs() {
+        List<String> errors = new ArrayList<>();
+        boolean headerValid = validateHeader(errors);
+        if (this.cycleList == null || this.cycleList.isEmpty() || this.cycleList.size() > MAX_CYCLES) {
+            throw new RequestValidationException(this.mdn, errors);
+        }
+
+        if (this.cycleCount != null && !this.cycleCount.isEmpty() && DeviceFieldParser.isDigits(this.cycleCount)
+                && (this.cycleCount.length() > 9 || DeviceFieldParser.parseInt(this.cycleCount) != this.cycleList.size())) {
+            errors.add("cycleCount: cycleCount와 cycleList 건수가 일치하지 않습니다.");
+        }
+
+        LocalDateTime parsedRecordTime = null;
+        if (headerValid) {
+            try {
+                parsedRecordTime = DeviceFieldParser.parseDateTime(this.recordTime);
+            } catch (DateTimeException e) {
+                errors.add("recordTime: 날짜/시간 형식 오류: " + e.getMessage());
+            }
+        }
+        List<DrivingLog> drivingLogs = new ArrayList<>(this.cycleList.size());
+
+        for (int i = 0; i < this.cycleList.size(); i++) {
+            DrivingCycleRequest cycle = this.cycleList.get(i);
+            String path = "cycleList[" + i + "]";
+            if (cycle == null) {
+                errors.add(path + ": 주기정보 항목이 비어 있습니다.");
+                continue;
+            }
+            // 오류가 발견된 이후에는 변환은 건너뛰고 검증만 계속해서 오류 메시지를 모두 모은다
+            if (cycle.validate(path, errors) && errors.isEmpty()) {
+                drivingLogs.add(cycle.toDrivingLog(this.mdn, parsedRecordTime));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new RequestValidationException(this.mdn, errors);
+        }
+        return drivingLogs;
+    }
+
+    /**
+     * 공통 헤더 필드를 선언 순서대로 검증하고 오류 메시지를 errors에 추가합니다.
+     *
+     * @return 오류가 하나도 없으면 true
+     */
+    private boolean validateHeader(List<String> errors) {
+        int before = errors.size();
+        DrivingCycleRequest.check(value -> true, mdn, null, "mdn", "mdn은 필수 값입니다.", null, errors);
+        DrivingCycleRequest.check("A001"::contentEquals, tid, null, "tid", "tid는 필수 값입니다.", "tid는 'A001'로 고정되어야 합니다.", errors);
+        DrivingCycleRequest.check("6"::contentEquals, mid, null, "mid", "mid는 필수 값입니다.", "mid는 '6' 값이어야 합니다.", errors);
+        DrivingCycleRequest.check("5"::contentEquals, pv, null, "pv", "pv는 필수 값입니다.", "pv는 '5' 값이어야 합니다.", errors);
+        DrivingCycleRequest.check("1"::contentEquals, did, null, "did", "did는 필수 값입니다.", "did는 '1' 값이어야 합니다.", errors);
+        DrivingCycleRequest.check(value -> DeviceFieldParser.isDigits(value, 12), recordTime, null, "recordTime",
+                "recordTime은 필수 값입니다.", "recordTime은 'ccyyMMddHHmm' 형식의 12자리 숫자여야 합니다.", errors);
+        DrivingCycleRequest.check(DeviceFieldParser::isDigits, cycleCount, null, "cycleCount",
+                null, "cycleCount는 숫자 형식이어야 합니다.", errors);
+        if (this.cycleList == null) {
+            errors.add("cycleList: cycleList는 필수 값입니다.");
+        } else if (this.cycleList.isEmpty() || this.cycleList.size() > MAX_CYCLES) {
+            errors.add("cycleList: cycleList는 1건 이상 " + MAX_CYCLES + "건 이하여야 합니다.");
+        }
+        return errors.size() == before;
+    }
+}
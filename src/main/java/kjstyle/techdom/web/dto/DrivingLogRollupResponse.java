@@ -0,0 +1,35 @@
+package kjstyle.techdom.web.dto;
+
+import kjstyle.techdom.domain.entitys.DrivingLogRollup;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주행기록 롤업 한 구간의 조회 응답입니다. 합계/건수 컬럼은 평균으로 바꿔 내려줍니다.
+ */
+@Getter
+public class DrivingLogRollupResponse {
+
+    private final LocalDateTime bucketStart;   // 구간 시작 (UTC)
+    private final long samples;                // 주기정보 건수
+    private final Double avgSpeed;             // 평균 속도 (km/h)
+    private final Integer maxSpeed;            // 최고 속도 (km/h)
+    private final Long distance;               // 구간 내 누적 거리 증가량
+    private final Double avgBatteryVolt;       // 평균 배터리 전압 (실제값X10)
+    private final Integer minBatteryVolt;      // 최저 배터리 전압 (실제값X10)
+
+    private DrivingLogRollupResponse(DrivingLogRollup rollup) {
+        this.bucketStart = rollup.getBucketStart();
+        this.samples = rollup.getSampleCount();
+        this.avgSpeed = rollup.getAvgSpeed();
+        this.maxSpeed = rollup.getMaxSpeed();
+        this.distance = rollup.getDistance();
+        this.avgBatteryVolt = rollup.getAvgBatteryVolt();
+        this.minBatteryVolt = rollup.getMinBatteryVolt();
+    }
+
+    public static DrivingLogRollupResponse from(DrivingLogRollup rollup) {
+        return new DrivingLogRollupResponse(rollup);
+    }
+}
@@ -0,0 +1,89 @@
+package kjstyle.techdom.web.dto;
+
+import kjstyle.techdom.domain.exceptions.RequestValidationException;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 여러 단말의 시동/지오펜스 이벤트를 한 번에 보내는 요청입니다. (게이트웨이/집계 서버용)
+ * 각 항목은 단건 시동/지오펜스 요청과 같은 필드에 type 하나를 더한 JSON 객체입니다.
+ * <pre>
+ * {"events": [
+ *   {"type": "IGNITION",     "mdn": "01012345678", "tid": "A001", ..., "onTime": "20250701090000", "offTime": ""},
+ *   {"type": "GEOFENCE_IN",  "mdn": "01087654321", "tid": "A001", ..., "eventTime": "20250701090010"}
+ * ]}
+ * </pre>
+ * 본문은 {@link DeviceEventDecoder#decodeBatch}가 트리를 만들지 않고 한 번의 토큰 순회로 읽습니다.
+ * 항목마다 따로 검증하므로 일부 항목이 잘못되어도 나머지는 처리되며, 항목의 원문은 본문 바이트에서 잘라 씁니다.
+ */
+@Getter
+public final class EventBatchRequest {
+
+    public static final int MAX_EVENTS = 1000; // 묶음 요청 1회당 최대 이벤트 수 (techdom.kafka.producer.max-in-flight 이하, EventSender가 기동 시 확인)
+
+    private final List<Item> events;
+
+    EventBatchRequest(List<Item> events) {
+        this.events = events;
+    }
+
+    public enum ItemType {
+        IGNITION,
+        GEOFENCE_IN,
+        GEOFENCE_OUT;
+
+        public static ItemType fromName(String name) {
+            for (ItemType type : values()) {
+                if (type.name().equals(name)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 항목 하나의 디코딩 결과. 검증을 통과했으면 event, 아니면 error(400 응답 내용)가 있습니다.
+     */
+    @Getter
+    public static final class Item {
+        private final ItemType type;
+        private final DeviceEvent event;
+        private final RequestValidationException error;
+
+        // 본문에서 이 항목이 차지하는 바이트 구간 [start, end)
+        @Getter(AccessLevel.NONE)
+        private final byte[] body;
+        @Getter(AccessLevel.NONE)
+        private final int start;
+        @Getter(AccessLevel.NONE)
+        private final int end;
+
+        private Item(ItemType type, DeviceEvent event, RequestValidationException error, byte[] body, int start, int end) {
+            this.type = type;
+            this.event = event;
+            this.error = error;
+            this.body = body;
+            this.start = start;
+            this.end = end;
+        }
+
+        static Item decoded(ItemType type, DeviceEvent event, byte[] body, int start, int end) {
+            return new Item(type, event, null, body, start, end);
+        }
+
+        static Item rejected(RequestValidationException error) {
+            return new Item(null, null, error, null, 0, 0);
+        }
+
+        /**
+         * 요청 본문 중 이 항목의 원문 (묶음 전체 원문은 raw_request_log에 남고, 이벤트에는 항목 부분만 남긴다)
+         */
+        public String rawJson() {
+            return new String(body, start, end - start, StandardCharsets.UTF_8);
+        }
+    }
+}
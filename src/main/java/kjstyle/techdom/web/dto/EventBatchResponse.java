@@ -0,0 +1,28 @@
+package kjstyle.techdom.web.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 묶음 이벤트 요청의 응답입니다. results는 요청의 events와 같은 순서로 항목별 결과(rstCd/rstMsg/mdn/errors)를 담습니다.
+ * 일부 항목이 거절되어도 HTTP 상태는 200이며, 전체 rstCd로 모두 처리되었는지 구분합니다.
+ */
+@Getter
+public class EventBatchResponse {
+
+    // 모두 처리되면 200, 하나라도 거절되면 207
+    private final String rstCd;
+    private final String rstMsg;
+    private final int accepted;
+    private final int rejected;
+    private final List<EventResponse> results;
+
+    public EventBatchResponse(List<EventResponse> results, int accepted) {
+        this.accepted = accepted;
+        this.rejected = results.size() - accepted;
+        this.rstCd = rejected == 0 ? "200" : "207";
+        this.rstMsg = rejected == 0 ? "OK" : results.size() + "건 중 " + rejected + "건을 처리하지 못했습니다.";
+        this.results = results;
+    }
+}
@@ -0,0 +1,21 @@
+package kjstyle.techdom.web.dto;
+
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.enums.VehicleEventType;
+
+/**
+ * 지오펜스 IN/OUT 이벤트 요청. 필드 규칙은 {@link DeviceEventDecoder}에 있습니다.
+ */
+public final class GeofenceEvent extends DeviceEvent {
+
+    GeofenceEvent(String mdn, String tid, String mid, String pv, VehicleEventLog.VehicleEventLogBuilder builder) {
+        super(mdn, tid, mid, pv, builder);
+    }
+
+    /**
+     * @param eventType 컨트롤러에서 명시적으로 전달하는 이벤트 타입 (GEOFENCE_IN 또는 GEOFENCE_OUT)
+     */
+    public VehicleEventLog toVehicleEventLog(VehicleEventType eventType) {
+        return builder.eventType(eventType).build();
+    }
+}
@@ -0,0 +1,17 @@
+package kjstyle.techdom.web.dto;
+
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+
+/**
+ * 시동 ON/OFF 이벤트 요청. 필드 규칙은 {@link DeviceEventDecoder}에 있고, ON/OFF는 offTime 유무로 디코딩 시 정해집니다.
+ */
+public final class IgnitionEvent extends DeviceEvent {
+
+    IgnitionEvent(String mdn, String tid, String mid, String pv, VehicleEventLog.VehicleEventLogBuilder builder) {
+        super(mdn, tid, mid, pv, builder);
+    }
+
+    public VehicleEventLog toVehicleEventLog() {
+        return builder.build();
+    }
+}
@@ -2,20 +2,28 @@ package kjstyle.techdom.web.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import kjstyle.techdom.domain.entitys.VehicleEventLog;
 import kjstyle.techdom.enums.GpsCondition;
 import kjstyle.techdom.enums.VehicleEventType;
+import kjstyle.techdom.web.validation.DateTimeString;
+import kjstyle.techdom.web.validation.DecimalString;
+import kjstyle.techdom.web.validation.DeviceFieldParser;
+import kjstyle.techdom.web.validation.NumericString;
+import kjstyle.techdom.web.validation.OneOf;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
+/**
+ * 전문 필드와 검증 규칙의 기준 정의입니다. 테스트/벤치마크에서 요청 본문을 만들고, 디코더 결과와 비교하는 데 씁니다.
+ * 수신 API는 이 DTO를 거치지 않고 {@link DeviceEventDecoder}가 같은 규칙으로 본문을 바로 {@link IgnitionEvent}로 읽으므로,
+ * 필드나 메시지를 바꾸면 디코더도 함께 바꿔야 합니다.
+ */
 @Getter
 @Setter
 @ToString
@@ -26,62 +34,59 @@ public class IgnitionEventRequest {
     private String mdn;
 
     @NotBlank(message = "tid는 필수 값입니다.")
-    @Pattern(regexp = "^A001$", message = "tid는 'A001'로 고정되어야 합니다.")
+    @OneOf(value = "A001", message = "tid는 'A001'로 고정되어야 합니다.")
     private String tid;
 
     @NotBlank(message = "mid는 필수 값입니다.")
-    @Pattern(regexp = "^6$", message = "mid는 '6' 값이어야 합니다.")
+    @OneOf(value = "6", message = "mid는 '6' 값이어야 합니다.")
     private String mid;
 
     @NotBlank(message = "pv는 필수 값입니다.")
-    @Pattern(regexp = "^5$", message = "pv는 '5' 값이어야 합니다.")
+    @OneOf(value = "5", message = "pv는 '5' 값이어야 합니다.")
     private String pv;
 
     @NotBlank(message = "did는 필수 값입니다.")
-    @Pattern(regexp = "^1$", message = "did는 '1' 값이어야 합니다.")
+    @OneOf(value = "1", message = "did는 '1' 값이어야 합니다.")
     private String did;
 
     // 시동 이벤트 시간 필드
     @NotBlank(message = "onTime은 필수 값입니다.")
-    @Pattern(regexp = "\\d{14}", message = "onTime은 'ccyyMMddHHmmss' 형식의 14자리 숫자여야 합니다.")
+    @DateTimeString(message = "onTime은 'ccyyMMddHHmmss' 형식의 14자리 숫자여야 합니다.")
     private String onTime;
 
     @NotNull(message = "offTime은 필수 값입니다.")
-    @Pattern(regexp = "|\\d{14}", message = "offTime은 빈 문자열이거나 'ccyyMMddHHmmss' 형식의 14자리 숫자여야 합니다.")
+    @DateTimeString(allowEmpty = true, message = "offTime은 빈 문자열이거나 'ccyyMMddHHmmss' 형식의 14자리 숫자여야 합니다.")
     private String offTime; // 시동 꺼진 시간. 시동 ON 시에는 빈 문자열.
 
     // GPS 관련 필드
     @NotBlank(message = "gcd는 필수 값입니다.")
-    @Pattern(regexp = "^(A|V|0|P)$", message = "gcd는 'A', 'V', '0', 'P' 중 하나여야 합니다.")
+    @OneOf(value = {"A", "V", "0", "P"}, message = "gcd는 'A', 'V', '0', 'P' 중 하나여야 합니다.")
     private String gcd; // GPS 상태 (GpsCondition Enum의 String 값)
 
     @NotBlank(message = "lat은 필수 값입니다.")
-    @Pattern(regexp = "-?\\d+(\\.\\d+)?", message = "lat은 유효한 숫자 형식이어야 합니다.")
+    @DecimalString(message = "lat은 유효한 숫자 형식이어야 합니다.")
     private String lat;
 
     @NotBlank(message = "lon은 필수 값입니다.")
-    @Pattern(regexp = "-?\\d+(\\.\\d+)?", message = "lon은 유효한 숫자 형식이어야 합니다.")
+    @DecimalString(message = "lon은 유효한 숫자 형식이어야 합니다.")
     private String lon;
 
     @NotBlank(message = "ang은 필수 값입니다.")
-    @Pattern(regexp = "\\d+", message = "ang은 숫자 형식이어야 합니다.")
+    @NumericString(message = "ang은 숫자 형식이어야 합니다.")
     private String ang;
 
     @NotBlank(message = "spd는 필수 값입니다.")
-    @Pattern(regexp = "\\d+", message = "spd는 숫자 형식이어야 합니다.")
+    @NumericString(message = "spd는 숫자 형식이어야 합니다.")
     private String spd;
 
     @NotBlank(message = "sum은 필수 값입니다.")
-    @Pattern(regexp = "\\d+", message = "sum은 숫자 형식이어야 합니다.")
+    @NumericString(message = "sum은 숫자 형식이어야 합니다.")
     private String sum; // 누적 주행 거리
 
     // 배터리 관련 필드 (옵션)
-    @Pattern(regexp = "\\d+", message = "batteryVolt는 숫자 형식이어야 합니다.")
+    @NumericString(message = "batteryVolt는 숫자 형식이어야 합니다.")
     private String batteryVolt; // 배터리 전압
 
-    // 'ccyyMMddHHmmss' 형식의 날짜/시간 파싱을 위한 포맷터
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
-
     /**
      * VehicleIgnitionEventRequest DTO를 VehicleEventLog 엔티티로 변환하는 메서드.
      * 시동 ON/OFF 이벤트에 특화된 매핑을 수행합니다.
@@ -92,18 +97,18 @@ public class IgnitionEventRequest {
     public VehicleEventLog toVehicleEventLog() {
         try {
             // 날짜/시간 파싱
-            LocalDateTime parsedOnTime = LocalDateTime.parse(this.onTime, FORMATTER);
+            LocalDateTime parsedOnTime = DeviceFieldParser.parseDateTime(this.onTime);
             LocalDateTime parsedOffTime = this.offTime != null && !this.offTime.isEmpty() ?
-                    LocalDateTime.parse(this.offTime, FORMATTER) : null;
+                    DeviceFieldParser.parseDateTime(this.offTime) : null;
 
             // 숫자 필드 파싱
-            Double parsedLat = Double.parseDouble(this.lat);
-            Double parsedLon = Double.parseDouble(this.lon);
-            Integer parsedAng = Integer.parseInt(this.ang);
-            Integer parsedSpd = Integer.parseInt(this.spd);
-            Long parsedSum = Long.parseLong(this.sum);
+            Double parsedLat = DeviceFieldParser.parseDecimal(this.lat);
+            Double parsedLon = DeviceFieldParser.parseDecimal(this.lon);
+            Integer parsedAng = DeviceFieldParser.parseInt(this.ang);
+            Integer parsedSpd = DeviceFieldParser.parseInt(this.spd);
+            Long parsedSum = DeviceFieldParser.parseLong(this.sum);
             Integer parsedBatteryVolt = (this.batteryVolt != null && !this.batteryVolt.isEmpty()) ?
-                    Integer.parseInt(this.batteryVolt) : null;
+                    DeviceFieldParser.parseInt(this.batteryVolt) : null;
 
             VehicleEventType eventType;
             OffsetDateTime eventTimestampUtc;
@@ -137,7 +142,7 @@ public class IgnitionEventRequest {
                     .ignitionOffTime(ignitionOffTimeOffset) // null 허용
                     .build();
 
-        } catch (DateTimeParseException e) {
+        } catch (DateTimeException e) {
             throw new IllegalArgumentException("날짜/시간 형식 오류: " + e.getMessage(), e);
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("숫자 형식 오류: " + e.getMessage(), e);
@@ -0,0 +1,51 @@
+package kjstyle.techdom.web.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 'ccyyMMddHHmmss'(기본 14자리) 형식의 숫자 문자열인지 검증합니다. @Pattern(regexp = "\\d{14}")를 정규식 없이 대체합니다.
+ * allowEmpty가 true이면 빈 문자열도 허용합니다. (시동 ON 시의 offTime 등)
+ * null은 유효한 값으로 봅니다. (필수 여부는 @NotBlank/@NotNull로 검증)
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = DateTimeString.Validator.class)
+public @interface DateTimeString {
+
+    String message() default "'ccyyMMddHHmmss' 형식의 14자리 숫자여야 합니다.";
+
+    int length() default 14;
+
+    boolean allowEmpty() default false;
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class Validator implements ConstraintValidator<DateTimeString, CharSequence> {
+        private int length;
+        private boolean allowEmpty;
+
+        @Override
+        public void initialize(DateTimeString constraint) {
+            this.length = constraint.length();
+            this.allowEmpty = constraint.allowEmpty();
+        }
+
+        @Override
+        public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+            if (value == null || (allowEmpty && value.isEmpty())) {
+                return true;
+            }
+            return DeviceFieldParser.isDigits(value, length);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package kjstyle.techdom.web.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 부호가 있을 수 있는 소수 문자열인지 검증합니다. @Pattern(regexp = "-?\\d+(\\.\\d+)?")를 정규식 없이 대체합니다.
+ * null은 유효한 값으로 봅니다. (필수 여부는 @NotBlank로 검증)
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = DecimalString.Validator.class)
+public @interface DecimalString {
+
+    String message() default "유효한 숫자 형식이어야 합니다.";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class Validator implements ConstraintValidator<DecimalString, CharSequence> {
+        @Override
+        public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+            return value == null || DeviceFieldParser.isDecimal(value);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package kjstyle.techdom.web.validation;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 단말 전문의 문자열 필드(숫자, 좌표, 'ccyyMMddHHmmss' 시각)를 정규식이나 포맷터 없이
+ * 한 번의 순회로 검증/변환하는 유틸리티입니다.
+ * 모든 요청마다 호출되는 핫패스이므로 정상 경로에서는 중간 객체(Matcher, 파싱 컨텍스트, 부분 문자열)를 만들지 않습니다.
+ * 오류 시에만 기존 {@link Integer#parseInt}, {@link java.time.LocalDateTime#parse}와 같은 예외 타입을 던집니다.
+ */
+public final class DeviceFieldParser {
+
+    /**
+     * 가수(mantissa)가 이 자릿수 이하이면 double로 정확히 표현되므로, 10의 거듭제곱으로 한 번 나눈 결과가
+     * {@link Double#parseDouble}과 동일하게 가장 가까운 double로 반올림됩니다.
+     */
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private DeviceFieldParser() {
+    }
+
+    /**
+     * 한 글자 이상의 숫자로만 이루어졌는지 확인합니다. (정규식 "\\d+"와 동일)
+     */
+    public static boolean isDigits(CharSequence value) {
+        int length = value.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 정확히 length 자리의 숫자인지 확인합니다. (정규식 "\\d{length}"와 동일)
+     */
+    public static boolean isDigits(CharSequence value, int length) {
+        return value.length() == length && isDigits(value);
+    }
+
+    /**
+     * 부호가 있을 수 있는 소수인지 확인합니다. (정규식 "-?\\d+(\\.\\d+)?"와 동일)
+     */
+    public static boolean isDecimal(CharSequence value) {
+        int length = value.length();
+        int i = 0;
+        if (i < length && value.charAt(i) == '-') {
+            i++;
+        }
+        int integerStart = i;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+        }
+        if (i == integerStart) {
+            return false;
+        }
+        if (i == length) {
+            return true;
+        }
+        if (value.charAt(i) != '.') {
+            return false;
+        }
+        int fractionStart = ++i;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+        }
+        return i > fractionStart && i == length;
+    }
+
+    public static int parseInt(CharSequence value) {
+        long result = parseLong(value);
+        if (result > Integer.MAX_VALUE) {
+            throw numberFormatError(value);
+        }
+        return (int) result;
+    }
+
+    public static long parseLong(CharSequence value) {
+        int length = value.length();
+        if (length == 0) {
+            throw numberFormatError(value);
+        }
+        long result = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                throw numberFormatError(value);
+            }
+            int digit = c - '0';
+            if (result > (Long.MAX_VALUE - digit) / 10) {
+                throw numberFormatError(value);
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    /**
+     * 위경도 등 소수 문자열을 double로 변환합니다.
+     * 유효 자릿수가 15자리를 넘는 드문 경우에만 {@link Double#parseDouble}로 넘깁니다.
+     */
+    public static double parseDecimal(CharSequence value) {
+        if (!isDecimal(value)) {
+            throw numberFormatError(value);
+        }
+        int length = value.length();
+        boolean negative = value.charAt(0) == '-';
+        long mantissa = 0;
+        int significantDigits = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+
+        for (int i = negative ? 1 : 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                fraction = true;
+                continue;
+            }
+            if (fraction) {
+                fractionDigits++;
+            }
+            if (significantDigits == 0 && c == '0') {
+                continue; // 앞자리 0은 유효 자릿수에 포함하지 않음
+            }
+            if (++significantDigits > MAX_EXACT_DIGITS) {
+                return Double.parseDouble(value.toString());
+            }
+            mantissa = mantissa * 10 + (c - '0');
+        }
+
+        if (fractionDigits >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(value.toString());
+        }
+        double result = mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -result : result;
+    }
+
+    /**
+     * 'ccyyMMddHHmmss'(14자리) 또는 'ccyyMMddHHmm'(12자리) 형식의 시각을 변환합니다.
+     *
+     * @throws DateTimeParseException 자릿수가 맞지 않거나 숫자가 아닌 경우
+     * @throws java.time.DateTimeException 월/일/시 등 값의 범위가 올바르지 않은 경우
+     */
+    public static LocalDateTime parseDateTime(CharSequence value) {
+        int length = value.length();
+        if ((length != 14 && length != 12) || !isDigits(value)) {
+            throw new DateTimeParseException("Text '" + value + "' could not be parsed", value, 0);
+        }
+        return LocalDateTime.of(
+                digitsAt(value, 0, 4),
+                digitsAt(value, 4, 2),
+                digitsAt(value, 6, 2),
+                digitsAt(value, 8, 2),
+                digitsAt(value, 10, 2),
+                length == 14 ? digitsAt(value, 12, 2) : 0
+        );
+    }
+
+    private static int digitsAt(CharSequence value, int offset, int count) {
+        int result = 0;
+        for (int i = offset; i < offset + count; i++) {
+            result = result * 10 + (value.charAt(i) - '0');
+        }
+        return result;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static NumberFormatException numberFormatError(CharSequence value) {
+        return new NumberFormatException("For input string: \"" + value + "\"");
+    }
+}
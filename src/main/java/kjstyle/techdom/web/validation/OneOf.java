@@ -0,0 +1,51 @@
+package kjstyle.techdom.web.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 정해진 값 중 하나인지 검증합니다. @Pattern(regexp = "^(A|V|0|P)$") 같은 고정값 정규식을 대체합니다.
+ * null은 유효한 값으로 봅니다. (필수 여부는 @NotBlank로 검증)
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = OneOf.Validator.class)
+public @interface OneOf {
+
+    String[] value();
+
+    String message() default "허용되지 않은 값입니다.";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class Validator implements ConstraintValidator<OneOf, CharSequence> {
+        private String[] allowed;
+
+        @Override
+        public void initialize(OneOf constraint) {
+            this.allowed = constraint.value();
+        }
+
+        @Override
+        public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+            if (value == null) {
+                return true;
+            }
+            for (String candidate : allowed) {
+                if (candidate.contentEquals(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
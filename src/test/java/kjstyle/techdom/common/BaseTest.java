@@ -10,9 +10,11 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
  *
  * @ExtendWith(SpringExtension.class) - JUnit5에서 Spring 테스트 기능을 사용하기 위한 확장 설정
  * @SpringBootTest - 통합 테스트를 위한 스프링 부트 테스트 환경 제공
+ *
+ * 이벤트 스풀 디렉터리는 컨텍스트 하나만 잠글 수 있으므로 여러 컨텍스트가 뜨는 통합 테스트에서는 끕니다. (EventSpoolTest 참고)
  */
 @ExtendWith(SpringExtension.class)
-@SpringBootTest
+@SpringBootTest(properties = "techdom.spool.enabled=false")
 public abstract class BaseTest {
 
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package kjstyle.techdom.common;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 수신 API가 등록된 단말만 받으므로, 테스트에서 사용할 단말을 device 테이블에 등록하는 헬퍼입니다.
+ * 같은 MDN이 이미 있으면 아무 것도 하지 않습니다.
+ */
+public final class DeviceFixture {
+
+    private static final String INSERT_IF_ABSENT_SQL = """
+        INSERT INTO device (mdn, vehicle_id, terminal_id, manufacturer_id, packet_version, device_type, created_at, updated_at)
+        SELECT ?, ?, 'A001', '6', '5', '1', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+        WHERE NOT EXISTS (SELECT 1 FROM device WHERE mdn = ?)
+    """;
+
+    private DeviceFixture() {
+    }
+
+    public static void register(JdbcTemplate jdbcTemplate, String mdn, Long vehicleId) {
+        jdbcTemplate.update(INSERT_IF_ABSENT_SQL, mdn, vehicleId, mdn);
+    }
+}
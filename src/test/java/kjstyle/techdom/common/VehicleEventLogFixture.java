@@ -0,0 +1,45 @@
+package kjstyle.techdom.common;
+
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.enums.GpsCondition;
+import kjstyle.techdom.enums.VehicleEventType;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 테스트에서 사용할 차량 이벤트를 만드는 헬퍼입니다.
+ * {@link #builder}는 발생 시각/MDN/타입만 채우고, {@link #located}는 GPS 정상 위치와 누적거리, 타입에 맞는 시동 시각까지 채웁니다.
+ * 테스트마다 다른 값은 돌려받은 빌더에 이어서 지정합니다.
+ */
+public final class VehicleEventLogFixture {
+
+    public static final double LATITUDE = 37.5;
+    public static final double LONGITUDE = 127.0;
+
+    private VehicleEventLogFixture() {
+    }
+
+    public static VehicleEventLog.VehicleEventLogBuilder builder(String mdn, VehicleEventType type, OffsetDateTime time) {
+        return VehicleEventLog.builder()
+                .eventTimestampUtc(time)
+                .mdn(mdn)
+                .eventType(type);
+    }
+
+    public static VehicleEventLog event(String mdn, VehicleEventType type, OffsetDateTime time) {
+        return builder(mdn, type, time).build();
+    }
+
+    // 시동 ON이면 onTime, 시동 OFF면 ignitionOffTime을 발생 시각으로 채운다 (수신 API 변환과 동일)
+    public static VehicleEventLog.VehicleEventLogBuilder located(String mdn, VehicleEventType type, OffsetDateTime time, long distance) {
+        return builder(mdn, type, time)
+                .gpsStatus(GpsCondition.NORMAL)
+                .latitude(LATITUDE)
+                .longitude(LONGITUDE)
+                .angle(0)
+                .speed(0)
+                .currentAccumulatedDistance(distance)
+                .onTime(type == VehicleEventType.IGNITION_ON ? time : null)
+                .ignitionOffTime(type == VehicleEventType.IGNITION_OFF ? time : null);
+    }
+}
@@ -0,0 +1,81 @@
+package kjstyle.techdom.config;
+
+import kjstyle.techdom.common.BaseTest;
+import kjstyle.techdom.domain.diagnostic.VirtualThreadPinningMonitor;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * spring.threads.virtual.enabled 값에 따라 요청/비동기 작업과 Kafka 리스너가 어떤 스레드에서 도는지 확인합니다.
+ */
+class ThreadingModeTest {
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    class 가상_스레드_모드 extends BaseTest {
+
+        @Autowired
+        private ApplicationContext context;
+
+        @Autowired
+        @Qualifier("applicationTaskExecutor")
+        private AsyncTaskExecutor applicationTaskExecutor;
+
+        @Autowired
+        private ConcurrentKafkaListenerContainerFactory<String, VehicleEventLog> kafkaListenerContainerFactory;
+
+        @Test
+        @DisplayName("비동기 작업과 Kafka 리스너가 가상 스레드에서 실행되고, 고정 감시가 켜져 있어야 한다")
+        void 가상_스레드에서_실행() throws Exception {
+            assertThat(runsOnVirtualThread(applicationTaskExecutor)).isTrue();
+
+            Executor listenerExecutor = kafkaListenerContainerFactory.getContainerProperties().getListenerTaskExecutor();
+            assertThat(listenerExecutor).isNotNull();
+            assertThat(runsOnVirtualThread(listenerExecutor)).isTrue();
+
+            assertThat(context.getBean(VirtualThreadPinningMonitor.class).isRunning()).isTrue();
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    class 플랫폼_스레드_모드 extends BaseTest {
+
+        @Autowired
+        private ApplicationContext context;
+
+        @Autowired
+        @Qualifier("applicationTaskExecutor")
+        private AsyncTaskExecutor applicationTaskExecutor;
+
+        @Autowired
+        private ConcurrentKafkaListenerContainerFactory<String, VehicleEventLog> kafkaListenerContainerFactory;
+
+        @Test
+        @DisplayName("비동기 작업은 플랫폼 스레드 풀에서 실행되고, Kafka 리스너 실행기와 고정 감시는 없어야 한다")
+        void 플랫폼_스레드에서_실행() throws Exception {
+            assertThat(runsOnVirtualThread(applicationTaskExecutor)).isFalse();
+            assertThat(kafkaListenerContainerFactory.getContainerProperties().getListenerTaskExecutor()).isNull();
+            assertThat(context.getBeansOfType(VirtualThreadPinningMonitor.class)).isEmpty();
+        }
+    }
+
+    private static boolean runsOnVirtualThread(Executor executor) throws Exception {
+        return CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), executor)
+                .get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,93 @@
+package kjstyle.techdom.domain.archive;
+
+import kjstyle.techdom.common.BaseTest;
+import kjstyle.techdom.domain.entitys.RawRequestLog;
+import kjstyle.techdom.domain.repository.RawRequestLogRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RawRequestArchiverTest extends BaseTest {
+
+    private static final String MDN = "01055556666";
+
+    @Autowired
+    private RawRequestArchiver rawRequestArchiver;
+
+    @Autowired
+    private RawRequestLogRepository rawRequestLogRepository;
+
+    @Test
+    @DisplayName("원본 요청이 비동기로 저장되고, 큰 본문은 압축해서 저장해야 한다")
+    void 원본_요청_보관() throws Exception {
+        String small = "{\"mdn\":\"" + MDN + "\",\"tid\":\"A001\"}";
+        String large = "{\"mdn\":\"" + MDN + "\",\"pad\":\"" + "x".repeat(8 * 1024) + "\"}";
+
+        rawRequestArchiver.archive(rawRequest("ignition", small), MDN, true, "OK");
+        rawRequestArchiver.archive(rawRequest("geofenceIn", large), MDN, true, "OK");
+
+        List<RawRequestLog> rows = awaitRows(MDN, 2);
+        assertThat(rows).extracting(RawRequestLog::getServiceMethod).containsExactly("ignition", "geofenceIn");
+
+        RawRequestLog plain = rows.get(0);
+        assertThat(plain.getRawBody()).contains("A001");
+        assertThat(plain.getRawBodyGz()).isNull();
+        assertThat(plain.getSourceIp()).isEqualTo("10.0.0.1");
+        assertThat(plain.getHeaders()).contains("Content-Type").doesNotContain("secret");
+
+        RawRequestLog compressed = rows.get(1);
+        assertThat(compressed.getRawBody()).isNull();
+        assertThat(compressed.getRawBodyGz().length).isLessThan(large.length());
+        assertThat(gunzip(compressed.getRawBodyGz())).isEqualTo(large);
+    }
+
+    @Test
+    @DisplayName("JSON이 아닌 본문은 작아도 raw_body 대신 압축 컬럼에 원본 그대로 저장해야 한다")
+    void JSON이_아닌_본문_보관() throws Exception {
+        String mdn = "01055557777";
+        String truncated = "{\"mdn\":\"" + mdn + "\",\"tid\":";
+        String trailing = "{\"mdn\":\"" + mdn + "\"} garbage";
+
+        rawRequestArchiver.archive(rawRequest("ignition", truncated), mdn, false, "400");
+        rawRequestArchiver.archive(rawRequest("ignition", trailing), mdn, false, "400");
+        rawRequestArchiver.archive(rawRequest("ignition", ""), mdn, false, "400");
+
+        List<RawRequestLog> rows = awaitRows(mdn, 3);
+        assertThat(rows).hasSize(3).allSatisfy(row -> assertThat(row.getRawBody()).isNull());
+        assertThat(gunzip(rows.get(0).getRawBodyGz())).isEqualTo(truncated);
+        assertThat(gunzip(rows.get(1).getRawBodyGz())).isEqualTo(trailing);
+        assertThat(gunzip(rows.get(2).getRawBodyGz())).isEmpty();
+    }
+
+    private static RawRequest rawRequest(String serviceMethod, String body) {
+        return new RawRequest(serviceMethod, body.getBytes(StandardCharsets.UTF_8),
+                Map.of("Content-Type", List.of("application/json"), "Authorization", List.of("secret")),
+                "10.0.0.1", OffsetDateTime.now(ZoneOffset.UTC));
+    }
+
+    private List<RawRequestLog> awaitRows(String mdn, int expected) throws InterruptedException {
+        List<RawRequestLog> rows = List.of();
+        for (int i = 0; i < 50 && rows.size() < expected; i++) {
+            Thread.sleep(100);
+            rows = rawRequestLogRepository.findByMdnOrderByIdAsc(mdn);
+        }
+        return rows;
+    }
+
+    private static String gunzip(byte[] gz) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gz))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package kjstyle.techdom.domain.cache;
+
+import kjstyle.techdom.common.BaseTest;
+import kjstyle.techdom.common.DeviceFixture;
+import kjstyle.techdom.domain.exceptions.DeviceAuthenticationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeviceRegistryTest extends BaseTest {
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("등록된 단말은 vehicleId와 함께 조회되고, 헤더가 다르거나 미등록이면 거절해야 한다")
+    void 등록_단말_확인() {
+        DeviceFixture.register(jdbcTemplate, "01055550001", 5001L);
+
+        DeviceInfo info = deviceRegistry.authenticate("01055550001", "A001", "6", "5");
+        assertThat(info.vehicleId()).isEqualTo(5001L);
+
+        assertThatThrownBy(() -> deviceRegistry.authenticate("01055550001", "A001", "7", "5"))
+                .isInstanceOf(DeviceAuthenticationException.class)
+                .hasMessage("단말 정보가 등록된 정보와 일치하지 않습니다.");
+        assertThatThrownBy(() -> deviceRegistry.authenticate("01055550009", "A001", "6", "5"))
+                .isInstanceOf(DeviceAuthenticationException.class)
+                .hasMessage("등록되지 않은 단말입니다.");
+    }
+
+    @Test
+    @DisplayName("updated_at이 바뀐 단말은 다음 폴링 때 캐시에 반영되어야 한다 (미등록으로 남아 있던 단말 포함)")
+    void updated_at_변경_반영() {
+        // 미등록 상태가 캐시에 남은 뒤 등록
+        assertThat(deviceRegistry.find("01055550002")).isEmpty();
+        DeviceFixture.register(jdbcTemplate, "01055550002", 5002L);
+
+        // 캐시에 올라간 단말의 차량 변경
+        DeviceFixture.register(jdbcTemplate, "01055550003", 5003L);
+        assertThat(deviceRegistry.find("01055550003")).map(DeviceInfo::vehicleId).contains(5003L);
+        jdbcTemplate.update("UPDATE device SET vehicle_id = ?, updated_at = CURRENT_TIMESTAMP WHERE mdn = ?", 5004L, "01055550003");
+
+        deviceRegistry.refreshUpdatedDevices();
+
+        assertThat(deviceRegistry.find("01055550002")).map(DeviceInfo::vehicleId).contains(5002L);
+        assertThat(deviceRegistry.find("01055550003")).map(DeviceInfo::vehicleId).contains(5004L);
+    }
+}
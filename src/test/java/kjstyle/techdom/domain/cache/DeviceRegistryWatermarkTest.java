@@ -0,0 +1,70 @@
+package kjstyle.techdom.domain.cache;
+
+import kjstyle.techdom.domain.entitys.Device;
+import kjstyle.techdom.domain.repository.DeviceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeviceRegistryWatermarkTest {
+
+    // 서버 시계보다 한참 뒤처진 DB 시계
+    private static final OffsetDateTime DB_TIME = OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final long POLL_INTERVAL_MS = 10_000;
+
+    private final DeviceRepository deviceRepository = mock(DeviceRepository.class);
+
+    @Test
+    @DisplayName("변경분 폴링은 서버 시각이 아니라 DB의 max(updated_at)부터 겹쳐서 조회하고, 조회된 updated_at으로 워터마크를 올려야 한다")
+    void DB_시각_워터마크() {
+        when(deviceRepository.findMaxUpdatedAt()).thenReturn(Optional.of(DB_TIME));
+        when(deviceRepository.findByMdn("01055550010")).thenReturn(Optional.of(device("01055550010", 5010L, DB_TIME)));
+        DeviceRegistry registry = new DeviceRegistry(deviceRepository, 100, Duration.ofMinutes(5), Duration.ofMinutes(30), POLL_INTERVAL_MS);
+        assertThat(registry.find("01055550010")).map(DeviceInfo::vehicleId).contains(5010L);
+
+        OffsetDateTime changedAt = DB_TIME.plusSeconds(1);
+        when(deviceRepository.findByUpdatedAtAfter(any())).thenReturn(List.of(device("01055550010", 5011L, changedAt)));
+        registry.refreshUpdatedDevices();
+
+        verify(deviceRepository).findByUpdatedAtAfter(DB_TIME.minusSeconds(10));
+        assertThat(registry.find("01055550010")).map(DeviceInfo::vehicleId).contains(5011L);
+
+        when(deviceRepository.findByUpdatedAtAfter(any())).thenReturn(List.of());
+        registry.refreshUpdatedDevices();
+        verify(deviceRepository).findByUpdatedAtAfter(changedAt.minusSeconds(10));
+    }
+
+    @Test
+    @DisplayName("device 테이블이 비어 있으면 처음부터 조회해야 한다")
+    void 빈_테이블() {
+        when(deviceRepository.findMaxUpdatedAt()).thenReturn(Optional.empty());
+        DeviceRegistry registry = new DeviceRegistry(deviceRepository, 100, Duration.ofMinutes(5), Duration.ofMinutes(30), POLL_INTERVAL_MS);
+
+        registry.refreshUpdatedDevices();
+
+        verify(deviceRepository).findByUpdatedAtAfter(OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+    }
+
+    private static Device device(String mdn, Long vehicleId, OffsetDateTime updatedAt) {
+        Device device = new Device();
+        ReflectionTestUtils.setField(device, "mdn", mdn);
+        ReflectionTestUtils.setField(device, "vehicleId", vehicleId);
+        ReflectionTestUtils.setField(device, "terminalId", "A001");
+        ReflectionTestUtils.setField(device, "manufacturerId", "6");
+        ReflectionTestUtils.setField(device, "packetVersion", "5");
+        ReflectionTestUtils.setField(device, "updatedAt", updatedAt);
+        return device;
+    }
+}
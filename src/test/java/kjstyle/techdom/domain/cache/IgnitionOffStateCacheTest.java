@@ -0,0 +1,135 @@
+package kjstyle.techdom.domain.cache;
+
+import kjstyle.techdom.common.VehicleEventLogFixture;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.repository.VehicleEventLogRepository;
+import kjstyle.techdom.enums.VehicleEventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IgnitionOffStateCacheTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2025, 7, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    private final VehicleEventLogRepository repository = mock(VehicleEventLogRepository.class);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 단말만 DB에서 한 번 읽고, 시동 OFF 이력이 없는 단말도 다시 조회하지 않아야 한다")
+    void 적중_미적중() {
+        VehicleEventLog stored = offEvent("01012340001", 0, 37.5);
+        when(repository.findTopByMdnAndEventTypeOrderByEventTimestampUtcDesc("01012340001", VehicleEventType.IGNITION_OFF))
+                .thenReturn(Optional.of(stored));
+        when(repository.findTopByMdnAndEventTypeOrderByEventTimestampUtcDesc("01012340002", VehicleEventType.IGNITION_OFF))
+                .thenReturn(Optional.empty());
+        IgnitionOffStateCache cache = new IgnitionOffStateCache(repository, 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.get("01012340001")).map(IgnitionOffState::latitude).contains(37.5);
+            assertThat(cache.get("01012340002")).isEmpty();
+        }
+
+        verify(repository, times(1)).findTopByMdnAndEventTypeOrderByEventTimestampUtcDesc("01012340001", VehicleEventType.IGNITION_OFF);
+        verify(repository, times(1)).findTopByMdnAndEventTypeOrderByEventTimestampUtcDesc("01012340002", VehicleEventType.IGNITION_OFF);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖의 갱신은 바로 반영되고, 과거 이벤트로는 덮어쓰지 않아야 한다")
+    void 트랜잭션_밖_갱신() {
+        IgnitionOffStateCache cache = new IgnitionOffStateCache(repository, 100);
+
+        cache.update(offEvent("01012340001", 10, 37.5));
+        cache.update(offEvent("01012340001", 5, 35.1)); // 순서가 뒤바뀌어 들어온 과거 OFF
+
+        assertThat(cache.get("01012340001")).map(IgnitionOffState::latitude).contains(37.5);
+        verify(repository, never()).findTopByMdnAndEventTypeOrderByEventTimestampUtcDesc(anyString(), eq(VehicleEventType.IGNITION_OFF));
+    }
+
+    @Test
+    @DisplayName("최대 건수를 넘으면 제거되고, 제거된 단말은 다음 조회 때 DB에서 다시 읽어야 한다")
+    void 최대_건수_초과_제거() {
+        when(repository.findTopByMdnAndEventTypeOrderByEventTimestampUtcDesc(anyString(), eq(VehicleEventType.IGNITION_OFF)))
+                .thenReturn(Optional.empty());
+        IgnitionOffStateCache cache = new IgnitionOffStateCache(repository, 2);
+
+        List<String> mdns = List.of("01012340001", "01012340002", "01012340003");
+        mdns.forEach(mdn -> cache.update(offEvent(mdn, 0, 37.5)));
+        cache.cleanUp();
+
+        assertThat(cache.estimatedSize()).isEqualTo(2);
+        mdns.forEach(cache::get);
+        verify(repository, atLeastOnce()).findTopByMdnAndEventTypeOrderByEventTimestampUtcDesc(anyString(), eq(VehicleEventType.IGNITION_OFF));
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 갱신은 같은 트랜잭션에서만 보이다가 커밋된 뒤에 캐시에 반영되어야 한다")
+    void 커밋_후_반영() {
+        IgnitionOffStateCache cache = new IgnitionOffStateCache(repository, 100);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.update(offEvent("01012340001", 0, 37.5));
+        assertThat(cache.get("01012340001")).map(IgnitionOffState::latitude).contains(37.5); // 같은 배치의 시동 ON
+        assertThat(cache.estimatedSize()).isZero();
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(cache.get("01012340001")).map(IgnitionOffState::latitude).contains(37.5);
+        verify(repository, never()).findTopByMdnAndEventTypeOrderByEventTimestampUtcDesc(anyString(), eq(VehicleEventType.IGNITION_OFF));
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 롤백되면 그 안의 갱신은 캐시에 남지 않아야 한다")
+    void 롤백시_미반영() {
+        when(repository.findTopByMdnAndEventTypeOrderByEventTimestampUtcDesc("01012340001", VehicleEventType.IGNITION_OFF))
+                .thenReturn(Optional.empty());
+        IgnitionOffStateCache cache = new IgnitionOffStateCache(repository, 100);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.update(offEvent("01012340001", 0, 37.5));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(cache.get("01012340001")).isEmpty();
+        assertThat(TransactionSynchronizationManager.getResource(cache)).isNull();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private static VehicleEventLog offEvent(String mdn, int second, double latitude) {
+        return VehicleEventLogFixture.builder(mdn, VehicleEventType.IGNITION_OFF, BASE.plusSeconds(second))
+                .latitude(latitude)
+                .longitude(127.0)
+                .currentAccumulatedDistance(1000L)
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package kjstyle.techdom.domain.cache;
+
+import kjstyle.techdom.common.BaseTest;
+import kjstyle.techdom.common.VehicleEventLogFixture;
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.entitys.DrivingLogId;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.entitys.VehicleLastState;
+import kjstyle.techdom.domain.repository.VehicleLastStateCustomRepository;
+import kjstyle.techdom.domain.repository.VehicleLastStateRepository;
+import kjstyle.techdom.domain.service.DrivingLogService;
+import kjstyle.techdom.domain.service.VehicleEventLogService;
+import kjstyle.techdom.enums.GpsCondition;
+import kjstyle.techdom.enums.VehicleEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class VehicleLastStateStoreTest extends BaseTest {
+
+    private static final OffsetDateTime BASE_TIME = OffsetDateTime.of(2025, 7, 4, 8, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private VehicleEventLogService vehicleEventLogService;
+
+    @Autowired
+    private DrivingLogService drivingLogService;
+
+    @Autowired
+    private VehicleLastStateStore vehicleLastStateStore;
+
+    @Autowired
+    private VehicleLastStateRepository vehicleLastStateRepository;
+
+    @Autowired
+    private VehicleLastStateCustomRepository vehicleLastStateCustomRepository;
+
+    @Test
+    @DisplayName("시동 ON -> 주기정보 -> 늦게 도착한 과거 이벤트 순으로 처리하면 가장 최근 주기정보 위치에 시동 ON 상태가 남고 테이블에도 기록되어야 한다")
+    void 마지막_상태_갱신과_기록() {
+        String mdn = "01033330001";
+        vehicleEventLogService.processVehicleEvents(List.of(event(mdn, VehicleEventType.IGNITION_ON, BASE_TIME, 5_000L)));
+        drivingLogService.saveBulk(List.of(
+                drivingLog(mdn, BASE_TIME.plusMinutes(1), "37.510000", 40),
+                drivingLog(mdn, BASE_TIME.plusMinutes(2), "37.520000", 55)));
+        vehicleEventLogService.processVehicleEvents(List.of(event(mdn, VehicleEventType.GEOFENCE_IN, BASE_TIME.minusMinutes(5), 4_000L)));
+
+        LastState state = vehicleLastStateStore.get(mdn);
+        assertThat(state.stateTime()).isEqualTo(BASE_TIME.plusMinutes(2));
+        assertThat(state.source()).isEqualTo(LastState.DRIVING);
+        assertThat(state.latitude()).isEqualTo(37.52);
+        assertThat(state.speed()).isEqualTo(55);
+        assertThat(state.ignitionOn()).isTrue();
+
+        vehicleLastStateStore.sync();
+
+        VehicleLastState row = vehicleLastStateRepository.findById(mdn).orElseThrow();
+        assertThat(row.getStateTime().toInstant()).isEqualTo(BASE_TIME.plusMinutes(2).toInstant());
+        assertThat(row.getIgnitionOn()).isTrue();
+        assertThat(row.getTotalDistance()).isEqualTo(5_000L);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 기록한 상태는 다음 동기화 때 메모리에 합쳐지고, 더 오래된 상태로는 테이블을 덮어쓰지 않아야 한다")
+    void 다른_인스턴스_상태_반영() {
+        String mdn = "01033330002";
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        LastState newer = new LastState(mdn, 7L, BASE_TIME.plusHours(1), LastState.DRIVING, 37.6, 127.1, 0, 30, 9_000L, true, null);
+        LastState older = new LastState(mdn, 7L, BASE_TIME, LastState.DRIVING, 37.0, 127.0, 0, 10, 8_000L, false, null);
+
+        vehicleLastStateCustomRepository.upsertAll(List.of(newer.toRow(now)));
+        vehicleLastStateCustomRepository.upsertAll(List.of(older.toRow(now)));
+        vehicleLastStateStore.sync();
+
+        assertThat(vehicleLastStateStore.get(mdn)).usingRecursiveComparison().ignoringFields("updatedAt").isEqualTo(newer);
+        assertThat(vehicleLastStateStore.get(mdn).updatedAt()).isNotNull();
+        assertThat(vehicleLastStateRepository.findById(mdn).orElseThrow().getLatitude()).isEqualTo(37.6);
+        assertThat(vehicleLastStateStore.findAll(List.of(mdn, "01033339999")))
+                .extracting(LastState::mdn, LastState::stateTime)
+                .containsExactly(tuple(mdn, newer.stateTime()));
+    }
+
+    @Test
+    @DisplayName("since 증분 조회는 상태 발생 시각이 아니라 서버 반영 시각 기준이라, 재접속 후 올라온 과거 기록으로 바뀐 단말도 나와야 한다")
+    void since_반영_시각_기준() {
+        String mdn = "01033330003";
+        OffsetDateTime since = OffsetDateTime.now(ZoneOffset.UTC).minusSeconds(1);
+
+        // 하루 전 주행 기록이 이제야 도착
+        drivingLogService.saveBulk(List.of(drivingLog(mdn, BASE_TIME.minusDays(1), "37.530000", 30)));
+
+        LastState state = vehicleLastStateStore.get(mdn);
+        assertThat(state.stateTime()).isBefore(since);
+        assertThat(vehicleLastStateStore.findAll(since)).extracting(LastState::mdn).contains(mdn);
+        assertThat(vehicleLastStateStore.findAll(state.updatedAt())).extracting(LastState::mdn).doesNotContain(mdn);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 클라이언트의 since 이전에 기록한 상태라도, 이 인스턴스가 합친 뒤에는 since 증분 조회에 나와야 한다")
+    void 다른_인스턴스_상태_since_반영() {
+        String mdn = "01033330004";
+        // 다른 인스턴스가 1초 전에 기록 (pollOverlap 안쪽)
+        OffsetDateTime flushedAt = OffsetDateTime.now(ZoneOffset.UTC).minusSeconds(1);
+        LastState remote = new LastState(mdn, 7L, BASE_TIME, LastState.DRIVING, 37.4, 127.2, 0, 20, 6_000L, true, null);
+        vehicleLastStateCustomRepository.upsertAll(List.of(remote.toRow(flushedAt)));
+
+        // 클라이언트는 이 인스턴스가 아직 합치기 전에 since 를 받아 감
+        OffsetDateTime since = OffsetDateTime.now(ZoneOffset.UTC);
+        vehicleLastStateStore.sync();
+
+        assertThat(vehicleLastStateStore.get(mdn).updatedAt()).isAfter(since);
+        assertThat(vehicleLastStateStore.findAll(since)).extracting(LastState::mdn).contains(mdn);
+    }
+
+    private static VehicleEventLog event(String mdn, VehicleEventType type, OffsetDateTime time, long distance) {
+        return VehicleEventLogFixture.located(mdn, type, time, distance).build();
+    }
+
+    private static DrivingLog drivingLog(String mdn, OffsetDateTime time, String latitude, int speed) {
+        return DrivingLog.builder()
+                .id(new DrivingLogId(time.toLocalDateTime(), mdn))
+                .gpsCondition(GpsCondition.NORMAL)
+                .latitude(new BigDecimal(latitude))
+                .longitude(new BigDecimal("127.000000"))
+                .speed(speed)
+                .build();
+    }
+}
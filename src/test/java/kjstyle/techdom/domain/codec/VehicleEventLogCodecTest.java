@@ -0,0 +1,111 @@
+package kjstyle.techdom.domain.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.enums.GpsCondition;
+import kjstyle.techdom.enums.VehicleEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VehicleEventLogCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("지오펜스 이벤트를 바이너리로 인코딩 -> 디코딩하면 모든 필드가 같아야 한다")
+    void 바이너리_인코딩_디코딩_왕복() {
+        OffsetDateTime now = OffsetDateTime.of(2025, 6, 1, 12, 30, 15, 0, ZoneOffset.UTC);
+        VehicleEventLog original = VehicleEventLog.builder()
+                .eventTimestampUtc(now)
+                .mdn("01012345678")
+                .vehicleId(1001L)
+                .eventType(VehicleEventType.GEOFENCE_IN)
+                .eventSecond(15)
+                .gpsStatus(GpsCondition.NORMAL)
+                .latitude(37.5665)
+                .longitude(126.978)
+                .angle(90)
+                .speed(40)
+                .currentAccumulatedDistance(123456L)
+                .batteryVolt(128)
+                .geofenceGroupId("123456")
+                .geofencePointId("geo123")
+                .eventValue("IN")
+                .rawJsonData("{\"mdn\":\"01012345678\"}")
+                .build();
+
+        byte[] encoded = VehicleEventLogCodec.encode(original);
+        VehicleEventLog decoded = VehicleEventLogCodec.decode(encoded);
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(original);
+    }
+
+    @Test
+    @DisplayName("값이 없는(null) 필드는 디코딩 후에도 null이어야 한다")
+    void 널_필드_왕복() {
+        VehicleEventLog original = VehicleEventLog.builder()
+                .eventTimestampUtc(OffsetDateTime.of(2025, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC))
+                .mdn("01012345678")
+                .eventType(VehicleEventType.IGNITION_ON)
+                .build();
+
+        VehicleEventLog decoded = VehicleEventLogCodec.decode(VehicleEventLogCodec.encode(original));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(original);
+        assertThat(decoded.getLatitude()).isNull();
+        assertThat(decoded.getOnTime()).isNull();
+    }
+
+    @Test
+    @DisplayName("vehicleId가 없던 버전 1 메시지도 읽을 수 있어야 한다 (롤링 배포 대비)")
+    void 버전1_디코딩() {
+        VehicleEventLog original = VehicleEventLog.builder()
+                .eventTimestampUtc(OffsetDateTime.of(2025, 6, 1, 9, 0, 0, 0, ZoneOffset.UTC))
+                .mdn("01012345678")
+                .eventType(VehicleEventType.IGNITION_OFF)
+                .latitude(37.1)
+                .build();
+
+        // 버전 2 인코딩에서 vehicleId 8바이트(offset 62)를 빼고 버전을 1로 바꾸면 버전 1 형식과 같다
+        byte[] v2 = VehicleEventLogCodec.encode(original);
+        byte[] v1 = new byte[v2.length - Long.BYTES];
+        System.arraycopy(v2, 0, v1, 0, 62);
+        System.arraycopy(v2, 62 + Long.BYTES, v1, 62, v2.length - 62 - Long.BYTES);
+        v1[1] = 1;
+
+        VehicleEventLog decoded = VehicleEventLogCodec.decode(v1);
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(original);
+        assertThat(decoded.getVehicleId()).isNull();
+    }
+
+    @Test
+    @DisplayName("역직렬화기는 바이너리와 기존 JSON 메시지를 모두 읽어야 한다 (롤링 배포 대비)")
+    void 역직렬화기_JSON_폴백() {
+        VehicleEventLog original = VehicleEventLog.builder()
+                .eventTimestampUtc(OffsetDateTime.of(2025, 6, 1, 9, 0, 0, 0, ZoneOffset.UTC))
+                .mdn("01012345678")
+                .eventType(VehicleEventType.IGNITION_OFF)
+                .gpsStatus(GpsCondition.ABNORMAL)
+                .latitude(37.1)
+                .longitude(127.2)
+                .build();
+
+        VehicleEventLogDeserializer deserializer = new VehicleEventLogDeserializer(objectMapper);
+        byte[] binary = new VehicleEventLogSerializer(VehicleEventLogSerializer.Format.BINARY, objectMapper).serialize("t", original);
+        byte[] json = new VehicleEventLogSerializer(VehicleEventLogSerializer.Format.JSON, objectMapper).serialize("t", original);
+
+        assertThat(binary.length).isLessThan(json.length);
+        assertThat(deserializer.deserialize("t", binary)).usingRecursiveComparison().isEqualTo(original);
+        assertThat(deserializer.deserialize("t", json)).usingRecursiveComparison().isEqualTo(original);
+    }
+}
@@ -0,0 +1,90 @@
+package kjstyle.techdom.domain.diagnostic;
+
+import kjstyle.techdom.common.VehicleEventLogFixture;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.enums.VehicleEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.ToLongBiFunction;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+class EventDiagnosticsTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2025, 7, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    // 이벤트 시각(BASE 기준 경과 초)을 그대로 해시로 써서 어떤 이벤트가 뽑힐지 정해 둔다
+    private static final ToLongBiFunction<String, Object> SECONDS_SINCE_BASE =
+            (mdn, sampleKey) -> ((OffsetDateTime) sampleKey).toEpochSecond() - BASE.toEpochSecond();
+
+    private final Logger logger = mock(Logger.class);
+
+    @Test
+    @DisplayName("sample-rate가 N이면 N건 중 1건만 기록하고, 같은 이벤트는 모든 단계에서 함께 기록해야 한다")
+    void 샘플링_비율() {
+        when(logger.isInfoEnabled()).thenReturn(true);
+        EventDiagnostics diagnostics = new EventDiagnostics(10, List.of(), logger, SECONDS_SINCE_BASE);
+        List<VehicleEventLog> events = IntStream.range(0, 100)
+                .mapToObj(second -> event("01012340001", second))
+                .toList();
+
+        diagnostics.traceAll("publish", events);
+        assertThat(logged("info")).isEqualTo(10);
+
+        diagnostics.traceAll("consume", events);
+        assertThat(logged("info")).isEqualTo(20);
+
+        diagnostics.trace("consume", event("01012340001", 20)); // 뽑힌 이벤트
+        diagnostics.trace("consume", event("01012340001", 21)); // 뽑히지 않은 이벤트
+        assertThat(logged("info")).isEqualTo(21);
+    }
+
+    @Test
+    @DisplayName("sample-rate가 0이면 추적 대상 MDN만 기록해야 한다")
+    void 추적_대상만_기록() {
+        when(logger.isInfoEnabled()).thenReturn(true);
+        EventDiagnostics diagnostics = new EventDiagnostics(0, List.of(" 01012340002 "), logger, SECONDS_SINCE_BASE);
+
+        diagnostics.trace("publish", event("01012340001", 0));
+        diagnostics.trace("publish", event("01012340002", 1));
+        diagnostics.traceDriving("01012340002", "202507010900", 60);
+        assertThat(logged("info")).isEqualTo(2);
+
+        diagnostics.removeTracedMdn("01012340002");
+        diagnostics.trace("publish", event("01012340002", 2));
+        assertThat(logged("info")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("처리 실패는 샘플링/추적 대상이 아니어도, INFO가 꺼져 있어도 항상 기록해야 한다")
+    void 실패는_항상_기록() {
+        when(logger.isInfoEnabled()).thenReturn(false);
+        EventDiagnostics diagnostics = new EventDiagnostics(0, List.of(), logger, SECONDS_SINCE_BASE);
+
+        diagnostics.trace("acked", event("01012340001", 0));
+        diagnostics.traceFailure("acked", event("01012340001", 1), new IllegalStateException("브로커 응답 없음"));
+        diagnostics.traceFailure("acked", event("01012340003", 2), new IllegalStateException("브로커 응답 없음"));
+
+        assertThat(logged("info")).isZero();
+        assertThat(logged("error")).isEqualTo(2);
+    }
+
+    private long logged(String level) {
+        return mockingDetails(logger).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals(level))
+                .count();
+    }
+
+    private static VehicleEventLog event(String mdn, int second) {
+        return VehicleEventLogFixture.event(mdn, VehicleEventType.IGNITION_ON, BASE.plusSeconds(second));
+    }
+}
@@ -0,0 +1,66 @@
+package kjstyle.techdom.domain.diagnostic;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics.Stage;
+import kjstyle.techdom.enums.VehicleEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PipelineMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PipelineMetrics pipelineMetrics = new PipelineMetrics(registry);
+
+    @Test
+    @DisplayName("단계/타입별 타이머에 기록되고, 기록이 있는 항목만 요약에 나와야 한다")
+    void 단계_타입별_기록() {
+        pipelineMetrics.record(Stage.VALIDATE, VehicleEventType.IGNITION_ON, TimeUnit.MILLISECONDS.toNanos(3));
+        pipelineMetrics.record(Stage.VALIDATE, VehicleEventType.IGNITION_ON, TimeUnit.MILLISECONDS.toNanos(5));
+        pipelineMetrics.recordMillis(Stage.CONSUME, VehicleEventType.GEOFENCE_IN, -10); // 시계 오차로 음수
+
+        Timer validate = registry.get("techdom.pipeline.latency")
+                .tag("stage", "validate").tag("type", "IGNITION_ON").timer();
+        assertThat(validate.count()).isEqualTo(2);
+        assertThat(validate.max(TimeUnit.MILLISECONDS)).isEqualTo(5.0);
+
+        Timer consume = registry.get("techdom.pipeline.latency")
+                .tag("stage", "consume").tag("type", "GEOFENCE_IN").timer();
+        assertThat(consume.count()).isEqualTo(1);
+        assertThat(consume.totalTime(TimeUnit.MILLISECONDS)).isZero();
+
+        Map<String, Object> snapshot = pipelineMetrics.snapshot();
+        assertThat(snapshot).containsOnlyKeys("validate", "consume");
+        assertThat((Map<?, ?>) snapshot.get("validate")).containsOnlyKeys("IGNITION_ON");
+    }
+
+    @Test
+    @DisplayName("커밋처럼 여러 타입이 함께 처리되는 단계는 포함된 타입마다 기록해야 한다")
+    void 타입_마스크_기록() {
+        long typeMask = PipelineMetrics.typeBit(VehicleEventType.IGNITION_OFF)
+                | PipelineMetrics.typeBit(VehicleEventType.IGNITION_ON);
+
+        pipelineMetrics.recordForTypes(Stage.COMMIT, typeMask, TimeUnit.MILLISECONDS.toNanos(7));
+
+        assertThat(registry.get("techdom.pipeline.latency").tag("stage", "commit").timers())
+                .filteredOn(timer -> timer.count() > 0)
+                .extracting(timer -> timer.getId().getTag("type"))
+                .containsExactlyInAnyOrder("IGNITION_OFF", "IGNITION_ON");
+    }
+
+    @Test
+    @DisplayName("bulkInsert 건수 분포가 요약에 포함되어야 한다")
+    void 벌크인서트_건수() {
+        pipelineMetrics.recordBulkInsert(500);
+        pipelineMetrics.recordBulkInsert(60);
+
+        Map<?, ?> rows = (Map<?, ?>) pipelineMetrics.snapshot().get("bulk-insert-rows");
+        assertThat(rows.get("count")).isEqualTo(2L);
+        assertThat(rows.get("max")).isEqualTo(500.0);
+    }
+}
@@ -0,0 +1,50 @@
+package kjstyle.techdom.domain.diagnostic;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    @DisplayName("가상 스레드가 synchronized 안에서 블로킹하면 techdom.vthread.pinned가 올라가야 한다 (JDK 21)")
+    void synchronized_블로킹_고정_집계() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, 10);
+        Counter pinned = meterRegistry.get("techdom.vthread.pinned").counter();
+
+        monitor.start();
+        try {
+            Thread.ofVirtual().start(this::sleepWhileHoldingLock).join();
+
+            // JFR 스트림은 주기적으로 flush되므로 이벤트가 도착할 때까지 기다린다
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (pinned.count() < 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            assertThat(pinned.count()).isGreaterThanOrEqualTo(1);
+        } finally {
+            monitor.stop();
+        }
+        assertThat(monitor.isRunning()).isFalse();
+    }
+
+    private void sleepWhileHoldingLock() {
+        synchronized (lock) {
+            sleep();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package kjstyle.techdom.domain.geofence;
+
+import kjstyle.techdom.common.BaseTest;
+import kjstyle.techdom.common.VehicleEventLogFixture;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.enums.GeofenceTransition;
+import kjstyle.techdom.enums.VehicleEventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeofenceEngineTest extends BaseTest {
+
+    private static final String MDN = "01066660001";
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 6, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private GeofenceEngine geofenceEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUpFences() {
+        // 개발 DB(H2)에는 엔티티가 없는 테이블이라 테스트에서 직접 만든다 (ddl.sql의 컬럼 중 엔진이 읽는 것만)
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS geofence_item (
+                geofence_item_id BIGINT PRIMARY KEY, geofence_name VARCHAR(100) NOT NULL,
+                latitude NUMERIC(9,6) NOT NULL, longitude NUMERIC(9,6) NOT NULL, radius_meters INTEGER NOT NULL,
+                event_trigger_type VARCHAR(10) NOT NULL, is_active BOOLEAN DEFAULT TRUE,
+                updated_at TIMESTAMP WITH TIME ZONE DEFAULT NOW())""");
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS geofence_policy (
+                policy_id BIGINT PRIMARY KEY, is_active BOOLEAN DEFAULT TRUE,
+                updated_at TIMESTAMP WITH TIME ZONE DEFAULT NOW())""");
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS geofence_policy_item_map (
+                policy_id BIGINT NOT NULL, geofence_item_id BIGINT NOT NULL,
+                created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(), PRIMARY KEY (policy_id, geofence_item_id))""");
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS vehicle_policy_assignment (
+                mdn VARCHAR(20) PRIMARY KEY, policy_id BIGINT NOT NULL,
+                assigned_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(), updated_at TIMESTAMP WITH TIME ZONE DEFAULT NOW())""");
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS geofence_transition_log (
+                mdn VARCHAR(20) NOT NULL, event_timestamp_utc TIMESTAMP WITH TIME ZONE NOT NULL, geofence_item_id BIGINT NOT NULL,
+                transition VARCHAR(10) NOT NULL, vehicle_id BIGINT, geofence_name VARCHAR(100),
+                latitude DOUBLE PRECISION NOT NULL, longitude DOUBLE PRECISION NOT NULL,
+                created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(), PRIMARY KEY (mdn, event_timestamp_utc, geofence_item_id))""");
+
+        // 본사(반경 200m, 진입/이탈 모두)와 창고(반경 100m, 진입만). 창고는 격자 경계(126.98)에 걸쳐 있다
+        jdbcTemplate.update("INSERT INTO geofence_item (geofence_item_id, geofence_name, latitude, longitude, radius_meters, event_trigger_type) VALUES (?, ?, ?, ?, ?, ?)",
+                9001L, "본사", 37.5665, 126.9780, 200, "BOTH");
+        jdbcTemplate.update("INSERT INTO geofence_item (geofence_item_id, geofence_name, latitude, longitude, radius_meters, event_trigger_type) VALUES (?, ?, ?, ?, ?, ?)",
+                9002L, "창고", 37.5000, 126.9800, 100, "ENTER");
+        jdbcTemplate.update("INSERT INTO geofence_policy (policy_id) VALUES (?)", 901L);
+        jdbcTemplate.update("INSERT INTO geofence_policy (policy_id) VALUES (?)", 902L); // 지오펜스 없는 정책
+        jdbcTemplate.update("INSERT INTO geofence_policy_item_map (policy_id, geofence_item_id) VALUES (?, ?)", 901L, 9001L);
+        jdbcTemplate.update("INSERT INTO geofence_policy_item_map (policy_id, geofence_item_id) VALUES (?, ?)", 901L, 9002L);
+        jdbcTemplate.update("INSERT INTO vehicle_policy_assignment (mdn, policy_id) VALUES (?, ?)", MDN, 901L);
+
+        geofenceEngine.reload();
+        geofenceEngine.forget(MDN);
+    }
+
+    @AfterEach
+    void tearDownFences() {
+        jdbcTemplate.update("DELETE FROM vehicle_policy_assignment WHERE mdn = ?", MDN);
+        jdbcTemplate.update("DELETE FROM geofence_policy_item_map WHERE policy_id = ?", 901L);
+        jdbcTemplate.update("DELETE FROM geofence_policy WHERE policy_id IN (?, ?)", 901L, 902L);
+        jdbcTemplate.update("DELETE FROM geofence_transition_log WHERE mdn = ?", MDN);
+        jdbcTemplate.update("DELETE FROM geofence_item WHERE geofence_item_id IN (?, ?)", 9001L, 9002L);
+        geofenceEngine.reload();
+    }
+
+    @Test
+    @DisplayName("위치가 지오펜스 밖 -> 안 -> 밖으로 움직이면 진입/이탈이 한 번씩 판정되어야 한다")
+    void 진입_이탈_판정() {
+        assertThat(geofenceEngine.evaluate(MDN, 1L, NOW, 37.5700, 126.9780)).isEmpty(); // 약 390m 북쪽
+
+        List<GeofenceTransitionEvent> entered = geofenceEngine.evaluate(MDN, 1L, NOW.plusSeconds(1), 37.5670, 126.9785);
+        assertThat(entered).singleElement().satisfies(event -> {
+            assertThat(event.geofenceItemId()).isEqualTo(9001L);
+            assertThat(event.transition()).isEqualTo(GeofenceTransition.ENTER);
+            assertThat(event.vehicleId()).isEqualTo(1L);
+        });
+
+        assertThat(geofenceEngine.evaluate(MDN, 1L, NOW.plusSeconds(2), 37.5666, 126.9781)).isEmpty(); // 계속 안
+
+        assertThat(geofenceEngine.evaluate(MDN, 1L, NOW.plusSeconds(3), 37.5700, 126.9780))
+                .singleElement()
+                .satisfies(event -> assertThat(event.transition()).isEqualTo(GeofenceTransition.EXIT));
+    }
+
+    @Test
+    @DisplayName("격자 경계에 걸친 지오펜스도 찾고, 진입만 설정된 지오펜스는 이탈 이벤트를 만들지 않아야 한다")
+    void 격자_경계와_트리거_타입() {
+        // 창고 중심(126.98)의 서쪽 칸에서 진입
+        assertThat(geofenceEngine.evaluate(MDN, null, NOW, 37.5000, 126.9795))
+                .singleElement()
+                .satisfies(event -> assertThat(event.geofenceItemId()).isEqualTo(9002L));
+
+        // 동쪽 칸으로 이동해도 같은 지오펜스 안
+        assertThat(geofenceEngine.evaluate(MDN, null, NOW.plusSeconds(1), 37.5000, 126.9805)).isEmpty();
+
+        // 이탈했지만 ENTER 전용이므로 이벤트 없음
+        assertThat(geofenceEngine.evaluate(MDN, null, NOW.plusSeconds(2), 37.5100, 126.9805)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 롤백되면 상태와 기록이 남지 않고, 커밋되면 커밋 뒤에 반영되어야 한다")
+    void 커밋_후_반영() {
+        geofenceEngine.evaluate(MDN, 1L, NOW.minusSeconds(1), 37.5700, 126.9780); // 밖에서 시작
+        VehicleEventLog inside = geofenceEvent(VehicleEventType.IGNITION_ON, null, 37.5665, 126.9780);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            geofenceEngine.onEvents(List.of(inside));
+            status.setRollbackOnly();
+        });
+        assertThat(transitionLogCount()).isZero();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            geofenceEngine.onEvents(List.of(inside));
+            assertThat(transitionLogCount()).isZero(); // 커밋 전
+        });
+        assertThat(transitionLogCount()).isEqualTo(1);
+        // 커밋된 뒤에만 상태가 '안'으로 바뀌었으므로 같은 위치는 더 이상 진입이 아니다
+        assertThat(geofenceEngine.evaluate(MDN, 1L, NOW.plusSeconds(1), 37.5665, 126.9780)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이미 반영한 위치가 재전달되거나 지난 위치가 늦게 도착해도 진입/이탈을 다시 판정하지 않아야 한다")
+    void 재전달_위치_무시() {
+        geofenceEngine.evaluate(MDN, 1L, NOW.minusSeconds(1), 37.5700, 126.9780); // 밖에서 시작
+        VehicleEventLog inside = geofenceEvent(VehicleEventType.IGNITION_ON, null, 37.5665, 126.9780);
+        geofenceEngine.onEvents(List.of(inside));
+        assertThat(transitionLogCount()).isEqualTo(1);
+
+        // 다른 줄의 실패로 같은 묶음이 재전달됨
+        geofenceEngine.onEvents(List.of(inside));
+        assertThat(transitionLogCount()).isEqualTo(1);
+
+        // 지난 시각의 '밖' 위치가 늦게 도착해도 상태를 되돌리지 않는다
+        assertThat(geofenceEngine.evaluate(MDN, 1L, NOW.minusSeconds(1), 37.5700, 126.9780)).isEmpty();
+        assertThat(geofenceEngine.evaluate(MDN, 1L, NOW.plusSeconds(1), 37.5665, 126.9780)).isEmpty(); // 계속 안
+    }
+
+    @Test
+    @DisplayName("단말의 정책만 바꾸는 UPDATE도 감지해 인덱스를 다시 만들어야 한다")
+    void 할당_변경_감지() {
+        geofenceEngine.reloadIfChanged();
+        geofenceEngine.evaluate(MDN, 1L, NOW, 37.5700, 126.9780);
+
+        jdbcTemplate.update("UPDATE vehicle_policy_assignment SET policy_id = ?, updated_at = ? WHERE mdn = ?",
+                902L, OffsetDateTime.now().plusMinutes(1), MDN);
+        geofenceEngine.reloadIfChanged();
+
+        assertThat(geofenceEngine.evaluate(MDN, 1L, NOW.plusSeconds(1), 37.5665, 126.9780)).isEmpty(); // 본사가 없는 정책
+    }
+
+    @Test
+    @DisplayName("단말이 보낸 지오펜스 IN이 서버 판정과 같은지 검증해야 한다")
+    void 단말_지오펜스_검증() {
+        VehicleEventLog insideIn = geofenceEvent(VehicleEventType.GEOFENCE_IN, "9001", 37.5665, 126.9780);
+        VehicleEventLog outsideIn = geofenceEvent(VehicleEventType.GEOFENCE_IN, "9001", 37.6000, 126.9780);
+        VehicleEventLog unknownFence = geofenceEvent(VehicleEventType.GEOFENCE_IN, "geo123", 37.5665, 126.9780);
+
+        assertThat(geofenceEngine.verify(insideIn)).isEqualTo(GeofenceEngine.Verification.CONFIRMED);
+        assertThat(geofenceEngine.verify(outsideIn)).isEqualTo(GeofenceEngine.Verification.MISMATCH);
+        assertThat(geofenceEngine.verify(unknownFence)).isEqualTo(GeofenceEngine.Verification.UNKNOWN_FENCE);
+    }
+
+    private int transitionLogCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM geofence_transition_log WHERE mdn = ?", Integer.class, MDN);
+    }
+
+    private static VehicleEventLog geofenceEvent(VehicleEventType type, String pointId, double lat, double lon) {
+        return VehicleEventLogFixture.builder(MDN, type, NOW)
+                .latitude(lat)
+                .longitude(lon)
+                .geofencePointId(pointId)
+                .build();
+    }
+}
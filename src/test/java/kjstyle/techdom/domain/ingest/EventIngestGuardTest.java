@@ -0,0 +1,125 @@
+package kjstyle.techdom.domain.ingest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kjstyle.techdom.common.VehicleEventLogFixture;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.exceptions.EventRateLimitedException;
+import kjstyle.techdom.enums.VehicleEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventIngestGuardTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2025, 7, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("보낸 이벤트와 같은 시각의 이벤트는 중복으로 걸러야 하고, 보내지 못한 이벤트는 거르지 않아야 한다")
+    void 중복_제거() {
+        EventIngestGuard guard = guard(1000, 1000, 4);
+
+        VehicleEventLog first = event("01012345678", 0);
+        assertThat(guard.admit(first)).isTrue();
+        assertThat(guard.admit(first)).isTrue(); // 아직 보내지 않음 (503 후 재전송 등)
+
+        guard.markSent(first);
+        assertThat(guard.admit(event("01012345678", 0))).isFalse();
+        assertThat(guard.admit(event("01087654321", 0))).isTrue(); // 다른 단말
+
+        for (int second = 1; second <= 4; second++) {
+            guard.markSent(event("01012345678", second));
+        }
+        assertThat(guard.admit(event("01012345678", 0))).isTrue(); // 링에서 밀려남
+    }
+
+    @Test
+    @DisplayName("단말별 burst를 넘으면 429 예외를 던지고, 중복은 토큰을 쓰지 않아야 한다")
+    void 속도_제한() {
+        EventIngestGuard guard = guard(0.001, 3, 16);
+
+        VehicleEventLog sent = event("01012345678", 0);
+        assertThat(guard.admit(sent)).isTrue();
+        guard.markSent(sent);
+        for (int i = 0; i < 10; i++) {
+            assertThat(guard.admit(sent)).isFalse();
+        }
+
+        assertThat(guard.admit(event("01012345678", 1))).isTrue();
+        assertThat(guard.admit(event("01012345678", 2))).isTrue();
+        assertThatThrownBy(() -> guard.admit(event("01012345678", 3)))
+                .isInstanceOfSatisfying(EventRateLimitedException.class,
+                        e -> assertThat(e.getMdn()).isEqualTo("01012345678"));
+
+        assertThat(guard.admit(event("01087654321", 3))).isTrue(); // 다른 단말은 별도 버킷
+    }
+
+    @Test
+    @DisplayName("토큰은 충전 시간마다 하나씩 다시 생겨야 한다")
+    void 토큰_충전() {
+        EventIngestGuard.DeviceGate gate = new EventIngestGuard.DeviceGate(4);
+        long interval = 100;
+        long tolerance = interval * 2; // burst 3
+
+        assertThat(gate.tryAcquire(1_000, interval, tolerance)).isTrue();
+        assertThat(gate.tryAcquire(1_000, interval, tolerance)).isTrue();
+        assertThat(gate.tryAcquire(1_000, interval, tolerance)).isTrue();
+        assertThat(gate.tryAcquire(1_000, interval, tolerance)).isFalse();
+
+        assertThat(gate.tryAcquire(1_100, interval, tolerance)).isTrue();
+        assertThat(gate.tryAcquire(1_100, interval, tolerance)).isFalse();
+
+        assertThat(gate.tryAcquire(10_000, interval, tolerance)).isTrue(); // 오래 쉬어도 burst까지만 쌓인다
+        assertThat(gate.tryAcquire(10_000, interval, tolerance)).isTrue();
+        assertThat(gate.tryAcquire(10_000, interval, tolerance)).isTrue();
+        assertThat(gate.tryAcquire(10_000, interval, tolerance)).isFalse();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 꺼내도 burst만큼만 통과해야 한다")
+    void 동시_토큰_획득() throws Exception {
+        EventIngestGuard.DeviceGate gate = new EventIngestGuard.DeviceGate(4);
+        long interval = 1_000;
+        long tolerance = interval * 99; // burst 100
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                int acquired = 0;
+                for (int i = 0; i < 1000; i++) {
+                    if (gate.tryAcquire(0, interval, tolerance)) {
+                        acquired++;
+                    }
+                }
+                return acquired;
+            }));
+        }
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(total).isEqualTo(100);
+    }
+
+    private static EventIngestGuard guard(double rate, int burst, int dedupWindow) {
+        return new EventIngestGuard(new SimpleMeterRegistry(), true, rate, burst, dedupWindow, 1000, Duration.ofMinutes(10));
+    }
+
+    private static VehicleEventLog event(String mdn, int second) {
+        return VehicleEventLogFixture.event(mdn, VehicleEventType.IGNITION_ON, BASE.plusSeconds(second));
+    }
+}
@@ -0,0 +1,49 @@
+package kjstyle.techdom.domain.repository;
+
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.entitys.DrivingLogId;
+import kjstyle.techdom.enums.GpsCondition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrivingLogCopyWriterTest {
+
+    @Test
+    @DisplayName("COPY CSV 한 행은 컬럼 순서대로 쓰고 NULL은 빈 칸으로 남겨야 한다")
+    void CSV_행_기록() {
+        DrivingLog drivingLog = DrivingLog.builder()
+                .id(new DrivingLogId(LocalDateTime.of(2025, 3, 7, 9, 5, 0), "01012345678"))
+                .gpsCondition(GpsCondition.NORMAL)
+                .latitude(new BigDecimal("37.566500"))
+                .longitude(new BigDecimal("126.978000"))
+                .angle(90)
+                .speed(null)
+                .totalDistance(123456L)
+                .batteryVolt(null)
+                .build();
+
+        StringBuilder sb = new StringBuilder();
+        DrivingLogCopyWriter.appendRow(sb, drivingLog);
+
+        assertThat(sb.toString()).isEqualTo("2025-03-07 09:05:00,01012345678,A,37.566500,126.978000,90,,123456,\n");
+    }
+
+    @Test
+    @DisplayName("구분자나 따옴표가 들어간 문자열과 나노초는 CSV 규칙대로 기록해야 한다")
+    void 따옴표_나노초() {
+        DrivingLog drivingLog = DrivingLog.builder()
+                .id(new DrivingLogId(LocalDateTime.of(2025, 12, 31, 23, 59, 59, 120_000_000), "a,\"b\""))
+                .gpsCondition(GpsCondition.ABNORMAL)
+                .build();
+
+        StringBuilder sb = new StringBuilder();
+        DrivingLogCopyWriter.appendRow(sb, drivingLog);
+
+        assertThat(sb.toString()).isEqualTo("2025-12-31 23:59:59.120000000,\"a,\"\"b\"\"\",V,,,,,,\n");
+    }
+}
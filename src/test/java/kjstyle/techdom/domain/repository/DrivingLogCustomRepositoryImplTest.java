@@ -1,6 +1,7 @@
 package kjstyle.techdom.domain.repository;
 
 import kjstyle.techdom.common.BaseTest;
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics;
 import kjstyle.techdom.domain.entitys.DrivingLog;
 import kjstyle.techdom.domain.entitys.DrivingLogId;
 import kjstyle.techdom.enums.GpsCondition;
@@ -27,6 +28,9 @@ class DrivingLogCustomRepositoryImplTest extends BaseTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
     @Test
     @Transactional
     void 주행기록_벌크인서트_테스트() {
@@ -80,4 +84,51 @@ class DrivingLogCustomRepositoryImplTest extends BaseTest {
         // 마지막 데이터의 속도가 예상값과 같은지 확인
         assertThat(last.get().getSpeed()).isEqualTo(59);
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional
+    void COPY_설정이어도_PostgreSQL이_아니면_배치로_저장() {
+        // H2에서는 COPY를 쓸 수 없으므로 JDBC 배치로 되돌아가 저장되어야 한다
+        DrivingLogCustomRepositoryImpl copyRepository = new DrivingLogCustomRepositoryImpl(jdbcTemplate, pipelineMetrics);
+        copyRepository.setLoader(DrivingLogCustomRepositoryImpl.Loader.COPY);
+
+        LocalDateTime baseTime = LocalDateTime.now().withNano(0);
+        List<DrivingLog> logs = IntStream.range(0, 5)
+                .mapToObj(i -> DrivingLog.builder()
+                        .id(new DrivingLogId(baseTime.plusSeconds(i), "mdn_copy_" + i))
+                        .gpsCondition(GpsCondition.NORMAL)
+                        .latitude(new BigDecimal("37.5"))
+                        .longitude(new BigDecimal("127.0"))
+                        .speed(i)
+                        .build())
+                .toList();
+
+        copyRepository.bulkInsert(logs);
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM driving_log WHERE mdn LIKE 'mdn_copy_%'", Integer.class)).isEqualTo(5);
+    }
+
+    @Test
+    @Transactional
+    void 되돌아간_배치_저장은_이미_저장된_행을_건너뛴다() {
+        // COPY가 중복 키로 실패하면 같은 트랜잭션에서 배치 INSERT로 다시 저장하므로, 그 경로가 중복을 건너뛰어야 한다
+        DrivingLogCustomRepositoryImpl copyRepository = new DrivingLogCustomRepositoryImpl(jdbcTemplate, pipelineMetrics);
+        copyRepository.setLoader(DrivingLogCustomRepositoryImpl.Loader.COPY);
+
+        LocalDateTime baseTime = LocalDateTime.now().withNano(0);
+        List<DrivingLog> logs = IntStream.range(0, 4)
+                .mapToObj(i -> DrivingLog.builder()
+                        .id(new DrivingLogId(baseTime.plusSeconds(i), "mdn_dup_test"))
+                        .gpsCondition(GpsCondition.NORMAL)
+                        .speed(i)
+                        .build())
+                .toList();
+
+        assertThat(copyRepository.bulkInsert(logs.subList(0, 2))).hasSize(2);
+        assertThat(copyRepository.bulkInsert(logs)).containsExactly(logs.get(2), logs.get(3));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM driving_log WHERE mdn = 'mdn_dup_test'", Integer.class)).isEqualTo(4);
+    }
+}
@@ -0,0 +1,87 @@
+package kjstyle.techdom.domain.rollup;
+
+import kjstyle.techdom.common.BaseTest;
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.entitys.DrivingLogId;
+import kjstyle.techdom.domain.entitys.DrivingLogRollup;
+import kjstyle.techdom.domain.service.BulkInsertResult;
+import kjstyle.techdom.domain.service.DrivingLogService;
+import kjstyle.techdom.enums.GpsCondition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrivingLogRollupUpdaterTest extends BaseTest {
+
+    @Autowired
+    private DrivingLogService drivingLogService;
+
+    @Test
+    @DisplayName("배치마다 같은 시간/일 구간에 증분이 더해지고, 재전송된 배치는 롤업에 다시 반영되지 않아야 한다")
+    void 배치_증분_누적() {
+        String mdn = "01055550001";
+        LocalDateTime day = LocalDateTime.of(2025, 7, 1, 0, 0);
+
+        List<DrivingLog> first = List.of(
+                drivingLog(mdn, day.withHour(10).withMinute(10), 40, 1_000L, 120),
+                drivingLog(mdn, day.withHour(10).withMinute(20), 80, 1_500L, 124));
+        List<DrivingLog> second = List.of(
+                drivingLog(mdn, day.withHour(10).withMinute(50), 60, 2_500L, 118),
+                drivingLog(mdn, day.withHour(11).withMinute(5), null, 3_000L, null));
+
+        drivingLogService.saveBulk(first);
+        drivingLogService.saveBulk(second);
+        // 같은 배치 재전송 -> 이미 저장된 행은 건너뛰므로 롤업도 그대로
+        BulkInsertResult duplicate = drivingLogService.saveBulk(first);
+        assertThat(duplicate.hasFailures()).isFalse();
+        assertThat(duplicate.insertedRows()).isZero();
+        assertThat(duplicate.duplicateRows()).isEqualTo(2);
+        assertThat(duplicate.insertedLogs()).isEmpty();
+
+        List<? extends DrivingLogRollup> hourly =
+                drivingLogService.findRollups(mdn, RollupGranularity.HOURLY, day, day.plusDays(1));
+        assertThat(hourly).hasSize(2);
+        assertThat(hourly.get(0)).satisfies(bucket -> {
+            assertThat(bucket.getBucketStart()).isEqualTo(day.withHour(10));
+            assertThat(bucket.getSampleCount()).isEqualTo(3L);
+            assertThat(bucket.getAvgSpeed()).isEqualTo(60.0);
+            assertThat(bucket.getMaxSpeed()).isEqualTo(80);
+            assertThat(bucket.getDistance()).isEqualTo(1_500L);
+            assertThat(bucket.getMinBatteryVolt()).isEqualTo(118);
+        });
+        assertThat(hourly.get(1)).satisfies(bucket -> {
+            assertThat(bucket.getSampleCount()).isEqualTo(1L);
+            assertThat(bucket.getSpeedSamples()).isZero();
+            assertThat(bucket.getAvgSpeed()).isNull();
+            assertThat(bucket.getAvgBatteryVolt()).isNull();
+        });
+
+        List<? extends DrivingLogRollup> daily =
+                drivingLogService.findRollups(mdn, RollupGranularity.DAILY, day, day.plusDays(1));
+        assertThat(daily).singleElement().satisfies(bucket -> {
+            assertThat(bucket.getSampleCount()).isEqualTo(4L);
+            assertThat(bucket.getMaxSpeed()).isEqualTo(80);
+            assertThat(bucket.getDistance()).isEqualTo(2_000L);
+            assertThat(bucket.getMaxBatteryVolt()).isEqualTo(124);
+        });
+    }
+
+    private static DrivingLog drivingLog(String mdn, LocalDateTime recordTime, Integer speed, Long totalDistance, Integer batteryVolt) {
+        return DrivingLog.builder()
+                .id(new DrivingLogId(recordTime, mdn))
+                .gpsCondition(GpsCondition.NORMAL)
+                .latitude(new BigDecimal("37.500000"))
+                .longitude(new BigDecimal("127.000000"))
+                .angle(0)
+                .speed(speed)
+                .totalDistance(totalDistance)
+                .batteryVolt(batteryVolt)
+                .build();
+    }
+}
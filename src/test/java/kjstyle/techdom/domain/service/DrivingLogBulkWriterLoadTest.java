@@ -0,0 +1,104 @@
+package kjstyle.techdom.domain.service;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics;
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.repository.DrivingLogCustomRepositoryImpl;
+import kjstyle.techdom.domain.repository.DrivingLogRollupRepository;
+import kjstyle.techdom.domain.rollup.DrivingLogRollupUpdater;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 수백만 건 적재 시 메모리가 입력 크기에 비례해 늘지 않는지 확인하는 부하 테스트입니다.
+ * 기본 test 태스크에서는 제외되고, 힙을 고정한 ./gradlew loadTest 로 실행합니다. (build.gradle 참고)
+ * 인메모리 DB는 데이터 자체가 힙을 차지하므로 임시 디렉터리의 H2 파일 DB를 사용합니다.
+ */
+@Tag("load")
+class DrivingLogBulkWriterLoadTest {
+
+    private static final int ROWS = 2_000_000;
+    private static final int VEHICLES = 2_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("200만 건을 고정 힙에서 청크로 나눠 동시에 저장할 수 있어야 한다")
+    void 백만건_단위_적재() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:file:" + tempDir.resolve("load") + ";MODE=PostgreSQL;CACHE_SIZE=8192");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(4);
+
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("""
+                    CREATE TABLE driving_log (
+                        record_time TIMESTAMP NOT NULL,
+                        mdn VARCHAR(20) NOT NULL,
+                        gps_condition VARCHAR(1) NOT NULL,
+                        latitude NUMERIC(9,6),
+                        longitude NUMERIC(9,6),
+                        angle INTEGER,
+                        speed INTEGER,
+                        total_distance BIGINT,
+                        battery_volt INTEGER,
+                        PRIMARY KEY (record_time, mdn)
+                    )
+                    """);
+
+            DrivingLogCustomRepositoryImpl repository =
+                    new DrivingLogCustomRepositoryImpl(jdbcTemplate, new PipelineMetrics(new SimpleMeterRegistry()));
+            // 원본 적재만 측정하므로 롤업은 갱신하지 않는다
+            DrivingLogRollupUpdater rollupUpdater = new DrivingLogRollupUpdater(
+                    new DrivingLogRollupRepository(jdbcTemplate), DrivingLogRollupUpdater.Mode.NONE);
+            DrivingLogBulkWriter writer = new DrivingLogBulkWriter(
+                    repository, rollupUpdater, new DataSourceTransactionManager(dataSource), 5_000, 4);
+
+            BulkInsertResult result = writer.write(generatedLogs());
+            writer.destroy();
+
+            assertThat(result.failures()).isEmpty();
+            assertThat(result.insertedRows()).isEqualTo(ROWS);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM driving_log", Long.class)).isEqualTo(ROWS);
+        }
+    }
+
+    // 입력 전체를 리스트로 만들지 않고 필요할 때마다 한 건씩 만든다 (차량 2000대 x 1000분)
+    private static Iterator<DrivingLog> generatedLogs() {
+        LocalDateTime baseTime = LocalDateTime.of(2025, 1, 1, 0, 0);
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < ROWS;
+            }
+
+            @Override
+            public DrivingLog next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int i = next++;
+                String mdn = "010" + String.format("%08d", i % VEHICLES);
+                return DrivingLogBulkWriterTest.drivingLog(mdn, baseTime.plusMinutes(i / VEHICLES));
+            }
+        };
+    }
+}
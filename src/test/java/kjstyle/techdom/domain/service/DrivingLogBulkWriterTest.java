@@ -0,0 +1,112 @@
+package kjstyle.techdom.domain.service;
+
+import kjstyle.techdom.common.BaseTest;
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.entitys.DrivingLogId;
+import kjstyle.techdom.domain.repository.DrivingLogCustomRepository;
+import kjstyle.techdom.domain.rollup.DrivingLogRollupUpdater;
+import kjstyle.techdom.enums.GpsCondition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrivingLogBulkWriterTest extends BaseTest {
+
+    @Autowired
+    private DrivingLogCustomRepository drivingLogCustomRepository;
+
+    @Autowired
+    private DrivingLogRollupUpdater drivingLogRollupUpdater;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("한 청크가 실패해도 그 청크만 롤백되고 나머지 청크는 저장되어야 한다")
+    void 청크_실패_격리() {
+        DrivingLogBulkWriter writer = new DrivingLogBulkWriter(drivingLogCustomRepository, drivingLogRollupUpdater, transactionManager, 3, 2);
+        String mdn = "01066660001";
+        LocalDateTime baseTime = LocalDateTime.of(2025, 5, 1, 0, 0);
+
+        // 10건을 3건씩 나누면 [0-2] [3-5] [6-8] [9]. 두 번째 청크 안에 NUMERIC(9,6) 범위를 넘는 위도를 넣어 저장 오류를 만든다
+        List<DrivingLog> logs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            logs.add(drivingLog(mdn, baseTime.plusMinutes(i), i == 5 ? "1000.000000" : "37.500000"));
+        }
+
+        BulkInsertResult result = writer.write(logs);
+
+        assertThat(result.totalRows()).isEqualTo(10);
+        assertThat(result.insertedRows()).isEqualTo(7);
+        assertThat(result.failedRows()).isEqualTo(3);
+        assertThat(result.insertedLogs()).containsExactlyElementsOf(
+                List.of(logs.get(0), logs.get(1), logs.get(2), logs.get(6), logs.get(7), logs.get(8), logs.get(9)));
+        assertThat(result.failures()).singleElement()
+                .satisfies(failure -> {
+                    assertThat(failure.fromIndex()).isEqualTo(3);
+                    assertThat(failure.size()).isEqualTo(3);
+                });
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM driving_log WHERE mdn = ?", Integer.class, mdn))
+                .isEqualTo(7);
+
+        // 단말이 500 응답을 받고 고친 값으로 통째로 재전송 -> 실패했던 청크만 새로 저장된다
+        logs.set(5, drivingLog(mdn, baseTime.plusMinutes(5), "37.500000"));
+        BulkInsertResult retry = writer.write(logs);
+        writer.destroy();
+
+        assertThat(retry.hasFailures()).isFalse();
+        assertThat(retry.insertedRows()).isEqualTo(3);
+        assertThat(retry.duplicateRows()).isEqualTo(7);
+        assertThat(retry.insertedLogs()).containsExactlyElementsOf(logs.subList(3, 6));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM driving_log WHERE mdn = ?", Integer.class, mdn))
+                .isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("청크가 하나뿐이면 그대로 저장하고 실패가 없어야 한다")
+    void 단일_청크() {
+        DrivingLogBulkWriter writer = new DrivingLogBulkWriter(drivingLogCustomRepository, drivingLogRollupUpdater, transactionManager, 500, 4);
+        String mdn = "01066660002";
+        LocalDateTime baseTime = LocalDateTime.of(2025, 5, 1, 0, 0);
+
+        List<DrivingLog> logs = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            logs.add(drivingLog(mdn, baseTime.plusMinutes(i)));
+        }
+
+        BulkInsertResult result = writer.write(logs);
+        writer.destroy();
+
+        assertThat(result.hasFailures()).isFalse();
+        assertThat(result.insertedRows()).isEqualTo(60);
+    }
+
+    static DrivingLog drivingLog(String mdn, LocalDateTime recordTime) {
+        return drivingLog(mdn, recordTime, "37.500000");
+    }
+
+    private static DrivingLog drivingLog(String mdn, LocalDateTime recordTime, String latitude) {
+        return DrivingLog.builder()
+                .id(new DrivingLogId(recordTime, mdn))
+                .gpsCondition(GpsCondition.NORMAL)
+                .latitude(new BigDecimal(latitude))
+                .longitude(new BigDecimal("127.000000"))
+                .angle(0)
+                .speed(60)
+                .totalDistance(1000L)
+                .batteryVolt(120)
+                .build();
+    }
+}
@@ -0,0 +1,180 @@
+package kjstyle.techdom.domain.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kjstyle.techdom.common.VehicleEventLogFixture;
+import kjstyle.techdom.domain.diagnostic.EventDiagnostics;
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.exceptions.EventPublishRejectedException;
+import kjstyle.techdom.domain.spool.EventSpool;
+import kjstyle.techdom.enums.VehicleEventType;
+import kjstyle.techdom.web.dto.EventBatchRequest;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventSenderTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2025, 7, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, VehicleEventLog> kafkaTemplate = mock(KafkaTemplate.class);
+    private final EventSpool eventSpool = mock(EventSpool.class); // 스풀 꺼짐 (isEnabled/hasPending = false)
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CompletableFuture<SendResult<String, VehicleEventLog>> ack1;
+    private CompletableFuture<SendResult<String, VehicleEventLog>> ack2;
+    private CompletableFuture<SendResult<String, VehicleEventLog>> ack3;
+
+    @BeforeEach
+    void setUp() {
+        ack1 = new CompletableFuture<>();
+        ack2 = new CompletableFuture<>();
+        ack3 = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(ack1, ack2, ack3);
+    }
+
+    @Test
+    @DisplayName("보낼 때 in-flight 자리를 하나씩 잡고, ACK를 받으면 반환해야 한다")
+    void ACK_시_자리_반환() {
+        EventSender sender = sender(2);
+
+        sender.send(event("01012340001"));
+        sender.send(event("01012340002"));
+        assertThat(inFlight()).isEqualTo(2);
+
+        ack1.complete(null);
+        assertThat(inFlight()).isEqualTo(1);
+        assertThat(records("acked")).isEqualTo(1);
+
+        ack2.complete(null);
+        assertThat(inFlight()).isZero();
+        assertThat(records("acked")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("ACK가 실패하거나 send 자체가 예외를 던져도 in-flight 자리를 반환해야 한다")
+    void 실패_시_자리_반환() {
+        EventSender sender = sender(2);
+
+        sender.send(event("01012340001"));
+        ack1.completeExceptionally(new TimeoutException("브로커 응답 없음"));
+        assertThat(inFlight()).isZero();
+        assertThat(records("failed")).isEqualTo(1);
+
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenThrow(new IllegalStateException("메타데이터 조회 실패"));
+        assertThatThrownBy(() -> sender.send(event("01012340002"))).isInstanceOf(IllegalStateException.class);
+        assertThat(inFlight()).isZero();
+        assertThat(records("failed")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("in-flight 한도가 가득 차면 기다렸다가 거절(503)하고, ACK로 자리가 나면 다시 받아야 한다")
+    void 한도_초과_거절() {
+        EventSender sender = sender(1);
+
+        sender.send(event("01012340001"));
+        assertThatThrownBy(() -> sender.send(event("01012340002")))
+                .isInstanceOfSatisfying(EventPublishRejectedException.class,
+                        e -> assertThat(e.getMdn()).isEqualTo("01012340002"));
+        assertThat(records("rejected")).isEqualTo(1);
+        assertThat(inFlight()).isEqualTo(1);
+
+        ack1.complete(null);
+        sender.send(event("01012340002"));
+        assertThat(inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("묶음 전송은 자리를 나눠 잡고, 뒤쪽 자리가 모자라면 앞서 잡은 만큼만 보내고 남은 건수를 거절해야 한다")
+    void 묶음_자리_나눠_확보() {
+        EventSender sender = sender(2, 2);
+
+        assertThatThrownBy(() -> sender.sendAll(List.of(event("01012340001"), event("01012340002"), event("01012340003"))))
+                .isInstanceOfSatisfying(EventPublishRejectedException.class,
+                        e -> assertThat(e.getMdn()).isEqualTo("01012340003"));
+        verify(kafkaTemplate, times(2)).send(anyString(), anyString(), any());
+        assertThat(records("rejected")).isEqualTo(1);
+        assertThat(inFlight()).isEqualTo(2);
+
+        ack1.complete(null);
+        ack2.completeExceptionally(new TimeoutException("브로커 응답 없음"));
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("스풀을 쓰면 자리가 모자란 뒤쪽 이벤트만 스풀에 기록해야 한다")
+    void 묶음_남은_이벤트_스풀() throws InterruptedException {
+        when(eventSpool.isEnabled()).thenReturn(true);
+        EventSender sender = sender(2, 2);
+        VehicleEventLog third = event("01012340003");
+
+        sender.sendAll(List.of(event("01012340001"), event("01012340002"), third));
+
+        verify(kafkaTemplate, times(2)).send(anyString(), anyString(), any());
+        verify(eventSpool).appendAll(List.of(third));
+        assertThat(records("spooled")).isEqualTo(1);
+        assertThat(records("rejected")).isZero();
+        sender.destroy();
+    }
+
+    @Test
+    @DisplayName("묶음 중간에 send가 예외를 던지면 보내지 못한 건수만큼 실패로 세고 잡은 자리를 반환해야 한다")
+    void 묶음_전송_실패_건수() {
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(ack1)
+                .thenThrow(new IllegalStateException("메타데이터 조회 실패"));
+        EventSender sender = sender(3, 3);
+
+        assertThatThrownBy(() -> sender.sendAll(List.of(event("01012340001"), event("01012340002"), event("01012340003"))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(records("failed")).isEqualTo(2);
+        assertThat(inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("in-flight 한도가 묶음 요청 최대 건수보다 작으면 기동 시 실패해야 한다")
+    void 한도_설정_확인() {
+        assertThatThrownBy(() -> new EventSender(kafkaTemplate, meterRegistry, new EventDiagnostics(0, List.of()),
+                new PipelineMetrics(meterRegistry), eventSpool, EventBatchRequest.MAX_EVENTS - 1, 10, 1000, 500, 30000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private EventSender sender(int maxInFlight) {
+        return sender(maxInFlight, EventSender.SEND_ALL_CHUNK);
+    }
+
+    private EventSender sender(int maxInFlight, int sendAllChunk) {
+        return new EventSender(kafkaTemplate, meterRegistry, new EventDiagnostics(0, List.of()),
+                new PipelineMetrics(meterRegistry), eventSpool, maxInFlight, 10, 1000, 500, 30000, sendAllChunk);
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("techdom.kafka.producer.in-flight").gauge().value();
+    }
+
+    private double records(String result) {
+        return meterRegistry.get("techdom.kafka.producer.records").tag("result", result).counter().count();
+    }
+
+    private static VehicleEventLog event(String mdn) {
+        return VehicleEventLogFixture.event(mdn, VehicleEventType.IGNITION_ON, BASE);
+    }
+}
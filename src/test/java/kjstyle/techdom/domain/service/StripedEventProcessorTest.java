@@ -0,0 +1,135 @@
+package kjstyle.techdom.domain.service;
+
+import kjstyle.techdom.common.VehicleEventLogFixture;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.enums.VehicleEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class StripedEventProcessorTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2025, 6, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("묶음을 단말별로 나눠도 같은 단말의 이벤트는 한 줄에 수신 순서대로 들어가야 한다")
+    void 단말별_순서_유지() {
+        VehicleEventLogService service = mock(VehicleEventLogService.class);
+        List<List<VehicleEventLog>> calls = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> calls.add(invocation.getArgument(0))).when(service).processVehicleEvents(anyList());
+
+        StripedEventProcessor processor = new StripedEventProcessor(service, 4);
+        List<VehicleEventLog> batch = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            String mdn = "0101234000" + (i % 7);
+            VehicleEventType type = i % 2 == 0 ? VehicleEventType.IGNITION_OFF : VehicleEventType.IGNITION_ON;
+            batch.add(event(mdn, type, i));
+        }
+
+        processor.process(batch);
+        processor.destroy();
+
+        assertThat(calls.stream().mapToInt(List::size).sum()).isEqualTo(batch.size());
+        for (String mdn : batch.stream().map(VehicleEventLog::getMdn).distinct().toList()) {
+            List<List<VehicleEventLog>> containing = calls.stream()
+                    .filter(call -> call.stream().anyMatch(e -> e.getMdn().equals(mdn)))
+                    .toList();
+            assertThat(containing).as("단말 %s는 한 줄에서만 처리", mdn).hasSize(1);
+
+            List<VehicleEventLog> expected = batch.stream().filter(e -> e.getMdn().equals(mdn)).toList();
+            List<VehicleEventLog> actual = containing.get(0).stream().filter(e -> e.getMdn().equals(mdn)).toList();
+            assertThat(actual).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("한 줄이라도 실패하면 모든 줄이 끝난 뒤 예외를 던져 묶음 전체를 재전달받아야 한다")
+    void 실패한_줄_예외_전파() {
+        VehicleEventLogService service = mock(VehicleEventLogService.class);
+        List<List<VehicleEventLog>> calls = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<VehicleEventLog> stripe = invocation.getArgument(0);
+            calls.add(stripe);
+            if (stripe.stream().anyMatch(e -> e.getMdn().equals("01012340000"))) {
+                throw new IllegalStateException("저장 실패");
+            }
+            return null;
+        }).when(service).processVehicleEvents(anyList());
+
+        StripedEventProcessor processor = new StripedEventProcessor(service, 4);
+        List<VehicleEventLog> batch = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            batch.add(event("0101234000" + (i % 6), VehicleEventType.IGNITION_ON, i));
+        }
+
+        assertThatThrownBy(() -> processor.process(batch))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("저장 실패");
+        processor.destroy();
+
+        assertThat(calls.stream().mapToInt(List::size).sum()).isEqualTo(batch.size());
+    }
+
+    @Test
+    @DisplayName("stripes가 1이면 묶음 전체를 그대로 한 번에 넘긴다")
+    void 단일_줄() {
+        VehicleEventLogService service = mock(VehicleEventLogService.class);
+        List<List<VehicleEventLog>> calls = new ArrayList<>();
+        doAnswer(invocation -> calls.add(invocation.getArgument(0))).when(service).processVehicleEvents(anyList());
+
+        List<VehicleEventLog> batch = List.of(
+                event("01012340001", VehicleEventType.IGNITION_OFF, 0),
+                event("01012340002", VehicleEventType.IGNITION_ON, 1));
+        new StripedEventProcessor(service, 1).process(batch);
+
+        assertThat(calls).containsExactly(batch);
+    }
+
+    @Test
+    @DisplayName("한 건씩 다시 처리하면 실패한 레코드에서 멈추고 그 위치를 BatchListenerFailedException으로 알려야 한다")
+    void 실패한_레코드_위치() {
+        VehicleEventLogService service = mock(VehicleEventLogService.class);
+        List<VehicleEventLog> processed = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<VehicleEventLog> single = invocation.getArgument(0);
+            assertThat(single).hasSize(1);
+            if (single.get(0).getMdn().equals("01012340002")) {
+                throw new IllegalStateException("잘못된 레코드");
+            }
+            processed.add(single.get(0));
+            return null;
+        }).when(service).processVehicleEvents(anyList());
+
+        List<VehicleEventLog> batch = List.of(
+                event("01012340001", VehicleEventType.IGNITION_OFF, 0),
+                event("01012340003", VehicleEventType.IGNITION_OFF, 1),
+                event("01012340002", VehicleEventType.IGNITION_ON, 2),
+                event("01012340001", VehicleEventType.IGNITION_ON, 3));
+        StripedEventProcessor processor = new StripedEventProcessor(service, 4);
+
+        assertThatThrownBy(() -> processor.processEach(batch))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, e -> {
+                    assertThat(e.getIndex()).isEqualTo(2);
+                    assertThat(e.getCause()).hasMessage("잘못된 레코드");
+                });
+        processor.destroy();
+
+        assertThat(processed).containsExactly(batch.get(0), batch.get(1)); // 실패 뒤 레코드는 재전달 때 처리
+    }
+
+    private static VehicleEventLog event(String mdn, VehicleEventType type, int seconds) {
+        return VehicleEventLogFixture.event(mdn, type, BASE.plusSeconds(seconds));
+    }
+}
@@ -0,0 +1,76 @@
+package kjstyle.techdom.domain.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kjstyle.techdom.common.VehicleEventLogFixture;
+import kjstyle.techdom.domain.diagnostic.PipelineMetrics;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.enums.VehicleEventType;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class VehicleEventListenerTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2025, 6, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("레코드 값을 순서대로 넘기고, 레코드 타임스탬프로 consume/end-to-end 지연 시간을 기록해야 한다")
+    void 레코드_타임스탬프로_지연_기록() {
+        StripedEventProcessor processor = mock(StripedEventProcessor.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VehicleEventListener listener = new VehicleEventListener(processor, new PipelineMetrics(meterRegistry));
+
+        long producedAt = System.currentTimeMillis() - 2_000;
+        List<ConsumerRecord<String, VehicleEventLog>> records = List.of(
+                record(0, producedAt, event("01012340001", VehicleEventType.IGNITION_ON)),
+                record(1, producedAt, event("01012340002", VehicleEventType.IGNITION_ON)));
+
+        listener.handleEventLogOnKafka(records);
+
+        verify(processor).process(List.of(records.get(0).value(), records.get(1).value()));
+        verify(processor, never()).processEach(anyList());
+        Timer consume = meterRegistry.get("techdom.pipeline.latency")
+                .tag("stage", "consume").tag("type", "IGNITION_ON").timer();
+        assertThat(consume.count()).isEqualTo(2);
+        assertThat(consume.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(2_000);
+    }
+
+    @Test
+    @DisplayName("묶음 처리가 실패하면 같은 목록을 한 건씩 다시 처리해야 한다")
+    void 실패시_한_건씩_처리() {
+        StripedEventProcessor processor = mock(StripedEventProcessor.class);
+        doThrow(new IllegalStateException("저장 실패")).when(processor).process(anyList());
+        VehicleEventListener listener = new VehicleEventListener(processor, new PipelineMetrics(new SimpleMeterRegistry()));
+
+        List<ConsumerRecord<String, VehicleEventLog>> records = List.of(
+                record(0, System.currentTimeMillis(), event("01012340001", VehicleEventType.IGNITION_OFF)));
+        listener.handleEventLogOnKafka(records);
+
+        verify(processor).processEach(List.of(records.get(0).value()));
+    }
+
+    private static ConsumerRecord<String, VehicleEventLog> record(long offset, long timestamp, VehicleEventLog value) {
+        return new ConsumerRecord<>("vehicle.event.log", 0, offset, timestamp, TimestampType.CREATE_TIME,
+                -1, -1, value.getMdn(), value, new RecordHeaders(), Optional.empty());
+    }
+
+    private static VehicleEventLog event(String mdn, VehicleEventType type) {
+        return VehicleEventLogFixture.event(mdn, type, BASE);
+    }
+}
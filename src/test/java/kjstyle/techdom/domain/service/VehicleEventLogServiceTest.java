@@ -3,7 +3,9 @@ package kjstyle.techdom.domain.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import kjstyle.techdom.common.BaseTest;
+import kjstyle.techdom.common.VehicleEventLogFixture;
 import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.repository.VehicleEventLogRepository;
 import kjstyle.techdom.enums.GpsCondition;
 import kjstyle.techdom.enums.VehicleEventType;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +14,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -20,6 +24,9 @@ class VehicleEventLogServiceTest extends BaseTest {
     @Autowired
     private VehicleEventLogService vehicleEventLogService;
 
+    @Autowired
+    private VehicleEventLogRepository vehicleEventLogRepository;
+
 
     private final ObjectMapper objectMapper;
 
@@ -76,4 +83,58 @@ class VehicleEventLogServiceTest extends BaseTest {
         assertThat(savedEventLog.getEventTimestampUtc()).isEqualTo(eventLogToSave.getEventTimestampUtc());
         assertThat(savedEventLog.getMdn()).isEqualTo(eventLogToSave.getMdn());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Kafka 배치로 받은 시동 OFF -> 시동 ON(GPS 비정상) 이벤트를 일괄 저장해보기")
+    void 시동OFF_시동ON_배치_저장해보기() {
+
+        // 1. 같은 배치 안에 직전 시동 OFF와 GPS 비정상('P') 시동 ON이 순서대로 들어온다.
+        // 2. processVehicleEvents로 일괄 처리하면
+        // 3. 시동 ON의 위경도가 같은 배치 안의 직전 시동 OFF 위경도로 보정되어 저장되어야 한다.
+
+        OffsetDateTime offTime = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+        OffsetDateTime onTime = offTime.plusMinutes(10);
+        String mdn = "01099997777";
+
+        VehicleEventLog offEvent = VehicleEventLogFixture.located(mdn, VehicleEventType.IGNITION_OFF, offTime, 200000L)
+                .latitude(37.111111)
+                .longitude(127.222222)
+                .angle(90)
+                .build();
+
+        VehicleEventLog onEvent = VehicleEventLogFixture.located(mdn, VehicleEventType.IGNITION_ON, onTime, 200000L)
+                .gpsStatus(GpsCondition.ABNORMAL_ON_IGNITION)
+                .latitude(0.0)
+                .longitude(0.0)
+                .build();
+
+        vehicleEventLogService.processVehicleEvents(List.of(offEvent, onEvent));
+
+        assertThat(vehicleEventLogService.findTopByMdnAndEventTypeOrderByEventTimestampUtcDesc(mdn, VehicleEventType.IGNITION_ON))
+                .hasValueSatisfying(saved -> {
+                    assertThat(saved.getLatitude()).isEqualTo(37.111111);
+                    assertThat(saved.getLongitude()).isEqualTo(127.222222);
+                });
+    }
+
+    @Test
+    @DisplayName("Kafka가 같은 배치를 다시 전달해도 PK 위반 없이 한 번만 저장되어야 한다")
+    void 재전달_배치_중복_무시() {
+
+        // 1. 시동 OFF 2건이 담긴 배치를 처리한 뒤
+        // 2. 같은 배치가 다시 전달되어(at-least-once) 한 번 더 처리되어도
+        // 3. 예외 없이 2건만 남아 있어야 한다.
+
+        OffsetDateTime baseTime = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+        String mdn = "01099996666";
+
+        vehicleEventLogService.processVehicleEvents(List.of(offEvent(mdn, baseTime), offEvent(mdn, baseTime.plusSeconds(30))));
+        vehicleEventLogService.processVehicleEvents(List.of(offEvent(mdn, baseTime), offEvent(mdn, baseTime.plusSeconds(30))));
+
+        assertThat(vehicleEventLogRepository.countByMdnAndEventType(mdn, VehicleEventType.IGNITION_OFF)).isEqualTo(2);
+    }
+
+    private static VehicleEventLog offEvent(String mdn, OffsetDateTime offTime) {
+        return VehicleEventLogFixture.located(mdn, VehicleEventType.IGNITION_OFF, offTime, 100L).build();
+    }
+}
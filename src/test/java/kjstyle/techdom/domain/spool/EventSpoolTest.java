@@ -0,0 +1,140 @@
+package kjstyle.techdom.domain.spool;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kjstyle.techdom.common.VehicleEventLogFixture;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.exceptions.EventPublishRejectedException;
+import kjstyle.techdom.enums.VehicleEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventSpoolTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2025, 7, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("기록한 순서대로 넘겨야 하고, 전송에 실패한 묶음은 다음 호출에서 다시 넘겨야 한다")
+    void 순서대로_재전송() throws IOException {
+        EventSpool spool = open(DataSize.ofKilobytes(64), DataSize.ofMegabytes(1));
+        for (int i = 0; i < 5; i++) {
+            spool.append(event(i));
+        }
+        assertThat(spool.pendingCount()).isEqualTo(5);
+
+        assertThat(spool.drain(3, batch -> false)).isZero(); // 브로커 장애 지속
+        assertThat(spool.pendingCount()).isEqualTo(5);
+
+        List<Integer> sent = new ArrayList<>();
+        while (spool.drain(3, batch -> sent.addAll(seconds(batch))) > 0) {
+        }
+        assertThat(sent).containsExactly(0, 1, 2, 3, 4);
+        assertThat(spool.hasPending()).isFalse();
+        spool.destroy();
+    }
+
+    @Test
+    @DisplayName("재시작하면 체크포인트 이후의 이벤트만 다시 넘겨야 한다")
+    void 재시작_후_이어서_전송() throws IOException {
+        EventSpool spool = open(DataSize.ofKilobytes(64), DataSize.ofMegabytes(1));
+        for (int i = 0; i < 4; i++) {
+            spool.append(event(i));
+        }
+        spool.drain(2, batch -> true);
+        spool.destroy();
+
+        EventSpool reopened = open(DataSize.ofKilobytes(64), DataSize.ofMegabytes(1));
+        assertThat(reopened.pendingCount()).isEqualTo(2);
+
+        List<Integer> sent = new ArrayList<>();
+        reopened.drain(10, batch -> sent.addAll(seconds(batch)));
+        assertThat(sent).containsExactly(2, 3);
+
+        reopened.append(event(4)); // 복구한 세그먼트 뒤에는 이어 쓰지 않고 새 세그먼트에 기록
+        sent.clear();
+        reopened.drain(10, batch -> sent.addAll(seconds(batch)));
+        assertThat(sent).containsExactly(4);
+        reopened.destroy();
+    }
+
+    @Test
+    @DisplayName("세그먼트가 차면 다음 파일로 넘어가고, 합계 상한을 넘으면 거절하며, 다 보낸 세그먼트는 삭제해야 한다")
+    void 세그먼트_롤링과_용량_상한() throws IOException {
+        EventSpool spool = open(DataSize.ofBytes(512), DataSize.ofBytes(1536));
+
+        int appended = 0;
+        try {
+            while (appended < 1000) {
+                spool.append(event(appended));
+                appended++;
+            }
+        } catch (EventPublishRejectedException e) {
+            assertThat(e.getMdn()).isEqualTo("01012345678");
+        }
+        assertThat(appended).isBetween(3, 999);
+        assertThat(segmentFiles()).hasSize(3);
+
+        List<Integer> sent = new ArrayList<>();
+        while (spool.drain(7, batch -> sent.addAll(seconds(batch))) > 0) {
+        }
+        assertThat(sent).hasSize(appended);
+        assertThat(sent).isSorted();
+        assertThat(segmentFiles()).hasSize(1); // 마지막(기록 중) 세그먼트만 남음
+
+        spool.append(event(appended)); // 공간이 비었으므로 다시 받음
+        assertThat(spool.pendingCount()).isEqualTo(1);
+        spool.destroy();
+    }
+
+    @Test
+    @DisplayName("같은 디렉터리를 두 번 열 수 없어야 한다")
+    void 디렉터리_잠금() throws IOException {
+        EventSpool spool = open(DataSize.ofKilobytes(64), DataSize.ofMegabytes(1));
+
+        assertThatThrownBy(() -> open(DataSize.ofKilobytes(64), DataSize.ofMegabytes(1)))
+                .isInstanceOf(IllegalStateException.class);
+        spool.destroy();
+    }
+
+    private EventSpool open(DataSize segmentSize, DataSize maxSize) {
+        return new EventSpool(new SimpleMeterRegistry(), true, directory, segmentSize, maxSize, EventSpool.Fsync.GROUP);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(SpoolSegment::isSegmentFile).toList();
+        }
+    }
+
+    private static VehicleEventLog event(int second) {
+        return VehicleEventLogFixture.builder("01012345678", VehicleEventType.GEOFENCE_IN, BASE.plusSeconds(second))
+                .vehicleId(1001L)
+                .eventSecond(second)
+                .latitude(37.5665)
+                .longitude(126.978)
+                .geofenceGroupId("123456")
+                .geofencePointId("geo123")
+                .eventValue("IN")
+                .build();
+    }
+
+    private static List<Integer> seconds(List<VehicleEventLog> batch) {
+        return batch.stream().map(VehicleEventLog::getEventSecond).toList();
+    }
+}
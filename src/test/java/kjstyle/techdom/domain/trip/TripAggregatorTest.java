@@ -0,0 +1,132 @@
+package kjstyle.techdom.domain.trip;
+
+import kjstyle.techdom.common.BaseTest;
+import kjstyle.techdom.common.VehicleEventLogFixture;
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.entitys.DrivingLogId;
+import kjstyle.techdom.domain.entitys.TripSummary;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.repository.DrivingLogCustomRepository;
+import kjstyle.techdom.domain.repository.TripSummaryRepository;
+import kjstyle.techdom.domain.service.DrivingLogService;
+import kjstyle.techdom.domain.service.VehicleEventLogService;
+import kjstyle.techdom.enums.GpsCondition;
+import kjstyle.techdom.enums.VehicleEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TripAggregatorTest extends BaseTest {
+
+    @Autowired
+    private VehicleEventLogService vehicleEventLogService;
+
+    @Autowired
+    private DrivingLogService drivingLogService;
+
+    @Autowired
+    private TripAggregator tripAggregator;
+
+    @Autowired
+    private TripSummaryRepository tripSummaryRepository;
+
+    @Autowired
+    private DrivingLogCustomRepository drivingLogCustomRepository;
+
+    @Test
+    @DisplayName("시동 ON -> 주기정보 -> 시동 OFF 가 들어오면 운행 요약 한 건이 저장되어야 한다")
+    void 운행_요약_저장() {
+        String mdn = "01088880001";
+        OffsetDateTime onTime = OffsetDateTime.of(2025, 6, 2, 8, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime offTime = onTime.plusMinutes(4);
+
+        vehicleEventLogService.processVehicleEvents(List.of(ignition(mdn, VehicleEventType.IGNITION_ON, onTime, 10_000L)));
+        assertThat(tripAggregator.isOpen(mdn)).isTrue();
+
+        drivingLogService.saveBulk(List.of(
+                drivingLog(mdn, onTime.plusMinutes(1), 40),
+                drivingLog(mdn, onTime.plusMinutes(2), 80),
+                drivingLog(mdn, onTime.plusMinutes(3), 60)));
+
+        VehicleEventLog off = ignition(mdn, VehicleEventType.IGNITION_OFF, offTime, 13_500L);
+        vehicleEventLogService.processVehicleEvents(List.of(off));
+        // 시동 OFF 재전달
+        vehicleEventLogService.processVehicleEvents(List.of(ignition(mdn, VehicleEventType.IGNITION_OFF, offTime, 13_500L)));
+
+        assertThat(tripAggregator.isOpen(mdn)).isFalse();
+        List<TripSummary> trips = tripSummaryRepository.findByMdnOrderByStartTimeDesc(mdn);
+        assertThat(trips).singleElement().satisfies(trip -> {
+            assertThat(trip.getStartTime().toInstant()).isEqualTo(onTime.toInstant());
+            assertThat(trip.getEndTime().toInstant()).isEqualTo(offTime.toInstant());
+            assertThat(trip.getDurationSeconds()).isEqualTo(240L);
+            assertThat(trip.getDistance()).isEqualTo(3_500L);
+            assertThat(trip.getMaxSpeed()).isEqualTo(80);
+            assertThat(trip.getAvgSpeed()).isEqualTo(60.0);
+            assertThat(trip.getSpeedSamples()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    @DisplayName("진행 중 상태가 없어도(재시작 등) 시동 OFF 때 DB에서 직전 시동 ON과 주기정보를 읽어 복구해야 한다")
+    void 재시작_후_복구() {
+        String mdn = "01088880002";
+        OffsetDateTime onTime = OffsetDateTime.of(2025, 6, 2, 9, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime offTime = onTime.plusMinutes(3);
+
+        vehicleEventLogService.processVehicleEvents(List.of(ignition(mdn, VehicleEventType.IGNITION_ON, onTime, 500L)));
+        drivingLogService.saveBulk(List.of(
+                drivingLog(mdn, onTime.plusMinutes(1), 30),
+                drivingLog(mdn, onTime.plusMinutes(2), 50)));
+
+        tripAggregator.forget(mdn);
+        vehicleEventLogService.processVehicleEvents(List.of(ignition(mdn, VehicleEventType.IGNITION_OFF, offTime, 1_700L)));
+
+        assertThat(tripSummaryRepository.findByMdnOrderByStartTimeDesc(mdn)).singleElement().satisfies(trip -> {
+            assertThat(trip.getDistance()).isEqualTo(1_200L);
+            assertThat(trip.getMaxSpeed()).isEqualTo(50);
+            assertThat(trip.getAvgSpeed()).isEqualTo(40.0);
+            assertThat(trip.getSpeedSamples()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 저장한 주기정보도 최고/평균 속도에 포함되어야 한다")
+    void 다른_인스턴스_주기정보_포함() {
+        String mdn = "01088880003";
+        OffsetDateTime onTime = OffsetDateTime.of(2025, 6, 2, 10, 0, 0, 0, ZoneOffset.UTC);
+
+        vehicleEventLogService.processVehicleEvents(List.of(ignition(mdn, VehicleEventType.IGNITION_ON, onTime, 0L)));
+        drivingLogService.saveBulk(List.of(drivingLog(mdn, onTime.plusMinutes(1), 20)));
+        // 이 인스턴스의 메모리를 거치지 않고 저장된 주기정보 (다른 인스턴스로 들어온 요청)
+        drivingLogCustomRepository.bulkInsert(List.of(drivingLog(mdn, onTime.plusMinutes(2), 100)));
+
+        vehicleEventLogService.processVehicleEvents(List.of(ignition(mdn, VehicleEventType.IGNITION_OFF, onTime.plusMinutes(3), 900L)));
+
+        assertThat(tripSummaryRepository.findByMdnOrderByStartTimeDesc(mdn)).singleElement().satisfies(trip -> {
+            assertThat(trip.getMaxSpeed()).isEqualTo(100);
+            assertThat(trip.getAvgSpeed()).isEqualTo(60.0);
+            assertThat(trip.getSpeedSamples()).isEqualTo(2);
+        });
+    }
+
+    private static VehicleEventLog ignition(String mdn, VehicleEventType type, OffsetDateTime time, long distance) {
+        return VehicleEventLogFixture.located(mdn, type, time, distance).build();
+    }
+
+    private static DrivingLog drivingLog(String mdn, OffsetDateTime time, int speed) {
+        return DrivingLog.builder()
+                .id(new DrivingLogId(time.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime(), mdn))
+                .gpsCondition(GpsCondition.NORMAL)
+                .latitude(new BigDecimal("37.500000"))
+                .longitude(new BigDecimal("127.000000"))
+                .speed(speed)
+                .build();
+    }
+}
@@ -0,0 +1,205 @@
+package kjstyle.techdom.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kjstyle.techdom.common.BaseMockMvcTest;
+import kjstyle.techdom.common.DeviceFixture;
+import kjstyle.techdom.web.dto.DrivingCycleRequest;
+import kjstyle.techdom.web.dto.DrivingLogRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DrivingLogControllerTest extends BaseMockMvcTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void registerDevices() {
+        DeviceFixture.register(jdbcTemplate, "01077776666", null);
+        DeviceFixture.register(jdbcTemplate, "01077775555", null);
+        DeviceFixture.register(jdbcTemplate, "01077774444", null);
+        DeviceFixture.register(jdbcTemplate, "01077773333", null);
+    }
+
+    @Test
+    @DisplayName("재접속 후 밀린 주기정보 수백 건을 한 번에 보내고 -> 모두 저장되었는지 확인하기")
+    void 주기정보_수백건_보내고_모두_저장되었는지_확인하기() throws Exception {
+        // given : 5분치(60초 x 5) 주기정보. 분 단위 기준시각을 바꿔가며 보내야 PK가 겹치지 않으므로 1분치씩 나눠 보낸다
+        String mdn = "01077776666";
+        LocalDateTime baseTime = LocalDateTime.now().withSecond(0).withNano(0);
+
+        for (int minute = 0; minute < 5; minute++) {
+            DrivingLogRequest req = createRequest(mdn, baseTime.plusMinutes(minute), 60);
+
+            // when
+            ResultActions actions = mockMvc.perform(
+                    post("/api/v1/vehicle/driving")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(req))
+            );
+
+            // then
+            actions.andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rstCd").value("200"));
+        }
+
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM driving_log WHERE mdn = ?", Integer.class, mdn);
+        assertThat(count).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("하루치(1440건) 밀린 주기정보를 요청 한 번에 보내고 -> 여러 청크로 나뉘어 모두 저장되었는지 확인하기")
+    void 하루치_주기정보_한번에_보내고_모두_저장되었는지_확인하기() throws Exception {
+        // given : sec은 recordTime 기준 경과 초이므로 0 ~ 1439초, batch-size(500)보다 커서 청크 3개로 나뉜다
+        String mdn = "01077773333";
+        LocalDateTime recordTime = LocalDateTime.of(2025, 7, 3, 0, 0);
+        DrivingLogRequest req = createRequest(mdn, recordTime, DrivingLogRequest.MAX_CYCLES);
+
+        // when
+        ResultActions actions = mockMvc.perform(
+                post("/api/v1/vehicle/driving")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req))
+        );
+
+        // then
+        actions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.rstCd").value("200"));
+
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM driving_log WHERE mdn = ?", Integer.class, mdn);
+        assertThat(count).isEqualTo(DrivingLogRequest.MAX_CYCLES);
+        LocalDateTime last = jdbcTemplate.queryForObject(
+                "SELECT MAX(record_time) FROM driving_log WHERE mdn = ?", LocalDateTime.class, mdn);
+        assertThat(last).isEqualTo(recordTime.plusSeconds(DrivingLogRequest.MAX_CYCLES - 1));
+    }
+
+    @Test
+    @DisplayName("400에러 테스트 - 공통 헤더 값이 틀리고 주기정보가 최대 건수를 넘어요")
+    void _400_에러_테스트_헤더_값이_틀리고_주기정보가_너무_많아요() throws Exception {
+        // given
+        DrivingLogRequest req = createRequest("01077773333", LocalDateTime.of(2025, 7, 3, 0, 0), DrivingLogRequest.MAX_CYCLES + 1);
+        req.setTid("B001");
+        req.setRecordTime("2025070300");
+
+        // when
+        ResultActions actions = mockMvc.perform(
+                post("/api/v1/vehicle/driving")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req))
+        );
+
+        // then
+        actions.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.length()").value(3))
+                .andExpect(jsonPath("$.errors[0]").value("tid: tid는 'A001'로 고정되어야 합니다."))
+                .andExpect(jsonPath("$.errors[1]").value("recordTime: recordTime은 'ccyyMMddHHmm' 형식의 12자리 숫자여야 합니다."))
+                .andExpect(jsonPath("$.errors[2]").value("cycleList: cycleList는 1건 이상 1440건 이하여야 합니다."));
+    }
+
+    @Test
+    @DisplayName("400에러 테스트 - 주기정보 중 하나의 위도가 숫자가 아니에요")
+    void _400_에러_테스트_주기정보_위도가_숫자가_아니에요() throws Exception {
+        // given
+        DrivingLogRequest req = createRequest("01077775555", LocalDateTime.now().withSecond(0).withNano(0), 10);
+        req.getCycleList().get(2).setLat("37.5abc");
+
+        // when
+        ResultActions actions = mockMvc.perform(
+                post("/api/v1/vehicle/driving")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req))
+        );
+
+        // then
+        actions.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("cycleList[2].lat: lat은 유효한 숫자 형식이어야 합니다."));
+
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM driving_log WHERE mdn = ?", Integer.class, req.getMdn());
+        assertThat(count).isZero();
+    }
+
+    @Test
+    @DisplayName("주기정보를 보내면 -> 시간 단위 롤업 조회에 평균/최고 속도와 구간 거리가 나와야 한다")
+    void 주기정보_보내고_시간단위_롤업_조회하기() throws Exception {
+        // given : 09:30 1분치 60건 (속도 40~59, 누적거리 123456 ~ 124046)
+        String mdn = "01077774444";
+        DrivingLogRequest req = createRequest(mdn, LocalDateTime.of(2025, 7, 2, 9, 30), 60);
+        mockMvc.perform(post("/api/v1/vehicle/driving")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk());
+
+        // when
+        ResultActions actions = mockMvc.perform(get("/api/v1/vehicle/driving/{mdn}/rollup", mdn)
+                .param("granularity", "HOURLY")
+                .param("from", "2025-07-02T00:00:00")
+                .param("to", "2025-07-03T00:00:00"));
+
+        // then
+        actions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].bucketStart").value("2025-07-02T09:00:00"))
+                .andExpect(jsonPath("$[0].samples").value(60))
+                .andExpect(jsonPath("$[0].maxSpeed").value(59))
+                .andExpect(jsonPath("$[0].avgSpeed").value(49.5))
+                .andExpect(jsonPath("$[0].distance").value(590));
+    }
+
+    @Test
+    @DisplayName("400에러 테스트 - 롤업 조회 범위가 최대 구간 수를 넘어요")
+    void _400_에러_테스트_롤업_조회_범위가_너무_길어요() throws Exception {
+        mockMvc.perform(get("/api/v1/vehicle/driving/{mdn}/rollup", "01077774444")
+                        .param("granularity", "HOURLY")
+                        .param("from", "2025-01-01T00:00:00")
+                        .param("to", "2025-07-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.rstCd").value("400"));
+    }
+
+    private static DrivingLogRequest createRequest(String mdn, LocalDateTime recordTime, int size) {
+        DrivingLogRequest req = new DrivingLogRequest();
+        req.setMdn(mdn);
+        req.setTid("A001");
+        req.setMid("6");
+        req.setPv("5");
+        req.setDid("1");
+        req.setRecordTime(recordTime.format(DateTimeFormatter.ofPattern("yyyyMMddHHmm")));
+        req.setCycleCount(String.valueOf(size));
+
+        List<DrivingCycleRequest> cycles = IntStream.range(0, size)
+                .mapToObj(i -> {
+                    DrivingCycleRequest cycle = new DrivingCycleRequest();
+                    cycle.setSec(String.valueOf(i));
+                    cycle.setGcd("A");
+                    cycle.setLat("37.5665");
+                    cycle.setLon("126.9780");
+                    cycle.setAng("90");
+                    cycle.setSpd(String.valueOf(40 + i % 20));
+                    cycle.setSum(String.valueOf(123456 + i * 10));
+                    cycle.setBatteryVolt("128");
+                    return cycle;
+                })
+                .toList();
+        req.setCycleList(cycles);
+        return req;
+    }
+}
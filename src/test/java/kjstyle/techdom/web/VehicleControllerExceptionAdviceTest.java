@@ -0,0 +1,36 @@
+package kjstyle.techdom.web;
+
+import kjstyle.techdom.domain.archive.RawRequestArchiver;
+import kjstyle.techdom.domain.exceptions.EventPublishRejectedException;
+import kjstyle.techdom.web.dto.EventResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class VehicleControllerExceptionAdviceTest {
+
+    @Test
+    @DisplayName("in-flight 한도 초과로 전송을 거절하면 503으로 응답하고 거절한 요청 원본을 남겨야 한다")
+    void 전송_거절_503() {
+        RawRequestArchiver archiver = mock(RawRequestArchiver.class);
+        VehicleControllerExceptionAdvice advice = new VehicleControllerExceptionAdvice(archiver);
+
+        ResponseEntity<EventResponse> response = advice.handleEventPublishRejectedException(
+                new EventPublishRejectedException("01012345678", "이벤트 전송 대기 건수가 한도에 도달했습니다."),
+                new MockHttpServletRequest());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getBody().getRstCd()).isEqualTo("503");
+        assertThat(response.getBody().getMdn()).isEqualTo("01012345678");
+        verify(archiver).archive(any(), isNull(), eq(false), eq("503 이벤트 전송 대기 건수가 한도에 도달했습니다."));
+    }
+}
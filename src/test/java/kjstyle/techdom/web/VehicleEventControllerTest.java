@@ -1,16 +1,21 @@
 package kjstyle.techdom.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
 import kjstyle.techdom.common.BaseMockMvcTest;
+import kjstyle.techdom.common.DeviceFixture;
 import kjstyle.techdom.domain.service.VehicleEventLogService;
 import kjstyle.techdom.enums.VehicleEventType;
 import kjstyle.techdom.web.dto.GeofenceEventRequest;
 import kjstyle.techdom.web.dto.IgnitionEventRequest;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.ResultActions;
@@ -39,6 +44,12 @@ class VehicleEventControllerTest extends BaseMockMvcTest {
     @Autowired
     private VehicleEventLogService vehicleEventLogService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
 
     @Container
     static KafkaContainer kafka = new KafkaContainer(
@@ -51,6 +62,11 @@ class VehicleEventControllerTest extends BaseMockMvcTest {
         registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
     }
 
+    @BeforeAll
+    void registerDevice() {
+        DeviceFixture.register(jdbcTemplate, "01012345678", 1001L);
+    }
+
     @Test
     @DisplayName("시동 ON 이벤트 보내고 -> 잘 처리되었는지 확인하기")
     void 시동ON_이벤트_보내고_잘_처리되었는지_확인하기() throws Exception {
@@ -94,6 +110,7 @@ class VehicleEventControllerTest extends BaseMockMvcTest {
                 .ifPresentOrElse(
                     eventLog -> {
                         assertThat(eventLog.getMdn()).isEqualTo(req.getMdn());
+                        assertThat(eventLog.getVehicleId()).isEqualTo(1001L); // 단말 캐시에서 붙인 차량 ID
                         assertThat(eventLog.getEventType()).isEqualTo(VehicleEventType.IGNITION_ON);
                         assertThat(eventLog.getLatitude()).isEqualTo(37.5665); // 최초이지만 GPS정상 케이스라
                         assertThat(eventLog.getLongitude()).isEqualTo(126.9780); // 최초이지만 GPS정상 케이스라
@@ -145,6 +162,42 @@ class VehicleEventControllerTest extends BaseMockMvcTest {
 
     }
 
+    @Test
+    @DisplayName("403에러 테스트 - 등록되지 않은 단말이에요")
+    void _403_에러_테스트_등록되지_않은_단말이에요() throws Exception {
+        // given
+        IgnitionEventRequest req = new IgnitionEventRequest();
+
+        req.setMdn("01099990000"); // device 테이블에 없는 MDN
+        req.setTid("A001");
+        req.setMid("6");
+        req.setPv("5");
+        req.setDid("1");
+
+        String now = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        req.setOnTime(now);
+        req.setOffTime("");
+
+        req.setGcd("A");
+        req.setLat("37.5665");
+        req.setLon("126.9780");
+        req.setAng("90");
+        req.setSpd("40");
+        req.setSum("123456");
+
+        // when
+        ResultActions actions = mockMvc.perform(
+                post("/api/v1/vehicle/ignition")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req))
+        );
+
+        // then
+        actions.andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.rstCd").value("403"))
+                .andExpect(jsonPath("$.rstMsg").value("등록되지 않은 단말입니다."));
+    }
+
     @Test
     @DisplayName("지오펜스 IN 이벤트 보내고 -> 잘 처리되었는지 확인하기")
     void 지오펜스_IN_이벤트_보내고_잘_처리되었는지_확인하기() throws Exception {
@@ -266,4 +319,114 @@ class VehicleEventControllerTest extends BaseMockMvcTest {
                         () -> fail("지오펜스 OUT 이벤트가 저장되지 않았습니다.")
                 );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("묶음 요청 - 항목별로 검증해 통과한 이벤트만 처리하고, 결과는 요청 순서대로 내려줘야 한다")
+    void 묶음_이벤트_항목별_처리() throws Exception {
+        // given
+        String now = LocalDateTime.now().minusMinutes(5).format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+
+        GeofenceEventRequest geofence = new GeofenceEventRequest();
+        geofence.setMdn("01012345678");
+        geofence.setTid("A001");
+        geofence.setMid("6");
+        geofence.setPv("5");
+        geofence.setDid("1");
+        geofence.setGcd("A");
+        geofence.setLat("37.5665");
+        geofence.setLon("126.9780");
+        geofence.setAng("90");
+        geofence.setSpd("40");
+        geofence.setSum("123456");
+        geofence.setBatteryVolt("128");
+        geofence.setGeofenceGroupId("batch01");
+        geofence.setGeofencePointId("geo123");
+        geofence.setEventValue("IN");
+        geofence.setEventTime(now);
+
+        ObjectNode valid = objectMapper.valueToTree(geofence);
+        valid.put("type", "GEOFENCE_IN");
+
+        ObjectNode missingSpeed = valid.deepCopy();
+        missingSpeed.remove("spd");
+
+        ObjectNode unknownDevice = valid.deepCopy();
+        unknownDevice.put("mdn", "01099990000");
+
+        ObjectNode unknownType = valid.deepCopy();
+        unknownType.put("type", "DRIVING");
+
+        String body = objectMapper.createObjectNode()
+                .set("events", objectMapper.createArrayNode().add(valid).add(missingSpeed).add(unknownDevice).add(unknownType))
+                .toString();
+
+        // when
+        ResultActions actions = mockMvc.perform(
+                post("/api/v1/vehicle/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+        );
+
+        // then
+        actions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.rstCd").value("207"))
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.results[0].rstCd").value("200"))
+                .andExpect(jsonPath("$.results[1].rstCd").value("400"))
+                .andExpect(jsonPath("$.results[1].errors[0]").value("spd: spd는 필수 값입니다."))
+                .andExpect(jsonPath("$.results[2].rstCd").value("403"))
+                .andExpect(jsonPath("$.results[3].rstCd").value("400"));
+
+        sleep(1000); // Wait for database synchronization
+
+        Integer saved = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM vehicle_event_log WHERE mdn = ? AND geofence_group_id = 'batch01'", Integer.class, "01012345678");
+        assertThat(saved).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("묶음 요청 - 같은 묶음에 같은 단말/같은 시각 항목이 두 번 있으면 한 번만 보내고 반복 항목은 중복으로 정상 응답해야 한다")
+    void 묶음_안의_중복_항목은_한번만_전송() throws Exception {
+        // given : 게이트웨이 재시도로 같은 항목이 한 묶음에 두 번 들어온 경우
+        String eventTime = LocalDateTime.now().minusMinutes(7).format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        ObjectNode item = objectMapper.createObjectNode()
+                .put("type", "GEOFENCE_IN")
+                .put("mdn", "01012345678").put("tid", "A001").put("mid", "6").put("pv", "5").put("did", "1")
+                .put("gcd", "A").put("lat", "37.5665").put("lon", "126.9780").put("ang", "90").put("spd", "40")
+                .put("sum", "123456").put("batteryVolt", "128")
+                .put("geofenceGroupId", "batch02").put("geofencePointId", "geo123").put("eventValue", "IN")
+                .put("eventTime", eventTime);
+        String body = objectMapper.createObjectNode()
+                .set("events", objectMapper.createArrayNode().add(item).add(item.deepCopy()))
+                .toString();
+        double sentBefore = producedRecords();
+
+        // when
+        ResultActions actions = mockMvc.perform(
+                post("/api/v1/vehicle/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+        );
+
+        // then
+        actions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.rejected").value(0))
+                .andExpect(jsonPath("$.results[0].rstCd").value("200"))
+                .andExpect(jsonPath("$.results[1].rstCd").value("200"));
+
+        sleep(1000); // Wait for broker ack and database synchronization
+
+        assertThat(producedRecords() - sentBefore).isEqualTo(1.0);
+        Integer saved = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM vehicle_event_log WHERE mdn = ? AND geofence_group_id = 'batch02'", Integer.class, "01012345678");
+        assertThat(saved).isEqualTo(1);
+    }
+
+    // 프로듀서가 받은 이벤트 건수 (ACK + 스풀)
+    private double producedRecords() {
+        return meterRegistry.get("techdom.kafka.producer.records").tag("result", "acked").counter().count()
+                + meterRegistry.get("techdom.kafka.producer.records").tag("result", "spooled").counter().count();
+    }
+}
@@ -0,0 +1,139 @@
+package kjstyle.techdom.web;
+
+import com.jayway.jsonpath.JsonPath;
+import kjstyle.techdom.common.BaseMockMvcTest;
+import kjstyle.techdom.common.VehicleEventLogFixture;
+import kjstyle.techdom.domain.entitys.DrivingLog;
+import kjstyle.techdom.domain.entitys.DrivingLogId;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.repository.DrivingLogCustomRepository;
+import kjstyle.techdom.domain.repository.VehicleEventLogCustomRepository;
+import kjstyle.techdom.enums.GpsCondition;
+import kjstyle.techdom.enums.VehicleEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class VehicleTimelineControllerTest extends BaseMockMvcTest {
+
+    private static final OffsetDateTime BASE_TIME = OffsetDateTime.of(2025, 7, 3, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private VehicleEventLogCustomRepository vehicleEventLogCustomRepository;
+
+    @Autowired
+    private DrivingLogCustomRepository drivingLogCustomRepository;
+
+    @Test
+    @DisplayName("이벤트 5건을 2건씩 조회하면 -> cursor로 이어서 최신순 2, 2, 1건이 나오고 마지막 페이지는 nextCursor가 없어야 한다")
+    void 이벤트_타임라인_keyset_페이지() throws Exception {
+        // given
+        String mdn = "01044440001";
+        vehicleEventLogCustomRepository.bulkInsert(IntStream.range(0, 5)
+                .mapToObj(i -> event(mdn, BASE_TIME.plusMinutes(i)))
+                .toList());
+
+        // when : 첫 페이지
+        MvcResult first = mockMvc.perform(get("/api/v1/vehicle/{mdn}/timeline/events", mdn)
+                        .param("from", "2025-07-03T00:00:00Z")
+                        .param("to", "2025-07-04T00:00:00Z")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].eventTimestampUtc").value("2025-07-03T10:04:00Z"))
+                .andExpect(jsonPath("$.items[0].rawJsonData").doesNotExist())
+                .andReturn();
+        String cursor = JsonPath.read(first.getResponse().getContentAsString(), "$.nextCursor");
+
+        // then : cursor 이전부터 이어서
+        MvcResult second = mockMvc.perform(get("/api/v1/vehicle/{mdn}/timeline/events", mdn)
+                        .param("from", "2025-07-03T00:00:00Z")
+                        .param("to", "2025-07-04T00:00:00Z")
+                        .param("cursor", cursor)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].eventTimestampUtc").value("2025-07-03T10:02:00Z"))
+                .andExpect(jsonPath("$.items[1].eventTimestampUtc").value("2025-07-03T10:01:00Z"))
+                .andReturn();
+        cursor = JsonPath.read(second.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get("/api/v1/vehicle/{mdn}/timeline/events", mdn)
+                        .param("from", "2025-07-03T00:00:00Z")
+                        .param("to", "2025-07-04T00:00:00Z")
+                        .param("cursor", cursor)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].eventTimestampUtc").value("2025-07-03T10:00:00Z"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("주기정보 범위를 NDJSON으로 요청하면 -> 한 줄에 한 건씩 최신순으로 모두 내려와야 한다")
+    void 주기정보_타임라인_NDJSON_스트리밍() throws Exception {
+        // given
+        String mdn = "01044440002";
+        drivingLogCustomRepository.bulkInsert(IntStream.range(0, 3)
+                .mapToObj(i -> drivingLog(mdn, BASE_TIME.plusMinutes(i), 40 + i))
+                .toList());
+
+        // when
+        MvcResult started = mockMvc.perform(get("/api/v1/vehicle/{mdn}/timeline/driving/stream", mdn)
+                        .param("from", "2025-07-03T00:00:00Z")
+                        .param("to", "2025-07-04T00:00:00Z"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn();
+
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat((Integer) JsonPath.read(lines.get(0), "$.speed")).isEqualTo(42);
+        assertThat((String) JsonPath.read(lines.get(2), "$.recordTime")).isEqualTo("2025-07-03T10:00:00Z");
+    }
+
+    @Test
+    @DisplayName("400에러 테스트 - 스트리밍 범위가 최대 기간을 넘어요")
+    void _400_에러_테스트_스트리밍_범위가_너무_길어요() throws Exception {
+        mockMvc.perform(get("/api/v1/vehicle/{mdn}/timeline/events/stream", "01044440003")
+                        .param("from", "2025-01-01T00:00:00Z")
+                        .param("to", "2025-07-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static VehicleEventLog event(String mdn, OffsetDateTime time) {
+        return VehicleEventLogFixture.located(mdn, VehicleEventType.GEOFENCE_IN, time, 1000L)
+                .speed(30)
+                .rawJsonData("{\"mdn\":\"" + mdn + "\"}")
+                .build();
+    }
+
+    private static DrivingLog drivingLog(String mdn, OffsetDateTime time, int speed) {
+        return DrivingLog.builder()
+                .id(new DrivingLogId(time.toLocalDateTime(), mdn))
+                .gpsCondition(GpsCondition.NORMAL)
+                .latitude(new BigDecimal("37.500000"))
+                .longitude(new BigDecimal("127.000000"))
+                .speed(speed)
+                .build();
+    }
+}
@@ -0,0 +1,228 @@
+package kjstyle.techdom.web.dto;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import kjstyle.techdom.domain.entitys.VehicleEventLog;
+import kjstyle.techdom.domain.exceptions.RequestValidationException;
+import kjstyle.techdom.enums.VehicleEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeviceEventDecoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    @DisplayName("시동 ON/OFF 디코딩 결과는 기존 DTO 변환 결과와 같아야 한다")
+    void 시동_DTO와_결과_동일() throws IOException {
+        for (String offTime : List.of("", "20250701093000")) {
+            ObjectNode body = ignition();
+            body.put("offTime", offTime);
+
+            IgnitionEvent event = DeviceEventDecoder.decodeIgnition(parser(body));
+            VehicleEventLog expected = objectMapper.treeToValue(body, IgnitionEventRequest.class).toVehicleEventLog();
+
+            assertThat(event.getMdn()).isEqualTo("01012345678");
+            assertThat(event.getTid()).isEqualTo("A001");
+            assertThat(event.toVehicleEventLog()).usingRecursiveComparison().isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("지오펜스 디코딩 결과는 기존 DTO 변환 결과와 같아야 하고, 숫자 값과 모르는 필드도 받아야 한다")
+    void 지오펜스_DTO와_결과_동일() throws IOException {
+        ObjectNode body = geofence();
+        VehicleEventLog expected = objectMapper.treeToValue(body, GeofenceEventRequest.class)
+                .toVehicleEventLog(VehicleEventType.GEOFENCE_OUT);
+
+        body.put("spd", 40); // 문자열 대신 숫자로 보내는 단말
+        body.put("extra", "무시");
+        body.putObject("nested").put("a", 1);
+        GeofenceEvent event = DeviceEventDecoder.decodeGeofence(parser(body));
+
+        assertThat(event.toVehicleEventLog(VehicleEventType.GEOFENCE_OUT)).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("필드 하나가 잘못되면 Bean Validation과 같은 오류 메시지를 내야 한다")
+    void Bean_Validation과_메시지_동일() {
+        List<Consumer<ObjectNode>> cases = List.of(
+                b -> b.remove("mdn"),
+                b -> b.put("tid", "B001"),
+                b -> b.put("pv", "4"),
+                b -> b.put("onTime", "2025070109"),
+                b -> b.putNull("offTime"),
+                b -> b.put("offTime", "2025-07-01"),
+                b -> b.put("gcd", "X"),
+                b -> b.put("lat", "37.5abc"),
+                b -> b.put("ang", "-1"),
+                b -> b.remove("sum"),
+                b -> b.put("batteryVolt", "12.8")
+        );
+
+        for (Consumer<ObjectNode> mutation : cases) {
+            ObjectNode body = ignition();
+            mutation.accept(body);
+
+            List<String> expected = validator.validate(objectMapper.convertValue(body, IgnitionEventRequest.class)).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .toList();
+            assertThat(expected).as(body.toString()).hasSize(1);
+
+            assertThatThrownBy(() -> DeviceEventDecoder.decodeIgnition(parser(body)))
+                    .as(body.toString())
+                    .isInstanceOfSatisfying(RequestValidationException.class,
+                            e -> assertThat(e.getErrors()).isEqualTo(expected));
+        }
+    }
+
+    @Test
+    @DisplayName("오류는 필드 선언 순서로 모두 모으고, 빈 값은 필수 오류만 남겨야 한다")
+    void 오류_모두_수집() {
+        ObjectNode body = geofence();
+        body.put("mdn", "01012345678");
+        body.put("spd", "");
+        body.put("eventTime", "20251301000000"); // 13월
+        body.put("eventValue", "UP");
+        body.put("lat", "N37");
+
+        assertThatThrownBy(() -> DeviceEventDecoder.decodeGeofence(parser(body)))
+                .isInstanceOfSatisfying(RequestValidationException.class, e -> {
+                    assertThat(e.getMdn()).isEqualTo("01012345678");
+                    assertThat(e.getErrors()).hasSize(4);
+                    assertThat(e.getErrors().get(0)).startsWith("eventTime: 날짜/시간 형식 오류: ");
+                    assertThat(e.getErrors().subList(1, 4)).containsExactly(
+                            "lat: lat은 유효한 숫자 형식이어야 합니다.",
+                            "spd: spd는 필수 값입니다.",
+                            "eventValue: eventValue는 'IN' 또는 'OUT'이어야 합니다.");
+                });
+    }
+
+    @Test
+    @DisplayName("JSON 객체가 아니거나 값이 객체/배열이면 파싱 오류여야 한다")
+    void 형식_오류() {
+        ObjectNode nested = ignition();
+        nested.putArray("spd").add("40");
+
+        assertThatThrownBy(() -> DeviceEventDecoder.decodeIgnition(parser(nested))).isInstanceOf(JsonParseException.class);
+        assertThatThrownBy(() -> DeviceEventDecoder.decodeIgnition(objectMapper.getFactory().createParser("[1]")))
+                .isInstanceOf(JsonParseException.class);
+        assertThatThrownBy(() -> DeviceEventDecoder.decodeIgnition(objectMapper.getFactory().createParser("{\"mdn\":")))
+                .isInstanceOf(JsonParseException.class);
+    }
+
+    @Test
+    @DisplayName("묶음 요청은 항목마다 type에 맞게 검증하고, 항목 원문은 본문 바이트 그대로 잘라야 한다")
+    void 묶음_항목별_디코딩() throws IOException {
+        ObjectNode ignition = ignition();
+        ignition.put("type", "IGNITION");
+        ignition.put("geofenceGroupId", "무시"); // 시동 항목의 지오펜스 필드는 값으로 쓰지 않음
+        ObjectNode geofence = geofence();
+        geofence.put("type", "GEOFENCE_OUT");
+        ObjectNode missingSpeed = geofence.deepCopy();
+        missingSpeed.remove("spd");
+        missingSpeed.put("type", "GEOFENCE_IN");
+        ObjectNode unknownType = ignition.deepCopy();
+        unknownType.put("type", "DRIVING");
+        ObjectNode nested = ignition.deepCopy();
+        nested.putArray("spd").add("40");
+
+        String ignitionJson = ignition.toString().replace(",", ", ");
+        String body = "{\"source\": {\"id\": 1}, \"events\": [" + ignitionJson + ",\n " + geofence + ", " + missingSpeed
+                + ", " + unknownType + ", " + nested + ", 7]}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        List<EventBatchRequest.Item> items = DeviceEventDecoder.decodeBatch(
+                objectMapper.getFactory().createParser(bytes), bytes).getEvents();
+
+        assertThat(items).hasSize(6);
+        assertThat(items.get(0).getType()).isEqualTo(EventBatchRequest.ItemType.IGNITION);
+        assertThat(items.get(0).rawJson()).isEqualTo(ignitionJson);
+        ignition.remove("type");
+        ignition.remove("geofenceGroupId");
+        assertThat(((IgnitionEvent) items.get(0).getEvent()).toVehicleEventLog()).usingRecursiveComparison()
+                .isEqualTo(objectMapper.treeToValue(ignition, IgnitionEventRequest.class).toVehicleEventLog());
+
+        assertThat(items.get(1).getEvent()).isInstanceOf(GeofenceEvent.class);
+        assertThat(items.get(1).rawJson()).isEqualTo(geofence.toString());
+
+        assertThat(items.get(2).getError().getMdn()).isEqualTo("01012345678");
+        assertThat(items.get(2).getError().getErrors()).containsExactly("spd: spd는 필수 값입니다.");
+        assertThat(items.get(3).getError().getErrors()).containsExactly(
+                "type: type은 'IGNITION', 'GEOFENCE_IN', 'GEOFENCE_OUT' 중 하나여야 합니다.");
+        assertThat(items.get(4).getError().getErrors()).containsExactly("요청 형식이 올바르지 않습니다: spd 값은 문자열이어야 합니다.");
+        assertThat(items.get(5).getError()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("묶음 요청의 events가 비었거나 한도를 넘으면 검증 오류, 배열이 아니면 파싱 오류여야 한다")
+    void 묶음_형식_오류() {
+        assertThatThrownBy(() -> decodeBatch("{\"events\": []}"))
+                .isInstanceOfSatisfying(RequestValidationException.class,
+                        e -> assertThat(e.getErrors()).containsExactly("events: events는 비어 있을 수 없습니다."));
+        assertThatThrownBy(() -> decodeBatch("{}")).isInstanceOf(RequestValidationException.class);
+        assertThatThrownBy(() -> decodeBatch("{\"events\": \"x\"}")).isInstanceOf(JsonParseException.class);
+        assertThatThrownBy(() -> decodeBatch("{\"events\": [{}, ")).isInstanceOf(JsonParseException.class);
+
+        String tooMany = "{\"events\": [" + String.join(",", Collections.nCopies(EventBatchRequest.MAX_EVENTS + 1, "{}")) + "]}";
+        assertThatThrownBy(() -> decodeBatch(tooMany))
+                .isInstanceOfSatisfying(RequestValidationException.class,
+                        e -> assertThat(e.getErrors()).containsExactly("events는 최대 " + EventBatchRequest.MAX_EVENTS + "건까지 보낼 수 있습니다."));
+    }
+
+    private EventBatchRequest decodeBatch(String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return DeviceEventDecoder.decodeBatch(objectMapper.getFactory().createParser(bytes), bytes);
+    }
+
+    private JsonParser parser(ObjectNode body) throws IOException {
+        return objectMapper.getFactory().createParser(objectMapper.writeValueAsBytes(body));
+    }
+
+    private ObjectNode ignition() {
+        ObjectNode body = header();
+        body.put("onTime", "20250701090000");
+        body.put("offTime", "");
+        return body;
+    }
+
+    private ObjectNode geofence() {
+        ObjectNode body = header();
+        body.put("eventTime", "20250701090010");
+        body.put("geofenceGroupId", "123456");
+        body.put("geofencePointId", "geo123");
+        body.put("eventValue", "OUT");
+        return body;
+    }
+
+    private ObjectNode header() {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("mdn", "01012345678");
+        body.put("tid", "A001");
+        body.put("mid", "6");
+        body.put("pv", "5");
+        body.put("did", "1");
+        body.put("gcd", "A");
+        body.put("lat", "37.566500");
+        body.put("lon", "126.978000");
+        body.put("ang", "90");
+        body.put("spd", "40");
+        body.put("sum", "123456");
+        body.put("batteryVolt", "128");
+        return body;
+    }
+}
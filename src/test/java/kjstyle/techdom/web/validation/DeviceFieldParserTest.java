@@ -0,0 +1,66 @@
+package kjstyle.techdom.web.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeviceFieldParserTest {
+
+    private static final List<String> SAMPLES = List.of(
+            "", "0", "7", "42", "0042", "-", "-1", "1.", ".5", "1.5", "-37.5665", "126.9780", "37.5abc",
+            "1e5", "+1", " 1", "1 ", "12345678901234", "1234567890123456789", "0.000000000000000000000001",
+            "127.12345678901234567", "00000000000000000037.1");
+
+    @Test
+    @DisplayName("숫자/소수 검증 결과는 기존 정규식과 같아야 한다")
+    void 정규식과_검증결과_동일() {
+        Pattern digits = Pattern.compile("\\d+");
+        Pattern decimal = Pattern.compile("-?\\d+(\\.\\d+)?");
+        Pattern dateTime = Pattern.compile("\\d{14}");
+
+        for (String sample : SAMPLES) {
+            assertThat(DeviceFieldParser.isDigits(sample)).as(sample).isEqualTo(digits.matcher(sample).matches());
+            assertThat(DeviceFieldParser.isDecimal(sample)).as(sample).isEqualTo(decimal.matcher(sample).matches());
+            assertThat(DeviceFieldParser.isDigits(sample, 14)).as(sample).isEqualTo(dateTime.matcher(sample).matches());
+        }
+    }
+
+    @Test
+    @DisplayName("소수 변환 결과는 Double.parseDouble과 비트 단위로 같아야 한다")
+    void 소수_변환_동일() {
+        for (String sample : SAMPLES) {
+            if (DeviceFieldParser.isDecimal(sample)) {
+                assertThat(DeviceFieldParser.parseDecimal(sample)).as(sample).isEqualTo(Double.parseDouble(sample));
+            }
+        }
+        assertThat(DeviceFieldParser.parseDecimal("-0")).isEqualTo(-0.0);
+        assertThatThrownBy(() -> DeviceFieldParser.parseDecimal("37.5abc")).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    @DisplayName("정수 변환은 범위를 넘으면 NumberFormatException을 던져야 한다")
+    void 정수_범위_초과() {
+        assertThat(DeviceFieldParser.parseInt("2147483647")).isEqualTo(Integer.MAX_VALUE);
+        assertThat(DeviceFieldParser.parseLong("9223372036854775807")).isEqualTo(Long.MAX_VALUE);
+        assertThatThrownBy(() -> DeviceFieldParser.parseInt("2147483648")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> DeviceFieldParser.parseLong("9223372036854775808")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> DeviceFieldParser.parseInt("")).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    @DisplayName("'ccyyMMddHHmmss'/'ccyyMMddHHmm' 시각을 변환하고, 잘못된 값은 DateTimeException을 던져야 한다")
+    void 시각_변환() {
+        assertThat(DeviceFieldParser.parseDateTime("20250601123015")).isEqualTo(LocalDateTime.of(2025, 6, 1, 12, 30, 15));
+        assertThat(DeviceFieldParser.parseDateTime("202506011230")).isEqualTo(LocalDateTime.of(2025, 6, 1, 12, 30));
+        assertThatThrownBy(() -> DeviceFieldParser.parseDateTime("2025060112301")).isInstanceOf(DateTimeParseException.class);
+        assertThatThrownBy(() -> DeviceFieldParser.parseDateTime("20251301123015")).isInstanceOf(DateTimeException.class);
+    }
+}